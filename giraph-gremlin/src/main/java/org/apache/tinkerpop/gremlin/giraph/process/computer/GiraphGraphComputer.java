@@ -144,6 +144,11 @@ public final class GiraphGraphComputer extends AbstractHadoopGraphComputer imple
                     if (e.getCause() instanceof NumberFormatException)
                         throw new NotSerializableException("The provided traversal is not serializable and thus, can not be distributed across the cluster");
                 }
+                // push the properties and edges required by the vertex program down to the record readers
+                final BaseConfiguration projectionConfiguration = new BaseConfiguration();
+                projectionConfiguration.setDelimiterParsingDisabled(true);
+                this.storeInputProjection(projectionConfiguration);
+                ConfUtil.mergeApacheIntoHadoopConfiguration(projectionConfiguration, this.giraphConfiguration);
                 // prepare the giraph vertex-centric computing job
                 final GiraphJob job = new GiraphJob(this.giraphConfiguration, Constants.GREMLIN_HADOOP_GIRAPH_JOB_PREFIX + this.vertexProgram);
                 // split required workers across system (open map slots + max threads per machine = total amount of TinkerPop workers)
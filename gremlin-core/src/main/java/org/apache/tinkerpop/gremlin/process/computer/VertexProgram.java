@@ -137,6 +137,29 @@ public interface VertexProgram<M> extends Cloneable {
         return Collections.emptySet();
     }
 
+    /**
+     * The {@link org.apache.tinkerpop.gremlin.structure.VertexProperty} keys that are read during the computation
+     * (by the vertex program and its {@link MapReduce} jobs) beyond the {@link #getElementComputeKeys()}.
+     * A {@link GraphComputer} may drop all other vertex properties as it loads the graph.
+     * The default is {@link Optional#empty()} which denotes that all vertex properties are required.
+     *
+     * @return the optional set of vertex property keys required by the vertex program
+     */
+    public default Optional<Set<String>> getRequiredVertexPropertyKeys() {
+        return Optional.empty();
+    }
+
+    /**
+     * The {@link org.apache.tinkerpop.gremlin.structure.Edge} labels that are traversed during the computation.
+     * A {@link GraphComputer} may drop all edges with other labels as it loads the graph.
+     * The default is {@link Optional#empty()} which denotes that all edges are required.
+     *
+     * @return the optional set of edge labels required by the vertex program
+     */
+    public default Optional<Set<String>> getRequiredEdgeLabels() {
+        return Optional.empty();
+    }
+
     /**
      * The {@link Memory} keys that will be used during the computation.
      * These are the only keys that can be read or written throughout the life of the {@link GraphComputer}.
@@ -47,6 +47,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -104,6 +105,12 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
         return ELEMENT_COMPUTE_KEYS;
     }
 
+    @Override
+    public Optional<Set<String>> getRequiredVertexPropertyKeys() {
+        // a user provided traversal may read any vertex property
+        return null == this.configurationTraversal ? Optional.of(Collections.emptySet()) : Optional.empty();
+    }
+
     @Override
     public Set<String> getMemoryComputeKeys() {
         return MEMORY_COMPUTE_KEYS;
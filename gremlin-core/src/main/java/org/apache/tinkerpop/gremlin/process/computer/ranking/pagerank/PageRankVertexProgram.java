@@ -41,6 +41,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -112,6 +113,12 @@ public class PageRankVertexProgram extends StaticVertexProgram<Double> {
         return COMPUTE_KEYS;
     }
 
+    @Override
+    public Optional<Set<String>> getRequiredVertexPropertyKeys() {
+        // a user provided traversal may read any vertex property
+        return null == this.configurationTraversal ? Optional.of(Collections.emptySet()) : Optional.empty();
+    }
+
     @Override
     public Optional<MessageCombiner<Double>> getMessageCombiner() {
         return (Optional) PageRankMessageCombiner.instance();
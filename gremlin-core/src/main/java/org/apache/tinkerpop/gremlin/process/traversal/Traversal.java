@@ -421,6 +421,29 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable, Cloneable {
          */
         public TraversalStrategies getStrategies();
 
+        /**
+         * Opt in to batch execution where traversers flow between steps {@code batchSize} at a time rather than one
+         * at a time.  Batching amortizes the cost of pulling each traverser through the step chain on long linear
+         * traversals, but steps will read ahead of the traversers that are consumed, so it is best left off for
+         * traversals that depend on lazy evaluation such as those that only take the first few results.  A size of
+         * {@code 0}, the default, processes one traverser at a time.  Traversals that do not support batching ignore
+         * the batch size as it does not change the results.
+         *
+         * @param batchSize the number of traversers to process at a time
+         */
+        public default void setBatchSize(final int batchSize) {
+
+        }
+
+        /**
+         * Get the number of traversers that steps process at a time, where {@code 0} processes one at a time.
+         *
+         * @return the batch size of this traversal
+         */
+        public default int getBatchSize() {
+            return 0;
+        }
+
         /**
          * Set the {@link org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent} {@link Step} that is the parent of this traversal.
          * Traversals can be nested and this is the means by which the traversal tree is connected.
@@ -22,6 +22,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -40,5 +43,29 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
         }
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] ends) {
+        int size = 0;
+        int pulled = 0;
+        try {
+            while (0 == size) {
+                pulled = this.starts.next(ends);
+                if (0 == pulled)
+                    break;
+                for (int i = 0; i < pulled; i++) {
+                    final Traverser.Admin<S> traverser = ends[i];
+                    ends[i] = null;
+                    if (this.filter(traverser))
+                        ends[size++] = traverser;
+                }
+            }
+        } catch (final NoSuchElementException e) {
+            // steps like range() signal that nothing else can pass the filter so the starts left in the batch are
+            // released rather than held past the end of it
+            Arrays.fill(ends, size, pulled, null);
+        }
+        return size;
+    }
+
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
 }
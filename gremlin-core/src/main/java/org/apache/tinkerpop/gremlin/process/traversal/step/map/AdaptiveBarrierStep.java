@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+/**
+ * A barrier that bulks the traversers passing through it and tunes its own size as it goes.  After each full barrier
+ * the ratio of traversers taken in to traversers held after bulking is checked: a barrier that bulks well doubles in
+ * size and one that barely bulks halves, all within {@code [minBarrierSize, maxBarrierSize]}.  The barrier also
+ * halves whenever the used heap exceeds {@code maxHeapUsage} of the maximum heap.
+ */
+public final class AdaptiveBarrierStep<S> extends CollectingBarrierStep<S> {
+
+    /**
+     * A barrier that bulks at least this many traversers into one grows.
+     */
+    private static final double GROW_RATIO = 2.0d;
+
+    /**
+     * A barrier that bulks fewer than this many traversers into one shrinks.
+     */
+    private static final double SHRINK_RATIO = 1.1d;
+
+    private final int initialBarrierSize;
+    private final int minBarrierSize;
+    private final int maxBarrierSize;
+    private final double maxHeapUsage;
+    private int barrierSize;
+
+    public AdaptiveBarrierStep(final Traversal.Admin traversal, final int initialBarrierSize, final int minBarrierSize,
+                               final int maxBarrierSize, final double maxHeapUsage) {
+        super(traversal, maxBarrierSize);
+        if (minBarrierSize < 1 || minBarrierSize > initialBarrierSize || initialBarrierSize > maxBarrierSize)
+            throw new IllegalArgumentException(String.format("The barrier sizes must satisfy 1 <= %s <= %s <= %s",
+                    minBarrierSize, initialBarrierSize, maxBarrierSize));
+        this.initialBarrierSize = initialBarrierSize;
+        this.minBarrierSize = minBarrierSize;
+        this.maxBarrierSize = maxBarrierSize;
+        this.maxHeapUsage = maxHeapUsage;
+        this.barrierSize = initialBarrierSize;
+    }
+
+    public int getBarrierSize() {
+        return this.barrierSize;
+    }
+
+    @Override
+    public void barrierConsumer(final TraverserSet<S> traverserSet) {
+        // the barrier only bulks the traversers
+    }
+
+    @Override
+    public void processAllStarts() {
+        if (this.starts.hasNext()) {
+            final TraverserSet<S> traverserSet = this.getTraverserSet();
+            long taken = 0l;
+            while (this.starts.hasNext() && traverserSet.size() < this.barrierSize) {
+                traverserSet.add(this.starts.next());
+                taken++;
+            }
+            // a barrier that did not fill says nothing about how large it should be
+            if (traverserSet.size() >= this.barrierSize)
+                this.adapt((double) taken / traverserSet.size());
+        }
+    }
+
+    private void adapt(final double bulkRatio) {
+        final Runtime runtime = Runtime.getRuntime();
+        if (runtime.totalMemory() - runtime.freeMemory() > runtime.maxMemory() * this.maxHeapUsage || bulkRatio < SHRINK_RATIO)
+            this.barrierSize = Math.max(this.minBarrierSize, this.barrierSize / 2);
+        else if (bulkRatio >= GROW_RATIO)
+            this.barrierSize = (int) Math.min(this.maxBarrierSize, 2l * this.barrierSize);
+    }
+
+    @Override
+    public AdaptiveBarrierStep<S> clone() {
+        final AdaptiveBarrierStep<S> clone = (AdaptiveBarrierStep<S>) super.clone();
+        clone.barrierSize = this.initialBarrierSize;
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.minBarrierSize, this.initialBarrierSize, this.maxBarrierSize);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ (this.minBarrierSize << 8) ^ (this.initialBarrierSize << 16) ^ (this.maxBarrierSize << 24) ^
+                Double.hashCode(this.maxHeapUsage);
+    }
+}
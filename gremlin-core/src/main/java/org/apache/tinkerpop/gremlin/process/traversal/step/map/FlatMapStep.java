@@ -32,6 +32,9 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
 
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
+    private Traverser.Admin<S>[] heads = null;
+    private int headIndex = 0;
+    private int headEnd = 0;
 
     public FlatMapStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -49,11 +52,36 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] ends) {
+        if (null == this.heads)
+            this.heads = new Traverser.Admin[ends.length];
+        int size = 0;
+        while (size < ends.length) {
+            if (this.iterator.hasNext()) {
+                ends[size++] = this.head.split(this.iterator.next(), this);
+            } else if (this.headIndex < this.headEnd) {
+                this.head = this.heads[this.headIndex];
+                this.heads[this.headIndex++] = null;
+                this.iterator = this.flatMap(this.head);
+            } else {
+                this.headIndex = 0;
+                this.headEnd = this.starts.next(this.heads);
+                if (0 == this.headEnd)
+                    break;
+            }
+        }
+        return size;
+    }
+
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
     @Override
     public void reset() {
         super.reset();
         this.iterator = EmptyIterator.instance();
+        this.heads = null;
+        this.headIndex = 0;
+        this.headEnd = 0;
     }
 }
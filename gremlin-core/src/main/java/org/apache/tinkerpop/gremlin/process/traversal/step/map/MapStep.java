@@ -22,6 +22,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 
+import java.util.NoSuchElementException;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -37,6 +39,34 @@ public abstract class MapStep<S, E> extends AbstractStep<S, E> {
         return traverser.split(this.map(traverser), this);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] ends) {
+        // the starts are mapped in place so that the batch needs no array of its own
+        final Traverser.Admin<S>[] traversers = (Traverser.Admin[]) ends;
+        while (true) {
+            final int size = this.starts.next(traversers);
+            int mapped = 0;
+            for (; mapped < size; mapped++) {
+                final Traverser.Admin<S> traverser = traversers[mapped];
+                try {
+                    ends[mapped] = traverser.split(this.map(traverser), this);
+                } catch (final NoSuchElementException e) {
+                    // as when one start is processed at a time, only the traverser that could not be mapped is
+                    // dropped, so the batch keeps those mapped before it and the starts after it go to the next batch
+                    ends[mapped] = null;
+                    for (int i = mapped + 1; i < size; i++) {
+                        this.starts.add(traversers[i]);
+                        ends[i] = null;
+                    }
+                    break;
+                }
+            }
+            // a batch may only come back empty once the starts are exhausted
+            if (mapped > 0 || 0 == size)
+                return mapped;
+        }
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
 
 }
@@ -22,8 +22,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -43,6 +45,15 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     protected Traverser.Admin<E> nextEnd = null;
     protected boolean traverserStepIdAndLabelsSetByChild = false;
 
+    /**
+     * The number of traversers processed at a time when the step is in batch mode or {@code 0} if the step processes
+     * one traverser at a time.
+     */
+    protected int batchSize = 0;
+    private Traverser.Admin<E>[] batch = null;
+    private int batchIndex = 0;
+    private int batchEnd = 0;
+
     protected Step<?, S> previousStep = EmptyStep.instance();
     protected Step<E, ?> nextStep = EmptyStep.instance();
 
@@ -81,6 +92,27 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     public void reset() {
         this.starts.clear();
         this.nextEnd = null;
+        if (null != this.batch)
+            Arrays.fill(this.batch, null);
+        this.batchIndex = 0;
+        this.batchEnd = 0;
+    }
+
+    /**
+     * Put the step in batch mode where traversers are pulled through it {@code batchSize} at a time, or back in
+     * one-at-a-time mode with a size of {@code 0}.
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 0)
+            throw new IllegalArgumentException("The batch size must be zero or greater: " + batchSize);
+        this.batchSize = batchSize;
+        this.batch = null;
+        this.batchIndex = 0;
+        this.batchEnd = 0;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
     }
 
     @Override
@@ -115,7 +147,13 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     @Override
     public Traverser<E> next() {
-        if (null != this.nextEnd) {
+        if (this.batchSize > 0) {
+            if (this.batchIndex == this.batchEnd && !this.fillBatch())
+                throw FastNoSuchElementException.instance();
+            final Traverser.Admin<E> traverser = this.batch[this.batchIndex];
+            this.batch[this.batchIndex++] = null;
+            return traverser;
+        } else if (null != this.nextEnd) {
             try {
                 return this.prepareTraversalForNextStep(this.nextEnd);
             } finally {
@@ -132,7 +170,9 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     @Override
     public boolean hasNext() {
-        if (null != this.nextEnd)
+        if (this.batchSize > 0)
+            return this.batchIndex < this.batchEnd || this.fillBatch();
+        else if (null != this.nextEnd)
             return true;
         else {
             try {
@@ -161,6 +201,49 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Process the next batch of traversers into the provided array, returning the number of traversers written which
+     * may only be {@code 0} once the starts are exhausted.  Steps that can work on whole arrays of starts override
+     * this, otherwise the batch is filled by repeated calls to {@link #processNextStart()}.
+     */
+    protected int processNextBatch(final Traverser.Admin<E>[] ends) {
+        int size = 0;
+        try {
+            while (size < ends.length) {
+                final Traverser.Admin<E> traverser = (Traverser.Admin<E>) this.processNextStart();
+                ends[size++] = traverser;
+            }
+        } catch (final NoSuchElementException e) {
+            // the starts ran out before the batch was full
+        }
+        return size;
+    }
+
+    private boolean fillBatch() {
+        if (null == this.batch)
+            this.batch = new Traverser.Admin[this.batchSize];
+        while (true) {
+            final int size = this.processNextBatch(this.batch);
+            if (0 == size) {
+                this.batchIndex = 0;
+                this.batchEnd = 0;
+                return false;
+            }
+            int end = 0;
+            for (int i = 0; i < size; i++) {
+                final Traverser.Admin<E> traverser = this.batch[i];
+                this.batch[i] = null;
+                if (null != traverser.get() && 0 != traverser.bulk())
+                    this.batch[end++] = this.prepareTraversalForNextStep(traverser);
+            }
+            if (end > 0) {
+                this.batchIndex = 0;
+                this.batchEnd = end;
+                return true;
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this);
@@ -175,6 +258,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
             clone.previousStep = EmptyStep.instance();
             clone.nextStep = EmptyStep.instance();
             clone.nextEnd = null;
+            clone.batch = null;
             clone.traversal = EmptyTraversal.instance();
             clone.reset();
             return clone;
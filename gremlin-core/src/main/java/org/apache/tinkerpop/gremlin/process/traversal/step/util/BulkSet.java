@@ -18,50 +18,74 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 /**
  * BulkSet is a weighted set (i.e. a multi-set). Objects are added along with a bulk counter the denotes how many times the object was added to the set.
  * Given that count-based compression (vs. enumeration) can yield large sets, methods exist that are long-based (2^64).
+ * <p/>
+ * The objects and their bulks are held in parallel arrays in insertion order and an open-addressing table of
+ * indices into those arrays is used for lookups, so bulks are never boxed and the total size is kept as a running
+ * count.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
-    private final Map<S, Long> map = new LinkedHashMap<>();
+
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Stands in for a {@code null} object as a {@code null} in {@link #objects} marks a removed entry.
+     */
+    private enum Null {INSTANCE}
+
+    private Object[] objects = new Object[INITIAL_CAPACITY];
+    private long[] bulks = new long[INITIAL_CAPACITY];
+    /**
+     * The index of each entry plus one, or {@code 0} for an empty slot, sized to twice the entry capacity.  It is
+     * rebuilt on deserialization as hash codes may differ between JVMs.
+     */
+    private transient int[] table = new int[INITIAL_CAPACITY * 2];
+    private int end = 0;
+    private int uniqueSize = 0;
+    private long longSize = 0l;
 
     @Override
     public int size() {
-        return (int) this.longSize();
+        return (int) this.longSize;
     }
 
     public int uniqueSize() {
-        return this.map.size();
+        return this.uniqueSize;
     }
 
     public long longSize() {
-        return this.map.values().stream().collect(Collectors.summingLong(Long::longValue));
+        return this.longSize;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.uniqueSize;
     }
 
     @Override
     public boolean contains(final Object s) {
-        return this.map.containsKey(s);
+        return -1 != this.indexOf(mask(s));
     }
 
     @Override
@@ -72,7 +96,11 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     @Override
     public boolean addAll(final Collection<? extends S> collection) {
         if (collection instanceof BulkSet) {
-            ((BulkSet<S>) collection).map.forEach(this::add);
+            final BulkSet<S> bulkSet = (BulkSet<S>) collection;
+            for (int i = 0; i < bulkSet.end; i++) {
+                if (null != bulkSet.objects[i])
+                    this.add((S) unmask(bulkSet.objects[i]), bulkSet.bulks[i]);
+            }
         } else {
             collection.iterator().forEachRemaining(this::add);
         }
@@ -80,38 +108,64 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     }
 
     public void forEach(final BiConsumer<S, Long> consumer) {
-        this.map.forEach(consumer);
+        for (int i = 0; i < this.end; i++) {
+            if (null != this.objects[i])
+                consumer.accept((S) unmask(this.objects[i]), this.bulks[i]);
+        }
     }
 
     public boolean add(final S s, final long bulk) {
-        final Long current = this.map.get(s);
-        if (current != null) {
-            this.map.put(s, current + bulk);
+        final Object object = mask(s);
+        final int index = this.indexOf(object);
+        this.longSize = this.longSize + bulk;
+        if (-1 != index) {
+            this.bulks[index] = this.bulks[index] + bulk;
             return false;
         } else {
-            this.map.put(s, bulk);
+            if (this.end == this.objects.length)
+                this.resize();
+            this.objects[this.end] = object;
+            this.bulks[this.end] = bulk;
+            this.insert(object, this.end);
+            this.end++;
+            this.uniqueSize++;
             return true;
         }
     }
 
     public long get(final S s) {
-        final Long bulk = this.map.get(s);
-        return null == bulk ? 0 : bulk;
+        final int index = this.indexOf(mask(s));
+        return -1 == index ? 0 : this.bulks[index];
     }
 
-    /*public void set(final S s, final long bulk) {
-        this.map.remove(s);
-        this.map.put(s, bulk);
-    }*/
-
     @Override
     public boolean remove(final Object s) {
-        return this.map.remove(s) != null;
+        final Object object = mask(s);
+        final int mask = this.table.length - 1;
+        int slot = hash(object) & mask;
+        while (0 != this.table[slot]) {
+            final int index = this.table[slot] - 1;
+            if (object.equals(this.objects[index])) {
+                this.longSize = this.longSize - this.bulks[index];
+                this.objects[index] = null;
+                this.bulks[index] = 0l;
+                this.uniqueSize--;
+                this.deleteSlot(slot);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        Arrays.fill(this.objects, 0, this.end, null);
+        Arrays.fill(this.bulks, 0, this.end, 0l);
+        Arrays.fill(this.table, 0);
+        this.end = 0;
+        this.uniqueSize = 0;
+        this.longSize = 0l;
     }
 
     @Override
@@ -124,30 +178,66 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
         Objects.requireNonNull(collection);
         boolean modified = false;
         for (final Object object : collection) {
-            if (null != this.map.remove(object))
+            if (this.remove(object))
                 modified = true;
         }
         return modified;
     }
 
+    /**
+     * Hashes the same as a {@link Map} of objects to their bulk.
+     */
     @Override
     public int hashCode() {
-        return this.map.hashCode();
+        int hashCode = 0;
+        for (int i = 0; i < this.end; i++) {
+            if (null != this.objects[i])
+                hashCode = hashCode + (Objects.hashCode(unmask(this.objects[i])) ^ Long.hashCode(this.bulks[i]));
+        }
+        return hashCode;
     }
 
+    /**
+     * Equal to another {@code BulkSet} that holds the same objects with the same bulks.
+     */
     @Override
     public boolean equals(final Object object) {
-        return this.map.equals(object);
+        if (this == object)
+            return true;
+        if (!(object instanceof BulkSet))
+            return false;
+        final BulkSet<?> other = (BulkSet<?>) object;
+        if (other.uniqueSize != this.uniqueSize || other.longSize != this.longSize)
+            return false;
+        for (int i = 0; i < this.end; i++) {
+            if (null != this.objects[i]) {
+                final int index = other.indexOf(this.objects[i]);
+                if (-1 == index || other.bulks[index] != this.bulks[i])
+                    return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public String toString() {
-        return this.map.toString();
+        final StringBuilder builder = new StringBuilder("{");
+        boolean first = true;
+        for (int i = 0; i < this.end; i++) {
+            if (null != this.objects[i]) {
+                if (!first)
+                    builder.append(", ");
+                final Object object = unmask(this.objects[i]);
+                builder.append(object == this ? "(this Collection)" : String.valueOf(object)).append('=').append(this.bulks[i]);
+                first = false;
+            }
+        }
+        return builder.append('}').toString();
     }
 
     private List<S> toList() {
         final List<S> list = new ArrayList<>();
-        this.map.forEach((k, v) -> {
+        this.forEach((k, v) -> {
             for (long i = 0; i < v; i++) {
                 list.add(k);
             }
@@ -158,12 +248,17 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     @Override
     public Iterator<S> iterator() {
         return new Iterator<S>() {
-            final Iterator<Map.Entry<S, Long>> entryIterator = map.entrySet().iterator();
+            int index = 0;
             S lastObject = null;
             long lastCount = 0l;
 
             public boolean hasNext() {
-                return this.lastCount > 0l || this.entryIterator.hasNext();
+                if (this.lastCount > 0l)
+                    return true;
+                while (this.index < end && null == objects[this.index]) {
+                    this.index++;
+                }
+                return this.index < end;
             }
 
             @Override
@@ -172,15 +267,101 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
                     this.lastCount--;
                     return this.lastObject;
                 }
-                final Map.Entry<S, Long> entry = entryIterator.next();
-                if (entry.getValue() == 1) {
-                    return entry.getKey();
-                } else {
-                    this.lastObject = entry.getKey();
-                    this.lastCount = entry.getValue() - 1;
-                    return this.lastObject;
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                final S object = (S) unmask(objects[this.index]);
+                final long bulk = bulks[this.index++];
+                if (bulk > 1l) {
+                    this.lastObject = object;
+                    this.lastCount = bulk - 1;
                 }
+                return object;
             }
         };
     }
+
+    private static Object mask(final Object object) {
+        return null == object ? Null.INSTANCE : object;
+    }
+
+    private static Object unmask(final Object object) {
+        return Null.INSTANCE == object ? null : object;
+    }
+
+    private static int hash(final Object object) {
+        final int hash = object.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(final Object object) {
+        final int mask = this.table.length - 1;
+        int slot = hash(object) & mask;
+        while (0 != this.table[slot]) {
+            final int index = this.table[slot] - 1;
+            if (object.equals(this.objects[index]))
+                return index;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(final Object object, final int index) {
+        final int mask = this.table.length - 1;
+        int slot = hash(object) & mask;
+        while (0 != this.table[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = index + 1;
+    }
+
+    /**
+     * Empty the slot and shift back the entries that probed past it so that lookups need no tombstones.
+     */
+    private void deleteSlot(int slot) {
+        final int mask = this.table.length - 1;
+        int next = (slot + 1) & mask;
+        while (0 != this.table[next]) {
+            final int home = hash(this.objects[this.table[next] - 1]) & mask;
+            // move the entry back if its home slot is not cyclically within (slot, next]
+            if (slot <= next ? (home <= slot || home > next) : (home <= slot && home > next)) {
+                this.table[slot] = this.table[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.table[slot] = 0;
+    }
+
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        this.table = new int[this.objects.length * 2];
+        for (int i = 0; i < this.end; i++) {
+            if (null != this.objects[i])
+                this.insert(this.objects[i], i);
+        }
+    }
+
+    /**
+     * Make room for another entry by squeezing out removed entries or, when there are few of those, by doubling the
+     * capacity.
+     */
+    private void resize() {
+        final int capacity = this.uniqueSize > this.objects.length / 2 ? this.objects.length * 2 : this.objects.length;
+        final Object[] objects = new Object[capacity];
+        final long[] bulks = new long[capacity];
+        int size = 0;
+        for (int i = 0; i < this.end; i++) {
+            if (null != this.objects[i]) {
+                objects[size] = this.objects[i];
+                bulks[size++] = this.bulks[i];
+            }
+        }
+        this.objects = objects;
+        this.bulks = bulks;
+        this.end = size;
+        this.table = new int[capacity * 2];
+        for (int i = 0; i < size; i++) {
+            this.insert(objects[i], i);
+        }
+    }
 }
@@ -57,6 +57,25 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
         return this.traverserSet.remove();
     }
 
+    /**
+     * Fill the array with up to {@code batch.length} traversers, returning the number of traversers written which is
+     * only {@code 0} once all the starts are exhausted.
+     */
+    public int next(final Traverser.Admin<S>[] batch) {
+        int size = 0;
+        while (size < batch.length && !this.traverserSet.isEmpty()) {
+            batch[size++] = this.traverserSet.remove();
+        }
+        while (size < batch.length && this.traverserIterators.hasNext()) {
+            batch[size++] = this.traverserIterators.next();
+        }
+        final Step<?, S> previousStep = this.hostStep.getPreviousStep();
+        while (size < batch.length && previousStep.hasNext()) {
+            batch[size++] = (Traverser.Admin<S>) previousStep.next();
+        }
+        return size;
+    }
+
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
         this.traverserIterators.addIterator(iterator);
     }
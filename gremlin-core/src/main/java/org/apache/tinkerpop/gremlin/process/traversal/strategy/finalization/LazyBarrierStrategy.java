@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.AdaptiveBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
@@ -33,30 +34,53 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.SupplyingBarrier
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Consumer;
 
 /**
+ * Inserts barriers after the steps of long linear traversals so that traversers are bulked between hops.  The
+ * {@link #instance()} inserts barriers of a fixed size while a strategy created with {@link #build()} inserts
+ * {@link AdaptiveBarrierStep}s that tune their size at runtime from how well they bulk and how much heap is in use,
+ * and that are also applied to traversals that require paths, where only traversers with equal paths are bulked.
+ * A configured strategy replaces the default for a {@code TraversalSource} built with it.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class LazyBarrierStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
 
-    private static final LazyBarrierStrategy INSTANCE = new LazyBarrierStrategy();
-    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = new HashSet<>();
-    private static final Set<Class<? extends FinalizationStrategy>> POSTS = new HashSet<>();
-
     private static final int REQUIRED_DEPTH = 2;
     private static final int BIG_START_SIZE = 5;
     protected static final int MAX_BARRIER_SIZE = 10000;
 
+    private static final LazyBarrierStrategy INSTANCE = new LazyBarrierStrategy(REQUIRED_DEPTH, MAX_BARRIER_SIZE, MAX_BARRIER_SIZE, MAX_BARRIER_SIZE, 1.0d);
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = new HashSet<>();
+    private static final Set<Class<? extends FinalizationStrategy>> POSTS = new HashSet<>();
+
     static {
         POSTS.add(ProfileStrategy.class);
     }
 
 
-    private LazyBarrierStrategy() {
+    private final int requiredDepth;
+    private final int barrierSize;
+    private final int minBarrierSize;
+    private final int maxBarrierSize;
+    private final double maxHeapUsage;
+
+    private LazyBarrierStrategy(final int requiredDepth, final int barrierSize, final int minBarrierSize,
+                                final int maxBarrierSize, final double maxHeapUsage) {
+        this.requiredDepth = requiredDepth;
+        this.barrierSize = barrierSize;
+        this.minBarrierSize = minBarrierSize;
+        this.maxBarrierSize = maxBarrierSize;
+        this.maxHeapUsage = maxHeapUsage;
+    }
+
+    private boolean isAdaptive() {
+        return this.minBarrierSize != this.maxBarrierSize;
     }
 
     @Override
@@ -64,7 +88,7 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
         if (traversal.getEngine().isComputer())
             return;
 
-        if (traversal.getTraverserRequirements().contains(TraverserRequirement.PATH))
+        if (!this.isAdaptive() && traversal.getTraverserRequirements().contains(TraverserRequirement.PATH))
             return;
 
         int depth = 0;
@@ -73,7 +97,7 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                 depth++;
         }
 
-        if (depth > REQUIRED_DEPTH) {
+        if (depth > this.requiredDepth) {
             boolean bigStart = false;
             char foundVertexStep = 'x';
             for (int i = 0; i < traversal.getSteps().size() - 1; i++) {
@@ -86,7 +110,9 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                             !(step instanceof SupplyingBarrierStep) &&
                             !(step instanceof ReducingBarrierStep) &&
                             !(step instanceof VertexStep && ((VertexStep) step).returnsEdge())) {
-                        TraversalHelper.insertAfterStep(new LambdaCollectingBarrierStep<>(traversal, (Consumer) LambdaCollectingBarrierStep.Consumers.noOp, MAX_BARRIER_SIZE), step, traversal);
+                        TraversalHelper.insertAfterStep(this.isAdaptive() ?
+                                new AdaptiveBarrierStep<>(traversal, this.barrierSize, this.minBarrierSize, this.maxBarrierSize, this.maxHeapUsage) :
+                                new LambdaCollectingBarrierStep<>(traversal, (Consumer) LambdaCollectingBarrierStep.Consumers.noOp, this.barrierSize), step, traversal);
                     }
                 }
 
@@ -109,7 +135,78 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
         return POSTS;
     }
 
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
     public static LazyBarrierStrategy instance() {
         return INSTANCE;
     }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int requiredDepth = REQUIRED_DEPTH;
+        private int barrierSize = MAX_BARRIER_SIZE;
+        private int minBarrierSize = 1000;
+        private int maxBarrierSize = 100000;
+        private double maxHeapUsage = 0.8d;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of {@link VertexStep}s a traversal must have more than before barriers are inserted.
+         */
+        public Builder requiredDepth(final int requiredDepth) {
+            this.requiredDepth = requiredDepth;
+            return this;
+        }
+
+        /**
+         * The size each barrier starts with.
+         */
+        public Builder barrierSize(final int barrierSize) {
+            this.barrierSize = barrierSize;
+            return this;
+        }
+
+        /**
+         * The smallest size a barrier shrinks to.  Setting both the minimum and maximum to the same size as
+         * {@link #barrierSize(int)} inserts barriers of that fixed size.
+         */
+        public Builder minBarrierSize(final int minBarrierSize) {
+            this.minBarrierSize = minBarrierSize;
+            return this;
+        }
+
+        /**
+         * The largest size a barrier grows to.
+         */
+        public Builder maxBarrierSize(final int maxBarrierSize) {
+            this.maxBarrierSize = maxBarrierSize;
+            return this;
+        }
+
+        /**
+         * The fraction of the maximum heap above which barriers shrink.
+         */
+        public Builder maxHeapUsage(final double maxHeapUsage) {
+            this.maxHeapUsage = maxHeapUsage;
+            return this;
+        }
+
+        public LazyBarrierStrategy create() {
+            if (this.minBarrierSize < 1 || this.minBarrierSize > this.barrierSize || this.barrierSize > this.maxBarrierSize)
+                throw new IllegalArgumentException(String.format("The barrier sizes must satisfy 1 <= minBarrierSize[%s] <= barrierSize[%s] <= maxBarrierSize[%s]",
+                        this.minBarrierSize, this.barrierSize, this.maxBarrierSize));
+            if (this.maxHeapUsage <= 0.0d || this.maxHeapUsage > 1.0d)
+                throw new IllegalArgumentException("The maximum heap usage must be in (0.0,1.0]: " + this.maxHeapUsage);
+            return new LazyBarrierStrategy(this.requiredDepth, this.barrierSize, this.minBarrierSize, this.maxBarrierSize, this.maxHeapUsage);
+        }
+    }
 }
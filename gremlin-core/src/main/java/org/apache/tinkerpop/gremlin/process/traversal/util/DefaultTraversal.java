@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.engine.StandardTraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -60,6 +61,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     protected TraversalEngine traversalEngine = StandardTraversalEngine.instance(); // necessary for strategies that need the engine in OLAP message passing (not so bueno)
     protected boolean locked = false;
     protected Set<TraverserRequirement> traverserRequirements = new HashSet<>();
+    protected int batchSize = 0;
 
     public DefaultTraversal() {
         this.graph = null;
@@ -84,8 +86,12 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         this.strategies.applyStrategies(this);
         boolean hasGraph = null != this.graph;
         for (final Step<?, ?> step : this.getSteps()) {
+            if (this.batchSize > 0 && !this.traversalEngine.isComputer() && step instanceof AbstractStep)
+                ((AbstractStep) step).setBatchSize(this.batchSize);
             if (step instanceof TraversalParent) {
                 for (final Traversal.Admin<?, ?> globalChild : ((TraversalParent) step).getGlobalChildren()) {
+                    if (globalChild instanceof DefaultTraversal)
+                        ((DefaultTraversal) globalChild).batchSize = this.batchSize;
                     globalChild.setStrategies(this.strategies);
                     globalChild.setEngine(this.traversalEngine);
                     if (hasGraph) globalChild.setGraph(this.graph);
@@ -103,6 +109,24 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         this.locked = true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Global child traversals inherit the batch size and OLAP execution ignores it.
+     */
+    @Override
+    public void setBatchSize(final int batchSize) {
+        if (this.locked) throw Exceptions.traversalIsLocked();
+        if (batchSize < 0)
+            throw new IllegalArgumentException("The batch size must be zero or greater: " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
     @Override
     public TraversalEngine getEngine() {
         return this.traversalEngine;
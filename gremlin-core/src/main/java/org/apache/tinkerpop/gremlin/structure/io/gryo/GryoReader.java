@@ -159,6 +159,18 @@ public final class GryoReader implements GraphReader {
         return readVertexInternal(vertexAttachMethod, edgeAttachMethod, attachEdgesOfThisDirection, input);
     }
 
+    /**
+     * Read a {@link Vertex} from an {@link Input} positioned at output generated by any of the {@link GryoWriter}
+     * {@code writeVertex} or {@code writeVertices} methods.  Callers that already hold the bytes of a vertex can
+     * point an {@link Input} at them rather than wrap them in a stream that is then copied into a new buffer.
+     *
+     * @param input              an input positioned at the header of a {@link Vertex}.
+     * @param vertexAttachMethod a function that creates re-attaches a {@link Vertex} to a {@link Host} object.
+     */
+    public Vertex readVertex(final Input input, final Function<Attachable<Vertex>, Vertex> vertexAttachMethod) throws IOException {
+        return readVertexInternal(vertexAttachMethod, null, null, input);
+    }
+
     /**
      * Read an {@link Edge} from output generated by {@link GryoWriter#writeEdge(OutputStream, Edge)} or via
      * an {@link Edge} passed to {@link GryoWriter#writeObject(OutputStream, Object)}.
@@ -43,6 +43,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -285,6 +286,45 @@ public final class StarGraph implements Graph, Serializable {
             }
         }
 
+        /**
+         * Drops all the vertex properties (and their meta-properties) whose keys are not in {@code propertyKeys}.
+         */
+        public void retainVertexProperties(final Set<String> propertyKeys) {
+            if (null != this.vertexProperties) {
+                final Iterator<Map.Entry<String, List<VertexProperty>>> iterator = this.vertexProperties.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<String, List<VertexProperty>> entry = iterator.next();
+                    if (!propertyKeys.contains(entry.getKey())) {
+                        if (null != metaProperties)
+                            entry.getValue().forEach(vertexProperty -> metaProperties.remove(vertexProperty.id()));
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Drops all the edges (and their properties) whose labels are not in {@code edgeLabels}.
+         */
+        public void retainEdges(final Set<String> edgeLabels) {
+            this.retainEdges(this.outEdges, edgeLabels);
+            this.retainEdges(this.inEdges, edgeLabels);
+        }
+
+        private void retainEdges(final Map<String, List<Edge>> edges, final Set<String> edgeLabels) {
+            if (null != edges) {
+                final Iterator<Map.Entry<String, List<Edge>>> iterator = edges.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<String, List<Edge>> entry = iterator.next();
+                    if (!edgeLabels.contains(entry.getKey())) {
+                        if (null != edgeProperties)
+                            entry.getValue().forEach(edge -> edgeProperties.remove(edge.id()));
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+
         @Override
         public Edge addEdge(final String label, final Vertex inVertex, final Object... keyValues) {
             return this.addOutEdge(label, inVertex, keyValues);
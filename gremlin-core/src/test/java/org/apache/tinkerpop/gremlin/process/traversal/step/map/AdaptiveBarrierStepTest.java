@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveBarrierStepTest extends StepTest {
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(
+                barrier(__.identity().asAdmin(), 10, 1, 100),
+                barrier(__.identity().asAdmin(), 10, 5, 100),
+                barrier(__.identity().asAdmin(), 50, 5, 100)
+        );
+    }
+
+    @Test
+    public void shouldGrowWhenTraversersBulk() {
+        final Integer[] numbers = new Integer[1000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = i / 4;
+        }
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(numbers).asAdmin();
+        final AdaptiveBarrierStep<Integer> barrier = new AdaptiveBarrierStep<>(traversal, 2, 1, 64, 1.0d);
+        traversal.addStep(barrier);
+        assertEquals(numbers.length, traversal.toList().size());
+        assertEquals(64, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldShrinkWhenTraversersDoNotBulk() {
+        final Integer[] numbers = new Integer[1000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = i;
+        }
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(numbers).asAdmin();
+        final AdaptiveBarrierStep<Integer> barrier = new AdaptiveBarrierStep<>(traversal, 64, 4, 128, 1.0d);
+        traversal.addStep(barrier);
+        assertEquals(numbers.length, traversal.toList().size());
+        assertEquals(4, barrier.getBarrierSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowInitialSizeOutsideOfBounds() {
+        new AdaptiveBarrierStep<>(__.identity().asAdmin(), 200, 1, 100, 1.0d);
+    }
+
+    private static Traversal barrier(final Traversal.Admin traversal, final int initialBarrierSize,
+                                     final int minBarrierSize, final int maxBarrierSize) {
+        return traversal.addStep(new AdaptiveBarrierStep<>(traversal, initialBarrierSize, minBarrierSize, maxBarrierSize, 0.8d));
+    }
+}
@@ -22,7 +22,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.AdaptiveBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaCollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
@@ -67,6 +70,56 @@ public class LazyBarrierStrategyTest {
         }
     }
 
+    public static class AdaptiveTest {
+
+        @Test
+        public void shouldInsertAdaptiveBarriers() {
+            final Traversal.Admin<?, ?> traversal = applyStrategy(__.out().out().out().count());
+            assertEquals(2, TraversalHelper.getStepsOfClass(AdaptiveBarrierStep.class, traversal).size());
+            assertEquals(0, TraversalHelper.getStepsOfClass(LambdaCollectingBarrierStep.class, traversal).size());
+        }
+
+        @Test
+        public void shouldInsertAdaptiveBarriersWhenPathIsRequired() {
+            final Traversal.Admin<?, ?> traversal = applyStrategy(__.out().out().out().path());
+            assertEquals(2, TraversalHelper.getStepsOfClass(AdaptiveBarrierStep.class, traversal).size());
+        }
+
+        @Test
+        public void shouldNotInsertFixedBarriersWhenPathIsRequired() {
+            final Traversal.Admin<?, ?> traversal = __.out().out().out().path().asAdmin();
+            final TraversalStrategies strategies = new DefaultTraversalStrategies();
+            strategies.addStrategies(LazyBarrierStrategy.instance());
+            traversal.setStrategies(strategies);
+            traversal.applyStrategies();
+            assertEquals(0, TraversalHelper.getStepsOfClass(LambdaCollectingBarrierStep.class, traversal).size());
+        }
+
+        @Test
+        public void shouldRespectRequiredDepth() {
+            final Traversal.Admin<?, ?> traversal = applyStrategy(__.out().out().out().count(),
+                    LazyBarrierStrategy.build().requiredDepth(3).create());
+            assertEquals(0, TraversalHelper.getStepsOfClass(AdaptiveBarrierStep.class, traversal).size());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldNotAllowBarrierSizeAboveMaximum() {
+            LazyBarrierStrategy.build().barrierSize(200).maxBarrierSize(100).create();
+        }
+
+        private static Traversal.Admin<?, ?> applyStrategy(final Traversal<?, ?> traversal) {
+            return applyStrategy(traversal, LazyBarrierStrategy.build().create());
+        }
+
+        private static Traversal.Admin<?, ?> applyStrategy(final Traversal<?, ?> traversal, final LazyBarrierStrategy strategy) {
+            final TraversalStrategies strategies = new DefaultTraversalStrategies();
+            strategies.addStrategies(strategy);
+            traversal.asAdmin().setStrategies(strategies);
+            traversal.asAdmin().applyStrategies();
+            return traversal.asAdmin();
+        }
+    }
+
     private static abstract class AbstractLazyBarrierStrategyTest {
 
         protected TraversalEngine traversalEngine;
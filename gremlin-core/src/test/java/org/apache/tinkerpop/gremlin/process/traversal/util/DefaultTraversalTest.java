@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the batch mode of {@link DefaultTraversal} gives the same results as traversers flowing one at a time.
+ */
+public class DefaultTraversalTest {
+
+    private static final Integer[] NUMBERS = new Integer[1000];
+
+    static {
+        for (int i = 0; i < NUMBERS.length; i++) {
+            NUMBERS[i] = i;
+        }
+    }
+
+    @Test
+    public void shouldProduceSameResultsInBatchMode() {
+        final List<Integer> expected = numbers(0).toList();
+        assertEquals(2 * (NUMBERS.length - 11), expected.size());
+        for (final int batchSize : new int[]{1, 7, 64, 2048}) {
+            assertEquals(expected, numbers(batchSize).toList());
+        }
+    }
+
+    @Test
+    public void shouldStopAtRangeInBatchMode() {
+        final GraphTraversal<Integer, Integer> traversal = __.inject(NUMBERS).is(P.gt(10)).limit(5);
+        traversal.asAdmin().setBatchSize(64);
+        assertEquals(Arrays.asList(11, 12, 13, 14, 15), traversal.toList());
+    }
+
+    @Test
+    public void shouldOnlyDropUnmappableTraverserInBatchMode() {
+        final List<Integer> expected = Arrays.asList(1, 2, 3, 4, 6, 7, 8, 9, 10);
+        for (final int batchSize : new int[]{1, 3, 4, 64}) {
+            final GraphTraversal<Integer, Integer> traversal = __.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).map(t -> {
+                if (5 == t.get())
+                    throw new NoSuchElementException();
+                return t.get();
+            });
+            traversal.asAdmin().setBatchSize(batchSize);
+            assertEquals(expected, traversal.toList());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotSetBatchSizeOnceLocked() {
+        final GraphTraversal<Integer, Integer> traversal = __.inject(NUMBERS);
+        traversal.iterate();
+        traversal.asAdmin().setBatchSize(64);
+    }
+
+    private static GraphTraversal<Integer, Integer> numbers(final int batchSize) {
+        final GraphTraversal<Integer, Integer> traversal = __.inject(NUMBERS)
+                .is(P.gt(10))
+                .map(t -> t.get() * 2)
+                .flatMap(t -> IteratorUtils.of(t.get(), t.get() + 1));
+        traversal.asAdmin().setBatchSize(batchSize);
+        return traversal;
+    }
+}
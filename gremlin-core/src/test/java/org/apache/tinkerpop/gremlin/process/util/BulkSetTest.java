@@ -19,13 +19,21 @@
 package org.apache.tinkerpop.gremlin.process.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.util.Serializer;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -64,4 +72,112 @@ public class BulkSetTest {
         }
         assertEquals(11, set.size());
     }
+
+
+    @Test
+    public void shouldTrackSizesAsObjectsAreAddedAndRemoved() {
+        final BulkSet<String> bulkSet = new BulkSet<>();
+        assertTrue(bulkSet.isEmpty());
+        assertTrue(bulkSet.add("marko"));
+        assertFalse(bulkSet.add("marko", 4l));
+        assertTrue(bulkSet.add("josh", 2l));
+        assertEquals(2, bulkSet.uniqueSize());
+        assertEquals(7l, bulkSet.longSize());
+        assertEquals(7, bulkSet.size());
+        assertEquals(5l, bulkSet.get("marko"));
+        assertEquals(0l, bulkSet.get("stephen"));
+
+        assertTrue(bulkSet.remove("marko"));
+        assertFalse(bulkSet.remove("marko"));
+        assertEquals(1, bulkSet.uniqueSize());
+        assertEquals(2l, bulkSet.longSize());
+        assertFalse(bulkSet.contains("marko"));
+        assertTrue(bulkSet.contains("josh"));
+
+        bulkSet.clear();
+        assertTrue(bulkSet.isEmpty());
+        assertEquals(0l, bulkSet.longSize());
+    }
+
+    @Test
+    public void shouldIterateInInsertionOrderWithBulk() {
+        final BulkSet<String> bulkSet = new BulkSet<>();
+        bulkSet.add("c", 2l);
+        bulkSet.add("a");
+        bulkSet.add("b", 3l);
+        bulkSet.add("a");
+        final List<String> list = new ArrayList<>();
+        bulkSet.iterator().forEachRemaining(list::add);
+        assertEquals(Arrays.asList("c", "c", "a", "a", "b", "b", "b"), list);
+        assertEquals("{c=2, a=2, b=3}", bulkSet.toString());
+    }
+
+    @Test
+    public void shouldHoldManyObjectsThroughRemovals() {
+        final BulkSet<Integer> bulkSet = new BulkSet<>();
+        for (int i = 0; i < 10000; i++) {
+            bulkSet.add(i, i % 3 + 1);
+        }
+        for (int i = 0; i < 10000; i = i + 2) {
+            assertTrue(bulkSet.remove(i));
+        }
+        for (int i = 10000; i < 20000; i++) {
+            bulkSet.add(i);
+        }
+        long expected = 10000l;
+        for (int i = 1; i < 10000; i = i + 2) {
+            assertEquals(i % 3 + 1, bulkSet.get(i));
+            expected = expected + i % 3 + 1;
+        }
+        for (int i = 0; i < 10000; i = i + 2) {
+            assertFalse(bulkSet.contains(i));
+        }
+        assertEquals(15000, bulkSet.uniqueSize());
+        assertEquals(expected, bulkSet.longSize());
+        assertEquals(1, (int) bulkSet.iterator().next());
+    }
+
+    @Test
+    public void shouldHoldNull() {
+        final BulkSet<String> bulkSet = new BulkSet<>();
+        bulkSet.add(null, 2l);
+        bulkSet.add("marko");
+        assertTrue(bulkSet.contains(null));
+        assertEquals(2l, bulkSet.get(null));
+        assertEquals(3l, bulkSet.longSize());
+        assertTrue(bulkSet.remove(null));
+        assertFalse(bulkSet.contains(null));
+    }
+
+    @Test
+    public void shouldOnlyEqualBulkSetWithSameBulks() {
+        final BulkSet<String> bulkSet = new BulkSet<>();
+        bulkSet.add("marko", 2l);
+        bulkSet.add("josh");
+        final Map<String, Long> map = new LinkedHashMap<>();
+        map.put("marko", 2l);
+        map.put("josh", 1l);
+        assertFalse(bulkSet.equals(map));
+        assertFalse(map.equals(bulkSet));
+        assertEquals(map.hashCode(), bulkSet.hashCode());
+
+        final BulkSet<String> other = new BulkSet<>();
+        other.add("josh");
+        other.add("marko", 2l);
+        assertEquals(bulkSet, other);
+        other.add("marko");
+        assertFalse(bulkSet.equals(other));
+    }
+
+    @Test
+    public void shouldSerialize() throws Exception {
+        final BulkSet<Object> bulkSet = new BulkSet<>();
+        bulkSet.add("marko", 2l);
+        bulkSet.add(null);
+        bulkSet.add(1);
+        final BulkSet<Object> clone = (BulkSet<Object>) Serializer.deserializeObject(Serializer.serializeObject(bulkSet));
+        assertEquals(bulkSet, clone);
+        assertEquals(1l, clone.get(null));
+        assertEquals(4l, clone.longSize());
+    }
 }
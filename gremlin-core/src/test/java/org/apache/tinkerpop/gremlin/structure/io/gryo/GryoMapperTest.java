@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.gryo;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.structure.io.IoX;
 import org.apache.tinkerpop.gremlin.structure.io.IoXIoRegistry;
 import org.apache.tinkerpop.gremlin.structure.io.IoY;
@@ -32,6 +33,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
@@ -46,6 +48,45 @@ public class GryoMapperTest {
         assertNotSame(b, GryoMapper.build());
     }
 
+    @Test
+    public void shouldSerializeBulkSet() throws Exception {
+        final BulkSet<String> bulkSet = new BulkSet<>();
+        bulkSet.add("marko", 3l);
+        bulkSet.add("josh", 1l);
+        bulkSet.add(null, 2l);
+        final Kryo kryo = GryoMapper.build().create().createMapper();
+        try (final OutputStream stream = new ByteArrayOutputStream()) {
+            final Output out = new Output(stream);
+            kryo.writeClassAndObject(out, bulkSet);
+
+            try (final InputStream inputStream = new ByteArrayInputStream(out.toBytes())) {
+                final Input input = new Input(inputStream);
+                final BulkSet readBulkSet = (BulkSet) kryo.readClassAndObject(input);
+                assertEquals(bulkSet, readBulkSet);
+                assertEquals(6l, readBulkSet.longSize());
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadAndWriteBulkSetInTheGryoFormatOf310() throws Exception {
+        // a BulkSet of marko x3, josh x1 and 29 x2 as written by 3.1.0
+        final byte[] bytes = new byte[]{66, 1, 6, 3, 1, 109, 97, 114, 107, -17, 3, 3, 3, 3, 3, 1, 106, 111, 115, -24, 2, 58, 2, 58};
+        final BulkSet<Object> bulkSet = new BulkSet<>();
+        bulkSet.add("marko", 3l);
+        bulkSet.add("josh", 1l);
+        bulkSet.add(29, 2l);
+        final Kryo kryo = GryoMapper.build().create().createMapper();
+
+        final BulkSet readBulkSet = (BulkSet) kryo.readClassAndObject(new Input(bytes));
+        assertEquals(bulkSet, readBulkSet);
+        assertEquals(3l, readBulkSet.get("marko"));
+
+        final Output out = new Output(64, -1);
+        kryo.writeClassAndObject(out, bulkSet);
+        assertArrayEquals(bytes, out.toBytes());
+    }
+
     @Test
     public void shouldSerializeWithoutRegistration() throws Exception {
         final GryoMapper mapper = GryoMapper.build().registrationRequired(false).create();
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The hosts available to a {@link LoadBalancingStrategy}, held as an array that is replaced whenever a host comes
+ * or goes so that selecting hosts neither locks nor copies them.
+ */
+final class AvailableHosts {
+
+    private static final Host[] EMPTY = new Host[0];
+
+    private volatile Host[] hosts = EMPTY;
+
+    /**
+     * Gets the current hosts.  The returned array must not be modified.
+     */
+    Host[] get() {
+        return hosts;
+    }
+
+    synchronized void addAll(final Collection<Host> toAdd) {
+        toAdd.forEach(this::add);
+    }
+
+    synchronized void add(final Host host) {
+        for (Host h : hosts) {
+            if (h.equals(host)) return;
+        }
+
+        final Host[] added = new Host[hosts.length + 1];
+        System.arraycopy(hosts, 0, added, 0, hosts.length);
+        added[hosts.length] = host;
+        hosts = added;
+    }
+
+    synchronized void remove(final Host host) {
+        for (int ix = 0; ix < hosts.length; ix++) {
+            if (hosts[ix].equals(host)) {
+                final Host[] removed = new Host[hosts.length - 1];
+                System.arraycopy(hosts, 0, removed, 0, ix);
+                System.arraycopy(hosts, ix + 1, removed, ix, hosts.length - ix - 1);
+                hosts = removed;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Iterates all of the hosts starting from the one at the given index and wrapping around the end of the array.
+     */
+    static Iterator<Host> startingAt(final Host[] hosts, final int start) {
+        return new Iterator<Host>() {
+            private int currentIndex = hosts.length == 0 ? 0 : Math.floorMod(start, hosts.length);
+            private int remainingHosts = hosts.length;
+
+            @Override
+            public boolean hasNext() {
+                return remainingHosts > 0;
+            }
+
+            @Override
+            public Host next() {
+                if (remainingHosts == 0) throw new NoSuchElementException();
+                remainingHosts--;
+                final Host host = hosts[currentIndex];
+                currentIndex = currentIndex + 1 == hosts.length ? 0 : currentIndex + 1;
+                return host;
+            }
+        };
+    }
+}
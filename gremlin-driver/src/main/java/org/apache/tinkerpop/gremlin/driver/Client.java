@@ -68,16 +68,78 @@ public abstract class Client {
         return builder.create();
     }
 
+    /**
+     * Starts an eval request for the script, which only carries a batch size if one was set on the {@link Cluster} so
+     * that the server otherwise batches results as it is configured to.
+     */
+    RequestMessage.Builder buildEvalRequest(final String gremlin) {
+        final RequestMessage.Builder request = RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, gremlin);
+        final int batchSize = cluster.connectionPoolSettings().resultIterationBatchSize;
+        if (batchSize > 0) request.add(Tokens.ARGS_BATCH_SIZE, batchSize);
+        return request;
+    }
+
     /**
      * Called in the {@link #init} method.
      */
     protected abstract void initializeImplementation();
 
     /**
-     * Chooses a {@link Connection} to write the message to.
+     * Chooses a {@link Connection} to write the message to.  The request is counted as in flight to the {@link Host}
+     * of the connection from the moment that host is chosen - see {@link #borrowConnection(ConnectionPool)}.
      */
     protected abstract Connection chooseConnection(final RequestMessage msg) throws TimeoutException, ConnectionException;
 
+    /**
+     * Chooses a {@link Connection} to write the message to without blocking the calling thread.  By default, this
+     * method simply completes with the result of {@link #chooseConnection(RequestMessage)}.
+     */
+    protected CompletableFuture<Connection> chooseConnectionAsync(final RequestMessage msg) {
+        final CompletableFuture<Connection> connection = new CompletableFuture<>();
+        try {
+            connection.complete(chooseConnection(msg));
+        } catch (Exception ex) {
+            connection.completeExceptionally(ex);
+        }
+        return connection;
+    }
+
+    /**
+     * Borrows a {@link Connection} from the pool of a chosen {@link Host}.  The request is counted against the host
+     * before the borrow so that the selections of concurrent requests see it, and is released again if no connection
+     * could be borrowed.  Once written, the request is released when its response has been read - see
+     * {@link Connection#write}.
+     */
+    final Connection borrowConnection(final ConnectionPool pool) throws TimeoutException, ConnectionException {
+        pool.host.requestSent();
+        try {
+            return pool.borrowConnection(cluster.connectionPoolSettings().maxWaitForConnection, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ConnectionException | RuntimeException ex) {
+            pool.host.requestFailed();
+            throw ex;
+        }
+    }
+
+    /**
+     * Borrows a {@link Connection} from the pool of a chosen {@link Host} without blocking, counting the request
+     * against the host as {@link #borrowConnection(ConnectionPool)} does.
+     */
+    final CompletableFuture<Connection> borrowConnectionAsync(final ConnectionPool pool) {
+        pool.host.requestSent();
+        final CompletableFuture<Connection> connection;
+        try {
+            connection = pool.borrowConnectionAsync(cluster.connectionPoolSettings().maxWaitForConnection, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException re) {
+            pool.host.requestFailed();
+            throw re;
+        }
+
+        connection.whenComplete((c, t) -> {
+            if (t != null) pool.host.requestFailed();
+        });
+        return connection;
+    }
+
     /**
      * Asynchronous close of the {@code Client}.
      */
@@ -165,9 +227,7 @@ public abstract class Client {
      * @param parameters a map of parameters that will be bound to the script on execution
      */
     public CompletableFuture<ResultSet> submitAsync(final String gremlin, final Map<String, Object> parameters) {
-        final RequestMessage.Builder request = RequestMessage.build(Tokens.OPS_EVAL)
-                .add(Tokens.ARGS_GREMLIN, gremlin)
-                .add(Tokens.ARGS_BATCH_SIZE, cluster.connectionPoolSettings().resultIterationBatchSize);
+        final RequestMessage.Builder request = buildEvalRequest(gremlin);
 
         Optional.ofNullable(parameters).ifPresent(params -> request.addArg(Tokens.ARGS_BINDINGS, parameters));
 
@@ -175,31 +235,39 @@ public abstract class Client {
     }
 
     /**
-     * A low-level method that allows the submission of a manually constructed {@link RequestMessage}.
+     * A low-level method that allows the submission of a manually constructed {@link RequestMessage}.  Any failure to
+     * submit the request, including that of initializing the client or of using a client that is closed, completes
+     * the returned future exceptionally rather than being thrown.
      */
     public CompletableFuture<ResultSet> submitAsync(final RequestMessage msg) {
-        if (!initialized)
-            init();
-
         final CompletableFuture<ResultSet> future = new CompletableFuture<>();
-        Connection connection = null;
+        final CompletableFuture<Connection> chosen;
         try {
-            // the connection is returned to the pool once the response has been completed...see Connection.write()
-            // the connection may be returned to the pool with the host being marked as "unavailable"
-            connection = chooseConnection(msg);
-            connection.write(msg, future);
-            return future;
-        } catch (TimeoutException toe) {
-            // there was a timeout borrowing a connection
-            throw new RuntimeException(toe);
-        } catch (ConnectionException ce) {
-            throw new RuntimeException(ce);
+            if (!initialized)
+                init();
+
+            chosen = chooseConnectionAsync(msg);
         } catch (Exception ex) {
-            throw new RuntimeException(ex);
-        } finally {
-            if (logger.isDebugEnabled())
-                logger.debug("Submitted {} to - {}", msg, null == connection ? "connection not initialized" : connection.toString());
+            logger.debug("Could not submit {} - {}", msg, ex.getMessage());
+            future.completeExceptionally(ex);
+            return future;
         }
+
+        // the connection is returned to the pool once the response has been completed...see Connection.write()
+        // the connection may be returned to the pool with the host being marked as "unavailable"
+        chosen.whenComplete((connection, t) -> {
+            if (t != null) {
+                // there was a timeout borrowing a connection or the connection could not be established
+                logger.debug("Could not submit {} - {}", msg, t.getMessage());
+                future.completeExceptionally(t);
+            } else {
+                connection.write(msg, future);
+                if (logger.isDebugEnabled())
+                    logger.debug("Submitted {} to - {}", msg, connection);
+            }
+        });
+
+        return future;
     }
 
     /**
@@ -260,9 +328,7 @@ public abstract class Client {
          */
         public CompletableFuture<ResultSet> submitAsync(final String gremlin, final String graphOrTraversalSource,
                                                         final Map<String, Object> parameters) {
-            final RequestMessage.Builder request = RequestMessage.build(Tokens.OPS_EVAL)
-                    .add(Tokens.ARGS_GREMLIN, gremlin)
-                    .add(Tokens.ARGS_BATCH_SIZE, cluster.connectionPoolSettings().resultIterationBatchSize);
+            final RequestMessage.Builder request = buildEvalRequest(gremlin);
 
             Optional.ofNullable(parameters).ifPresent(params -> request.addArg(Tokens.ARGS_BINDINGS, parameters));
 
@@ -284,9 +350,7 @@ public abstract class Client {
          */
         public CompletableFuture<ResultSet> submitAsync(final String gremlin, final Map<String,String> aliases,
                                                         final Map<String, Object> parameters) {
-            final RequestMessage.Builder request = RequestMessage.build(Tokens.OPS_EVAL)
-                    .add(Tokens.ARGS_GREMLIN, gremlin)
-                    .add(Tokens.ARGS_BATCH_SIZE, cluster.connectionPoolSettings().resultIterationBatchSize);
+            final RequestMessage.Builder request = buildEvalRequest(gremlin);
 
             Optional.ofNullable(parameters).ifPresent(params -> request.addArg(Tokens.ARGS_BINDINGS, parameters));
 
@@ -341,9 +405,26 @@ public abstract class Client {
             final Iterator<Host> possibleHosts = this.cluster.loadBalancingStrategy().select(msg);
             if (!possibleHosts.hasNext()) throw new TimeoutException("Timed out waiting for an available host.");
 
-            final Host bestHost = this.cluster.loadBalancingStrategy().select(msg).next();
+            final Host bestHost = possibleHosts.next();
             final ConnectionPool pool = hostConnectionPools.get(bestHost);
-            return pool.borrowConnection(cluster.connectionPoolSettings().maxWaitForConnection, TimeUnit.MILLISECONDS);
+            return borrowConnection(pool);
+        }
+
+        /**
+         * Uses a {@link LoadBalancingStrategy} to choose the best {@link Host} and then borrows the best connection
+         * from that host's connection pool without blocking.
+         */
+        @Override
+        protected CompletableFuture<Connection> chooseConnectionAsync(final RequestMessage msg) {
+            final Iterator<Host> possibleHosts = this.cluster.loadBalancingStrategy().select(msg);
+            if (!possibleHosts.hasNext()) {
+                final CompletableFuture<Connection> noHost = new CompletableFuture<>();
+                noHost.completeExceptionally(new TimeoutException("Timed out waiting for an available host."));
+                return noHost;
+            }
+
+            final ConnectionPool pool = hostConnectionPools.get(possibleHosts.next());
+            return borrowConnectionAsync(pool);
         }
 
         /**
@@ -415,7 +496,6 @@ public abstract class Client {
 
         @Override
         public RequestMessage buildMessage(final RequestMessage.Builder builder) {
-            if (close.isDone()) throw new IllegalStateException("Client is closed");
             if (!rebindings.isEmpty())
                 builder.addArg(Tokens.ARGS_ALIASES, rebindings);
 
@@ -437,6 +517,20 @@ public abstract class Client {
             return clusteredClient.chooseConnection(msg);
         }
 
+        /**
+         * Delegates to the underlying {@link org.apache.tinkerpop.gremlin.driver.Client.ClusteredClient}.
+         */
+        @Override
+        protected CompletableFuture<Connection> chooseConnectionAsync(final RequestMessage msg) {
+            if (close.isDone()) {
+                final CompletableFuture<Connection> closed = new CompletableFuture<>();
+                closed.completeExceptionally(new IllegalStateException("Client is closed"));
+                return closed;
+            }
+
+            return clusteredClient.chooseConnectionAsync(msg);
+        }
+
         /**
          * Prevents messages from being sent from this {@code Client}. Note that calling this method does not call
          * close on the {@code Client} that created it.
@@ -522,7 +616,15 @@ public abstract class Client {
          */
         @Override
         protected Connection chooseConnection(final RequestMessage msg) throws TimeoutException, ConnectionException {
-            return connectionPool.borrowConnection(cluster.connectionPoolSettings().maxWaitForConnection, TimeUnit.MILLISECONDS);
+            return borrowConnection(connectionPool);
+        }
+
+        /**
+         * Since the session is bound to a single host, simply borrow a connection from that pool without blocking.
+         */
+        @Override
+        protected CompletableFuture<Connection> chooseConnectionAsync(final RequestMessage msg) {
+            return borrowConnectionAsync(connectionPool);
         }
 
         /**
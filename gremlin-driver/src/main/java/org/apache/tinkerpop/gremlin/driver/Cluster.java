@@ -25,6 +25,8 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -42,6 +44,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -128,7 +131,10 @@ public final class Cluster {
                 .maxSimultaneousUsagePerConnection(settings.connectionPool.maxSimultaneousUsagePerConnection)
                 .minSimultaneousUsagePerConnection(settings.connectionPool.minSimultaneousUsagePerConnection)
                 .maxConnectionPoolSize(settings.connectionPool.maxSize)
-                .minConnectionPoolSize(settings.connectionPool.minSize);
+                .minConnectionPoolSize(settings.connectionPool.minSize)
+                .maxBatchSize(settings.connectionPool.maxBatchSize)
+                .maxBatchDelay(settings.connectionPool.maxBatchDelay)
+                .maxQueuedResults(settings.connectionPool.maxQueuedResults);
 
         if (settings.username != null && settings.password != null)
             builder.credentials(settings.username, settings.password);
@@ -247,6 +253,9 @@ public final class Cluster {
         private int reconnectInitialDelay = Connection.RECONNECT_INITIAL_DELAY;
         private int reconnectInterval = Connection.RECONNECT_INTERVAL;
         private int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
+        private int maxBatchSize = Connection.MAX_BATCH_SIZE;
+        private int maxBatchDelay = Connection.MAX_BATCH_DELAY;
+        private int maxQueuedResults = Connection.MAX_QUEUED_RESULTS;
         private String channelizer = Channelizer.WebSocketChannelizer.class.getName();
         private boolean enableSsl = false;
         private LoadBalancingStrategy loadBalancingStrategy = new LoadBalancingStrategy.RoundRobin();
@@ -380,13 +389,45 @@ public final class Cluster {
         }
 
         /**
-         * Override the server setting that determines how many results are returned per batch.
+         * Override the server setting that determines how many results are returned per batch.  By default, the
+         * batch size is not sent with requests so that the server batches results as it is configured to, which may
+         * be by their size in bytes rather than their number.
          */
         public Builder resultIterationBatchSize(final int size) {
             this.resultIterationBatchSize = size;
             return this;
         }
 
+        /**
+         * The maximum number of sessionless eval requests that a connection will coalesce into a single batch
+         * request to the server.  The default of 1 disables batching.  A batch is also sent early rather than let the
+         * estimated size of its requests exceed {@link #maxContentLength(int)}.
+         */
+        public Builder maxBatchSize(final int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * The maximum amount of time in milliseconds that a request waits for others to join its batch before the
+         * batch is sent.  Only applies when {@link #maxBatchSize(int)} is greater than 1.
+         */
+        public Builder maxBatchDelay(final int maxBatchDelay) {
+            this.maxBatchDelay = maxBatchDelay;
+            return this;
+        }
+
+        /**
+         * The number of results that may be held on the client for a request before the connection stops reading
+         * from the server, which resumes once half of those results have been consumed.  The default of 0 holds all
+         * results that arrive.  Note that the results of a request that are never consumed hold up the other requests
+         * on the same connection.
+         */
+        public Builder maxQueuedResults(final int maxQueuedResults) {
+            this.maxQueuedResults = maxQueuedResults;
+            return this;
+        }
+
         /**
          * The maximum amount of time to wait for a connection to be borrowed from the connection pool.
          */
@@ -527,6 +568,9 @@ public final class Cluster {
             connectionPoolSettings.reconnectInitialDelay = this.reconnectInitialDelay;
             connectionPoolSettings.reconnectInterval = this.reconnectInterval;
             connectionPoolSettings.resultIterationBatchSize = this.resultIterationBatchSize;
+            connectionPoolSettings.maxBatchSize = this.maxBatchSize;
+            connectionPoolSettings.maxBatchDelay = this.maxBatchDelay;
+            connectionPoolSettings.maxQueuedResults = this.maxQueuedResults;
             connectionPoolSettings.enableSsl = this.enableSsl;
             connectionPoolSettings.channelizer = this.channelizer;
             return new Cluster(getContactPoints(), serializer, this.nioPoolSize, this.workerPoolSize,
@@ -535,6 +579,14 @@ public final class Cluster {
     }
 
     static class Factory {
+        private static final Logger logger = LoggerFactory.getLogger(Factory.class);
+
+        /**
+         * The time in milliseconds to wait for the event loops to terminate, which is longer than the fifteen seconds
+         * after which a graceful shutdown of netty forces them to.
+         */
+        private static final long SHUTDOWN_TIMEOUT = 30000;
+
         private final EventLoopGroup group;
 
         public Factory(final int nioPoolSize) {
@@ -549,7 +601,15 @@ public final class Cluster {
         }
 
         void shutdown() {
-            group.shutdownGracefully().awaitUninterruptibly();
+            // wait on the event loops themselves rather than on the future of the group, which is notified through
+            // the global event executor of netty and so never completes if that executor has died
+            group.shutdownGracefully();
+            try {
+                if (!group.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS))
+                    logger.warn("Timed out waiting for the event loops of the driver to shutdown");
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
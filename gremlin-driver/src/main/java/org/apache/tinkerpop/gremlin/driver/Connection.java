@@ -47,6 +47,7 @@ final class Connection {
     private final Channel channel;
     private final URI uri;
     private final ConcurrentMap<UUID, ResultQueue> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, UUID> batched = new ConcurrentHashMap<>();
     private final Cluster cluster;
     private final Client client;
     private final ConnectionPool pool;
@@ -57,7 +58,13 @@ final class Connection {
     public static final int MAX_CONTENT_LENGTH = 65536;
     public static final int RECONNECT_INITIAL_DELAY = 1000;
     public static final int RECONNECT_INTERVAL = 1000;
-    public static final int RESULT_ITERATION_BATCH_SIZE = 64;
+    /**
+     * Leaves the batch size of results to the server rather than send one with each request.
+     */
+    public static final int RESULT_ITERATION_BATCH_SIZE = 0;
+    public static final int MAX_BATCH_SIZE = 1;
+    public static final int MAX_BATCH_DELAY = 1;
+    public static final int MAX_QUEUED_RESULTS = 0;
 
     /**
      * When a {@code Connection} is borrowed from the pool, this number is incremented to indicate the number of
@@ -68,12 +75,22 @@ final class Connection {
     private final AtomicReference<Class<Channelizer>> channelizerClass = new AtomicReference<>(null);
 
     private volatile boolean isDead = false;
+
+    /**
+     * The number of {@link ResultQueue} instances that are full and need reads from the channel to stop.
+     */
+    private final AtomicInteger suspendedReads = new AtomicInteger(0);
     private final int maxInProcess;
 
     private final String connectionLabel;
 
     private final Channelizer channelizer;
 
+    /**
+     * Coalesces requests written close together into a single frame, or {@code null} if batching is disabled.
+     */
+    private final RequestBatcher batcher;
+
     private final AtomicReference<CompletableFuture<Void>> closeFuture = new AtomicReference<>();
 
     public Connection(final URI uri, final ConnectionPool pool, final int maxInProcess) throws ConnectionException {
@@ -100,6 +117,11 @@ final class Connection {
             channel = b.connect(uri.getHost(), uri.getPort()).sync().channel();
             channelizer.connected();
 
+            final Settings.ConnectionPoolSettings connectionPoolSettings = cluster.connectionPoolSettings();
+            batcher = connectionPoolSettings.maxBatchSize > 1 ?
+                    new RequestBatcher(channel, batched, connectionPoolSettings.maxBatchSize,
+                            connectionPoolSettings.maxBatchDelay, connectionPoolSettings.maxContentLength) : null;
+
             logger.info("Created new connection for {}", uri);
         } catch (Exception ie) {
             logger.debug("Error opening connection on {}", uri);
@@ -139,6 +161,14 @@ final class Connection {
         return pending;
     }
 
+    /**
+     * Gets the identifiers of the batch requests that requests were sent in, keyed by the identifier of the request,
+     * until the first response for the request arrives.
+     */
+    ConcurrentMap<UUID, UUID> getBatched() {
+        return batched;
+    }
+
     public CompletableFuture<Void> closeAsync() {
         final CompletableFuture<Void> future = new CompletableFuture<>();
         if (!closeFuture.compareAndSet(null, future))
@@ -170,8 +200,10 @@ final class Connection {
 
     public ChannelPromise write(final RequestMessage requestMessage, final CompletableFuture<ResultSet> future) {
         // once there is a completed write, then create a traverser for the result set and complete
-        // the promise so that the client knows that that it can start checking for results.
+        // the promise so that the client knows that that it can start checking for results. the request must already
+        // be counted as in flight on the host of the pool...see Client.borrowConnection()
         final Connection thisConnection = this;
+        final long start = System.nanoTime();
         final ChannelPromise promise = channel.newPromise()
                 .addListener(f -> {
                     if (!f.isSuccess()) {
@@ -179,26 +211,60 @@ final class Connection {
                             logger.debug(String.format("Write on connection %s failed", thisConnection.getConnectionInfo()), f.cause());
                         thisConnection.isDead = true;
                         thisConnection.returnToPool();
+                        if (pool != null) pool.host.requestFailed();
                         future.completeExceptionally(f.cause());
                     } else {
                         final LinkedBlockingQueue<Result> resultLinkedBlockingQueue = new LinkedBlockingQueue<>();
                         final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
+
+                        // the host counted the request as in flight when it was chosen and keeps track of response
+                        // times for load balancing
+                        if (pool != null)
+                            readCompleted.thenRun(() -> pool.host.requestCompleted(System.nanoTime() - start));
+
                         readCompleted.thenAcceptAsync(v -> {
                             thisConnection.returnToPool();
                             if (isClosed() && pending.isEmpty())
                                 shutdown(closeFuture.get());
                         }, cluster.executor());
 
-                        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
+                        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted,
+                                thisConnection, cluster.connectionPoolSettings().maxQueuedResults);
                         pending.put(requestMessage.getRequestId(), handler);
                         future.complete(new ResultSet(handler, cluster.executor(), readCompleted));
                     }
                 });
-        channel.writeAndFlush(requestMessage, promise);
+        if (batcher != null && RequestBatcher.isBatchable(requestMessage))
+            batcher.write(requestMessage, promise);
+        else
+            channel.writeAndFlush(requestMessage, promise);
 
         return promise;
     }
 
+    void suspendReading() {
+        suspendedReads.incrementAndGet();
+        updateAutoRead();
+    }
+
+    void resumeReading() {
+        suspendedReads.decrementAndGet();
+        updateAutoRead();
+    }
+
+    /**
+     * Releases the holds that the result queues of the pending requests have on the reads of this connection.
+     */
+    void releaseSuspendedReads() {
+        pending.values().forEach(ResultQueue::resume);
+    }
+
+    private void updateAutoRead() {
+        // changes are applied in order on the event loop and each applies the latest count so that the last of a
+        // run of concurrent suspends and resumes always wins
+        channel.eventLoop().execute(() -> channel.config().setAutoRead(suspendedReads.get() == 0));
+    }
+
     public void returnToPool() {
         try {
             if (pool != null) pool.returnConnection(this);
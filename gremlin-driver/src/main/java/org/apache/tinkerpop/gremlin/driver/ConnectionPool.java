@@ -20,7 +20,6 @@ package org.apache.tinkerpop.gremlin.driver;
 
 import org.apache.tinkerpop.gremlin.driver.exception.ConnectionException;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
-import org.apache.tinkerpop.gremlin.util.TimeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,15 +28,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -67,9 +68,10 @@ final class ConnectionPool {
 
     private final AtomicReference<CompletableFuture<Void>> closeFuture = new AtomicReference<>();
 
-    private volatile int waiter = 0;
-    private final Lock waitLock = new ReentrantLock(true);
-    private final Condition hasAvailableConnection = waitLock.newCondition();
+    /**
+     * Borrowers waiting for a connection to become available, in the order that they started to wait.
+     */
+    private final ConcurrentLinkedQueue<CompletableFuture<Connection>> waiters = new ConcurrentLinkedQueue<>();
 
     public ConnectionPool(final Host host, final Client client) {
         this(host, client, Optional.empty(), Optional.empty());
@@ -112,11 +114,49 @@ final class ConnectionPool {
     }
 
     public Connection borrowConnection(final long timeout, final TimeUnit unit) throws TimeoutException, ConnectionException {
-        logger.debug("Borrowing connection from pool on {} - timeout in {} {}", host, timeout, unit);
+        final CompletableFuture<Connection> borrowed = borrowConnectionAsync(timeout, unit);
+        try {
+            // the timeout is normally enforced by a task on the cluster executor, but this thread may be the one
+            // that would run it
+            return borrowed.get(timeout, unit);
+        } catch (TimeoutException te) {
+            timeOut(borrowed);
+            return borrowConnectionCompleted(borrowed);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            if (!borrowed.cancel(false)) returnBorrowedIfCompleted(borrowed);
+            throw new TimeoutException("Interrupted while waiting for connection");
+        } catch (ExecutionException ee) {
+            return borrowConnectionCompleted(borrowed);
+        }
+    }
 
-        if (isClosed()) throw new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown");
+    private static Connection borrowConnectionCompleted(final CompletableFuture<Connection> borrowed)
+            throws TimeoutException, ConnectionException {
+        try {
+            return borrowed.join();
+        } catch (CompletionException ce) {
+            final Throwable cause = ce.getCause();
+            if (cause instanceof TimeoutException) throw (TimeoutException) cause;
+            if (cause instanceof ConnectionException) throw (ConnectionException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new RuntimeException(cause);
+        }
+    }
 
-        final Connection leastUsedConn = selectLeastUsed();
+    /**
+     * Borrows a connection without blocking.  The returned future completes with the least used connection as soon
+     * as one has capacity for another request, or with a {@link TimeoutException} if none does before the timeout.
+     * Borrowers that have to wait are given connections in the order that they started to wait.
+     */
+    public CompletableFuture<Connection> borrowConnectionAsync(final long timeout, final TimeUnit unit) {
+        logger.debug("Borrowing connection from pool on {} - timeout in {} {}", host, timeout, unit);
+
+        final CompletableFuture<Connection> borrowed = new CompletableFuture<>();
+        if (isClosed()) {
+            borrowed.completeExceptionally(new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown"));
+            return borrowed;
+        }
 
         if (connections.isEmpty()) {
             logger.debug("Tried to borrow connection but the pool was empty for {} - scheduling pool creation and waiting for connection", host);
@@ -125,50 +165,21 @@ final class ConnectionPool {
                 newConnection();
             }
 
-            return waitForConnection(timeout, unit);
-        }
-
-        if (null == leastUsedConn) {
-            if (isClosed())
-                throw new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown");
-            logger.debug("Pool was initialized but a connection could not be selected earlier - waiting for connection on {}", host);
-            return waitForConnection(timeout, unit);
-        }
-
-        // if the number borrowed on the least used connection exceeds the max allowed and the pool size is
-        // not at maximum then consider opening a connection
-        final int currentPoolSize = connections.size();
-        if (leastUsedConn.borrowed.get() >= maxSimultaneousUsagePerConnection && currentPoolSize < maxPoolSize) {
-            if (logger.isDebugEnabled())
-                logger.debug("Least used {} on {} exceeds maxSimultaneousUsagePerConnection but pool size {} < maxPoolSize - consider new connection",
-                        leastUsedConn.getConnectionInfo(), host, currentPoolSize);
-            considerNewConnection();
+            return waitForConnection(borrowed, timeout, unit);
         }
 
-        while (true) {
-            final int borrowed = leastUsedConn.borrowed.get();
-            final int availableInProcess = leastUsedConn.availableInProcess();
-
-            // if the number borrowed starts to exceed what's available for this connection, then we need
-            // to wait for a connection to become available. this is an interesting comparison for "busy-ness"
-            // because it compares the number of times the connection was borrowed to what's in-process.  the
-            // in-process number refers to the number of outstanding requests less the maxInProcessForConnection
-            // setting.  this scenario can only really happen if
-            // maxInProcessForConnection=maxSimultaneousUsagePerConnection or if there is some sort of batch type
-            // operation where more than one message is sent on a single borrowed connection before it is returned
-            // to the pool.
-            if (borrowed >= leastUsedConn.availableInProcess()) {
-                logger.debug("Least used connection selected from pool for {} but borrowed [{}] >= availableInProcess [{}] - wait",
-                        host, borrowed, availableInProcess);
-                return waitForConnection(timeout, unit);
-            }
-
-            if (leastUsedConn.borrowed.compareAndSet(borrowed, borrowed + 1)) {
+        // borrowers that are already waiting go first
+        if (waiters.isEmpty()) {
+            final Connection connection = tryBorrowLeastUsed();
+            if (connection != null) {
                 if (logger.isDebugEnabled())
-                    logger.debug("Return least used {} on {}", leastUsedConn.getConnectionInfo(), host);
-                return leastUsedConn;
+                    logger.debug("Return least used {} on {}", connection.getConnectionInfo(), host);
+                borrowed.complete(connection);
+                return borrowed;
             }
         }
+
+        return waitForConnection(borrowed, timeout, unit);
     }
 
     public void returnConnection(final Connection connection) throws ConnectionException {
@@ -334,51 +345,98 @@ final class ConnectionPool {
             logger.debug("{} destroyed", connection.getConnectionInfo());
     }
 
-    private Connection waitForConnection(final long timeout, final TimeUnit unit) throws TimeoutException, ConnectionException {
-        long start = System.nanoTime();
-        long remaining = timeout;
-        long to = timeout;
-        do {
-            try {
-                awaitAvailableConnection(remaining, unit);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                to = 0;
-            }
+    private CompletableFuture<Connection> waitForConnection(final CompletableFuture<Connection> borrowed,
+                                                            final long timeout, final TimeUnit unit) {
+        logger.debug("Wait {} {} for an available connection on {}", timeout, unit, host);
 
-            if (isClosed())
-                throw new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown");
-
-            final Connection leastUsed = selectLeastUsed();
-            if (leastUsed != null) {
-                while (true) {
-                    final int inFlight = leastUsed.borrowed.get();
-                    final int availableInProcess = leastUsed.availableInProcess();
-                    if (inFlight >= availableInProcess) {
-                        logger.debug("Least used {} on {} has requests borrowed [{}] >= availableInProcess [{}] - may timeout waiting for connection",
-                                leastUsed, host, inFlight, availableInProcess);
-                        break;
-                    }
-
-                    if (leastUsed.borrowed.compareAndSet(inFlight, inFlight + 1)) {
-                        if (logger.isDebugEnabled())
-                            logger.debug("Return least used {} on {} after waiting", leastUsed.getConnectionInfo(), host);
-                        return leastUsed;
-                    }
-                }
-            }
+        waiters.offer(borrowed);
+
+        try {
+            final ScheduledFuture<?> timeoutFuture = cluster.executor().schedule(() -> timeOut(borrowed), timeout, unit);
+            borrowed.whenComplete((c, t) -> timeoutFuture.cancel(false));
+        } catch (RejectedExecutionException ree) {
+            // the cluster is closing
+            waiters.remove(borrowed);
+            borrowed.completeExceptionally(new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown"));
+            return borrowed;
+        }
+
+        // a connection may have become available before this borrower was queued to be told of it
+        announceAvailableConnection();
+
+        return borrowed;
+    }
 
-            remaining = to - TimeUtil.timeSince(start, unit);
-            logger.debug("Continue to wait for connection on {} if {} > 0", host, remaining);
-        } while (remaining > 0);
+    private void timeOut(final CompletableFuture<Connection> borrowed) {
+        waiters.remove(borrowed);
+        if (borrowed.completeExceptionally(new TimeoutException())) {
+            logger.debug("Timed-out waiting for connection on {} - possibly unavailable", host);
 
-        logger.debug("Timed-out waiting for connection on {} - possibly unavailable", host);
+            // if we timeout borrowing a connection that might mean the host is dead (or the timeout was super short).
+            // either way supply a function to reconnect
+            this.considerUnavailable();
+        }
+    }
+
+    /**
+     * Increments the borrowed count of the least used connection if it has capacity for another request.
+     */
+    private Connection tryBorrowLeastUsed() {
+        final Connection leastUsedConn = selectLeastUsed();
+        if (null == leastUsedConn) return null;
 
-        // if we timeout borrowing a connection that might mean the host is dead (or the timeout was super short).
-        // either way supply a function to reconnect
-        this.considerUnavailable();
+        // if the number borrowed on the least used connection exceeds the max allowed and the pool size is
+        // not at maximum then consider opening a connection
+        final int currentPoolSize = connections.size();
+        if (leastUsedConn.borrowed.get() >= maxSimultaneousUsagePerConnection && currentPoolSize < maxPoolSize) {
+            if (logger.isDebugEnabled())
+                logger.debug("Least used {} on {} exceeds maxSimultaneousUsagePerConnection but pool size {} < maxPoolSize - consider new connection",
+                        leastUsedConn.getConnectionInfo(), host, currentPoolSize);
+            considerNewConnection();
+        }
 
-        throw new TimeoutException();
+        while (true) {
+            final int borrowed = leastUsedConn.borrowed.get();
+            final int availableInProcess = leastUsedConn.availableInProcess();
+
+            // if the number borrowed starts to exceed what's available for this connection, then we need
+            // to wait for a connection to become available. this is an interesting comparison for "busy-ness"
+            // because it compares the number of times the connection was borrowed to what's in-process.  the
+            // in-process number refers to the number of outstanding requests less the maxInProcessForConnection
+            // setting.  this scenario can only really happen if
+            // maxInProcessForConnection=maxSimultaneousUsagePerConnection or if there is some sort of batch type
+            // operation where more than one message is sent on a single borrowed connection before it is returned
+            // to the pool.
+            if (borrowed >= availableInProcess) {
+                logger.debug("Least used connection selected from pool for {} but borrowed [{}] >= availableInProcess [{}] - wait",
+                        host, borrowed, availableInProcess);
+                return null;
+            }
+
+            if (leastUsedConn.borrowed.compareAndSet(borrowed, borrowed + 1))
+                return leastUsedConn;
+        }
+    }
+
+    /**
+     * Undoes the borrowing of a connection that was never handed to a borrower.
+     */
+    private void releaseUnused(final Connection connection) {
+        if (connection.borrowed.decrementAndGet() == 0 && bin.contains(connection) && bin.remove(connection))
+            connection.closeAsync();
+    }
+
+    /**
+     * Gives back a connection that was borrowed for a waiter that no longer wants it.
+     */
+    private void returnBorrowedIfCompleted(final CompletableFuture<Connection> borrowed) {
+        if (borrowed.isDone() && !borrowed.isCompletedExceptionally()) {
+            try {
+                returnConnection(borrowed.join());
+            } catch (ConnectionException ce) {
+                logger.debug("Could not return connection to {} - {}", host, ce.getMessage());
+            }
+        }
     }
 
     private void considerUnavailable() {
@@ -406,6 +464,7 @@ final class ConnectionPool {
             connection = borrowConnection(cluster.connectionPoolSettings().maxWaitForConnection, TimeUnit.MILLISECONDS);
             final RequestMessage ping = RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, "''").create();
             final CompletableFuture<ResultSet> f = new CompletableFuture<>();
+            host.requestSent();
             connection.write(ping, f);
             f.get().all().get();
 
@@ -421,14 +480,24 @@ final class ConnectionPool {
     private void announceAvailableConnection() {
         logger.debug("Announce connection available on {}", host);
 
-        if (waiter == 0)
-            return;
+        // hand out connections to waiters in order for as long as there is capacity for them
+        CompletableFuture<Connection> waiter;
+        while ((waiter = waiters.peek()) != null) {
+            if (waiter.isDone()) {
+                waiters.remove(waiter);
+                continue;
+            }
 
-        waitLock.lock();
-        try {
-            hasAvailableConnection.signal();
-        } finally {
-            waitLock.unlock();
+            final Connection connection = tryBorrowLeastUsed();
+            if (null == connection) return;
+
+            if (waiters.remove(waiter) && waiter.complete(connection)) {
+                if (logger.isDebugEnabled())
+                    logger.debug("Return least used {} on {} after waiting", connection.getConnectionInfo(), host);
+            } else {
+                // the waiter timed out or was taken by another announcement in the meantime
+                releaseUnused(connection);
+            }
         }
     }
 
@@ -445,28 +514,10 @@ final class ConnectionPool {
         return leastBusy;
     }
 
-    private void awaitAvailableConnection(long timeout, TimeUnit unit) throws InterruptedException {
-        logger.debug("Wait {} {} for an available connection on {} with {}", timeout, unit, host, Thread.currentThread());
-
-        waitLock.lock();
-        waiter++;
-        try {
-            hasAvailableConnection.await(timeout, unit);
-        } finally {
-            waiter--;
-            waitLock.unlock();
-        }
-    }
-
     private void announceAllAvailableConnection() {
-        if (waiter == 0)
-            return;
-
-        waitLock.lock();
-        try {
-            hasAvailableConnection.signalAll();
-        } finally {
-            waitLock.unlock();
+        CompletableFuture<Connection> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            waiter.completeExceptionally(new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown"));
         }
     }
 
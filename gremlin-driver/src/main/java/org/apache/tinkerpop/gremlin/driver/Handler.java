@@ -39,7 +39,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 import javax.security.auth.Subject;
 import javax.security.auth.callback.Callback;
@@ -163,20 +165,37 @@ final class Handler {
 
     /**
      * Takes a map of requests pending responses and writes responses to the {@link ResultQueue} of a request
-     * as the {@link ResponseMessage} objects are deserialized.
+     * as the {@link ResponseMessage} objects are deserialized.  An error response to a batch request fails all of the
+     * requests that were sent in the batch.
      */
     static class GremlinResponseHandler extends SimpleChannelInboundHandler<ResponseMessage> {
         private static final Logger logger = LoggerFactory.getLogger(GremlinResponseHandler.class);
         private final ConcurrentMap<UUID, ResultQueue> pending;
+        private final ConcurrentMap<UUID, UUID> batched;
 
         public GremlinResponseHandler(final ConcurrentMap<UUID, ResultQueue> pending) {
+            this(pending, new ConcurrentHashMap<>());
+        }
+
+        GremlinResponseHandler(final ConcurrentMap<UUID, ResultQueue> pending, final ConcurrentMap<UUID, UUID> batched) {
             this.pending = pending;
+            this.batched = batched;
         }
 
         @Override
         protected void channelRead0(final ChannelHandlerContext channelHandlerContext, final ResponseMessage response) throws Exception {
             try {
+                final UUID requestId = response.getRequestId();
                 final ResponseStatusCode statusCode = response.getStatus().getCode();
+
+                // the server only responds under the identifier of a batch when it rejects the whole batch, in which
+                // case none of the requests in the batch will ever get a response of their own
+                if (!pending.containsKey(requestId) && batched.containsValue(requestId)) {
+                    failBatch(requestId, new ResponseException(statusCode, response.getStatus().getMessage()));
+                    return;
+                }
+
+                batched.remove(requestId);
                 if (statusCode == ResponseStatusCode.SUCCESS || statusCode == ResponseStatusCode.PARTIAL_CONTENT) {
                     final Object data = response.getResult().getData();
                     if (data instanceof List) {
@@ -204,6 +223,19 @@ final class Handler {
             }
         }
 
+        private void failBatch(final UUID batchId, final ResponseException cause) {
+            logger.warn("Batch request {} failed - {}", batchId, cause.getMessage());
+            batched.entrySet().stream().filter(kv -> kv.getValue().equals(batchId)).map(Map.Entry::getKey)
+                    .collect(Collectors.toList()).forEach(requestId -> {
+                        batched.remove(requestId);
+                        final ResultQueue queue = pending.remove(requestId);
+                        if (queue != null) {
+                            queue.markError(cause);
+                            queue.markComplete();
+                        }
+                    });
+        }
+
         @Override
         public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) throws Exception {
             // if this happens enough times (like the client is unable to deserialize a response) the pending
@@ -26,6 +26,8 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
@@ -42,6 +44,24 @@ public final class Host {
     private final Cluster cluster;
     private final String hostLabel;
 
+    /**
+     * The weight given to each new response time in the exponentially weighted moving average of response times.
+     */
+    static final double LATENCY_WEIGHT = 0.25d;
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+
+    /**
+     * The moving average of response times in nanoseconds, as the bits of a {@code double}, which is zero until the
+     * first response completes.
+     */
+    private final AtomicLong latency = new AtomicLong(Double.doubleToLongBits(0d));
+
+    /**
+     * The value of {@link System#nanoTime()} when the last response was read, which dates the moving average.
+     */
+    private volatile long latencyUpdated;
+
     final AtomicReference<ScheduledFuture<?>> reconnectionAttempt = new AtomicReference<>(null);
 
     Host(final InetSocketAddress address, final Cluster cluster) {
@@ -63,6 +83,60 @@ public final class Host {
         return isAvailable;
     }
 
+    /**
+     * Gets the number of requests chosen to be sent to this host by all clients of the {@link Cluster} that have yet
+     * to be fully read.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the exponentially weighted moving average of the time in nanoseconds from sending a request to this host
+     * to having read its full response, which is zero until a response has been read.
+     */
+    public double getLatency() {
+        return Double.longBitsToDouble(latency.get());
+    }
+
+    /**
+     * Gets the value of {@link System#nanoTime()} when the last response from this host was read.
+     */
+    long getLatencyUpdated() {
+        return latencyUpdated;
+    }
+
+    /**
+     * Counts a request as in flight as soon as this host is chosen for it, so that concurrent selections see it.
+     */
+    void requestSent() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Stops counting a request that was never written to this host, without a response time.
+     */
+    void requestFailed() {
+        inFlight.decrementAndGet();
+    }
+
+    void requestCompleted(final long nanos) {
+        requestCompleted(nanos, System.nanoTime());
+    }
+
+    void requestCompleted(final long nanos, final long now) {
+        inFlight.decrementAndGet();
+        latencyUpdated = now;
+
+        long current;
+        double updated;
+        do {
+            current = latency.get();
+            final double average = Double.longBitsToDouble(current);
+            updated = average == 0d ? nanos : average + LATENCY_WEIGHT * (nanos - average);
+        } while (!latency.compareAndSet(current, Double.doubleToLongBits(updated)));
+    }
+
     void makeAvailable() {
         isAvailable = true;
     }
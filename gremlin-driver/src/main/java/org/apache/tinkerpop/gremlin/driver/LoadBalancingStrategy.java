@@ -22,9 +22,8 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -50,7 +49,7 @@ public interface LoadBalancingStrategy extends Host.Listener {
      */
     public static class RoundRobin implements LoadBalancingStrategy {
 
-        private final CopyOnWriteArrayList<Host> availableHosts = new CopyOnWriteArrayList<>();
+        private final AvailableHosts availableHosts = new AvailableHosts();
         private final AtomicInteger index = new AtomicInteger();
 
         @Override
@@ -61,36 +60,78 @@ public interface LoadBalancingStrategy extends Host.Listener {
 
         @Override
         public Iterator<Host> select(final RequestMessage msg) {
-            final List<Host> hosts = (List<Host>) availableHosts.clone();
             final int startIndex = index.getAndIncrement();
 
             if (startIndex > Integer.MAX_VALUE - 10000)
                 index.set(0);
 
-            return new Iterator<Host>() {
+            return AvailableHosts.startingAt(availableHosts.get(), startIndex);
+        }
 
-                private int currentIndex = startIndex;
-                private int remainingHosts = hosts.size();
+        @Override
+        public void onAvailable(final Host host) {
+            this.availableHosts.add(host);
+        }
 
-                @Override
-                public boolean hasNext() {
-                    return remainingHosts > 0;
-                }
+        @Override
+        public void onUnavailable(final Host host) {
+            this.availableHosts.remove(host);
+        }
 
-                @Override
-                public Host next() {
-                    remainingHosts--;
-                    int c = currentIndex++ % hosts.size();
-                    if (c < 0)
-                        c += hosts.size();
-                    return hosts.get(c);
-                }
-            };
+        @Override
+        public void onNew(final Host host) {
+            onAvailable(host);
+        }
+
+        @Override
+        public void onRemove(final Host host) {
+            onUnavailable(host);
+        }
+    }
+
+    /**
+     * A strategy that selects the host with the lowest cost first, followed by the remaining hosts in the order
+     * they were added.  Hosts of equal cost are selected in turn.  The cost of a host is determined by the
+     * implementation from the statistics that each {@link Host} keeps on the requests sent to it by all of the
+     * clients of the {@link Cluster}.
+     */
+    public static abstract class LeastCost implements LoadBalancingStrategy {
+
+        private final AvailableHosts availableHosts = new AvailableHosts();
+        private final AtomicInteger index = new AtomicInteger();
+
+        /**
+         * Gets the costs of sending another request to each of the available hosts where lower is better.
+         */
+        protected abstract double[] costs(final Host[] hosts);
+
+        @Override
+        public void initialize(final Cluster cluster, final Collection<Host> hosts) {
+            this.availableHosts.addAll(hosts);
+        }
+
+        @Override
+        public Iterator<Host> select(final RequestMessage msg) {
+            final Host[] hosts = availableHosts.get();
+            if (hosts.length == 0) return AvailableHosts.startingAt(hosts, 0);
+
+            final double[] costs = costs(hosts);
+
+            // start the search at a different host each time so that ties don't always go to the same host
+            final int offset = index.getAndIncrement() & Integer.MAX_VALUE;
+            int best = offset % hosts.length;
+            for (int ix = 1; ix < hosts.length; ix++) {
+                final int candidate = (offset + ix) % hosts.length;
+                if (costs[candidate] < costs[best])
+                    best = candidate;
+            }
+
+            return AvailableHosts.startingAt(hosts, best);
         }
 
         @Override
         public void onAvailable(final Host host) {
-            this.availableHosts.addIfAbsent(host);
+            this.availableHosts.add(host);
         }
 
         @Override
@@ -108,4 +149,80 @@ public interface LoadBalancingStrategy extends Host.Listener {
             onUnavailable(host);
         }
     }
+
+    /**
+     * A strategy that first selects the host with the fewest requests that have been sent but whose responses have
+     * not been fully read, which favors the servers that are keeping up with their load.  A request counts against
+     * its host as soon as the host is chosen, so concurrent requests are spread across the hosts.
+     */
+    public static class LeastInFlight extends LeastCost {
+        @Override
+        protected double[] costs(final Host[] hosts) {
+            final double[] costs = new double[hosts.length];
+            for (int ix = 0; ix < hosts.length; ix++) {
+                costs[ix] = hosts[ix].getInFlight();
+            }
+            return costs;
+        }
+    }
+
+    /**
+     * A strategy that first selects the host with the lowest exponentially weighted moving average of response times
+     * scaled by the number of requests already in flight to it, so that a fast server is not flooded until it
+     * becomes slow.  Hosts without a response yet have no cost, which ensures that every host is tried.  The average
+     * of a host that is no longer chosen decays towards the mean of the averages of all hosts as it ages, so that a
+     * host which was slow for a while is tried again rather than starved.
+     */
+    public static class LatencyAware extends LeastCost {
+
+        /**
+         * The default time in milliseconds over which the average response time of a host moves about two thirds of
+         * the way to the mean of all hosts if no new response is read from it.
+         */
+        public static final long DEFAULT_DECAY_TIME = 10000;
+
+        private final long decayNanos;
+
+        public LatencyAware() {
+            this(DEFAULT_DECAY_TIME, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Creates the strategy with the time over which the average response time of a host moves about two thirds of
+         * the way to the mean of all hosts if no new response is read from it.
+         */
+        public LatencyAware(final long decayTime, final TimeUnit unit) {
+            if (decayTime <= 0) throw new IllegalArgumentException("decayTime must be greater than zero");
+            this.decayNanos = unit.toNanos(decayTime);
+        }
+
+        @Override
+        protected double[] costs(final Host[] hosts) {
+            return costs(hosts, System.nanoTime());
+        }
+
+        double[] costs(final Host[] hosts, final long now) {
+            double total = 0d;
+            int measured = 0;
+            for (Host host : hosts) {
+                final double latency = host.getLatency();
+                if (latency > 0d) {
+                    total += latency;
+                    measured++;
+                }
+            }
+
+            final double mean = measured == 0 ? 0d : total / measured;
+            final double[] costs = new double[hosts.length];
+            for (int ix = 0; ix < hosts.length; ix++) {
+                final double latency = hosts[ix].getLatency();
+                if (latency == 0d) continue;
+
+                final long age = Math.max(0L, now - hosts[ix].getLatencyUpdated());
+                final double decayed = mean + (latency - mean) * Math.exp(-(double) age / decayNanos);
+                costs[ix] = decayed * (hosts[ix].getInFlight() + 1);
+            }
+            return costs;
+        }
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces the small requests written to a {@link Connection} within a short delay of one another into a single
+ * {@link Tokens#OPS_BATCH} request, which the server answers with a response stream for each of the requests as if
+ * they had been sent on their own.  Only sessionless {@link Tokens#OPS_EVAL} requests are batched.  The batch that
+ * each request was sent in is kept until the request gets its first response, as the server only responds under the
+ * identifier of the batch itself when it rejects the whole batch.
+ * <p/>
+ * A batch is also written before the estimated size of its requests reaches the {@code maxContentLength} of the
+ * connection so that the server does not reject it as too large.  The estimate counts the characters of the
+ * arguments of each request, which is close to their serialized size for the scripts and simple bindings that are
+ * worth batching, but it is not exact, so {@code maxContentLength} should leave some room below the setting of the
+ * same name on the server.
+ */
+final class RequestBatcher {
+
+    private final Channel channel;
+    private final ConcurrentMap<UUID, UUID> batched;
+    private final int maxBatchSize;
+    private final int maxBatchDelay;
+    private final int maxContentLength;
+
+    private List<RequestMessage> requests = new ArrayList<>();
+    private List<ChannelPromise> promises = new ArrayList<>();
+    private int batchLength = 0;
+
+    /**
+     * The estimated length of what each request adds to a batch beyond its arguments, such as its identifier and the
+     * names of its fields.
+     */
+    static final int REQUEST_OVERHEAD = 128;
+
+    RequestBatcher(final Channel channel, final ConcurrentMap<UUID, UUID> batched, final int maxBatchSize,
+                   final int maxBatchDelay, final int maxContentLength) {
+        this.channel = channel;
+        this.batched = batched;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelay = maxBatchDelay;
+        this.maxContentLength = maxContentLength;
+    }
+
+    static boolean isBatchable(final RequestMessage requestMessage) {
+        return requestMessage.getOp().equals(Tokens.OPS_EVAL)
+                && requestMessage.getProcessor().equals(RequestMessage.Builder.OP_PROCESSOR_NAME);
+    }
+
+    /**
+     * Estimates the length of a request in a batch from the characters of its arguments.
+     */
+    static int estimateLength(final RequestMessage requestMessage) {
+        return REQUEST_OVERHEAD + estimateLength(requestMessage.getArgs());
+    }
+
+    private static int estimateLength(final Object object) {
+        if (object instanceof CharSequence)
+            return ((CharSequence) object).length() + 2;
+        else if (object instanceof Map) {
+            int length = 2;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                length = length + estimateLength(entry.getKey()) + estimateLength(entry.getValue()) + 2;
+            }
+            return length;
+        } else if (object instanceof Collection) {
+            int length = 2;
+            for (Object item : (Collection<?>) object) {
+                length = length + estimateLength(item) + 1;
+            }
+            return length;
+        } else
+            return String.valueOf(object).length();
+    }
+
+    /**
+     * Adds a request to the batch, writing the batch once it is full or once the delay since its first request has
+     * passed.  If the request would take the estimated length of the batch past {@code maxContentLength} then the
+     * batch is written without it and the request starts the next batch.  The promise is completed when the batch is
+     * written.
+     */
+    void write(final RequestMessage requestMessage, final ChannelPromise promise) {
+        final int length = estimateLength(requestMessage);
+        List<RequestMessage> overflow = null;
+        List<ChannelPromise> overflowPromises = null;
+        final boolean first;
+        final boolean full;
+        synchronized (this) {
+            if (!requests.isEmpty() && batchLength + length > maxContentLength) {
+                overflow = requests;
+                overflowPromises = promises;
+                requests = new ArrayList<>();
+                promises = new ArrayList<>();
+                batchLength = 0;
+            }
+
+            first = requests.isEmpty();
+            requests.add(requestMessage);
+            promises.add(promise);
+            batchLength = batchLength + length;
+            full = requests.size() >= maxBatchSize || batchLength >= maxContentLength;
+        }
+
+        if (overflow != null)
+            send(overflow, overflowPromises);
+
+        if (full)
+            flush();
+        else if (first)
+            channel.eventLoop().schedule(this::flush, maxBatchDelay, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        final List<RequestMessage> batch;
+        final List<ChannelPromise> batchPromises;
+        synchronized (this) {
+            if (requests.isEmpty()) return;
+            batch = requests;
+            batchPromises = promises;
+            requests = new ArrayList<>();
+            promises = new ArrayList<>();
+            batchLength = 0;
+        }
+
+        send(batch, batchPromises);
+    }
+
+    private void send(final List<RequestMessage> batch, final List<ChannelPromise> batchPromises) {
+        // a single request gains nothing from the batch
+        if (batch.size() == 1) {
+            channel.writeAndFlush(batch.get(0), batchPromises.get(0));
+            return;
+        }
+
+        final List<Map<String, Object>> batchArgs = new ArrayList<>(batch.size());
+        for (RequestMessage requestMessage : batch) {
+            final Map<String, Object> args = new HashMap<>(requestMessage.getArgs());
+            args.put(Tokens.ARGS_REQUEST_ID, requestMessage.getRequestId());
+            batchArgs.add(args);
+        }
+
+        final RequestMessage batchMessage = RequestMessage.build(Tokens.OPS_BATCH)
+                .addArg(Tokens.ARGS_REQUESTS, batchArgs).create();
+        for (RequestMessage requestMessage : batch) {
+            batched.put(requestMessage.getRequestId(), batchMessage.getRequestId());
+        }
+
+        final ChannelPromise batchPromise = channel.newPromise().addListener(f -> {
+            for (ChannelPromise promise : batchPromises) {
+                if (f.isSuccess())
+                    promise.setSuccess();
+                else
+                    promise.setFailure(f.cause());
+            }
+
+            if (!f.isSuccess()) batch.forEach(requestMessage -> batched.remove(requestMessage.getRequestId()));
+        });
+        channel.writeAndFlush(batchMessage, batchPromise);
+    }
+}
@@ -34,6 +34,13 @@ import java.util.concurrent.atomic.AtomicReference;
 /**
  * A queue of incoming {@link ResponseMessage} objects.  The queue is updated by the
  * {@link Handler.GremlinResponseHandler} until a response terminator is identified.
+ * <p/>
+ * The queue may be bounded by a high-water mark, in which case the {@link Connection} stops reading from its channel
+ * once the queue holds that many results and starts again once it has been drained to half of that.  The server then
+ * sees its writes back up and stops producing results until the client catches up, so that a large result streams
+ * through the client without being held in memory all at once.  As the reads are shared by all of the requests on the
+ * {@link Connection}, the queue only stops them while its request is the only one pending on the connection and no
+ * one waits on its results, and any queue on the connection that is waited on or unbounded releases them again.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -53,9 +60,32 @@ final class ResultQueue {
      */
     private final AtomicBoolean flushed = new AtomicBoolean(false);
 
+    /**
+     * The {@link Connection} whose reads are suspended while this queue is full, or {@code null} if the queue is
+     * unbounded.
+     */
+    private final Connection connection;
+
+    private final int highWaterMark;
+
+    private volatile boolean bounded;
+
+    /**
+     * Whether or not this queue currently holds the reads of its {@link Connection} suspended.
+     */
+    private final AtomicBoolean suspended = new AtomicBoolean(false);
+
     public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete) {
+        this(resultLinkedBlockingQueue, readComplete, null, 0);
+    }
+
+    ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete,
+                final Connection connection, final int highWaterMark) {
         this.resultLinkedBlockingQueue = resultLinkedBlockingQueue;
         this.readComplete = readComplete;
+        this.connection = connection;
+        this.highWaterMark = highWaterMark;
+        this.bounded = connection != null && highWaterMark > 0;
     }
 
     public void add(final Result result) {
@@ -66,6 +96,25 @@ final class ResultQueue {
             internalDrain(nextWaiting.getValue1(), nextWaiting.getValue0(), resultLinkedBlockingQueue);
             waiting.remove(nextWaiting);
         }
+
+        if (bounded && resultLinkedBlockingQueue.size() >= highWaterMark && waiting.isEmpty()
+                && connection.getPending().size() <= 1 && suspended.compareAndSet(false, true)) {
+            connection.suspendReading();
+
+            // the queue may have been drained between the size check and the suspension in which case no drain
+            // is left to resume the reads.  likewise, another request may have started to wait on the connection.
+            resumeIfDrained();
+            if (connection.getPending().size() > 1 || !waiting.isEmpty()) resume();
+        }
+    }
+
+    /**
+     * Removes the bound on the queue so that all remaining results can be held in it at once.
+     */
+    void unbound() {
+        bounded = false;
+        resume();
+        releaseConnectionReads();
     }
 
     public CompletableFuture<List<Result>> await(final int items) {
@@ -73,6 +122,7 @@ final class ResultQueue {
         if (size() >= items || readComplete.isDone()) {
             // items are present so just drain to requested size if possible then complete it
             internalDrain(items, result, resultLinkedBlockingQueue);
+            resumeIfDrained();
         } else {
             // not enough items in the result queue so save this for callback later when the results actually arrive.
             // only necessary to "wait" if we're not in the act of flushing already, in which case, no more waiting
@@ -80,8 +130,12 @@ final class ResultQueue {
             if (flushed.get()) {
                 // just drain since we've flushed already
                 internalDrain(items, result, resultLinkedBlockingQueue);
+                resumeIfDrained();
             } else {
                 waiting.add(Pair.with(result, items));
+
+                // the results can't arrive while another request holds the reads of the connection
+                releaseConnectionReads();
             }
         }
 
@@ -101,11 +155,13 @@ final class ResultQueue {
     public void drainTo(final Collection<Result> collection) {
         if (error.get() != null) throw new RuntimeException(error.get());
         resultLinkedBlockingQueue.drainTo(collection);
+        resumeIfDrained();
     }
 
     void markComplete() {
         this.readComplete.complete(null);
         this.flushWaiting();
+        this.resume();
     }
 
     void markError(final Throwable throwable) {
@@ -114,6 +170,25 @@ final class ResultQueue {
         // unsure if this should really complete exceptionally rather than just complete.
         this.readComplete.complete(null);
         this.flushWaiting();
+        this.resume();
+    }
+
+    private void resumeIfDrained() {
+        if (suspended.get() && (!bounded || resultLinkedBlockingQueue.size() <= highWaterMark / 2))
+            resume();
+    }
+
+    /**
+     * Resumes the reads of the {@link Connection} if this queue suspended them.  A completed queue receives no more
+     * results and so never holds the reads of the other requests on the connection.
+     */
+    void resume() {
+        if (suspended.compareAndSet(true, false))
+            connection.resumeReading();
+    }
+
+    private void releaseConnectionReads() {
+        if (connection != null) connection.releaseSuspendedReads();
     }
 
     private void flushWaiting() {
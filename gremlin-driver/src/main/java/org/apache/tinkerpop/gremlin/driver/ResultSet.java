@@ -99,6 +99,8 @@ public final class ResultSet implements Iterable<Result> {
      * {@link Iterator} or {@link Stream} options, as the results will be held in memory at once.
      */
     public CompletableFuture<List<Result>> all() {
+        // all of the results will be held at once so there is no sense in holding back the reads
+        resultQueue.unbound();
         return readCompleted.thenApplyAsync(it -> {
             final List<Result> list = new ArrayList<>();
             resultQueue.drainTo(list);
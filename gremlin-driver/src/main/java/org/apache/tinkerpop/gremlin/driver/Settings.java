@@ -83,6 +83,9 @@ final class Settings {
         public int reconnectInterval = Connection.RECONNECT_INTERVAL;
         public int reconnectInitialDelay = Connection.RECONNECT_INITIAL_DELAY;
         public int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
+        public int maxBatchSize = Connection.MAX_BATCH_SIZE;
+        public int maxBatchDelay = Connection.MAX_BATCH_DELAY;
+        public int maxQueuedResults = Connection.MAX_QUEUED_RESULTS;
         public String channelizer = Channelizer.WebSocketChannelizer.class.getName();
         public String sessionId = null;
 
@@ -39,6 +39,13 @@ public final class Tokens {
     public static final String OPS_VERSION = "version";
     public static final String OPS_AUTHENTICATION = "authentication";
 
+    /**
+     * A request that carries several {@link #OPS_EVAL} requests in its {@link #ARGS_REQUESTS} argument so that they
+     * can be sent in a single frame.  The responses are sent for each of the requests as if they were sent
+     * separately.
+     */
+    public static final String OPS_BATCH = "batch";
+
     public static final String ARGS_BATCH_SIZE = "batchSize";
     public static final String ARGS_BINDINGS = "bindings";
     public static final String ARGS_ALIASES = "aliases";
@@ -48,6 +55,13 @@ public final class Tokens {
     public static final String ARGS_INFO_TYPE = "infoType";
     public static final String ARGS_LANGUAGE = "language";
 
+    /**
+     * The list of requests of a {@link #OPS_BATCH} request, each given as the {@code Map} of its arguments along with
+     * its {@link #ARGS_REQUEST_ID}.
+     */
+    public static final String ARGS_REQUESTS = "requests";
+    public static final String ARGS_REQUEST_ID = "requestId";
+
     /**
      * @deprecated As of release 3.1.0, replaced by {@link #ARGS_ALIASES}.
      */
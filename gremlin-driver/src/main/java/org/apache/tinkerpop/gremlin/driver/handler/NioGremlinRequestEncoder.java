@@ -54,8 +54,12 @@ public final class NioGremlinRequestEncoder extends MessageToByteEncoder<Object>
                 // is not the optimal way to deal with this really, but it does prevent a protocol change in this
                 // immediate moment trying to get the NioChannelizer working.
                 final ByteBuf bytes = serializer.serializeRequestAsBinary(requestMessage, channelHandlerContext.alloc());
-                byteBuf.writeInt(bytes.capacity());
-                byteBuf.writeBytes(bytes);
+                try {
+                    byteBuf.writeInt(bytes.readableBytes());
+                    byteBuf.writeBytes(bytes);
+                } finally {
+                    bytes.release();
+                }
             } else {
                 final MessageTextSerializer textSerializer = (MessageTextSerializer) serializer;
                 final byte [] bytes = textSerializer.serializeRequestAsString(requestMessage).getBytes(CharsetUtil.UTF_8);
@@ -44,7 +44,8 @@ public final class NioGremlinResponseDecoder extends ReplayingDecoder<NioGremlin
                 messageLength = byteBuf.readInt();
                 checkpoint(DecoderState.MESSAGE);
             case MESSAGE:
-                final ByteBuf messageFrame = byteBuf.readBytes(messageLength);
+                // the frame is read in place as the message is fully deserialized before decode() returns
+                final ByteBuf messageFrame = byteBuf.readSlice(messageLength);
                 objects.add(serializer.deserializeResponse(messageFrame));
                 checkpoint(DecoderState.MESSAGE_LENGTH);
                 break;
@@ -20,6 +20,8 @@ package org.apache.tinkerpop.gremlin.driver.ser;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.util.ReferenceCountUtil;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
@@ -34,7 +36,6 @@ import org.apache.tinkerpop.shaded.kryo.Serializer;
 import org.apache.tinkerpop.shaded.kryo.io.Input;
 import org.apache.tinkerpop.shaded.kryo.io.Output;
 
-import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -69,6 +70,8 @@ public final class GryoMessageSerializerV1d0 implements MessageSerializer {
     private static final String TOKEN_USE_MAPPER_FROM_GRAPH = "useMapperFromGraph";
     private static final String TOKEN_BUFFER_SIZE = "bufferSize";
 
+    private static final int INPUT_BUFFER_SIZE = 4096;
+
     private boolean serializeToString = false;
     private int bufferSize = 4096;
 
@@ -195,9 +198,7 @@ public final class GryoMessageSerializerV1d0 implements MessageSerializer {
     public ResponseMessage deserializeResponse(final ByteBuf msg) throws SerializationException {
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            final byte[] payload = new byte[msg.capacity()];
-            msg.readBytes(payload);
-            try (final Input input = new Input(payload)) {
+            try (final Input input = createInput(msg)) {
                 final UUID requestId = kryo.readObjectOrNull(input, UUID.class);
                 final int status = input.readShort();
                 final String statusMsg = input.readString();
@@ -224,9 +225,8 @@ public final class GryoMessageSerializerV1d0 implements MessageSerializer {
         ByteBuf encodedMessage = null;
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                final Output output = new Output(baos, bufferSize);
-
+            encodedMessage = allocator.ioBuffer(bufferSize);
+            try (final Output output = new Output(new ByteBufOutputStream(encodedMessage), bufferSize)) {
                 // request id - if present
                 kryo.writeObjectOrNull(output, responseMessage.getRequestId() != null ? responseMessage.getRequestId() : null, UUID.class);
 
@@ -238,14 +238,6 @@ public final class GryoMessageSerializerV1d0 implements MessageSerializer {
                 // result
                 kryo.writeClassAndObject(output, serializeToString ? serializeResultToString(responseMessage) : responseMessage.getResult().getData());
                 kryo.writeClassAndObject(output, responseMessage.getResult().getMeta());
-
-                final long size = output.total();
-                if (size > Integer.MAX_VALUE)
-                    throw new SerializationException(String.format("Message size of %s exceeds allocatable space", size));
-
-                output.flush();
-                encodedMessage = allocator.buffer((int) size);
-                encodedMessage.writeBytes(baos.toByteArray());
             }
 
             return encodedMessage;
@@ -261,9 +253,7 @@ public final class GryoMessageSerializerV1d0 implements MessageSerializer {
     public RequestMessage deserializeRequest(final ByteBuf msg) throws SerializationException {
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            final byte[] payload = new byte[msg.readableBytes()];
-            msg.readBytes(payload);
-            try (final Input input = new Input(payload)) {
+            try (final Input input = createInput(msg)) {
                 // by the time the message gets here, the mime length/type have been already read, so this part just
                 // needs to process the payload.
                 final UUID id = kryo.readObject(input, UUID.class);
@@ -289,8 +279,8 @@ public final class GryoMessageSerializerV1d0 implements MessageSerializer {
         ByteBuf encodedMessage = null;
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                final Output output = new Output(baos, bufferSize);
+            encodedMessage = allocator.ioBuffer(bufferSize);
+            try (final Output output = new Output(new ByteBufOutputStream(encodedMessage), bufferSize)) {
                 final String mimeType = serializeToString ? MIME_TYPE_STRINGD : MIME_TYPE;
                 output.writeByte(mimeType.length());
                 output.write(mimeType.getBytes(UTF8));
@@ -299,14 +289,6 @@ public final class GryoMessageSerializerV1d0 implements MessageSerializer {
                 output.writeString(requestMessage.getProcessor());
                 output.writeString(requestMessage.getOp());
                 kryo.writeObject(output, requestMessage.getArgs());
-
-                final long size = output.total();
-                if (size > Integer.MAX_VALUE)
-                    throw new SerializationException(String.format("Message size of %s exceeds allocatable space", size));
-
-                output.flush();
-                encodedMessage = allocator.buffer((int) size);
-                encodedMessage.writeBytes(baos.toByteArray());
             }
 
             return encodedMessage;
@@ -318,6 +300,19 @@ public final class GryoMessageSerializerV1d0 implements MessageSerializer {
         }
     }
 
+    /**
+     * Reads the message in place where it is backed by an array and otherwise streams it through the buffer of the
+     * {@code Input}, so that the message is not copied to an array of its own before it is read.  The message is
+     * consumed in full.
+     */
+    private Input createInput(final ByteBuf msg) {
+        final Input input = msg.hasArray() ?
+                new Input(msg.array(), msg.arrayOffset() + msg.readerIndex(), msg.readableBytes()) :
+                new Input(new ByteBufInputStream(msg.slice()), INPUT_BUFFER_SIZE);
+        msg.skipBytes(msg.readableBytes());
+        return input;
+    }
+
     private Object serializeResultToString(final ResponseMessage msg) {
         if (msg.getResult() == null) return "null";
         if (msg.getResult().getData() == null) return "null";
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HandlerTest {
+
+    @Test
+    public void shouldFailRequestsOfRejectedBatch() throws Exception {
+        final ConcurrentMap<UUID, ResultQueue> pending = new ConcurrentHashMap<>();
+        final ConcurrentMap<UUID, UUID> batched = new ConcurrentHashMap<>();
+        final UUID batchId = UUID.randomUUID();
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        final UUID other = UUID.randomUUID();
+
+        final CompletableFuture<Void> firstReadCompleted = new CompletableFuture<>();
+        final ResultQueue firstQueue = new ResultQueue(new LinkedBlockingQueue<>(), firstReadCompleted);
+        pending.put(first, firstQueue);
+        pending.put(second, new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>()));
+        pending.put(other, new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>()));
+        batched.put(first, batchId);
+        batched.put(second, batchId);
+
+        final EmbeddedChannel channel = new EmbeddedChannel(new Handler.GremlinResponseHandler(pending, batched));
+        channel.writeInbound(ResponseMessage.build(batchId)
+                .code(ResponseStatusCode.REQUEST_ERROR_MALFORMED_REQUEST).statusMessage("batch not supported").create());
+
+        // the requests of the batch are done with but others are untouched
+        assertTrue(batched.isEmpty());
+        assertEquals(1, pending.size());
+        assertTrue(pending.containsKey(other));
+        assertTrue(firstReadCompleted.isDone());
+
+        try {
+            firstQueue.await(1).get();
+            fail("The request should have failed with the batch");
+        } catch (Exception ex) {
+            assertThat(ex.getCause(), instanceOf(ResponseException.class));
+        }
+    }
+
+    @Test
+    public void shouldForgetBatchOnceRequestGetsResponse() throws Exception {
+        final ConcurrentMap<UUID, ResultQueue> pending = new ConcurrentHashMap<>();
+        final ConcurrentMap<UUID, UUID> batched = new ConcurrentHashMap<>();
+        final UUID batchId = UUID.randomUUID();
+        final UUID first = UUID.randomUUID();
+
+        pending.put(first, new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>()));
+        batched.put(first, batchId);
+
+        final EmbeddedChannel channel = new EmbeddedChannel(new Handler.GremlinResponseHandler(pending, batched));
+        channel.writeInbound(ResponseMessage.build(first).code(ResponseStatusCode.NO_CONTENT).create());
+
+        assertTrue(batched.isEmpty());
+        assertTrue(pending.isEmpty());
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LoadBalancingStrategyTest {
+
+    /**
+     * The hosts only need the settings of a {@link Cluster}, which is never initialized, so it neither connects to
+     * anything nor starts any threads and is not closed.
+     */
+    private static final Cluster cluster = Cluster.build().create();
+
+    private final RequestMessage msg = RequestMessage.build("eval").create();
+    private Host host1;
+    private Host host2;
+    private Host host3;
+
+    @Before
+    public void setUp() {
+        host1 = new Host(new InetSocketAddress("localhost", 8182), cluster);
+        host2 = new Host(new InetSocketAddress("localhost", 8183), cluster);
+        host3 = new Host(new InetSocketAddress("localhost", 8184), cluster);
+    }
+
+    @Test
+    public void shouldSelectHostsInTurnWithRoundRobin() {
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.RoundRobin();
+        strategy.initialize(cluster, Arrays.asList(host1, host2, host3));
+
+        final Host first = strategy.select(msg).next();
+        final Host second = strategy.select(msg).next();
+        final Host third = strategy.select(msg).next();
+        assertEquals(new HashSet<>(Arrays.asList(host1, host2, host3)), new HashSet<>(Arrays.asList(first, second, third)));
+        assertEquals(first, strategy.select(msg).next());
+        assertEquals(3, toList(strategy.select(msg)).size());
+    }
+
+    @Test
+    public void shouldNotSelectUnavailableHost() {
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.RoundRobin();
+        strategy.initialize(cluster, Arrays.asList(host1, host2, host3));
+        strategy.onUnavailable(host2);
+
+        for (int ix = 0; ix < 6; ix++) {
+            assertFalse(toList(strategy.select(msg)).contains(host2));
+        }
+
+        strategy.onAvailable(host2);
+        strategy.onAvailable(host2);
+        assertEquals(3, toList(strategy.select(msg)).size());
+    }
+
+    @Test
+    public void shouldSelectNothingWithoutHosts() {
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LeastInFlight();
+        strategy.initialize(cluster, new ArrayList<>());
+        assertFalse(strategy.select(msg).hasNext());
+    }
+
+    @Test
+    public void shouldSelectHostWithLeastInFlightFirst() {
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LeastInFlight();
+        strategy.initialize(cluster, Arrays.asList(host1, host2, host3));
+
+        host1.requestSent();
+        host1.requestSent();
+        host2.requestSent();
+        host3.requestSent();
+        host3.requestSent();
+
+        for (int ix = 0; ix < 3; ix++) {
+            final List<Host> hosts = toList(strategy.select(msg));
+            assertEquals(host2, hosts.get(0));
+            assertEquals(3, hosts.size());
+        }
+
+        host2.requestSent();
+        host2.requestSent();
+        host1.requestCompleted(1000);
+        assertEquals(host1, strategy.select(msg).next());
+    }
+
+    @Test
+    public void shouldSpreadRequestsChosenTogetherWithLeastInFlight() {
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LeastInFlight();
+        strategy.initialize(cluster, Arrays.asList(host1, host2, host3));
+
+        // a request counts against its host as soon as the host is chosen as the client does before writing it
+        final List<Host> chosen = new ArrayList<>();
+        for (int ix = 0; ix < 3; ix++) {
+            final Host host = strategy.select(msg).next();
+            host.requestSent();
+            chosen.add(host);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(host1, host2, host3)), new HashSet<>(chosen));
+
+        // a request that was never written no longer counts
+        host2.requestFailed();
+        assertEquals(host2, strategy.select(msg).next());
+    }
+
+    @Test
+    public void shouldSelectHostWithLowestLatencyFirst() {
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, Arrays.asList(host1, host2, host3));
+
+        // a host without a response is tried before all others
+        completeRequest(host1, 5000);
+        completeRequest(host2, 1000);
+        assertEquals(host3, strategy.select(msg).next());
+
+        completeRequest(host3, 9000);
+        assertEquals(host2, strategy.select(msg).next());
+
+        // requests in flight to the fastest host make it cost more than the next fastest
+        for (int ix = 0; ix < 5; ix++) {
+            host2.requestSent();
+        }
+        assertEquals(host1, strategy.select(msg).next());
+    }
+
+    @Test
+    public void shouldTryHostAgainOnceItsLatencyHasDecayed() {
+        final LoadBalancingStrategy.LatencyAware strategy = new LoadBalancingStrategy.LatencyAware(1, TimeUnit.SECONDS);
+        final Host[] hosts = new Host[]{host1, host2};
+
+        final long start = System.nanoTime();
+        host1.requestSent();
+        host1.requestCompleted(9000, start);
+        host2.requestSent();
+        host2.requestCompleted(1000, start);
+        for (int ix = 0; ix < 5; ix++) {
+            host2.requestSent();
+        }
+
+        // the slow host is not chosen while its one response is recent even though the fast host is busy
+        double[] costs = strategy.costs(hosts, start);
+        assertEquals(9000d, costs[0], 0.0001d);
+        assertEquals(6000d, costs[1], 0.0001d);
+
+        // once the fast host has new responses and the slow host has none, the slow host looks like the mean of the
+        // hosts and is tried again
+        final long later = start + TimeUnit.SECONDS.toNanos(10);
+        host2.requestSent();
+        host2.requestCompleted(1000, later);
+        costs = strategy.costs(hosts, later);
+        assertEquals(5000d, costs[0], 1d);
+        assertEquals(6000d, costs[1], 0.0001d);
+        assertTrue(costs[0] < costs[1]);
+    }
+
+    @Test
+    public void shouldAverageLatency() {
+        completeRequest(host1, 1000);
+        assertEquals(1000d, host1.getLatency(), 0.0001d);
+        completeRequest(host1, 2000);
+        assertEquals(1000d + Host.LATENCY_WEIGHT * 1000d, host1.getLatency(), 0.0001d);
+        assertEquals(0, host1.getInFlight());
+    }
+
+    private static void completeRequest(final Host host, final long nanos) {
+        host.requestSent();
+        host.requestCompleted(nanos);
+    }
+
+    private static List<Host> toList(final Iterator<Host> itty) {
+        final List<Host> hosts = new ArrayList<>();
+        itty.forEachRemaining(hosts::add);
+        return hosts;
+    }
+}
@@ -35,6 +35,8 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.util.StdDateFormat;
@@ -409,6 +411,26 @@ public class GryoMessageSerializerV1d0Test {
         assertEquals(82, buf.readableBytes());
     }
 
+    @Test
+    public void shouldDeserializeResponseFromDirectAndHeapBuffers() throws Exception {
+        final List list = IteratorUtils.list(TinkerFactory.createModern().vertices());
+        final ResponseMessage response = responseMessageBuilder.result(list).create();
+
+        // a pooled direct buffer is streamed and a heap buffer offset within a larger array is read in place
+        final ByteBuf direct = binarySerializer.serializeResponseAsBinary(response, PooledByteBufAllocator.DEFAULT);
+        final int length = direct.readableBytes();
+        final ByteBuf heap = Unpooled.buffer(length + 16).writeZero(8);
+        heap.writeBytes(direct, direct.readerIndex(), length).writeZero(8).readerIndex(8).writerIndex(8 + length);
+
+        for (ByteBuf buf : new ByteBuf[]{direct, heap}) {
+            final ResponseMessage deserialized = binarySerializer.deserializeResponse(buf);
+            assertCommon(deserialized);
+            assertEquals(6, ((List) deserialized.getResult().getData()).size());
+            assertThat(buf.isReadable(), is(false));
+            buf.release();
+        }
+    }
+
     @Test
     public void shouldSerializeFullRequestMessage() throws Exception {
         final UUID id = UUID.randomUUID();
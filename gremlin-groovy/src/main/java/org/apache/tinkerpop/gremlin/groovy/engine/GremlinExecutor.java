@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.groovy.engine;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
 import org.apache.tinkerpop.gremlin.groovy.plugin.GremlinPlugin;
+import org.apache.tinkerpop.gremlin.util.function.ThrowingFunction;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
@@ -46,14 +47,17 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -74,6 +78,23 @@ import java.util.stream.Collectors;
 public class GremlinExecutor implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(GremlinExecutor.class);
 
+    /**
+     * Key to the engine configuration for a list of scripts to compile once the {@code ScriptEngine} is initialized.
+     */
+    public static final String CONFIG_PRECOMPILE_SCRIPTS = "precompileScripts";
+
+    /**
+     * Key to the engine configuration for the maximum number of compiled scripts that the {@code ScriptEngine}
+     * holds on to.  Only applies to {@code gremlin-groovy}.
+     */
+    public static final String CONFIG_SCRIPT_CLASS_CACHE_MAX_SIZE = "scriptClassCacheMaxSize";
+
+    /**
+     * Key to the engine configuration for the share of the maximum metaspace size over which the
+     * {@code ScriptEngine} evicts compiled scripts.  Only applies to {@code gremlin-groovy}.
+     */
+    public static final String CONFIG_SCRIPT_CLASS_CACHE_MAX_METASPACE_USAGE = "scriptClassCacheMaxMetaspaceUsage";
+
     /**
      * {@link ScriptEngines} instance to evaluate Gremlin script requests.
      */
@@ -84,11 +105,14 @@ public class GremlinExecutor implements AutoCloseable {
     private final Bindings globalBindings;
     private final List<List<String>> use;
     private final ExecutorService executorService;
+    private final ExecutorService compilationExecutorService;
     private final ScheduledExecutorService scheduledExecutorService;
     private final Consumer<Bindings> beforeEval;
     private final Consumer<Bindings> afterSuccess;
     private final Consumer<Bindings> afterTimeout;
     private final BiConsumer<Bindings, Throwable> afterFailure;
+    private final LongConsumer afterCompile;
+    private final LongConsumer afterExecute;
     private final Set<String> enabledPlugins;
     private final boolean suppliedExecutor;
     private final boolean suppliedScheduledExecutor;
@@ -97,11 +121,14 @@ public class GremlinExecutor implements AutoCloseable {
                             final boolean suppliedScheduledExecutor) {
 
         this.executorService = builder.executorService;
+        this.compilationExecutorService = builder.compilationExecutorService;
         this.scheduledExecutorService = builder.scheduledExecutorService;
         this.beforeEval = builder.beforeEval;
         this.afterSuccess = builder.afterSuccess;
         this.afterTimeout = builder.afterTimeout;
         this.afterFailure = builder.afterFailure;
+        this.afterCompile = builder.afterCompile;
+        this.afterExecute = builder.afterExecute;
         this.use = builder.use;
         this.settings = builder.settings;
         this.scriptEvaluationTimeout = builder.scriptEvaluationTimeout;
@@ -242,7 +269,27 @@ public class GremlinExecutor implements AutoCloseable {
      */
     public CompletableFuture<Object> eval(final String script, final String language, final Bindings boundVars,  final LifeCycle lifeCycle) {
         final String lang = Optional.ofNullable(language).orElse("gremlin-groovy");
+        return eval(script, lang, boundVars, lifeCycle, b -> scriptEngines.eval(script, b, lang), true);
+    }
 
+    /**
+     * Evaluate a result that was already prepared from a script, such as a traversal that the script returned
+     * before, in place of evaluating the script itself.  The result goes through the same thread pool, timeout and
+     * evaluation lifecycle that the script would, but nothing is compiled or evaluated by a script engine.
+     *
+     * @param script the script the result was prepared from, which is only used to describe the evaluation
+     * @param boundVars the bindings to give to the lifecycle functions
+     * @param prepared a {@link Function} that returns the result given the bindings
+     * @param lifeCycle a set of functions that can be applied at various stages of the evaluation process
+     */
+    public CompletableFuture<Object> eval(final String script, final Bindings boundVars,
+                                          final Function<Bindings, Object> prepared, final LifeCycle lifeCycle) {
+        return eval(script, null, boundVars, lifeCycle, prepared::apply, false);
+    }
+
+    private CompletableFuture<Object> eval(final String script, final String lang, final Bindings boundVars,
+                                           final LifeCycle lifeCycle, final ThrowingFunction<Bindings, Object> evaluation,
+                                           final boolean isScript) {
         logger.debug("Preparing to evaluate script - {} - in thread [{}]", script, Thread.currentThread().getName());
 
         final Bindings bindings = new SimpleBindings();
@@ -251,11 +298,21 @@ public class GremlinExecutor implements AutoCloseable {
         lifeCycle.getBeforeEval().orElse(beforeEval).accept(bindings);
 
         final CompletableFuture<Object> evaluationFuture = new CompletableFuture<>();
+        final AtomicReference<Throwable> compilationFailure = new AtomicReference<>();
         final FutureTask<Void> f = new FutureTask<>(() -> {
             try {
+                // a failure in the compilation stage is the failure of the evaluation as well
+                if (compilationFailure.get() != null) throw compilationFailure.get();
+
+                // compile separately from the evaluation (if the compilation stage didn't already do it) so that
+                // the time spent on each can be told apart
+                if (isScript && scriptEngines.requiresCompilation(script, lang)) compileTimed(script, lang);
+
                 logger.debug("Evaluating script - {} - in thread [{}]", script, Thread.currentThread().getName());
 
-                final Object o = scriptEngines.eval(script, bindings, lang);
+                final long start = System.nanoTime();
+                final Object o = evaluation.apply(bindings);
+                if (isScript) afterExecute.accept(System.nanoTime() - start);
 
                 // apply a transformation before sending back the result - useful when trying to force serialization
                 // in the same thread that the eval took place given ThreadLocal nature of graphs as well as some
@@ -287,7 +344,35 @@ public class GremlinExecutor implements AutoCloseable {
             return null;
         });
 
-        executorService.execute(f);
+        // scripts that are not yet compiled are compiled on their own pool (when there is one) so that the threads
+        // evaluating scripts are not tied up by compilation.  the evaluation is only queued once it is compiled.
+        // when the compilation pool is full the script is just compiled as part of its evaluation.
+        boolean compileAhead = isScript && compilationExecutorService != null && scriptEngines.requiresCompilation(script, lang);
+        if (compileAhead) {
+            try {
+                compilationExecutorService.execute(() -> {
+                    try {
+                        if (!f.isDone() && scriptEngines.requiresCompilation(script, lang)) compileTimed(script, lang);
+                    } catch (Throwable t) {
+                        compilationFailure.set(t);
+                    } finally {
+                        try {
+                            executorService.execute(f);
+                        } catch (RejectedExecutionException ree) {
+                            // the executor is likely shutting down so the evaluation will never run to complete
+                            // the future itself
+                            f.cancel(false);
+                            evaluationFuture.completeExceptionally(ree);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException ree) {
+                logger.debug("Compilation pool rejected script - {} - so it will be compiled as part of its evaluation", script);
+                compileAhead = false;
+            }
+        }
+
+        if (!compileAhead) executorService.execute(f);
 
         if (scriptEvaluationTimeout > 0) {
             // Schedule a timeout in the thread pool for future execution
@@ -296,6 +381,11 @@ public class GremlinExecutor implements AutoCloseable {
                 if (!f.isDone()) {
                     lifeCycle.getAfterTimeout().orElse(afterTimeout).accept(bindings);
                     f.cancel(true);
+
+                    // a script cancelled while still waiting to be compiled or evaluated never runs to complete
+                    // the future itself
+                    evaluationFuture.completeExceptionally(new TimeoutException(
+                            String.format("Script evaluation exceeded the configured threshold of %s ms for request [%s]", scriptEvaluationTimeout, script)));
                 }
             }, scriptEvaluationTimeout, TimeUnit.MILLISECONDS);
 
@@ -310,6 +400,16 @@ public class GremlinExecutor implements AutoCloseable {
         return evaluationFuture;
     }
 
+    /**
+     * Compiles a script for a language, timing the compilation for the {@link Builder#afterCompile(LongConsumer)}
+     * callback.
+     */
+    private void compileTimed(final String script, final String language) throws ScriptException {
+        final long start = System.nanoTime();
+        scriptEngines.compile(script, language);
+        afterCompile.accept(System.nanoTime() - start);
+    }
+
     public ScriptEngines getScriptEngines() {
         return this.scriptEngines;
     }
@@ -318,6 +418,14 @@ public class GremlinExecutor implements AutoCloseable {
         return executorService;
     }
 
+    /**
+     * Gets the thread pool that compiles scripts ahead of their evaluation, which is {@code null} if scripts are
+     * compiled as part of their evaluation.
+     */
+    public ExecutorService getCompilationExecutorService() {
+        return compilationExecutorService;
+    }
+
     public ScheduledExecutorService getScheduledExecutorService() {
         return scheduledExecutorService;
     }
@@ -450,6 +558,21 @@ public class GremlinExecutor implements AutoCloseable {
                         logger.warn("Could not initialize {} ScriptEngine with {} as script could not be evaluated - {}", language, p.getValue0(), sx.getMessage());
                     }
                 });
+
+                // compile scripts known to be used ahead of time so that the first requests for them don't pay
+                // for the compilation.  like initialization scripts, failures only log warnings.
+                final List<String> precompileScripts = (List<String>) config.getValue().getConfig()
+                        .getOrDefault(CONFIG_PRECOMPILE_SCRIPTS, Collections.emptyList());
+                precompileScripts.forEach(script -> {
+                    try {
+                        se.compile(script, language);
+                    } catch (Exception ex) {
+                        logger.warn("Could not precompile script [{}] for {} ScriptEngine - {}", script, language, ex.getMessage());
+                    }
+                });
+
+                if (!precompileScripts.isEmpty())
+                    logger.info("Precompiled {} scripts for {} ScriptEngine", precompileScripts.size(), language);
             }
         });
     }
@@ -474,6 +597,7 @@ public class GremlinExecutor implements AutoCloseable {
         private long scriptEvaluationTimeout = 8000;
         private Map<String, EngineSettings> settings = new HashMap<>();
         private ExecutorService executorService = null;
+        private ExecutorService compilationExecutorService = null;
         private ScheduledExecutorService scheduledExecutorService = null;
         private Set<String> enabledPlugins = new HashSet<>();
         private Consumer<Bindings> beforeEval = (b) -> {
@@ -484,6 +608,10 @@ public class GremlinExecutor implements AutoCloseable {
         };
         private BiConsumer<Bindings, Throwable> afterFailure = (b, e) -> {
         };
+        private LongConsumer afterCompile = (n) -> {
+        };
+        private LongConsumer afterExecute = (n) -> {
+        };
         private List<List<String>> use = new ArrayList<>();
         private Bindings globalBindings = new SimpleBindings();
 
@@ -548,6 +676,18 @@ public class GremlinExecutor implements AutoCloseable {
             return this;
         }
 
+        /**
+         * The thread pool used to compile scripts that are not yet cached by the {@code ScriptEngine} before they
+         * are evaluated.  Scripts are only queued for evaluation once they are compiled so that long compilations
+         * do not hold the threads of the {@link #executorService(ExecutorService)}.  Concurrent requests for the
+         * same script share a single compilation.  By default this is {@code null} and scripts are compiled as part
+         * of their evaluation.  This pool is never closed by the {@code GremlinExecutor}.
+         */
+        public Builder compilationExecutorService(final ExecutorService compilationExecutorService) {
+            this.compilationExecutorService = compilationExecutorService;
+            return this;
+        }
+
         /**
          * The thread pool used to schedule timeouts on scripts.
          */
@@ -590,6 +730,25 @@ public class GremlinExecutor implements AutoCloseable {
             return this;
         }
 
+        /**
+         * A {@link LongConsumer} to execute with the time in nanoseconds taken to compile a script that was not
+         * already cached by the {@code ScriptEngine}, which includes any time spent waiting on a compilation of the
+         * same script for another request.
+         */
+        public Builder afterCompile(final LongConsumer afterCompile) {
+            this.afterCompile = afterCompile;
+            return this;
+        }
+
+        /**
+         * A {@link LongConsumer} to execute with the time in nanoseconds taken by the {@code ScriptEngine} to
+         * evaluate a compiled script, which excludes any result transformation.
+         */
+        public Builder afterExecute(final LongConsumer afterExecute) {
+            this.afterExecute = afterExecute;
+            return this;
+        }
+
         /**
          * A set of maven coordinates for dependencies to be applied for the script engine instances.
          */
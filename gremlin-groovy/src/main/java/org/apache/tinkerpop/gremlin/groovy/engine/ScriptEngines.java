@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.groovy.DefaultImportCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.DependencyManager;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngineFactory;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.ScriptClassCache;
 import org.apache.tinkerpop.gremlin.groovy.plugin.GremlinPlugin;
 import org.apache.tinkerpop.gremlin.groovy.plugin.IllegalEnvironmentException;
 import org.slf4j.Logger;
@@ -139,13 +140,30 @@ public class ScriptEngines implements AutoCloseable {
 
         awaitControlOp();
         final ScriptEngine scriptEngine = scriptEngines.get(language);
-        if (scriptEngine instanceof Compilable)
+        if (!(scriptEngine instanceof Compilable))
             throw new UnsupportedOperationException(String.format("ScriptEngine for %s does not implement %s", language, Compilable.class.getName()));
 
         final Compilable compilable = (Compilable) scriptEngine;
         return compilable.compile(script);
     }
 
+    /**
+     * Determines if evaluating a script would first require it to be compiled.  Only a
+     * {@link GremlinGroovyScriptEngine} that has not yet cached the class for the script is known to need to compile
+     * it - for all other engines this method returns {@code false}.
+     */
+    public boolean requiresCompilation(final String script, final String language) {
+        final ScriptEngine scriptEngine = scriptEngines.get(language);
+        return scriptEngine instanceof GremlinGroovyScriptEngine && !((GremlinGroovyScriptEngine) scriptEngine).isCached(script);
+    }
+
+    /**
+     * Gets the {@code ScriptEngine} for a language if it is configured.
+     */
+    public Optional<ScriptEngine> getScriptEngine(final String language) {
+        return Optional.ofNullable(scriptEngines.get(language));
+    }
+
     /**
      * Reload a {@code ScriptEngine} with fresh imports.  Waits for any existing script evaluations to complete but
      * then blocks other operations until complete.
@@ -382,8 +400,14 @@ public class ScriptEngines implements AutoCloseable {
                 }
             });
 
+            final Number classCacheMaxSize = (Number) config.getOrDefault(
+                    GremlinExecutor.CONFIG_SCRIPT_CLASS_CACHE_MAX_SIZE, ScriptClassCache.DEFAULT_MAX_SIZE);
+            final Number classCacheMaxMetaspaceUsage = (Number) config.getOrDefault(
+                    GremlinExecutor.CONFIG_SCRIPT_CLASS_CACHE_MAX_METASPACE_USAGE, ScriptClassCache.DEFAULT_MAX_METASPACE_USAGE);
+
             final CompilerCustomizerProvider[] providerArray = new CompilerCustomizerProvider[providers.size()];
-            return Optional.of((ScriptEngine) new GremlinGroovyScriptEngine(providers.toArray(providerArray)));
+            return Optional.of((ScriptEngine) new GremlinGroovyScriptEngine(classCacheMaxSize.intValue(),
+                    classCacheMaxMetaspaceUsage.doubleValue(), providers.toArray(providerArray)));
         } else {
             return Optional.ofNullable(SCRIPT_ENGINE_MANAGER.getEngineByName(language));
         }
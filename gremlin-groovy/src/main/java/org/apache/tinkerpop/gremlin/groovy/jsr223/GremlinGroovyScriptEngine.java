@@ -31,6 +31,7 @@ import groovy.grape.Grape;
 import groovy.lang.Binding;
 import groovy.lang.Closure;
 import groovy.lang.DelegatingMetaClass;
+import groovy.lang.GroovySystem;
 import groovy.lang.MetaClass;
 import groovy.lang.MissingMethodException;
 import groovy.lang.MissingPropertyException;
@@ -68,6 +69,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -137,7 +141,12 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
     /**
      * Script to generated Class map.
      */
-    private ManagedConcurrentValueMap<String, Class> classMap = new ManagedConcurrentValueMap<>(ReferenceBundle.getSoftBundle());
+    private final ScriptClassCache classMap;
+
+    /**
+     * Compilations in progress keyed on script so that concurrent requests for the same script compile it once.
+     */
+    private final Map<String, CompletableFuture<Class>> compilations = new ConcurrentHashMap<>();
 
     /**
      * Global closures map - this is used to simulate a single global functions namespace
@@ -184,6 +193,19 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
      * Creates a new instance with the specified {@link CompilerCustomizerProvider} objects.
      */
     public GremlinGroovyScriptEngine(final CompilerCustomizerProvider... compilerCustomizerProviders) {
+        this(ScriptClassCache.DEFAULT_MAX_SIZE, ScriptClassCache.DEFAULT_MAX_METASPACE_USAGE, compilerCustomizerProviders);
+    }
+
+    /**
+     * Creates a new instance with the specified {@link CompilerCustomizerProvider} objects and bounds for the
+     * {@link ScriptClassCache} of compiled scripts.
+     *
+     * @param scriptClassCacheMaxSize the maximum number of compiled scripts to hold
+     * @param scriptClassCacheMaxMetaspaceUsage the share of the maximum metaspace size over which compiled scripts
+     *                                          are evicted
+     */
+    public GremlinGroovyScriptEngine(final int scriptClassCacheMaxSize, final double scriptClassCacheMaxMetaspaceUsage,
+                                     final CompilerCustomizerProvider... compilerCustomizerProviders) {
         final List<CompilerCustomizerProvider> providers = Arrays.asList(compilerCustomizerProviders);
 
         GremlinLoader.load();
@@ -193,6 +215,8 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
                 .map(p -> (ImportCustomizerProvider) p)
                 .findFirst().orElse(NoImportCustomizerProvider.INSTANCE);
 
+        classMap = new ScriptClassCache(scriptClassCacheMaxSize, scriptClassCacheMaxMetaspaceUsage, this::unloadScriptClass);
+
         // remove used providers as the rest will be applied directly
         customizerProviders = providers.stream()
                 .filter(p -> p != null && !(p instanceof ImportCustomizerProvider))
@@ -441,17 +465,74 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         return makeInterface(thiz, clazz);
     }
 
+    /**
+     * Gets the cache of classes compiled from scripts.
+     */
+    public ScriptClassCache getScriptClassCache() {
+        return classMap;
+    }
+
     Class getScriptClass(final String script) throws SyntaxException, CompilationFailedException, IOException {
         Class clazz = classMap.get(script);
         if (clazz != null) return clazz;
 
-        clazz = loader.parseClass(script, generateScriptName());
-        classMap.put(script, clazz);
-        return clazz;
+        // only the first caller for a script compiles it - the others wait on its result
+        final CompletableFuture<Class> compilation = new CompletableFuture<>();
+        final CompletableFuture<Class> inFlight = compilations.putIfAbsent(script, compilation);
+        if (inFlight != null) return awaitCompilation(inFlight);
+
+        try {
+            // the class may have been cached between the miss above and the compilation being registered
+            clazz = classMap.peek(script);
+            if (null == clazz) {
+                final long start = System.nanoTime();
+                clazz = loader.parseClass(script, generateScriptName());
+                classMap.recordCompilation(System.nanoTime() - start);
+                classMap.put(script, clazz);
+            }
+
+            compilation.complete(clazz);
+            return clazz;
+        } catch (Throwable t) {
+            compilation.completeExceptionally(t);
+            throw t;
+        } finally {
+            compilations.remove(script);
+        }
+    }
+
+    private static Class awaitCompilation(final CompletableFuture<Class> compilation)
+            throws SyntaxException, CompilationFailedException, IOException {
+        try {
+            return compilation.get();
+        } catch (InterruptedException ie) {
+            // keep the interruption as the root cause so that timeouts are still recognized as such
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof SyntaxException) throw (SyntaxException) cause;
+            if (cause instanceof CompilationFailedException) throw (CompilationFailedException) cause;
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
     }
 
-    boolean isCached(final String script) {
-        return classMap.get(script) != null;
+    /**
+     * Determines if the class compiled for the script is cached.
+     */
+    public boolean isCached(final String script) {
+        return classMap.contains(script);
+    }
+
+    /**
+     * Lets go of what Groovy holds for a class evicted from the cache so that it can be garbage collected.
+     */
+    private void unloadScriptClass(final Class clazz) {
+        loader.removeClassCacheEntry(clazz.getName());
+        GroovySystem.getMetaClassRegistry().removeMetaClass(clazz);
     }
 
     Object eval(final Class scriptClass, final ScriptContext context) throws ScriptException {
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.groovy.jsr223;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A bounded cache of the classes compiled from scripts by the {@link GremlinGroovyScriptEngine}, keyed by the script.
+ * The least recently used classes are evicted once the cache holds more than its maximum number of classes or once
+ * the usage of the metaspace, where the JVM keeps class metadata, exceeds the configured share of its maximum size.
+ * As opposed to classes held by soft references, classes are then only evicted under the control of the cache, so
+ * that memory pressure does not suddenly force the recompilation of all scripts.
+ */
+public class ScriptClassCache {
+
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    public static final double DEFAULT_MAX_METASPACE_USAGE = 0.9d;
+
+    private static final String METASPACE = "Metaspace";
+
+    private final int maxSize;
+    private final double maxMetaspaceUsage;
+    private final Optional<MemoryPoolMXBean> metaspace;
+    private final Consumer<Class> evictionListener;
+
+    private final Map<String, Class> classes = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean metaspaceExceeded = false;
+
+    private final AtomicLong hits = new AtomicLong(0l);
+    private final AtomicLong misses = new AtomicLong(0l);
+    private final AtomicLong evictions = new AtomicLong(0l);
+    private final AtomicLong compilations = new AtomicLong(0l);
+    private final AtomicLong compilationTime = new AtomicLong(0l);
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of classes to hold
+     * @param maxMetaspaceUsage the share of the maximum size of the metaspace over which classes are evicted, which
+     *                          only applies if the metaspace size is bounded with {@code -XX:MaxMetaspaceSize}
+     * @param evictionListener called with each class evicted so that it can be unloaded
+     */
+    public ScriptClassCache(final int maxSize, final double maxMetaspaceUsage, final Consumer<Class> evictionListener) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("The maximum size of the cache must be greater than zero");
+        if (maxMetaspaceUsage <= 0d || maxMetaspaceUsage > 1d)
+            throw new IllegalArgumentException("The maximum metaspace usage must be greater than zero and at most one");
+
+        this.maxSize = maxSize;
+        this.maxMetaspaceUsage = maxMetaspaceUsage;
+        this.evictionListener = evictionListener;
+        this.metaspace = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getName().equals(METASPACE)).findFirst();
+    }
+
+    /**
+     * Gets the class compiled for the script, if it is cached, counting a hit or a miss.
+     */
+    public Class get(final String script) {
+        final Class clazz;
+        synchronized (classes) {
+            clazz = classes.get(script);
+        }
+
+        (null == clazz ? misses : hits).incrementAndGet();
+        return clazz;
+    }
+
+    /**
+     * Gets the class compiled for the script, if it is cached, without counting a hit or a miss.
+     */
+    Class peek(final String script) {
+        synchronized (classes) {
+            return classes.get(script);
+        }
+    }
+
+    /**
+     * Determines if the class compiled for the script is cached, without counting a hit or a miss.
+     */
+    public boolean contains(final String script) {
+        synchronized (classes) {
+            return classes.containsKey(script);
+        }
+    }
+
+    /**
+     * Caches the class compiled for the script, evicting other classes if the cache has grown beyond its bounds.
+     */
+    public void put(final String script, final Class clazz) {
+        final List<Class> evicted = new ArrayList<>();
+        synchronized (classes) {
+            classes.put(script, clazz);
+
+            // metaspace is only freed once evicted classes are garbage collected so evict a good number at once.
+            // usage stays over the bound until then, so only evict when it first crosses the bound or else every
+            // put would shrink the cache further until it was empty
+            final boolean exceeded = isMetaspaceExceeded();
+            final int size = exceeded && !metaspaceExceeded ? classes.size() * 3 / 4 : maxSize;
+            metaspaceExceeded = exceeded;
+            final Iterator<Class> itty = classes.values().iterator();
+            while (classes.size() > size && itty.hasNext()) {
+                evicted.add(itty.next());
+                itty.remove();
+            }
+        }
+
+        evictions.addAndGet(evicted.size());
+        evicted.forEach(evictionListener);
+    }
+
+    /**
+     * Records the time in nanoseconds taken to compile a script.
+     */
+    public void recordCompilation(final long nanos) {
+        compilations.incrementAndGet();
+        compilationTime.addAndGet(nanos);
+    }
+
+    public void clear() {
+        synchronized (classes) {
+            classes.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (classes) {
+            return classes.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public double getMaxMetaspaceUsage() {
+        return maxMetaspaceUsage;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getCompilationCount() {
+        return compilations.get();
+    }
+
+    /**
+     * Gets the total time in nanoseconds spent compiling scripts.
+     */
+    public long getCompilationTime() {
+        return compilationTime.get();
+    }
+
+    boolean isMetaspaceExceeded() {
+        if (!metaspace.isPresent()) return false;
+        final MemoryUsage usage = metaspace.get().getUsage();
+        return usage.getMax() > 0 && usage.getUsed() > usage.getMax() * maxMetaspaceUsage;
+    }
+}
@@ -20,8 +20,11 @@ package org.apache.tinkerpop.gremlin.groovy.engine;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.ScriptClassCache;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.ThreadInterruptCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.TimedInterruptCustomizerProvider;
+import org.codehaus.groovy.control.MultipleCompilationErrorsException;
 import org.junit.Test;
 
 import javax.script.Bindings;
@@ -35,14 +38,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -455,6 +462,131 @@ public class GremlinExecutorTest {
         gremlinExecutor.close();
     }
 
+    @Test
+    public void shouldPrecompileScripts() throws Exception {
+        final Map<String, Object> config = new HashMap<>();
+        config.put(GremlinExecutor.CONFIG_PRECOMPILE_SCRIPTS, Arrays.asList("1+x", "this is not groovy"));
+        final GremlinExecutor gremlinExecutor = GremlinExecutor.build()
+                .addEngineSettings("gremlin-groovy",
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        config)
+                .create();
+
+        final ScriptClassCache cache = ((GremlinGroovyScriptEngine) gremlinExecutor.getScriptEngines().getScriptEngine("gremlin-groovy").get()).getScriptClassCache();
+        assertEquals(1, cache.size());
+
+        final Bindings b = new SimpleBindings();
+        b.put("x", 1);
+        assertEquals(2, gremlinExecutor.eval("1+x", b).get());
+        assertEquals(1, cache.getCompilationCount());
+        assertEquals(1, cache.getHitCount());
+
+        gremlinExecutor.close();
+    }
+
+    @Test
+    public void shouldCompileOnceOnCompilationPool() throws Exception {
+        final ExecutorService compilationExecutorService = Executors.newFixedThreadPool(2,
+                new BasicThreadFactory.Builder().namingPattern("test-compile-%d").build());
+        final AtomicInteger compiles = new AtomicInteger(0);
+        final AtomicInteger executes = new AtomicInteger(0);
+        final Set<String> compilationThreads = Collections.synchronizedSet(new HashSet<>());
+        final GremlinExecutor gremlinExecutor = GremlinExecutor.build()
+                .compilationExecutorService(compilationExecutorService)
+                .afterCompile(nanos -> {
+                    compiles.incrementAndGet();
+                    compilationThreads.add(Thread.currentThread().getName());
+                })
+                .afterExecute(nanos -> executes.incrementAndGet())
+                .create();
+
+        final List<CompletableFuture<Object>> futures = IntStream.range(0, 32)
+                .mapToObj(i -> gremlinExecutor.eval("(1..100).sum() + x", new HashMap<String, Object>() {{ put("x", i); }}))
+                .collect(Collectors.toList());
+        for (int ix = 0; ix < futures.size(); ix++) {
+            assertEquals(5050 + ix, futures.get(ix).get());
+        }
+
+        final ScriptClassCache cache = ((GremlinGroovyScriptEngine) gremlinExecutor.getScriptEngines().getScriptEngine("gremlin-groovy").get()).getScriptClassCache();
+        assertEquals(1, cache.getCompilationCount());
+        assertTrue(compiles.get() >= 1);
+        assertEquals(32, executes.get());
+        assertTrue(compilationThreads.stream().allMatch(name -> name.startsWith("test-compile-")));
+
+        gremlinExecutor.close();
+        compilationExecutorService.shutdown();
+    }
+
+    @Test
+    public void shouldFailEvaluationOnCompilationPool() throws Exception {
+        final ExecutorService compilationExecutorService = Executors.newFixedThreadPool(1);
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        final GremlinExecutor gremlinExecutor = GremlinExecutor.build()
+                .compilationExecutorService(compilationExecutorService)
+                .afterFailure((b, e) -> failed.set(true))
+                .create();
+
+        try {
+            gremlinExecutor.eval("this is not groovy").get();
+            fail("Should have failed to compile");
+        } catch (Exception ex) {
+            assertThat(ex.getCause(), instanceOf(MultipleCompilationErrorsException.class));
+        }
+
+        assertTrue(failed.get());
+
+        gremlinExecutor.close();
+        compilationExecutorService.shutdown();
+    }
+
+    @Test
+    public void shouldCompileOnEvaluationWhenCompilationPoolRejects() throws Exception {
+        final ExecutorService compilationExecutorService = Executors.newFixedThreadPool(1);
+        compilationExecutorService.shutdown();
+        final GremlinExecutor gremlinExecutor = GremlinExecutor.build()
+                .compilationExecutorService(compilationExecutorService)
+                .create();
+
+        assertEquals(2, gremlinExecutor.eval("1+1").get());
+
+        gremlinExecutor.close();
+    }
+
+    @Test
+    public void shouldFailEvaluationWhenRejectedAfterCompilation() throws Exception {
+        final ExecutorService compilationExecutorService = Executors.newFixedThreadPool(1);
+        final ExecutorService evalExecutorService = Executors.newFixedThreadPool(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final GremlinExecutor gremlinExecutor = GremlinExecutor.build()
+                .compilationExecutorService(compilationExecutorService)
+                .executorService(evalExecutorService)
+                .create();
+
+        // hold the compilation pool so that the evaluation pool shuts down before the script is compiled
+        compilationExecutorService.execute(() -> {
+            try {
+                latch.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+
+        final CompletableFuture<Object> future = gremlinExecutor.eval("1+1");
+        evalExecutorService.shutdown();
+        latch.countDown();
+
+        try {
+            future.get();
+            fail("Should have been rejected by the evaluation pool");
+        } catch (Exception ex) {
+            assertThat(ex.getCause(), instanceOf(RejectedExecutionException.class));
+        }
+
+        gremlinExecutor.close();
+        compilationExecutorService.shutdown();
+    }
+
     @Test
     public void shouldInitializeWithScriptAndMakeGlobalBinding() throws Exception {
         final GremlinExecutor gremlinExecutor = GremlinExecutor.build()
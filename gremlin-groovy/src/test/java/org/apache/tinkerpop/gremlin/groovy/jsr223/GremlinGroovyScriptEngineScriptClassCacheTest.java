@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.groovy.jsr223;
+
+import org.apache.tinkerpop.gremlin.groovy.DefaultImportCustomizerProvider;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GremlinGroovyScriptEngineScriptClassCacheTest {
+
+    @Test
+    public void shouldCountHitsAndMisses() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(new DefaultImportCustomizerProvider());
+        final ScriptClassCache cache = engine.getScriptClassCache();
+        assertEquals(ScriptClassCache.DEFAULT_MAX_SIZE, cache.getMaxSize());
+
+        assertEquals(2, engine.eval("1+1"));
+        assertEquals(2, engine.eval("1+1"));
+        assertEquals(3, engine.eval("1+2"));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getCompilationCount());
+        assertTrue(cache.getCompilationTime() > 0);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(
+                2, ScriptClassCache.DEFAULT_MAX_METASPACE_USAGE, new DefaultImportCustomizerProvider());
+        final ScriptClassCache cache = engine.getScriptClassCache();
+
+        engine.eval("1+1");
+        engine.eval("1+2");
+        engine.eval("1+1");
+        engine.eval("1+3");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(engine.isCached("1+1"));
+        assertFalse(engine.isCached("1+2"));
+        assertTrue(engine.isCached("1+3"));
+
+        // an evicted script just compiles again
+        assertEquals(3, engine.eval("1+2"));
+        assertEquals(4, cache.getCompilationCount());
+    }
+
+    @Test
+    public void shouldEvictOnceWhenMetaspaceIsExceeded() {
+        final AtomicBoolean metaspaceExceeded = new AtomicBoolean(false);
+        final ScriptClassCache cache = new ScriptClassCache(100, ScriptClassCache.DEFAULT_MAX_METASPACE_USAGE, c -> {}) {
+            @Override
+            boolean isMetaspaceExceeded() {
+                return metaspaceExceeded.get();
+            }
+        };
+
+        for (int ix = 0; ix < 7; ix++) {
+            cache.put("script" + ix, Object.class);
+        }
+
+        assertEquals(7, cache.size());
+
+        // crossing the bound evicts a quarter of the cache
+        metaspaceExceeded.set(true);
+        cache.put("script7", Object.class);
+        assertEquals(6, cache.size());
+
+        // staying over the bound until the evicted classes are collected doesn't keep evicting
+        cache.put("script8", Object.class);
+        cache.put("script9", Object.class);
+        assertEquals(8, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+
+        // but crossing it again does
+        metaspaceExceeded.set(false);
+        cache.put("script10", Object.class);
+        metaspaceExceeded.set(true);
+        cache.put("script11", Object.class);
+        assertEquals(7, cache.size());
+    }
+
+    @Test
+    public void shouldClearOnReset() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(new DefaultImportCustomizerProvider());
+        engine.eval("1+1");
+        engine.reset();
+        assertEquals(0, engine.getScriptClassCache().size());
+        assertFalse(engine.isCached("1+1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowEmptyCache() {
+        new GremlinGroovyScriptEngine(0, ScriptClassCache.DEFAULT_MAX_METASPACE_USAGE, new DefaultImportCustomizerProvider());
+    }
+}
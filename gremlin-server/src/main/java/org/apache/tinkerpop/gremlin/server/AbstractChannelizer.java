@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.handler.IteratorHandler;
 import org.apache.tinkerpop.gremlin.server.handler.OpExecutorHandler;
 import org.apache.tinkerpop.gremlin.server.handler.OpSelectorHandler;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
@@ -74,12 +75,14 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
     protected static final String PIPELINE_RESULT_ITERATOR_HANDLER = "result-iterator-handler";
     protected static final String PIPELINE_OP_EXECUTOR = "op-executor";
     protected static final String PIPELINE_AUTHENTICATOR = "authenticator";
+    protected static final String PIPELINE_WRITABILITY_HANDLER = "writability-handler";
 
     protected final Map<String, MessageSerializer> serializers = new HashMap<>();
 
     private OpSelectorHandler opSelectorHandler;
     private OpExecutorHandler opExecutorHandler;
     private IteratorHandler iteratorHandler;
+    private WritabilityHandler writabilityHandler;
 
     protected Authenticator authenticator;
 
@@ -120,6 +123,7 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         opSelectorHandler = new OpSelectorHandler(settings, graphManager, gremlinExecutor, scheduledExecutorService);
         opExecutorHandler = new OpExecutorHandler(settings, graphManager, gremlinExecutor, scheduledExecutorService);
         iteratorHandler = new IteratorHandler(settings);
+        writabilityHandler = new WritabilityHandler();
     }
 
     @Override
@@ -133,6 +137,7 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         // instance
         configure(pipeline);
 
+        pipeline.addLast(PIPELINE_WRITABILITY_HANDLER, writabilityHandler);
         pipeline.addLast(PIPELINE_OP_SELECTOR, opSelectorHandler);
         pipeline.addLast(PIPELINE_RESULT_ITERATOR_HANDLER, iteratorHandler);
         pipeline.addLast(PIPELINE_OP_EXECUTOR, opExecutorHandler);
@@ -18,11 +18,14 @@
  */
 package org.apache.tinkerpop.gremlin.server;
 
+import com.codahale.metrics.Timer;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import io.netty.channel.ChannelHandlerContext;
 
+import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The context of Gremlin Server within which a particular request is made.
@@ -36,6 +39,7 @@ public final class Context {
     private final GraphManager graphManager;
     private final GremlinExecutor gremlinExecutor;
     private final ScheduledExecutorService scheduledExecutorService;
+    private final AtomicReference<Timer.Context> timerContext = new AtomicReference<>();
 
     public Context(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
                    final Settings settings, final GraphManager graphManager,
@@ -87,4 +91,19 @@ public final class Context {
     public GremlinExecutor getGremlinExecutor() {
         return gremlinExecutor;
     }
+
+    /**
+     * Sets the timer that measures the time taken to respond to the request.
+     */
+    public void setTimerContext(final Timer.Context timerContext) {
+        this.timerContext.set(timerContext);
+    }
+
+    /**
+     * Takes the timer that measures the time taken to respond to the request so that whoever takes it is the one to
+     * stop it, which is no one else once it has been taken.
+     */
+    public Optional<Timer.Context> claimTimerContext() {
+        return Optional.ofNullable(this.timerContext.getAndSet(null));
+    }
 }
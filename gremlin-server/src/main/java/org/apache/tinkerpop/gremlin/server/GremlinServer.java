@@ -251,6 +251,16 @@ public class GremlinServer {
 
         logger.info("Shutting down thread pools.");
 
+        // scripts queued for compilation still go on to the Gremlin thread pool so it is shutdown first
+        final ExecutorService compilationExecutorService = serverGremlinExecutor.getCompilationExecutorService();
+        if (compilationExecutorService != null) {
+            try {
+                compilationExecutorService.shutdown();
+            } finally {
+                logger.debug("Shutdown compilation thread pool.");
+            }
+        }
+
         try {
             gremlinExecutorService.shutdown();
         } finally {
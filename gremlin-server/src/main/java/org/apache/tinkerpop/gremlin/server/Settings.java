@@ -92,6 +92,20 @@ public class Settings {
      */
     public int gremlinPool = 8;
 
+    /**
+     * Size of the thread pool that compiles scripts not yet cached by the {@code ScriptEngine} before they are
+     * evaluated on the Gremlin thread pool, which keeps a burst of new scripts from tying up the threads of the
+     * {@link #gremlinPool} with compilation.  Concurrent requests for the same script share a single compilation.
+     * Defaults to 0 in which case scripts are compiled on the Gremlin thread pool as part of their evaluation.
+     */
+    public int compilationPool = 0;
+
+    /**
+     * The number of scripts that may wait for a thread of the {@link #compilationPool}.  Once that many are waiting,
+     * further scripts are compiled on the Gremlin thread pool as part of their evaluation.  Defaults to 1024.
+     */
+    public int compilationQueueSize = 1024;
+
     /**
      * Size of the boss thread pool.  Defaults to 1 and should likely stay at 1.  The bossy thread accepts incoming
      * connections on a port until it is unbound. Once a connection is accepted successfully, the boss thread
@@ -116,6 +130,33 @@ public class Settings {
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * The estimated serialized size in bytes of the results to iterate prior to pushing the data down the wire to
+     * the client.  When greater than zero, responses are sized by this estimate rather than by
+     * {@link #resultIterationBatchSize}, which then only limits the first response. Requests that specify their own
+     * batch size are always sized by item count.  Defaults to 0 which disables sizing by bytes.
+     */
+    public long resultIterationBatchBytes = 0;
+
+    /**
+     * The estimated serialized size in bytes of the first response of a result when sizing by
+     * {@link #resultIterationBatchBytes}, which is kept small so that the client gets results quickly.  Defaults to
+     * 16384.
+     */
+    public long resultIterationFirstBatchBytes = 16384;
+
+    /**
+     * Time in milliseconds after which the first response of a result is pushed to the client, even if not yet full,
+     * when sizing by {@link #resultIterationBatchBytes}.  Set to 0 to disable.  Defaults to 50.
+     */
+    public long resultIterationFirstBatchLatency = 50;
+
+    /**
+     * The maximum number of items in a response after the first when sizing by {@link #resultIterationBatchBytes}.
+     * Defaults to 16384.
+     */
+    public int resultIterationMaxBatchSize = 16384;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
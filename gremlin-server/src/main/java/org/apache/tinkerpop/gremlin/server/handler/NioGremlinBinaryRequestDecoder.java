@@ -54,9 +54,9 @@ public class NioGremlinBinaryRequestDecoder extends ReplayingDecoder<NioGremlinB
                 checkpoint(DecoderState.MESSAGE);
             case MESSAGE:
                 try {
-                    final ByteBuf messageFrame = byteBuf.readBytes(messageLength);
+                    final ByteBuf messageFrame = byteBuf.readSlice(messageLength);
                     final int contentTypeLength = messageFrame.readByte();
-                    final ByteBuf contentTypeFrame = messageFrame.readBytes(contentTypeLength);
+                    final ByteBuf contentTypeFrame = messageFrame.readSlice(contentTypeLength);
                     final String contentType = contentTypeFrame.toString(CharsetUtil.UTF_8);
 
                     final MessageSerializer serializer = select(contentType, Serializers.DEFAULT_REQUEST_SERIALIZER);
@@ -71,7 +71,7 @@ public class NioGremlinBinaryRequestDecoder extends ReplayingDecoder<NioGremlinB
                     // subtract the contentTypeLength and the byte that held it from the full message length to
                     // figure out how long the rest of the message is
                     final int payloadLength = messageLength - 1 - contentTypeLength;
-                    objects.add(serializer.deserializeRequest(messageFrame.readBytes(payloadLength)));
+                    objects.add(serializer.deserializeRequest(messageFrame.readSlice(payloadLength)));
                 } catch (SerializationException se) {
                     objects.add(RequestMessage.INVALID);
                 }
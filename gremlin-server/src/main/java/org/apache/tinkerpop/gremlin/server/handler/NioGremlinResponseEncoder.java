@@ -27,24 +27,27 @@ import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 import static com.codahale.metrics.MetricRegistry.name;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 @ChannelHandler.Sharable
-public class NioGremlinResponseEncoder extends MessageToByteEncoder<ResponseMessage> {
+public class NioGremlinResponseEncoder extends MessageToMessageEncoder<ResponseMessage> {
     private static final Logger logger = LoggerFactory.getLogger(NioGremlinResponseEncoder.class);
     static final Meter errorMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "errors"));
 
     @Override
-    protected void encode(final ChannelHandlerContext ctx, final ResponseMessage responseMessage, final ByteBuf byteBuf) throws Exception {
+    protected void encode(final ChannelHandlerContext ctx, final ResponseMessage responseMessage, final List<Object> objects) throws Exception {
         final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
         final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
 
@@ -53,17 +56,13 @@ public class NioGremlinResponseEncoder extends MessageToByteEncoder<ResponseMess
                 errorMeter.mark();
 
             if (useBinary) {
-                final ByteBuf bytes = serializer.serializeResponseAsBinary(responseMessage, ctx.alloc());
-                byteBuf.writeInt(bytes.capacity());
-                byteBuf.writeBytes(bytes);
-                bytes.release();
+                objects.add(frame(ctx, serializer.serializeResponseAsBinary(responseMessage, ctx.alloc())));
             } else {
                 // the expectation is that the GremlinTextRequestDecoder will have placed a MessageTextSerializer
                 // instance on the channel.
                 final MessageTextSerializer textSerializer = (MessageTextSerializer) serializer;
                 final byte [] bytes = textSerializer.serializeResponseAsString(responseMessage).getBytes(CharsetUtil.UTF_8);
-                byteBuf.writeInt(bytes.length);
-                byteBuf.writeBytes(bytes);
+                objects.add(frame(ctx, Unpooled.wrappedBuffer(bytes)));
             }
         } catch (Exception ex) {
             errorMeter.mark();
@@ -74,16 +73,21 @@ public class NioGremlinResponseEncoder extends MessageToByteEncoder<ResponseMess
                     .statusMessage(errorMessage)
                     .code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION).create();
             if (useBinary) {
-                final ByteBuf bytes = serializer.serializeResponseAsBinary(error, ctx.alloc());
-                byteBuf.writeInt(bytes.capacity());
-                byteBuf.writeBytes(bytes);
-                bytes.release();
+                objects.add(frame(ctx, serializer.serializeResponseAsBinary(error, ctx.alloc())));
             } else {
                 final MessageTextSerializer textSerializer = (MessageTextSerializer) serializer;
                 final byte [] bytes = textSerializer.serializeResponseAsString(error).getBytes(CharsetUtil.UTF_8);
-                byteBuf.writeInt(bytes.length);
-                byteBuf.writeBytes(bytes);
+                objects.add(frame(ctx, Unpooled.wrappedBuffer(bytes)));
             }
         }
     }
+
+    /**
+     * Prefixes the payload with its length.  The two are joined as a composite buffer so that the payload is written
+     * to the channel as it was serialized rather than copied in behind the length.
+     */
+    private static ByteBuf frame(final ChannelHandlerContext ctx, final ByteBuf payload) {
+        final ByteBuf length = ctx.alloc().ioBuffer(4).writeInt(payload.readableBytes());
+        return Unpooled.wrappedBuffer(length, payload);
+    }
 }
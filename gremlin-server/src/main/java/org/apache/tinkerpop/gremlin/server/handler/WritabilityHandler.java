@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.Attribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Runs the listeners waiting on a {@link Channel} once it becomes writable again, which lets result iteration that
+ * paused for a slow client resume from the {@code channelWritabilityChanged} event rather than poll the channel.
+ * Listeners are also run when the channel closes so that paused iterations can clean up.  Listeners are called on
+ * the event loop and so must hand any real work off to another thread.
+ */
+@ChannelHandler.Sharable
+public class WritabilityHandler extends ChannelInboundHandlerAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(WritabilityHandler.class);
+
+    /**
+     * Register a listener to run once the channel is writable.  Returns {@code false} without registering the
+     * listener if the channel became writable in the meantime, in which case the caller can simply carry on.
+     */
+    public static boolean onWritable(final Channel channel, final Runnable listener) {
+        listeners(channel).add(listener);
+        // the channel may have become writable before the listener was registered in which case there will be no
+        // event to run it, so take it back if nothing else has yet
+        if ((channel.isWritable() || !channel.isActive()) && removeListener(channel, listener))
+            return false;
+        return true;
+    }
+
+    /**
+     * Remove a listener that has not yet run, returning {@code true} if it was removed and will thus never run.
+     */
+    public static boolean removeListener(final Channel channel, final Runnable listener) {
+        return listeners(channel).remove(listener);
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) runListeners(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        runListeners(ctx.channel());
+        super.channelInactive(ctx);
+    }
+
+    private static void runListeners(final Channel channel) {
+        final Queue<Runnable> listeners = listeners(channel);
+        Runnable listener;
+        while ((listener = listeners.poll()) != null) {
+            try {
+                listener.run();
+            } catch (Exception ex) {
+                logger.warn("Writability listener failed on channel {}", channel, ex);
+            }
+        }
+    }
+
+    private static Queue<Runnable> listeners(final Channel channel) {
+        final Attribute<Queue<Runnable>> attribute = channel.attr(StateKey.WRITABILITY_LISTENERS);
+        final Queue<Runnable> listeners = attribute.get();
+        if (listeners != null) return listeners;
+        final Queue<Runnable> created = new ConcurrentLinkedQueue<>();
+        final Queue<Runnable> existing = attribute.setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+}
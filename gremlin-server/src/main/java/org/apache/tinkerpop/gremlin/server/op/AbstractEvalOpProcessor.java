@@ -18,20 +18,27 @@
  */
 package org.apache.tinkerpop.gremlin.server.op;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.ResultSizeEstimator;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.commons.lang.time.StopWatch;
 import org.slf4j.Logger;
@@ -45,8 +52,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -60,6 +72,10 @@ import static com.codahale.metrics.MetricRegistry.name;
 public abstract class AbstractEvalOpProcessor implements OpProcessor {
     private static final Logger logger = LoggerFactory.getLogger(AbstractEvalOpProcessor.class);
     public static final Timer evalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "eval"));
+    private static final Meter pageMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "eval", "pages"));
+    private static final Histogram pageResultsHistogram = MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "op", "eval", "pages", "results"));
+    private static final Histogram pageBytesHistogram = MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "op", "eval", "pages", "bytes"));
+    private static final Counter pausedIterationCounter = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "paused"));
 
     /**
      * This may or may not be the full set of invalid binding keys.  It is dependent on the static imports made to
@@ -154,25 +170,29 @@ public abstract class AbstractEvalOpProcessor implements OpProcessor {
         final String language = args.containsKey(Tokens.ARGS_LANGUAGE) ? (String) args.get(Tokens.ARGS_LANGUAGE) : null;
         final Bindings bindings = bindingsSupplier.get();
 
-        final CompletableFuture<Object> evalFuture = gremlinExecutor.eval(script, language, bindings, null, o -> {
-            final Iterator itty = IteratorUtils.asIterator(o);
+        // a cached plan needs neither the script evaluated nor its strategies applied so just iterate a copy of it
+        final Optional<TraversalPlanCache> planCache = getTraversalPlanCache(context);
+        final Optional<Traversal.Admin<?, ?>> plan = planCache.flatMap(cache -> cache.get(context));
+
+        final Consumer<Object> withResult = o -> {
+            final Iterator itty = IteratorUtils.asIterator(planCache.isPresent() && !plan.isPresent() ? planCache.get().cache(context, o) : o);
 
             logger.debug("Preparing to iterate results from - {} - in thread [{}]", msg, Thread.currentThread().getName());
 
-            try {
-                handleIterator(context, itty);
-            } catch (TimeoutException ex) {
-                final String errorMessage = String.format("Response iteration exceeded the configured threshold for request [%s] - %s", msg, ex.getMessage());
-                logger.warn(errorMessage);
-                ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT).statusMessage(errorMessage).create());
-            } catch (Exception ex) {
-                logger.warn(String.format("Exception processing a script on request [%s].", msg), ex);
-                ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR).statusMessage(ex.getMessage()).create());
-            }
-        });
+            iterateWithErrorHandling(context, () -> handleIterator(context, itty));
+        };
+
+        // result iteration claims the timer so that it is only stopped once the last response is written, even if
+        // iteration pauses and resumes on another thread.  the cached plan still goes through the executor so that
+        // it is subject to the same timeout and lifecycle
+        context.setTimerContext(timerContext);
+        final CompletableFuture<Object> evalFuture = plan.isPresent() ?
+                gremlinExecutor.eval(script, bindings, b -> plan.get(), GremlinExecutor.LifeCycle.build().withResult(withResult).create()) :
+                gremlinExecutor.eval(script, language, bindings, null, withResult);
 
         evalFuture.handle((v, t) -> {
-            timerContext.stop();
+            // iteration did not take the timer over if it never started or was handled some other way
+            context.claimTimerContext().ifPresent(Timer.Context::stop);
 
             if (t != null) {
                 if (t instanceof TimeoutException) {
@@ -194,6 +214,12 @@ public abstract class AbstractEvalOpProcessor implements OpProcessor {
      * {@link Settings#serializedResponseTimeout} configuration and break the serialization process if
      * it begins to take too long to do so, throwing a {@link java.util.concurrent.TimeoutException} in such
      * cases.
+     * <p/>
+     * When the channel stops being writable because the client is not keeping up, iteration pauses until the
+     * {@link WritabilityHandler} reports that the channel is writable again.  If
+     * {@link #canResumeIterationElsewhere(Context)} allows it, this method returns while paused so as to free the
+     * worker thread and iteration later resumes on a thread of the {@link GremlinExecutor}.  Otherwise the current
+     * thread waits for the channel to become writable.
      *
      * @param context The Gremlin Server {@link Context} object containing settings, request message, etc.
      * @param itty The result to iterator
@@ -202,8 +228,6 @@ public abstract class AbstractEvalOpProcessor implements OpProcessor {
     protected void handleIterator(final Context context, final Iterator itty) throws TimeoutException, InterruptedException {
         final ChannelHandlerContext ctx = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
-        final Settings settings = context.getSettings();
-        boolean warnOnce = false;
 
         // we have an empty iterator - happens on stuff like: g.V().iterate()
         if (!itty.hasNext()) {
@@ -215,67 +239,288 @@ public abstract class AbstractEvalOpProcessor implements OpProcessor {
                     .create());
         }
 
-        // timer for the total serialization time
-        final StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
-        while (itty.hasNext()) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            if (aggregate.size() < resultIterationBatchSize) aggregate.add(itty.next());
-
-            // if there's no more items in the iterator then we've aggregated everything and are thus ready to
-            // commit stuff if transaction management is on.  exceptions should bubble up and be handle in the normal
-            // manner of things.  a final SUCCESS message will not have been sent (below) and we ship back an error.
-            // if transaction management is not enabled, then returning SUCCESS below is OK as this is a different
-            // usage context.  without transaction management enabled, the user is responsible for maintaining
-            // the transaction and will want a SUCCESS to know their eval and iteration was ok.  they would then
-            // potentially have a failure on commit on the next request.
-            if (!itty.hasNext() && manageTransactions)
-                context.getGraphManager().commitAll();
-
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            if (ctx.channel().isWritable()) {
-                if  (aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
-                    ctx.writeAndFlush(ResponseMessage.build(msg)
-                            .code(code)
-                            .result(aggregate).create());
-
-                    aggregate = new ArrayList<>(resultIterationBatchSize);
+        iterate(new ResultIteration(context, itty, context.claimTimerContext().orElse(null)));
+    }
+
+    /**
+     * Gets the cache of traversals with applied strategies to use for the request, if there is one.  By default
+     * there is no cache.
+     */
+    protected Optional<TraversalPlanCache> getTraversalPlanCache(final Context context) {
+        return Optional.empty();
+    }
+
+    /**
+     * Determines if result iteration for the request may pause without holding its thread and then resume on
+     * another one.  Graphs with thread-bound transactions must be committed on the thread that opened the
+     * transaction, so by default iteration only resumes elsewhere when no graph has an open transaction.
+     */
+    protected boolean canResumeIterationElsewhere(final Context context) {
+        return context.getGraphManager().getGraphs().values().stream()
+                .noneMatch(g -> g.features().graph().supportsTransactions() && g.tx().isOpen());
+    }
+
+    private void iterate(final ResultIteration iteration) throws TimeoutException, InterruptedException {
+        final Context context = iteration.context;
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        final Iterator itty = iteration.itty;
+
+        try {
+            // keep going until the last page is written as the channel may not have been writeable when the last
+            // result was aggregated
+            while (itty.hasNext() || !iteration.aggregate.isEmpty()) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                // there is no one left to write to if the client went away so stop rather than spin on a channel
+                // that will never become writable again
+                if (!ctx.channel().isActive()) {
+                    logger.debug("Channel closed while writing the response for {} - abandoning iteration", msg);
+                    break;
+                }
+
+                // have to check if the page is complete because it is possible that the channel is not writeable
+                // (below) so iterating next() if the message is not written and flushed would bump the aggregate size
+                // beyond the expected size of the page.  Total serialization time for the response remains in
+                // effect so if the client is "slow" it may simply timeout.
+                if (itty.hasNext() && !iteration.isPageComplete()) {
+                    iteration.add(itty.next());
+
+                    // if there's no more items in the iterator then we've aggregated everything and are thus ready to
+                    // commit stuff if transaction management is on.  exceptions should bubble up and be handle in the
+                    // normal manner of things.  a final SUCCESS message will not have been sent (below) and we ship back
+                    // an error. if transaction management is not enabled, then returning SUCCESS below is OK as this is
+                    // a different usage context.  without transaction management enabled, the user is responsible for
+                    // maintaining the transaction and will want a SUCCESS to know their eval and iteration was ok.  they
+                    // would then potentially have a failure on commit on the next request.
+                    if (!itty.hasNext() && manageTransactions)
+                        context.getGraphManager().commitAll();
                 }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
+
+                // send back a page of results if the page is complete or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                if (ctx.channel().isWritable()) {
+                    if  (iteration.isPageComplete() || !itty.hasNext()) {
+                        final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+                        ctx.writeAndFlush(ResponseMessage.build(msg)
+                                .code(code)
+                                .result(iteration.aggregate).create());
+
+                        iteration.nextPage();
+                    }
+                } else {
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!iteration.warnOnce) {
+                        logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                        iteration.warnOnce = true;
+                    }
+
+                    // since the client is lagging wait for the channel to drain.  if this thread isn't needed to
+                    // complete the request then give it up and pick the iteration back up once the channel is
+                    // writable, otherwise hold here until then. either way, this isn't blocking the IO thread.
+                    if (canResumeIterationElsewhere(context)) {
+                        if (pause(iteration)) return;
+                    } else {
+                        await(iteration);
+                    }
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                checkSerializedResponseTimeout(iteration);
             }
+        } catch (Exception ex) {
+            iteration.complete();
+            throw ex;
+        }
+
+        iteration.complete();
+    }
+
+    /**
+     * Registers the iteration to resume once the channel is writable, returning {@code false} if the channel became
+     * writable before that could happen in which case iteration should just carry on.
+     */
+    private boolean pause(final ResultIteration iteration) {
+        final Context context = iteration.context;
+        final Channel channel = context.getChannelHandlerContext().channel();
+        final long remaining = Math.max(0, context.getSettings().serializedResponseTimeout - iteration.stopWatch.getTime());
+        final AtomicReference<ScheduledFuture<?>> timeout = new AtomicReference<>();
+        final Runnable listener = () -> {
+            final ScheduledFuture<?> f = timeout.get();
+            if (f != null) f.cancel(false);
+            resume(iteration);
+        };
+
+        if (!WritabilityHandler.onWritable(channel, listener)) return false;
+        pausedIterationCounter.inc();
+
+        // the client may never catch up so resume when the response times out as it will then send the error
+        timeout.set(context.getScheduledExecutorService().schedule(() -> {
+            if (WritabilityHandler.removeListener(channel, listener)) resume(iteration);
+        }, remaining, TimeUnit.MILLISECONDS));
+        return true;
+    }
+
+    /**
+     * Blocks the current thread until the channel is writable or the serialized response time runs out.
+     */
+    private void await(final ResultIteration iteration) throws InterruptedException {
+        final Context context = iteration.context;
+        final Channel channel = context.getChannelHandlerContext().channel();
+        final long remaining = context.getSettings().serializedResponseTimeout - iteration.stopWatch.getTime();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Runnable listener = latch::countDown;
+
+        if (remaining <= 0 || !WritabilityHandler.onWritable(channel, listener)) return;
+        pausedIterationCounter.inc();
+
+        try {
+            if (!latch.await(remaining, TimeUnit.MILLISECONDS))
+                WritabilityHandler.removeListener(channel, listener);
+        } catch (InterruptedException ie) {
+            WritabilityHandler.removeListener(channel, listener);
+            throw ie;
+        }
+    }
 
-            stopWatch.split();
-            if (stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
-                final String timeoutMsg = String.format("Serialization of the entire response exceeded the serializeResponseTimeout setting %s",
-                        warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
-                throw new TimeoutException(timeoutMsg.trim());
+    private void resume(final ResultIteration iteration) {
+        final Context context = iteration.context;
+        try {
+            context.getGremlinExecutor().getExecutorService().submit(() -> resumeIteration(iteration));
+        } catch (RejectedExecutionException ree) {
+            // the response has to end here as there is no thread left to pick it back up
+            final RequestMessage msg = context.getRequestMessage();
+            logger.warn(String.format("Could not resume response writing for request [%s].", msg), ree);
+            context.getChannelHandlerContext().writeAndFlush(ResponseMessage.build(msg)
+                    .code(ResponseStatusCode.SERVER_ERROR)
+                    .statusMessage("Gremlin Server could not resume writing the response as it is too busy or shutting down").create());
+            iteration.complete();
+        }
+    }
+
+    private void resumeIteration(final ResultIteration iteration) {
+        final Context context = iteration.context;
+
+        // nothing left to do if the client went away while the iteration was paused
+        if (!context.getChannelHandlerContext().channel().isActive()) {
+            logger.debug("Channel closed while response writing was paused for {}", context.getRequestMessage());
+            iteration.complete();
+            return;
+        }
+
+        logger.debug("Resuming response writing for {} in thread [{}]", context.getRequestMessage(), Thread.currentThread().getName());
+        iterateWithErrorHandling(context, () -> {
+            checkSerializedResponseTimeout(iteration);
+            iterate(iteration);
+        });
+    }
+
+    private static void checkSerializedResponseTimeout(final ResultIteration iteration) throws TimeoutException {
+        final StopWatch stopWatch = iteration.stopWatch;
+        stopWatch.split();
+        if (stopWatch.getSplitTime() > iteration.context.getSettings().serializedResponseTimeout) {
+            final String timeoutMsg = String.format("Serialization of the entire response exceeded the serializeResponseTimeout setting %s",
+                    iteration.warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
+            throw new TimeoutException(timeoutMsg.trim());
+        }
+
+        stopWatch.unsplit();
+    }
+
+    private static void iterateWithErrorHandling(final Context context, final Iteration iteration) {
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        try {
+            iteration.run();
+        } catch (TimeoutException ex) {
+            final String errorMessage = String.format("Response iteration exceeded the configured threshold for request [%s] - %s", msg, ex.getMessage());
+            logger.warn(errorMessage);
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT).statusMessage(errorMessage).create());
+        } catch (Exception ex) {
+            logger.warn(String.format("Exception processing a script on request [%s].", msg), ex);
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR).statusMessage(ex.getMessage()).create());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Iteration {
+        void run() throws Exception;
+    }
+
+    /**
+     * The state of result iteration for a request, which is kept so that iteration can pause and resume.  Pages of
+     * results are sized by item count unless {@link Settings#resultIterationBatchBytes} is set, in which case they
+     * are sized by the estimated serialized size of their results, with a first page that is kept small so that
+     * the client sees results quickly.
+     */
+    private static class ResultIteration {
+        private final Context context;
+        private final Iterator itty;
+        private final int resultIterationBatchSize;
+        private final boolean sizeByBytes;
+        private final Timer.Context timerContext;
+
+        // timer for the total serialization time
+        private final StopWatch stopWatch = new StopWatch();
+        private List<Object> aggregate;
+        private long aggregateBytes = 0;
+        private int pages = 0;
+        private boolean warnOnce = false;
+        private boolean complete = false;
+
+        private ResultIteration(final Context context, final Iterator itty, final Timer.Context timerContext) {
+            this.context = context;
+            this.itty = itty;
+            this.timerContext = timerContext;
+
+            // the batch size can be overridden by the request in which case pages are always sized by that count
+            final Settings settings = context.getSettings();
+            final Optional<Integer> requestedBatchSize = context.getRequestMessage().optionalArgs(Tokens.ARGS_BATCH_SIZE);
+            this.resultIterationBatchSize = requestedBatchSize.orElse(settings.resultIterationBatchSize);
+            this.sizeByBytes = !requestedBatchSize.isPresent() && settings.resultIterationBatchBytes > 0;
+            this.aggregate = new ArrayList<>(resultIterationBatchSize);
+            this.stopWatch.start();
+        }
+
+        private void add(final Object result) {
+            aggregate.add(result);
+            if (sizeByBytes) aggregateBytes += ResultSizeEstimator.estimate(result);
+        }
+
+        private boolean isPageComplete() {
+            if (!sizeByBytes) return aggregate.size() >= resultIterationBatchSize;
+
+            final Settings settings = context.getSettings();
+            if (0 == pages) {
+                // the first page goes out as soon as it is full or late so that the client gets going
+                return aggregate.size() >= resultIterationBatchSize
+                        || aggregateBytes >= Math.min(settings.resultIterationFirstBatchBytes, settings.resultIterationBatchBytes)
+                        || (!aggregate.isEmpty() && settings.resultIterationFirstBatchLatency > 0
+                            && stopWatch.getTime() >= settings.resultIterationFirstBatchLatency);
             }
 
-            stopWatch.unsplit();
+            return aggregate.size() >= Math.max(resultIterationBatchSize, settings.resultIterationMaxBatchSize)
+                    || aggregateBytes >= settings.resultIterationBatchBytes;
         }
 
-        stopWatch.stop();
+        private void nextPage() {
+            pageResultsHistogram.update(aggregate.size());
+            if (sizeByBytes) pageBytesHistogram.update(aggregateBytes);
+            pageMeter.mark();
+
+            pages++;
+            aggregate = new ArrayList<>(resultIterationBatchSize);
+            aggregateBytes = 0;
+        }
+
+        /**
+         * Marks the end of the response, whether it was fully written or not.
+         */
+        private void complete() {
+            if (complete) return;
+            complete = true;
+            stopWatch.stop();
+            if (timerContext != null) timerContext.stop();
+        }
     }
 
     @FunctionalInterface
@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import com.codahale.metrics.Counter;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.expr.ClassExpression;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.ast.expr.Expression;
+import org.codehaus.groovy.ast.expr.ListExpression;
+import org.codehaus.groovy.ast.expr.MapExpression;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.ast.expr.PropertyExpression;
+import org.codehaus.groovy.ast.expr.TupleExpression;
+import org.codehaus.groovy.ast.expr.UnaryMinusExpression;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.groovy.ast.stmt.ExpressionStatement;
+import org.codehaus.groovy.ast.stmt.Statement;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.Phases;
+
+import javax.script.Bindings;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Holds traversals that had their strategies applied keyed by the request that produced them, so that a repeat of
+ * the request can iterate a copy of the cached traversal rather than evaluate the script and apply the strategies all
+ * over again.  A request is keyed by its script, aliases and bindings along with the graph and strategies of the
+ * {@link TraversalSource} the script starts from, so only requests with bindings of simple immutable values are
+ * cached.  The values of the bindings are part of the key because strategies fold them into the steps of the plan
+ * where they can't be bound again, so a parameterized script is only served from the cache when it is repeated with
+ * the same values.  The least recently used traversals are evicted once the cache is full.
+ * <p/>
+ * As a cache hit skips script evaluation entirely, only Gremlin Groovy scripts that are a single chain of method
+ * calls from a {@link TraversalSource} of the server, like {@code g.V(x).out()}, are cached.  The arguments of those
+ * calls may only be constants, the bindings of the request, the constants of classes like {@code T.label} and lists,
+ * maps and anonymous traversals or predicates of the same, as anything else might evaluate to something different
+ * the next time.  Traversals with side effects or a sack are not cached either as copies of the traversal would share
+ * their initial values.
+ */
+public class TraversalPlanCache {
+    private static final Counter hitCounter = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "plans", "hits"));
+    private static final Counter missCounter = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "plans", "misses"));
+    private static final Counter evictionCounter = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "plans", "evictions"));
+
+    private final Map<List<Object>, Traversal.Admin<?, ?>> plans;
+    private final Map<String, Optional<ScriptShape>> scriptShapes;
+
+    public TraversalPlanCache(final int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("The maximum size of the cache must be greater than zero");
+        this.plans = Collections.synchronizedMap(new LinkedHashMap<List<Object>, Traversal.Admin<?, ?>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<Object>, Traversal.Admin<?, ?>> eldest) {
+                final boolean evict = size() > maxSize;
+                if (evict) evictionCounter.inc();
+                return evict;
+            }
+        });
+        this.scriptShapes = Collections.synchronizedMap(new LinkedHashMap<String, Optional<ScriptShape>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Optional<ScriptShape>> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Gets a copy of the traversal cached for the request, ready for iteration.
+     */
+    public Optional<Traversal.Admin<?, ?>> get(final Context context) {
+        final Optional<List<Object>> key = key(context);
+        if (!key.isPresent()) return Optional.empty();
+
+        final Traversal.Admin<?, ?> plan = plans.get(key.get());
+        if (null == plan) {
+            missCounter.inc();
+            return Optional.empty();
+        }
+
+        hitCounter.inc();
+        return Optional.of(plan.clone());
+    }
+
+    /**
+     * Applies strategies to the result of the evaluation of the request and caches a copy of it if it is a traversal
+     * that can be cached.  The result is returned so that it can be iterated in place of the original.
+     */
+    public Object cache(final Context context, final Object result) {
+        if (!(result instanceof Traversal)) return result;
+
+        final Traversal.Admin<?, ?> traversal = ((Traversal<?, ?>) result).asAdmin();
+        if (traversal.isLocked() || traversal.getEngine().isComputer()) return result;
+
+        // the side effects of a copy are a shallow copy of the original so a supplier registered with a value, as
+        // withSideEffect() and withSack() do, would hand the same value to every copy
+        final TraversalSideEffects sideEffects = traversal.getSideEffects();
+        if (!sideEffects.keys().isEmpty() || sideEffects.getSackInitialValue() != null) return result;
+
+        final Optional<List<Object>> key = key(context);
+        if (!key.isPresent()) return result;
+
+        traversal.applyStrategies();
+        plans.put(key.get(), traversal.clone());
+        return traversal;
+    }
+
+    public int size() {
+        return plans.size();
+    }
+
+    private Optional<List<Object>> key(final Context context) {
+        final Map<String, Object> args = context.getRequestMessage().getArgs();
+        final Object language = args.get(Tokens.ARGS_LANGUAGE);
+        if (language != null && !language.equals("gremlin-groovy")) return Optional.empty();
+
+        final Map<String, Object> bindings = (Map<String, Object>) args.getOrDefault(Tokens.ARGS_BINDINGS, Collections.emptyMap());
+        if (!bindings.values().stream().allMatch(TraversalPlanCache::isImmutable)) return Optional.empty();
+
+        final String script = (String) args.get(Tokens.ARGS_GREMLIN);
+        Optional<ScriptShape> shape = scriptShapes.get(script);
+        if (null == shape) {
+            shape = scriptShape(script);
+            scriptShapes.put(script, shape);
+        }
+
+        if (!shape.isPresent()) return Optional.empty();
+
+        // a variable that isn't bound by the request has to name a class rather than a global binding whose value
+        // might change between requests
+        final Bindings globals = context.getGremlinExecutor().getGlobalBindings();
+        if (shape.get().variables.stream().anyMatch(v -> !bindings.containsKey(v) && globals.containsKey(v)))
+            return Optional.empty();
+
+        // the script may alias the traversal source it starts from to one of another name
+        final String name = shape.get().traversalSourceName;
+        final Map<String, String> aliases = (Map<String, String>) (args.containsKey(Tokens.ARGS_ALIASES) ?
+                args.get(Tokens.ARGS_ALIASES) : args.get(Tokens.ARGS_REBINDINGS));
+        final String sourceName = null == aliases ? name : aliases.getOrDefault(name, name);
+        if (context.getGraphManager().getGraphs().containsKey(sourceName)) return Optional.empty();
+
+        final TraversalSource source = context.getGraphManager().getTraversalSources().get(sourceName);
+        if (null == source) return Optional.empty();
+
+        return Optional.of(Arrays.asList(script, null == aliases ? null : new HashMap<>(aliases), new HashMap<>(bindings),
+                source.getGraph().orElse(null), source.getStrategies()));
+    }
+
+    /**
+     * Gets the name of the variable that the script starts its traversal from along with the other variables it
+     * refers to if the script is nothing more than a single chain of method calls from a variable, like
+     * {@code g.V(x).out()}, with arguments that evaluate the same way every time given the same bindings.
+     */
+    private static Optional<ScriptShape> scriptShape(final String script) {
+        final ModuleNode module;
+        try {
+            final CompilationUnit unit = new CompilationUnit();
+            unit.addSource("TraversalPlan", script);
+            unit.compile(Phases.CONVERSION);
+            module = unit.getAST().getModules().get(0);
+        } catch (Exception ex) {
+            // the script will fail again when it is evaluated which is where the error gets reported
+            return Optional.empty();
+        }
+
+        // anything more than the one expression, like a class or method declared in the script, would be skipped
+        final List<Statement> statements = module.getStatementBlock().getStatements();
+        if (!module.getMethods().isEmpty() || module.getClasses().size() > 1 || statements.size() != 1
+                || !(statements.get(0) instanceof ExpressionStatement))
+            return Optional.empty();
+
+        Expression expression = ((ExpressionStatement) statements.get(0)).getExpression();
+        if (!(expression instanceof MethodCallExpression)) return Optional.empty();
+
+        final Set<String> variables = new HashSet<>();
+        while (expression instanceof MethodCallExpression) {
+            final MethodCallExpression call = (MethodCallExpression) expression;
+            if (null == call.getMethodAsString() || !isPlain(call.getArguments(), variables)) return Optional.empty();
+            expression = call.getObjectExpression();
+        }
+
+        if (!(expression instanceof VariableExpression) || ((VariableExpression) expression).isThisExpression()
+                || ((VariableExpression) expression).isSuperExpression())
+            return Optional.empty();
+
+        final String traversalSourceName = ((VariableExpression) expression).getName();
+        variables.remove(traversalSourceName);
+        return Optional.of(new ScriptShape(traversalSourceName, variables));
+    }
+
+    /**
+     * Determines if an argument to a step is built only from constants and variables, which are added to the
+     * variables of the script, or from anonymous traversals and predicates of the same.
+     */
+    private static boolean isPlain(final Expression expression, final Set<String> variables) {
+        if (expression instanceof ConstantExpression || expression instanceof ClassExpression) return true;
+
+        if (expression instanceof VariableExpression) {
+            final VariableExpression variable = (VariableExpression) expression;
+            if (variable.isThisExpression() || variable.isSuperExpression()) return false;
+            variables.add(variable.getName());
+            return true;
+        }
+
+        // the constants of a class like T.label or Order.incr
+        if (expression instanceof PropertyExpression) {
+            final PropertyExpression property = (PropertyExpression) expression;
+            return !property.isSpreadSafe() && property.getProperty() instanceof ConstantExpression
+                    && isPlain(property.getObjectExpression(), variables);
+        }
+
+        if (expression instanceof UnaryMinusExpression)
+            return isPlain(((UnaryMinusExpression) expression).getExpression(), variables);
+
+        if (expression instanceof ListExpression)
+            return ((ListExpression) expression).getExpressions().stream().allMatch(e -> isPlain(e, variables));
+
+        if (expression instanceof MapExpression)
+            return ((MapExpression) expression).getMapEntryExpressions().stream()
+                    .allMatch(e -> isPlain(e.getKeyExpression(), variables) && isPlain(e.getValueExpression(), variables));
+
+        if (expression instanceof TupleExpression)
+            return ((TupleExpression) expression).getExpressions().stream().allMatch(e -> isPlain(e, variables));
+
+        // an anonymous traversal or predicate, like out('knows') or __.out('knows') and gt(29) or P.gt(29)
+        if (expression instanceof MethodCallExpression) {
+            final MethodCallExpression call = (MethodCallExpression) expression;
+            final String method = call.getMethodAsString();
+            if (null == method || !isPlain(call.getArguments(), variables)) return false;
+
+            final Expression object = call.getObjectExpression();
+            if (call.isImplicitThis()) return SPAWNS.contains(method);
+            if (object instanceof VariableExpression) return SPAWN_CLASSES.contains(((VariableExpression) object).getName());
+            return object instanceof MethodCallExpression && isPlain(object, variables);
+        }
+
+        return false;
+    }
+
+    /**
+     * The names of the classes whose static methods start anonymous traversals and predicates.
+     */
+    private static final Set<String> SPAWN_CLASSES = new HashSet<>(Arrays.asList(__.class.getSimpleName(), P.class.getSimpleName()));
+
+    /**
+     * The names of the static methods that start anonymous traversals and predicates, which are imported into scripts.
+     */
+    private static final Set<String> SPAWNS = Stream.of(__.class, P.class)
+            .flatMap(c -> Arrays.stream(c.getMethods()))
+            .filter(m -> Modifier.isStatic(m.getModifiers()))
+            .map(Method::getName)
+            .collect(Collectors.toSet());
+
+    /**
+     * The traversal source that a cacheable script starts from and the other variables that it refers to.
+     */
+    private static final class ScriptShape {
+        final String traversalSourceName;
+        final Set<String> variables;
+
+        private ScriptShape(final String traversalSourceName, final Set<String> variables) {
+            this.traversalSourceName = traversalSourceName;
+            this.variables = variables;
+        }
+    }
+
+    private static boolean isImmutable(final Object o) {
+        return null == o || o instanceof String || o instanceof Number || o instanceof Boolean
+                || o instanceof Character || o instanceof Enum;
+    }
+}
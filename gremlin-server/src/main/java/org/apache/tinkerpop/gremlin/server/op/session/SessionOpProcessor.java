@@ -140,6 +140,15 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
        sessions.values().forEach(Session::kill);
     }
 
+    /**
+     * Requests in a session run in order on the thread of the session, so result iteration always holds that thread
+     * while it waits on a slow client rather than let a later request in the session get ahead of it.
+     */
+    @Override
+    protected boolean canResumeIterationElsewhere(final Context context) {
+        return false;
+    }
+
     protected void evalOp(final Context context) throws OpProcessorException {
         final RequestMessage msg = context.getRequestMessage();
         final Session session = getSession(context, msg);
@@ -25,8 +25,10 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
+import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.op.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.slf4j.Logger;
@@ -35,8 +37,11 @@ import org.slf4j.LoggerFactory;
 import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Simple {@link OpProcessor} implementation that handles {@code ScriptEngine} script evaluation outside the context
@@ -48,6 +53,28 @@ public class StandardOpProcessor extends AbstractEvalOpProcessor {
     private static final Logger logger = LoggerFactory.getLogger(StandardOpProcessor.class);
     public static final String OP_PROCESSOR_NAME = "";
 
+    /**
+     * Configuration setting for the number of traversals with applied strategies to cache for repeated requests.
+     * The cache is disabled when this value is zero.
+     */
+    public static final String CONFIG_TRAVERSAL_PLAN_CACHE_SIZE = "traversalPlanCacheSize";
+
+    /**
+     * Default size of the traversal plan cache is zero which disables it.
+     */
+    public static final int DEFAULT_TRAVERSAL_PLAN_CACHE_SIZE = 0;
+
+    static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
+
+    static {
+        DEFAULT_SETTINGS.className = StandardOpProcessor.class.getCanonicalName();
+        DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
+            put(CONFIG_TRAVERSAL_PLAN_CACHE_SIZE, DEFAULT_TRAVERSAL_PLAN_CACHE_SIZE);
+        }};
+    }
+
+    private volatile Optional<TraversalPlanCache> traversalPlanCache = null;
+
     public StandardOpProcessor() {
        super(true);
     }
@@ -64,6 +91,14 @@ public class StandardOpProcessor extends AbstractEvalOpProcessor {
 
     @Override
     public Optional<ThrowingConsumer<Context>> selectOther(final RequestMessage requestMessage)  throws OpProcessorException {
+        if (requestMessage.getOp().equals(Tokens.OPS_BATCH)) {
+            if (!requestMessage.optionalArgs(Tokens.ARGS_REQUESTS).isPresent()) {
+                final String msg = String.format("A message with an [%s] op code requires a [%s] argument.", Tokens.OPS_BATCH, Tokens.ARGS_REQUESTS);
+                throw new OpProcessorException(msg, ResponseMessage.build(requestMessage).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).result(msg).create());
+            }
+            return Optional.of(this::batchOp);
+        }
+
         return Optional.empty();
     }
 
@@ -72,6 +107,64 @@ public class StandardOpProcessor extends AbstractEvalOpProcessor {
         // do nothing = no resources to release
     }
 
+    @Override
+    protected Optional<TraversalPlanCache> getTraversalPlanCache(final Context context) {
+        // the settings are only available with a request so the cache is created on the first one
+        if (null == traversalPlanCache) {
+            synchronized (this) {
+                if (null == traversalPlanCache) {
+                    final Settings.ProcessorSettings processorSettings = context.getSettings().processors.stream()
+                            .filter(p -> p.className.equals(StandardOpProcessor.class.getCanonicalName()))
+                            .findAny().orElse(DEFAULT_SETTINGS);
+                    final Object size = null == processorSettings.config ? null : processorSettings.config.get(CONFIG_TRAVERSAL_PLAN_CACHE_SIZE);
+                    final int cacheSize = null == size ? DEFAULT_TRAVERSAL_PLAN_CACHE_SIZE : Integer.parseInt(size.toString());
+                    traversalPlanCache = cacheSize > 0 ? Optional.of(new TraversalPlanCache(cacheSize)) : Optional.empty();
+                }
+            }
+        }
+
+        return traversalPlanCache;
+    }
+
+    /**
+     * Unpacks the requests of a {@link Tokens#OPS_BATCH} request and evaluates each one as if it were sent on its own,
+     * so that their responses are written with their own request identifiers and may interleave on the channel.
+     */
+    private void batchOp(final Context context) {
+        final RequestMessage msg = context.getRequestMessage();
+        final List<Map<String, Object>> requests = (List<Map<String, Object>>) msg.getArgs().get(Tokens.ARGS_REQUESTS);
+
+        logger.debug("Sessionless batch request {} of {} requests in thread {}", msg.getRequestId(), requests.size(), Thread.currentThread().getName());
+
+        for (Map<String, Object> request : requests) {
+            final Map<String, Object> args = new HashMap<>(request);
+            final Object requestId = args.remove(Tokens.ARGS_REQUEST_ID);
+
+            // text based serializers have no notion of a UUID so the identifier may arrive as a String
+            final RequestMessage.Builder builder = RequestMessage.build(Tokens.OPS_EVAL).processor(OP_PROCESSOR_NAME);
+            if (requestId instanceof UUID)
+                builder.overrideRequestId((UUID) requestId);
+            else if (requestId != null)
+                builder.overrideRequestId(UUID.fromString(requestId.toString()));
+            args.forEach(builder::addArg);
+
+            final Context requestContext = new Context(builder.create(), context.getChannelHandlerContext(),
+                    context.getSettings(), context.getGraphManager(), context.getGremlinExecutor(),
+                    context.getScheduledExecutorService());
+            try {
+                select(requestContext).accept(requestContext);
+            } catch (OpProcessorException ope) {
+                logger.warn(ope.getMessage(), ope);
+                context.getChannelHandlerContext().writeAndFlush(ope.getResponseMessage());
+            } catch (Exception ex) {
+                final String error = String.format("Could not process request %s of batch %s", requestContext.getRequestMessage().getRequestId(), msg.getRequestId());
+                logger.warn(error, ex);
+                context.getChannelHandlerContext().writeAndFlush(ResponseMessage.build(requestContext.getRequestMessage())
+                        .code(ResponseStatusCode.SERVER_ERROR).statusMessage(ex.getMessage()).create());
+            }
+        }
+    }
+
     private void evalOp(final Context context) throws OpProcessorException {
         final RequestMessage msg = context.getRequestMessage();
 
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Cheaply estimates the number of bytes a result will take once serialized so that results can be batched into
+ * responses of a similar size whatever their type.  The estimate is not tied to a particular serializer and only
+ * needs to be in the right range: nested structures are examined to a limited depth and large collections are
+ * extrapolated from their first few items.
+ */
+public final class ResultSizeEstimator {
+    private static final int MAX_DEPTH = 4;
+    private static final int SAMPLE_SIZE = 16;
+
+    /**
+     * Size assumed for anything that can't be examined further, like objects nested too deeply or of unknown type.
+     */
+    private static final long DEFAULT_SIZE = 32;
+
+    private ResultSizeEstimator() {}
+
+    public static long estimate(final Object result) {
+        return estimate(result, 0);
+    }
+
+    private static long estimate(final Object o, final int depth) {
+        if (null == o)
+            return 1;
+        else if (o instanceof Number || o instanceof Boolean || o instanceof Character)
+            return 9;
+        else if (o instanceof CharSequence)
+            return 2 + ((CharSequence) o).length();
+        else if (o instanceof Enum)
+            return 2 + ((Enum) o).name().length();
+        else if (o instanceof byte[])
+            return 4 + ((byte[]) o).length;
+        else if (depth >= MAX_DEPTH)
+            return DEFAULT_SIZE;
+        else if (o instanceof Element)
+            return estimateElement((Element) o, depth);
+        else if (o instanceof Property) {
+            final Property p = (Property) o;
+            return p.isPresent() ? 2 + p.key().length() + estimate(p.value(), depth + 1) : 1;
+        } else if (o instanceof Path) {
+            final Path p = (Path) o;
+            return 4 + estimate(p.objects(), depth) + estimate(p.labels(), depth);
+        } else if (o instanceof Map) {
+            final Map<?, ?> m = (Map<?, ?>) o;
+            return 4 + estimateItems(m.entrySet().iterator(), m.size(), depth);
+        } else if (o instanceof Map.Entry) {
+            final Map.Entry e = (Map.Entry) o;
+            return estimate(e.getKey(), depth + 1) + estimate(e.getValue(), depth + 1);
+        } else if (o instanceof Collection) {
+            final Collection c = (Collection) o;
+            return 4 + estimateItems(c.iterator(), c.size(), depth);
+        } else if (o instanceof Object[]) {
+            final Object[] a = (Object[]) o;
+            long size = 4;
+            final int sampled = Math.min(a.length, SAMPLE_SIZE);
+            for (int i = 0; i < sampled; i++) {
+                size += estimate(a[i], depth + 1);
+            }
+            return 0 == sampled ? size : size + (size - 4) / sampled * (a.length - sampled);
+        }
+
+        return DEFAULT_SIZE;
+    }
+
+    private static long estimateElement(final Element element, final int depth) {
+        long size = 4 + estimate(element.id(), depth + 1) + estimate(element.label(), depth + 1);
+        if (element instanceof Edge) {
+            final Edge edge = (Edge) element;
+            size += estimate(edge.outVertex().id(), depth + 1) + estimate(edge.inVertex().id(), depth + 1);
+        } else if (element instanceof VertexProperty) {
+            size += estimate(((VertexProperty) element).value(), depth + 1);
+        }
+
+        // the properties of a vertex are themselves elements with an identifier and possibly properties of their own
+        final Iterator<? extends Property> properties = element.properties();
+        while (properties.hasNext()) {
+            size += estimate(properties.next(), depth + 1);
+        }
+
+        return size;
+    }
+
+    /**
+     * Estimate the first items of an iterator and extrapolate to those that remain.
+     */
+    private static long estimateItems(final Iterator<?> items, final int count, final int depth) {
+        long size = 0;
+        int sampled = 0;
+        while (sampled < SAMPLE_SIZE && items.hasNext()) {
+            size += estimate(items.next(), depth + 1);
+            sampled++;
+        }
+        return 0 == sampled ? size : size + size / sampled * (count - sampled);
+    }
+}
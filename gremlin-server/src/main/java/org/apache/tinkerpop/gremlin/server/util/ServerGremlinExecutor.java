@@ -18,7 +18,12 @@
  */
 package org.apache.tinkerpop.gremlin.server.util;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.ScriptClassCache;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
@@ -27,12 +32,19 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +66,7 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
 
     private final T scheduledExecutorService;
     private final ExecutorService gremlinExecutorService;
+    private final ExecutorService compilationExecutorService;
     private final GremlinExecutor gremlinExecutor;
 
     /**
@@ -82,6 +95,14 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
             this.gremlinExecutorService = gremlinExecutorService;
         }
 
+        if (settings.compilationPool > 0) {
+            final ThreadFactory threadFactoryCompilation = ThreadFactoryUtil.create("compile-%d");
+            this.compilationExecutorService = new ThreadPoolExecutor(settings.compilationPool, settings.compilationPool,
+                    0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(settings.compilationQueueSize), threadFactoryCompilation);
+        } else {
+            this.compilationExecutorService = null;
+        }
+
         if (null == scheduledExecutorService) {
             final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("worker-%d");
             this.scheduledExecutorService = scheduleExecutorServiceClass.cast(
@@ -95,6 +116,8 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
 
         logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
 
+        final Timer compileTimer = MetricManager.INSTANCE.getTimer(MetricRegistry.name(GremlinServer.class, "op", "eval", "compile"));
+        final Timer executeTimer = MetricManager.INSTANCE.getTimer(MetricRegistry.name(GremlinServer.class, "op", "eval", "execute"));
         final GremlinExecutor.Builder gremlinExecutorBuilder = GremlinExecutor.build()
                 .scriptEvaluationTimeout(settings.scriptEvaluationTimeout)
                 .afterFailure((b, e) -> graphManager.rollbackAll())
@@ -102,7 +125,10 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
                 .afterTimeout(b -> graphManager.rollbackAll())
                 .enabledPlugins(new HashSet<>(settings.plugins))
                 .globalBindings(graphManager.getAsBindings())
+                .afterCompile(nanos -> compileTimer.update(nanos, TimeUnit.NANOSECONDS))
+                .afterExecute(nanos -> executeTimer.update(nanos, TimeUnit.NANOSECONDS))
                 .executorService(this.gremlinExecutorService)
+                .compilationExecutorService(this.compilationExecutorService)
                 .scheduledExecutorService(this.scheduledExecutorService);
 
         settings.scriptEngines.forEach((k, v) -> {
@@ -116,6 +142,8 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
 
         logger.info("Initialized GremlinExecutor and configured ScriptEngines.");
 
+        settings.scriptEngines.keySet().forEach(this::registerScriptClassCacheMetrics);
+
         // script engine init may have altered the graph bindings or maybe even created new ones - need to
         // re-apply those references back
         gremlinExecutor.getGlobalBindings().entrySet().stream()
@@ -138,6 +166,33 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Registers metrics for the cache of compiled scripts of a {@link GremlinGroovyScriptEngine}.  The engine is
+     * looked up whenever the metrics are read as it may be reloaded, and metrics of a previous instance of the
+     * server in the same JVM are replaced.
+     */
+    private void registerScriptClassCacheMetrics(final String language) {
+        if (!gremlinExecutor.getScriptEngines().getScriptEngine(language).filter(e -> e instanceof GremlinGroovyScriptEngine).isPresent())
+            return;
+
+        final Supplier<Optional<ScriptClassCache>> cache = () -> gremlinExecutor.getScriptEngines().getScriptEngine(language)
+                .filter(e -> e instanceof GremlinGroovyScriptEngine)
+                .map(e -> ((GremlinGroovyScriptEngine) e).getScriptClassCache());
+        final Map<String, Gauge<Long>> gauges = new HashMap<>();
+        gauges.put("size", () -> cache.get().map(c -> (long) c.size()).orElse(0l));
+        gauges.put("hits", () -> cache.get().map(ScriptClassCache::getHitCount).orElse(0l));
+        gauges.put("misses", () -> cache.get().map(ScriptClassCache::getMissCount).orElse(0l));
+        gauges.put("evictions", () -> cache.get().map(ScriptClassCache::getEvictionCount).orElse(0l));
+        gauges.put("compilations", () -> cache.get().map(ScriptClassCache::getCompilationCount).orElse(0l));
+        gauges.put("compilation-time", () -> cache.get().map(c -> TimeUnit.NANOSECONDS.toMillis(c.getCompilationTime())).orElse(0l));
+
+        gauges.forEach((metric, gauge) -> {
+            final String name = MetricRegistry.name(GremlinServer.class, "engine", language, "class-cache", metric);
+            MetricManager.INSTANCE.getRegistry().remove(name);
+            MetricManager.INSTANCE.getGuage(gauge, name);
+        });
+    }
+
     public T getScheduledExecutorService() {
         return scheduledExecutorService;
     }
@@ -150,6 +205,14 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
         return gremlinExecutorService;
     }
 
+    /**
+     * Gets the thread pool that compiles scripts ahead of their evaluation, which is {@code null} unless
+     * {@link Settings#compilationPool} is greater than zero.
+     */
+    public ExecutorService getCompilationExecutorService() {
+        return compilationExecutorService;
+    }
+
     public GraphManager getGraphManager() {
         return graphManager;
     }
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.ResultSet;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Issues many concurrent requests with large results through a client with a single IO thread so that the client
+ * can't keep up with the server, which forces result iteration on the server to pause for the channel to become
+ * writable again.  Once the benchmarks complete, the number of pauses is reported along with the result throughput
+ * and the utilization of the Gremlin Server worker threads, as the point of pausing is to free those threads for
+ * other requests while a client catches up.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-backpressure")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-backpressure")
+public class GremlinBackpressurePerformanceTest extends AbstractGremlinServerPerformanceTest {
+    private static final Logger logger = LoggerFactory.getLogger(GremlinBackpressurePerformanceTest.class);
+
+    private static final int REQUESTS = 256;
+    private static final int RESULTS = 2000;
+    private static final long SAMPLE_INTERVAL_MS = 10;
+
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private static final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+    private static final Map<Long, Long> workerCpuTimesAtStart = new HashMap<>();
+    private static final Map<Long, Long> workerCpuTimes = new HashMap<>();
+    private static final AtomicLong workerSamples = new AtomicLong(0);
+    private static final AtomicLong occupiedWorkerSamples = new AtomicLong(0);
+    private static final AtomicLong totalResults = new AtomicLong(0);
+    private static final AtomicLong totalElapsed = new AtomicLong(0);
+
+    private final static Cluster cluster = Cluster.build("localhost")
+            .nioPoolSize(1).workerPoolSize(1)
+            .maxConnectionPoolSize(8).maxInProcessPerConnection(64).maxSimultaneousUsagePerConnection(64)
+            .maxWaitForConnection(60000).create();
+    private static Client client;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void before() {
+        // good to call init here ahead of performance tracking
+        cluster.init();
+        client = cluster.connect();
+        sampler.scheduleAtFixedRate(GremlinBackpressurePerformanceTest::sampleWorkers,
+                SAMPLE_INTERVAL_MS, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @AfterClass
+    public static void after() throws Exception {
+        sampler.shutdown();
+        sampler.awaitTermination(1, TimeUnit.SECONDS);
+
+        final long elapsed = totalElapsed.get();
+        final long workerCpuTime = workerCpuTimes.entrySet().stream()
+                .mapToLong(e -> e.getValue() - workerCpuTimesAtStart.get(e.getKey())).sum();
+        final int workers = Math.max(1, workerCpuTimes.size());
+        logger.info("Result iteration paused {} times for slow clients",
+                MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "paused")).getCount());
+        logger.info("Throughput of {} results/s over {} results",
+                elapsed > 0 ? totalResults.get() * 1000 / elapsed : 0, totalResults.get());
+        logger.info("{} workers were occupied with a request {}% of the time and busy on CPU {}% of the time",
+                workerCpuTimes.size(),
+                workerSamples.get() > 0 ? occupiedWorkerSamples.get() * 100 / workerSamples.get() : 0,
+                elapsed > 0 ? TimeUnit.NANOSECONDS.toMillis(workerCpuTime) * 100 / (elapsed * workers) : 0);
+        cluster.close();
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void webSocketsGremlinSlowClient() throws Exception {
+        final long start = System.currentTimeMillis();
+        final List<CompletableFuture<ResultSet>> futures = new ArrayList<>(REQUESTS);
+        for (int ix = 0; ix < REQUESTS; ix++) {
+            futures.add(client.submitAsync(String.format("(1..%s).collect{'x' * 1024}", RESULTS)));
+        }
+
+        for (CompletableFuture<ResultSet> future : futures) {
+            assertEquals(RESULTS, future.get().all().get().size());
+        }
+
+        totalElapsed.addAndGet(System.currentTimeMillis() - start);
+        totalResults.addAndGet(REQUESTS * RESULTS);
+    }
+
+    /**
+     * Samples the Gremlin Server worker threads, counting those that are occupied with a request (i.e. not idle
+     * waiting on the queue of the executor) and keeping the CPU time each has used since it was first sampled.
+     */
+    private static void sampleWorkers() {
+        final ThreadInfo[] infos = threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds(), Integer.MAX_VALUE);
+        for (ThreadInfo info : infos) {
+            if (null == info || !info.getThreadName().startsWith("gremlin-server-exec")) continue;
+
+            workerSamples.incrementAndGet();
+            final boolean idle = Arrays.stream(info.getStackTrace())
+                    .anyMatch(e -> e.getMethodName().equals("getTask") && e.getClassName().endsWith("ThreadPoolExecutor"));
+            if (!idle) occupiedWorkerSamples.incrementAndGet();
+
+            final long cpuTime = threadMXBean.getThreadCpuTime(info.getThreadId());
+            if (cpuTime >= 0) {
+                workerCpuTimesAtStart.putIfAbsent(info.getThreadId(), cpuTime);
+                workerCpuTimes.put(info.getThreadId(), cpuTime);
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server;
 
+import com.codahale.metrics.Meter;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.driver.Channelizer;
@@ -32,6 +33,7 @@ import org.apache.tinkerpop.gremlin.driver.ser.JsonBuilderGryoSerializer;
 import org.apache.tinkerpop.gremlin.driver.ser.GryoMessageSerializerV1d0;
 import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
 import org.apache.tinkerpop.gremlin.server.channel.NioChannelizer;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
 import org.apache.tinkerpop.gremlin.util.TimeUtil;
@@ -42,6 +44,7 @@ import org.junit.Test;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -49,6 +52,7 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -56,6 +60,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -92,6 +97,12 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldWorkOverNioTransport":
                 settings.channelizer = NioChannelizer.class.getName();
                 break;
+            case "shouldBatchResultsByBytes":
+            case "shouldBatchResultsByCountWhenBatchSizeIsSet":
+                settings.resultIterationBatchSize = 2;
+                settings.resultIterationBatchBytes = 100;
+                settings.resultIterationFirstBatchLatency = 0;
+                break;
             case "shouldFailWithBadClientSideSerialization":
                 final List<String> custom = Arrays.asList(
                         JsonBuilder.class.getName() + ";" + JsonBuilderGryoSerializer.class.getName(),
@@ -111,6 +122,38 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         return settings;
     }
 
+    @Test
+    public void shouldBatchResultsByBytes() throws Exception {
+        final Meter pages = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "eval", "pages"));
+        final Cluster cluster = Cluster.open();
+        final Client client = cluster.connect();
+
+        try {
+            // the driver leaves the batch size to the server unless it is set so the first batch holds two results
+            // and the rest are sized to about 100 bytes which is three results of a bit over 40 bytes each
+            final long pagesBefore = pages.getCount();
+            assertEquals(100, client.submit("(1..100).collect{'x' * 40}").all().get().size());
+            assertEquals(34, pages.getCount() - pagesBefore);
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldBatchResultsByCountWhenBatchSizeIsSet() throws Exception {
+        final Meter pages = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "eval", "pages"));
+        final Cluster cluster = Cluster.build().resultIterationBatchSize(50).create();
+        final Client client = cluster.connect();
+
+        try {
+            final long pagesBefore = pages.getCount();
+            assertEquals(100, client.submit("(1..100).collect{'x' * 40}").all().get().size());
+            assertEquals(2, pages.getCount() - pagesBefore);
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     public void shouldHandleResultsOfAllSizes() throws Exception {
         final Cluster cluster = Cluster.open();
@@ -218,6 +261,93 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         assertEquals("five", futureFive.get(10, TimeUnit.SECONDS).get(0).getString());
     }
 
+    @Test
+    public void shouldNotBlockSubmitterWhileWaitingForConnection() throws Exception {
+        final Cluster cluster = Cluster.build()
+                .minConnectionPoolSize(1).maxConnectionPoolSize(1)
+                .minSimultaneousUsagePerConnection(1).maxSimultaneousUsagePerConnection(1)
+                .minInProcessPerConnection(0).maxInProcessPerConnection(1).create();
+        final Client client = cluster.connect().init();
+
+        // the single connection only takes one request at a time so all but the first wait for it
+        final long start = System.nanoTime();
+        final List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+        for (int ix = 0; ix < 8; ix++) {
+            final Map<String, Object> params = new HashMap<>();
+            params.put("x", ix);
+            futures.add(client.submitAsync("Thread.sleep(250);x", params));
+        }
+        assertThat(TimeUtil.millisSince(start) < 1000, is(true));
+        assertFalse(futures.get(7).isDone());
+
+        for (int ix = 0; ix < futures.size(); ix++) {
+            assertEquals(ix, futures.get(ix).get(30, TimeUnit.SECONDS).all().get().get(0).getInt());
+        }
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldBatchRequestsOnConnection() throws Exception {
+        final Cluster cluster = Cluster.build()
+                .minConnectionPoolSize(1).maxConnectionPoolSize(1)
+                .minSimultaneousUsagePerConnection(16).maxSimultaneousUsagePerConnection(16)
+                .maxInProcessPerConnection(16)
+                .maxBatchSize(8).maxBatchDelay(50).create();
+        final Client client = cluster.connect().init();
+
+        final List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+        for (int ix = 0; ix < 16; ix++) {
+            final Map<String, Object> params = new HashMap<>();
+            params.put("x", ix);
+            futures.add(client.submitAsync(ix == 5 ? "1/0" : "[x, x]", params));
+        }
+
+        // each request gets its own results back even though they were sent together
+        for (int ix = 0; ix < futures.size(); ix++) {
+            if (ix == 5) {
+                try {
+                    futures.get(ix).get(30, TimeUnit.SECONDS).all().get();
+                    fail("Should have thrown an exception over division by zero");
+                } catch (Exception ex) {
+                    final Throwable root = ExceptionUtils.getRootCause(ex);
+                    assertThat(root, instanceOf(ResponseException.class));
+                    assertEquals(ResponseStatusCode.SERVER_ERROR_SCRIPT_EVALUATION, ((ResponseException) root).getResponseStatusCode());
+                }
+            } else {
+                final List<Result> results = futures.get(ix).get(30, TimeUnit.SECONDS).all().get();
+                assertEquals(2, results.size());
+                assertEquals(ix, results.get(0).getInt());
+                assertEquals(ix, results.get(1).getInt());
+            }
+        }
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldSplitBatchesThatWouldExceedMaxContentLength() throws Exception {
+        final Cluster cluster = Cluster.build()
+                .minConnectionPoolSize(1).maxConnectionPoolSize(1)
+                .minSimultaneousUsagePerConnection(16).maxSimultaneousUsagePerConnection(16)
+                .maxInProcessPerConnection(16)
+                .maxBatchSize(8).maxBatchDelay(50).create();
+        final Client client = cluster.connect().init();
+
+        // eight of these scripts together are well beyond the default maxContentLength of the server
+        final String padding = String.join("", Collections.nCopies(20000, "a"));
+        final List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+        for (int ix = 0; ix < 8; ix++) {
+            futures.add(client.submitAsync("'" + padding + "'.length() + " + ix));
+        }
+
+        for (int ix = 0; ix < futures.size(); ix++) {
+            assertEquals(20000 + ix, futures.get(ix).get(30, TimeUnit.SECONDS).all().get().get(0).getInt());
+        }
+
+        cluster.close();
+    }
+
     @Test
     public void shouldWaitForAllResultsToArrive() throws Exception {
         final Cluster cluster = Cluster.open();
@@ -271,6 +401,62 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldHoldBoundedResultsWhileStreaming() throws Exception {
+        final int maxQueuedResults = 1024;
+        final Cluster cluster = Cluster.build().maxQueuedResults(maxQueuedResults).create();
+        final Client client = cluster.connect();
+
+        // the bound counts results while reads are made in bytes so the results have to be large enough that a
+        // single socket read cannot carry many times the bound
+        final int total = 20000;
+        final ResultSet results = client.submit("def pad = 'x' * 512; (0..<" + total + ").stream().map{it + ':' + pad}.iterator()");
+        final Iterator<Result> itty = results.iterator();
+        int counter = 0;
+        int maxAvailable = 0;
+        while (itty.hasNext()) {
+            assertThat(itty.next().getString(), startsWith(counter++ + ":"));
+
+            // give the server a chance to get ahead of the client so that the bound is tested
+            if (counter % 2000 == 0) {
+                Thread.sleep(100);
+                maxAvailable = Math.max(maxAvailable, results.getAvailableItemCount());
+            }
+        }
+
+        // the reads only stop once a whole socket read has been queued so allow some room beyond the bound
+        assertEquals(total, counter);
+        assertThat(maxAvailable < maxQueuedResults * 16, is(true));
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldNotHoldReadsOfOtherRequestsWhileBounded() throws Exception {
+        final Cluster cluster = Cluster.build().maxQueuedResults(16)
+                .minConnectionPoolSize(1).maxConnectionPoolSize(1).create();
+        final Client client = cluster.connect();
+
+        // the first request fills its queue and holds the reads of the connection while it is the only request
+        final int total = 10000;
+        final ResultSet first = client.submit("(0..<" + total + ")");
+        first.some(1).get(30, TimeUnit.SECONDS);
+        Thread.sleep(500);
+
+        // waiting on the second request has to release the reads so that its results can arrive
+        assertEquals(1, client.submit("1").all().get(30, TimeUnit.SECONDS).get(0).getInt());
+        assertEquals(2, client.submit("2").one().getInt());
+
+        int counter = 1;
+        final Iterator<Result> itty = first.iterator();
+        while (itty.hasNext()) {
+            assertEquals(counter++, itty.next().getInt());
+        }
+
+        assertEquals(total, counter);
+        cluster.close();
+    }
+
     @Test
     public void shouldIterate() throws Exception {
         final Cluster cluster = Cluster.open();
@@ -844,4 +1030,21 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
 
         cluster.close();
     }
+
+    @Test
+    public void shouldFailSubmitAsyncOfClosedAliasedClientThroughFuture() throws Exception {
+        final Cluster cluster = Cluster.build().create();
+        final Client aliased = cluster.connect().alias("g1");
+        aliased.closeAsync().join();
+
+        final CompletableFuture<ResultSet> future = aliased.submitAsync("g.V().count()");
+        try {
+            future.get();
+            fail("Should have failed the future as the client is closed");
+        } catch (ExecutionException ee) {
+            assertThat(ee.getCause(), instanceOf(IllegalStateException.class));
+        }
+
+        cluster.close();
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.ResultSet;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Has many more threads submitting requests than the connection pool of the driver can take at once, so that most of
+ * them have to wait to borrow a connection, both when each request is submitted and awaited in turn and when a
+ * batch of requests is submitted asynchronously before any is awaited.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-driver-pool")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-driver-pool")
+public class GremlinDriverPoolPerformanceTest extends AbstractGremlinServerPerformanceTest {
+
+    private static final int SUBMITTERS = 64;
+    private static final int ASYNC_REQUESTS = 16;
+
+    private final static Cluster cluster = Cluster.build("localhost")
+            .minConnectionPoolSize(2).maxConnectionPoolSize(2)
+            .maxInProcessPerConnection(8).maxSimultaneousUsagePerConnection(8)
+            .maxWaitForConnection(60000).create();
+    private static Client client;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void before() {
+        // good to call init here ahead of performance tracking
+        cluster.init();
+        client = cluster.connect().init();
+    }
+
+    @AfterClass
+    public static void after() {
+        cluster.close();
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 2000, warmupRounds = 200, concurrency = SUBMITTERS)
+    @Test
+    public void submit() throws Exception {
+        assertEquals(2, client.submit("1+1").all().get().get(0).getInt());
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 200, warmupRounds = 20, concurrency = SUBMITTERS)
+    @Test
+    public void submitAsync() throws Exception {
+        final List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+        for (int ix = 0; ix < ASYNC_REQUESTS; ix++) {
+            futures.add(client.submitAsync("1+1"));
+        }
+
+        for (CompletableFuture<ResultSet> future : futures) {
+            assertEquals(2, future.get().all().get().get(0).getInt());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.LoadBalancingStrategy;
+import org.apache.tinkerpop.gremlin.driver.ResultSet;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs three Gremlin Server instances on different loopback addresses, one of which has a single thread in its
+ * Gremlin thread pool so that it falls behind under load, and compares how the {@link LoadBalancingStrategy}
+ * implementations of the driver spread concurrent requests over them.  Binding to loopback addresses other than
+ * {@code 127.0.0.1} requires Linux.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-load-balancing")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-load-balancing")
+public class GremlinLoadBalancingPerformanceTest {
+
+    private static final String[] HOSTS = new String[]{"127.0.0.1", "127.0.0.2", "127.0.0.3"};
+    private static final int PORT = 45950;
+    private static final int REQUESTS = 128;
+
+    private static final List<GremlinServer> servers = new ArrayList<>();
+    private static Cluster roundRobinCluster;
+    private static Cluster leastInFlightCluster;
+    private static Cluster latencyAwareCluster;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        for (int ix = 0; ix < HOSTS.length; ix++) {
+            final Settings settings = Settings.read(GremlinLoadBalancingPerformanceTest.class.getResourceAsStream("gremlin-server-performance.yaml"));
+            ServerTestHelper.rewritePathsInGremlinServerSettings(settings);
+            settings.host = HOSTS[ix];
+            settings.port = PORT;
+
+            // the last server is the slow one
+            settings.gremlinPool = ix == HOSTS.length - 1 ? 1 : 8;
+
+            final GremlinServer server = new GremlinServer(settings);
+            server.start().join();
+            servers.add(server);
+        }
+
+        roundRobinCluster = createCluster(new LoadBalancingStrategy.RoundRobin());
+        leastInFlightCluster = createCluster(new LoadBalancingStrategy.LeastInFlight());
+        latencyAwareCluster = createCluster(new LoadBalancingStrategy.LatencyAware());
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        roundRobinCluster.close();
+        leastInFlightCluster.close();
+        latencyAwareCluster.close();
+        for (GremlinServer server : servers) {
+            server.stop().join();
+        }
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 20, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void roundRobin() throws Exception {
+        submitConcurrently(roundRobinCluster);
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 20, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void leastInFlight() throws Exception {
+        submitConcurrently(leastInFlightCluster);
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 20, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void latencyAware() throws Exception {
+        submitConcurrently(latencyAwareCluster);
+    }
+
+    private static Cluster createCluster(final LoadBalancingStrategy loadBalancingStrategy) {
+        final Cluster cluster = Cluster.build().addContactPoints(HOSTS).port(PORT)
+                .loadBalancingStrategy(loadBalancingStrategy)
+                .maxConnectionPoolSize(8).maxInProcessPerConnection(64).maxSimultaneousUsagePerConnection(64)
+                .maxWaitForConnection(60000).create();
+
+        // good to call init here ahead of performance tracking
+        cluster.init();
+        return cluster;
+    }
+
+    private static void submitConcurrently(final Cluster cluster) throws Exception {
+        final Client client = cluster.connect();
+        final List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+        for (int ix = 0; ix < REQUESTS; ix++) {
+            futures.add(client.submitAsync("Thread.sleep(5);1"));
+        }
+
+        for (CompletableFuture<ResultSet> future : futures) {
+            assertEquals(1, future.get().all().get().get(0).getInt());
+        }
+
+        client.close();
+    }
+}
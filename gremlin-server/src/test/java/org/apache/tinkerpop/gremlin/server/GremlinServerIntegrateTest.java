@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server;
 
+import com.codahale.metrics.Counter;
 import java.io.File;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.log4j.Logger;
@@ -35,7 +36,10 @@ import org.apache.tinkerpop.gremlin.driver.simple.WebSocketClient;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.server.channel.NioChannelizer;
+import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.session.SessionOpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
 import org.apache.tinkerpop.gremlin.util.Log4jRecordingAppender;
 import org.junit.After;
@@ -49,13 +53,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 import static org.junit.Assume.assumeThat;
@@ -67,6 +75,13 @@ import static org.junit.Assume.assumeThat;
  */
 public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegrationTest {
 
+    private static final int SLOW_CLIENT_RESULTS = 50000;
+
+    /**
+     * A result large enough to fill the socket buffers between the server and a client that has stopped reading.
+     */
+    private static final String SLOW_CLIENT_SCRIPT = "(0..<" + SLOW_CLIENT_RESULTS + ").collect{'x' * 1000}";
+
     private Log4jRecordingAppender recordingAppender = null;
 
     @Before
@@ -93,6 +108,16 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
                 settings.writeBufferHighWaterMark = 64;
                 settings.writeBufferLowWaterMark = 32;
                 break;
+            case "shouldPauseAndResumeIterationForSlowClient":
+            case "shouldStopPausedIterationWhenClientCloses":
+                settings.writeBufferHighWaterMark = 1024;
+                settings.writeBufferLowWaterMark = 512;
+                break;
+            case "shouldTimeOutPausedIterationForSlowClient":
+                settings.writeBufferHighWaterMark = 1024;
+                settings.writeBufferLowWaterMark = 512;
+                settings.serializedResponseTimeout = 3000;
+                break;
             case "shouldReceiveFailureTimeOutOnScriptEval":
                 settings.scriptEvaluationTimeout = 200;
                 break;
@@ -105,6 +130,18 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldBatchResultsByTwos":
                 settings.resultIterationBatchSize = 2;
                 break;
+            case "shouldCacheTraversalPlans":
+                final Settings.ProcessorSettings standardSettings = new Settings.ProcessorSettings();
+                standardSettings.className = StandardOpProcessor.class.getCanonicalName();
+                standardSettings.config = new HashMap<>();
+                standardSettings.config.put(StandardOpProcessor.CONFIG_TRAVERSAL_PLAN_CACHE_SIZE, 1);
+                settings.processors.add(standardSettings);
+                break;
+            case "shouldBatchResultsByBytes":
+                settings.resultIterationBatchSize = 2;
+                settings.resultIterationBatchBytes = 100;
+                settings.resultIterationFirstBatchLatency = 0;
+                break;
             case "shouldWorkOverNioTransport":
                 settings.channelizer = NioChannelizer.class.getName();
                 break;
@@ -228,6 +265,91 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldPauseAndResumeIterationForSlowClient() throws Exception {
+        final Counter paused = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "paused"));
+        final long pausedBefore = paused.getCount();
+        final long evalsBefore = AbstractEvalOpProcessor.evalOpTimer.getCount();
+
+        // the bounded client stops reading once a few results are queued which backs the response up on the server
+        final Cluster cluster = Cluster.build().maxQueuedResults(16).create();
+        final Client client = cluster.connect();
+
+        try {
+            final ResultSet results = client.submit(SLOW_CLIENT_SCRIPT);
+            results.some(1).get(30, TimeUnit.SECONDS);
+            assertTrue(waitFor(() -> paused.getCount() > pausedBefore));
+
+            // once the client catches up the server resumes and sends the rest of the results
+            assertEquals(SLOW_CLIENT_RESULTS, results.all().get(30, TimeUnit.SECONDS).size() + 1);
+            assertTrue(waitFor(() -> AbstractEvalOpProcessor.evalOpTimer.getCount() > evalsBefore));
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldTimeOutPausedIterationForSlowClient() throws Exception {
+        final Counter paused = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "paused"));
+        final long pausedBefore = paused.getCount();
+
+        final Cluster cluster = Cluster.build().maxQueuedResults(16).create();
+        final Client client = cluster.connect();
+
+        try {
+            final ResultSet results = client.submit(SLOW_CLIENT_SCRIPT);
+            results.some(1).get(30, TimeUnit.SECONDS);
+            assertTrue(waitFor(() -> paused.getCount() > pausedBefore));
+
+            // the client does not catch up before the serializedResponseTimeout so the paused iteration has to end
+            // with an error rather than wait for the client
+            Thread.sleep(4000);
+            results.all().get(30, TimeUnit.SECONDS);
+            fail("Should have timed out while paused");
+        } catch (ExecutionException ee) {
+            assertThat(ee.getCause(), instanceOf(ResponseException.class));
+            assertEquals(ResponseStatusCode.SERVER_ERROR_TIMEOUT, ((ResponseException) ee.getCause()).getResponseStatusCode());
+            assertTrue(ee.getCause().getMessage().contains("Gremlin Server paused writes to client"));
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldStopPausedIterationWhenClientCloses() throws Exception {
+        final Counter paused = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "paused"));
+        final long pausedBefore = paused.getCount();
+        final long evalsBefore = AbstractEvalOpProcessor.evalOpTimer.getCount();
+
+        final Cluster cluster = Cluster.build().maxQueuedResults(16).create();
+        final Client client = cluster.connect();
+        client.submit(SLOW_CLIENT_SCRIPT).some(1).get(30, TimeUnit.SECONDS);
+        assertTrue(waitFor(() -> paused.getCount() > pausedBefore));
+
+        // closing the connection completes the paused response, long before the serializedResponseTimeout
+        cluster.close();
+        assertTrue(waitFor(() -> AbstractEvalOpProcessor.evalOpTimer.getCount() > evalsBefore));
+
+        final Cluster another = Cluster.open();
+        try {
+            assertEquals(2, another.connect().submit("1+1").all().get(30, TimeUnit.SECONDS).get(0).getInt());
+        } finally {
+            another.close();
+        }
+    }
+
+    /**
+     * Polls the condition until it holds or ten seconds pass.
+     */
+    private static boolean waitFor(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) return false;
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
     @Test
     public void shouldReturnInvalidRequestArgsWhenGremlinArgIsNotSupplied() throws Exception {
         try (SimpleClient client = new WebSocketClient()) {
@@ -284,6 +406,74 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldBatchResultsByBytes() throws Exception {
+        try (SimpleClient client = new WebSocketClient()) {
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "(1..100).collect{'x' * 40}").create();
+
+            // the first batch holds two results and the rest are sized to about 100 bytes which is three results
+            // of a bit over 40 bytes each, so there should be 1 + 32 batches of three and a last one of two
+            final AtomicInteger batches = new AtomicInteger(0);
+            final AtomicInteger results = new AtomicInteger(0);
+            final CountDownLatch latch = new CountDownLatch(1);
+            client.submit(request, r -> {
+                batches.incrementAndGet();
+                results.addAndGet(((List) r.getResult().getData()).size());
+                if (r.getStatus().getCode() == ResponseStatusCode.SUCCESS) latch.countDown();
+            });
+
+            assertTrue(latch.await(1500, TimeUnit.MILLISECONDS));
+            assertEquals(34, batches.get());
+            assertEquals(100, results.get());
+        }
+    }
+
+    @Test
+    public void shouldCacheTraversalPlans() throws Exception {
+        final Counter hits = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "plans", "hits"));
+        final Counter evictions = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "plans", "evictions"));
+        final long hitsBefore = hits.getCount();
+        final long evictionsBefore = evictions.getCount();
+
+        final Cluster cluster = Cluster.open();
+        final Client client = cluster.connect();
+
+        try {
+            final Map<String, Object> one = new HashMap<>();
+            one.put("x", 1);
+            final Map<String, Object> two = new HashMap<>();
+            two.put("x", 2);
+
+            assertEquals(2, client.submit("g.inject(x).map{it.get() + 1}", one).all().get().get(0).getInt());
+            assertEquals(2, client.submit("g.inject(x).map{it.get() + 1}", one).all().get().get(0).getInt());
+            assertEquals(hitsBefore + 1, hits.getCount());
+
+            // different bindings are a different plan and the cache only holds one
+            assertEquals(3, client.submit("g.inject(x).map{it.get() + 1}", two).all().get().get(0).getInt());
+            assertEquals(evictionsBefore + 1, evictions.getCount());
+            assertEquals(3, client.submit("g.inject(x).map{it.get() + 1}", two).all().get().get(0).getInt());
+            assertEquals(hitsBefore + 2, hits.getCount());
+
+            // results that aren't traversals are never cached
+            assertEquals(3, client.submit("x + 1", two).all().get().get(0).getInt());
+            assertEquals(3, client.submit("x + 1", two).all().get().get(0).getInt());
+            assertEquals(hitsBefore + 2, hits.getCount());
+
+            // a hit would skip the rest of a script that does more than return a traversal
+            assertEquals(2, client.submit("y = x; g.inject(y).map{it.get() + 1}", one).all().get().get(0).getInt());
+            assertEquals(2, client.submit("y = x; g.inject(y).map{it.get() + 1}", one).all().get().get(0).getInt());
+            assertEquals(hitsBefore + 2, hits.getCount());
+
+            // copies of a traversal with side effects would share the side effect values
+            assertEquals(1, client.submit("g.withSideEffect('a', []).inject(x).aggregate('a').cap('a').unfold()", one).all().get().size());
+            assertEquals(1, client.submit("g.withSideEffect('a', []).inject(x).aggregate('a').cap('a').unfold()", one).all().get().size());
+            assertEquals(hitsBefore + 2, hits.getCount());
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     public void shouldBatchResultsByOnesByOverridingFromClientSide() throws Exception {
         try (SimpleClient client = new WebSocketClient()) {
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.Result;
+import org.apache.tinkerpop.gremlin.driver.ResultSet;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.core.StringStartsWith.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Streams a million results to a client that bounds the results it queues with {@code maxQueuedResults}, checking
+ * that every result arrives in order and that the queue stays near its bound while the client falls behind.  The
+ * results are padded so that a single socket read, which the client always queues whole, holds far fewer results
+ * than the allowance beyond the bound.  Once
+ * the benchmarks complete, the throughput of the stream is reported along with the most results that were queued.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-streaming")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-streaming")
+public class GremlinStreamingPerformanceTest extends AbstractGremlinServerPerformanceTest {
+    private static final Logger logger = LoggerFactory.getLogger(GremlinStreamingPerformanceTest.class);
+
+    private static final int RESULTS = 1000000;
+    private static final int MAX_QUEUED_RESULTS = 1024;
+
+    private static final AtomicLong totalResults = new AtomicLong(0);
+    private static final AtomicLong totalElapsed = new AtomicLong(0);
+    private static final AtomicInteger maxAvailable = new AtomicInteger(0);
+
+    private final static Cluster cluster = Cluster.build("localhost").maxQueuedResults(MAX_QUEUED_RESULTS).create();
+    private static Client client;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void before() {
+        // good to call init here ahead of performance tracking
+        cluster.init();
+        client = cluster.connect();
+    }
+
+    @AfterClass
+    public static void after() throws Exception {
+        final long elapsed = totalElapsed.get();
+        logger.info("Throughput of {} results/s over {} results",
+                elapsed > 0 ? totalResults.get() * 1000 / elapsed : 0, totalResults.get());
+        logger.info("At most {} results were queued with maxQueuedResults of {}", maxAvailable.get(), MAX_QUEUED_RESULTS);
+        cluster.close();
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 3, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void webSocketsGremlinBoundedStream() throws Exception {
+        final long start = System.currentTimeMillis();
+        final ResultSet results = client.submit("def pad = 'x' * 128; (0..<" + RESULTS + ").stream().map{it + ':' + pad}.iterator()");
+        final Iterator<Result> itty = results.iterator();
+        int counter = 0;
+        while (itty.hasNext()) {
+            assertThat(itty.next().getString(), startsWith(counter++ + ":"));
+
+            // give the server a chance to get ahead of the client so that the bound is tested
+            if (counter % 100000 == 0) {
+                Thread.sleep(100);
+                maxAvailable.accumulateAndGet(results.getAvailableItemCount(), Math::max);
+            }
+        }
+
+        totalElapsed.addAndGet(System.currentTimeMillis() - start);
+        totalResults.addAndGet(counter);
+
+        // the reads only stop once a whole socket read has been queued so allow some room beyond the bound
+        assertEquals(RESULTS, counter);
+        assertThat(maxAvailable.get() < MAX_QUEUED_RESULTS * 16, is(true));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Issues the same small parameterized traversal as fast as possible where one benchmark can be served from the
+ * traversal plan cache of the {@link org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor} and the
+ * other can't as it carries a binding that the cache can't key on.  The time of each round divided into the number
+ * of requests it makes gives the requests per second.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-traversal-plan-cache")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-traversal-plan-cache")
+public class GremlinTraversalPlanCachePerformanceTest extends AbstractGremlinServerPerformanceTest {
+    private static final Logger logger = LoggerFactory.getLogger(GremlinTraversalPlanCachePerformanceTest.class);
+
+    private static final int REQUESTS_PER_ROUND = 100;
+    private static final String SCRIPT = "g.V(x).out().out().limit(10)";
+
+    private final static Cluster cluster = Cluster.build("localhost").maxConnectionPoolSize(32).maxWaitForConnection(30000).create();
+    private static Client client;
+    private static int expected;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void before() throws Exception {
+        // good to call init here ahead of performance tracking
+        cluster.init();
+        client = cluster.connect();
+        expected = client.submit(SCRIPT, cacheable()).all().get().size();
+    }
+
+    @AfterClass
+    public static void after() {
+        logger.info("Traversal plan cache hits: {} misses: {}",
+                MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "plans", "hits")).getCount(),
+                MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "plans", "misses")).getCount());
+        cluster.close();
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 20, warmupRounds = 5, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void webSocketsGremlinCachedPlan() throws Exception {
+        submit(cacheable());
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 20, warmupRounds = 5, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void webSocketsGremlinUncachedPlan() throws Exception {
+        // a mutable binding can't be part of a cache key so the plan is built for every request
+        final Map<String, Object> params = cacheable();
+        params.put("unused", new ArrayList<>());
+        submit(params);
+    }
+
+    private static void submit(final Map<String, Object> params) throws Exception {
+        for (int ix = 0; ix < REQUESTS_PER_ROUND; ix++) {
+            assertEquals(expected, client.submit(SCRIPT, params).all().get().size());
+        }
+    }
+
+    private static Map<String, Object> cacheable() {
+        final Map<String, Object> params = new HashMap<>();
+        params.put("x", 16384l);
+        return params;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.ser.GryoMessageSerializerV1d0;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Serializes and deserializes a large vertex result with Gryo to and from the pooled direct buffers that Gremlin
+ * Server and the driver write to and read from the channel.  The garbage collection figures reported with each
+ * benchmark reflect the allocation per message.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gryo-message-serializer")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gryo-message-serializer")
+public class GryoMessageSerializerPerformanceTest {
+
+    private static final int VERTICES = 10000;
+
+    private static final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+    private static final MessageSerializer serializer = new GryoMessageSerializerV1d0();
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private static ResponseMessage response;
+
+    @BeforeClass
+    public static void setup() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>(VERTICES);
+        for (int ix = 0; ix < VERTICES; ix++) {
+            final Vertex v = graph.addVertex("name", "vertex-" + ix, "age", ix % 100, "weight", ix / 10d);
+            vertices.add(DetachedFactory.detach(v, true));
+        }
+        response = ResponseMessage.build(UUID.randomUUID()).result(vertices).create();
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 50, warmupRounds = 10, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void serializeVertices() throws Exception {
+        final ByteBuf buf = serializer.serializeResponseAsBinary(response, allocator);
+        buf.release();
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 50, warmupRounds = 10, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void serializeAndDeserializeVertices() throws Exception {
+        final ByteBuf buf = serializer.serializeResponseAsBinary(response, allocator);
+        try {
+            final ResponseMessage deserialized = serializer.deserializeResponse(buf);
+            assertEquals(VERTICES, ((List) deserialized.getResult().getData()).size());
+        } finally {
+            buf.release();
+        }
+    }
+}
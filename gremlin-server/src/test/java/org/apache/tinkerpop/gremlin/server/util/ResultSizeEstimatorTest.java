@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResultSizeEstimatorTest {
+
+    @Test
+    public void shouldEstimateScalars() {
+        assertEquals(1, ResultSizeEstimator.estimate(null));
+        assertEquals(9, ResultSizeEstimator.estimate(1l));
+        assertEquals(9, ResultSizeEstimator.estimate(true));
+        assertEquals(7, ResultSizeEstimator.estimate("marko"));
+        assertEquals(14, ResultSizeEstimator.estimate(new byte[10]));
+    }
+
+    @Test
+    public void shouldEstimateCollections() {
+        assertEquals(4 + 3 * 9, ResultSizeEstimator.estimate(Arrays.asList(1, 2, 3)));
+        assertEquals(4, ResultSizeEstimator.estimate(Collections.emptyList()));
+
+        final Map<String, Integer> m = new HashMap<>();
+        m.put("a", 1);
+        m.put("b", 2);
+        assertEquals(4 + 2 * (3 + 9), ResultSizeEstimator.estimate(m));
+    }
+
+    @Test
+    public void shouldExtrapolateLargeCollections() {
+        final List<Long> list = new ArrayList<>();
+        for (long i = 0; i < 10000; i++) {
+            list.add(i);
+        }
+        assertEquals(4 + 10000 * 9, ResultSizeEstimator.estimate(list));
+    }
+
+    @Test
+    public void shouldEstimateLargerVerticesAsLarger() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final Vertex marko = graph.vertices(1).next();
+        final long before = ResultSizeEstimator.estimate(marko);
+        assertTrue(before > ResultSizeEstimator.estimate(1));
+
+        marko.property("description", String.join("", Collections.nCopies(1000, "x")));
+        assertTrue(ResultSizeEstimator.estimate(marko) >= before + 1000);
+    }
+}
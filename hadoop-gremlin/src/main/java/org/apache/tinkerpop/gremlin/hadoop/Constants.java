@@ -34,6 +34,9 @@ public final class Constants {
     public static final String GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT = "gremlin.hadoop.graphOutputFormat";
     public static final String GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_HAS_EDGES = "gremlin.hadoop.graphOutputFormat.hasEdges";
     public static final String GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT_HAS_EDGES = "gremlin.hadoop.graphInputFormat.hasEdges";
+    public static final String GREMLIN_HADOOP_GRYO_BLOCK_SIZE = "gremlin.hadoop.gryoBlockSize";
+    public static final String GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_VERTEX_PROPERTY_KEYS = "gremlin.hadoop.graphInputFormat.vertexPropertyKeys";
+    public static final String GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_EDGE_LABELS = "gremlin.hadoop.graphInputFormat.edgeLabels";
 
     public static final String GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE = "gremlin.hadoop.jarsInDistributedCache";
     public static final String HIDDEN_G = Graph.Hidden.hide("g");
@@ -52,4 +55,6 @@ public final class Constants {
     public static final String GREMLIN_SPARK_GRAPH_INPUT_RDD = "gremlin.spark.graphInputRDD";
     public static final String GREMLIN_SPARK_GRAPH_OUTPUT_RDD = "gremlin.spark.graphOutputRDD";
     public static final String GREMLIN_SPARK_PERSIST_CONTEXT = "gremlin.spark.persistContext";
+    public static final String GREMLIN_SPARK_PARTITION_LOCAL_VIEWS = "gremlin.spark.partitionLocalViews";
+    public static final String GREMLIN_SPARK_PARTITION_LOCAL_VIEWS_CHECKPOINT_INTERVAL = "gremlin.spark.partitionLocalViewsCheckpointInterval";
 }
@@ -23,6 +23,7 @@ import org.apache.hadoop.mapreduce.OutputFormat;
 import org.apache.hadoop.util.ReflectionUtils;
 import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.InputProjection;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
@@ -51,6 +52,7 @@ public abstract class AbstractHadoopGraphComputer implements GraphComputer {
 
     protected ResultGraph resultGraph = null;
     protected Persist persist = null;
+    protected boolean projectInput = false;
 
     public AbstractHadoopGraphComputer(final HadoopGraph hadoopGraph) {
         this.hadoopGraph = hadoopGraph;
@@ -101,6 +103,8 @@ public abstract class AbstractHadoopGraphComputer implements GraphComputer {
         // it is not possible execute a computer if it has no vertex program nor mapreducers
         if (null == this.vertexProgram && this.mapReducers.isEmpty())
             throw GraphComputer.Exceptions.computerHasNoVertexProgramNorMapReducers();
+        // the input can only be projected for the vertex program if no other map reduce job reads the vertices
+        this.projectInput = null != this.vertexProgram && this.mapReducers.isEmpty();
         // it is possible to run mapreducers without a vertex program
         if (null != this.vertexProgram) {
             GraphComputerHelper.validateProgramOnComputer(this, vertexProgram);
@@ -109,6 +113,8 @@ public abstract class AbstractHadoopGraphComputer implements GraphComputer {
         // if the user didn't set desired persistence/resultgraph, then get from vertex program or else, no persistence
         this.persist = GraphComputerHelper.getPersistState(Optional.ofNullable(this.vertexProgram), Optional.ofNullable(this.persist));
         this.resultGraph = GraphComputerHelper.getResultGraphState(Optional.ofNullable(this.vertexProgram), Optional.ofNullable(this.resultGraph));
+        // nor if the vertices are persisted as they would be written without the dropped properties and edges
+        this.projectInput = this.projectInput && this.persist.equals(Persist.NOTHING);
         // determine persistence and result graph options
         if (!this.features().supportsResultGraphPersistCombination(this.resultGraph, this.persist))
             throw GraphComputer.Exceptions.resultGraphPersistCombinationNotSupported(this.resultGraph, this.persist);
@@ -117,6 +123,15 @@ public abstract class AbstractHadoopGraphComputer implements GraphComputer {
             throw GraphComputer.Exceptions.computerRequiresMoreWorkersThanSupported(this.workers, this.features().getMaxWorkers());
     }
 
+    /**
+     * Stores the {@link InputProjection} of the {@link VertexProgram} in the configuration when the input can be
+     * projected so that the record readers drop the vertex properties and edges that the computation does not need.
+     */
+    protected void storeInputProjection(final org.apache.commons.configuration.Configuration configuration) {
+        if (this.projectInput)
+            InputProjection.storeState(this.vertexProgram, configuration);
+    }
+
     @Override
     public Features features() {
         return new Features();
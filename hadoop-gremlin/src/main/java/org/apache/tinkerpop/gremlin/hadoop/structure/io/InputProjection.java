@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The vertex properties and edge labels that a record reader keeps of each vertex it reads.  The projection is stored
+ * in the configuration as comma separated lists under {@link Constants#GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_VERTEX_PROPERTY_KEYS}
+ * and {@link Constants#GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_EDGE_LABELS} where a missing key retains everything.
+ * The readers decode each vertex in full and drop the rest before the vertex is handed to the graph computer, so the
+ * savings are in the heap held by the loaded graph rather than in the bytes read.
+ */
+public final class InputProjection {
+
+    private final Set<String> vertexPropertyKeys;
+    private final Set<String> edgeLabels;
+
+    private InputProjection(final Set<String> vertexPropertyKeys, final Set<String> edgeLabels) {
+        this.vertexPropertyKeys = vertexPropertyKeys;
+        this.edgeLabels = edgeLabels;
+    }
+
+    /**
+     * Creates the projection stored in the configuration.
+     */
+    public static InputProjection create(final org.apache.hadoop.conf.Configuration configuration) {
+        return new InputProjection(
+                split(configuration.get(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_VERTEX_PROPERTY_KEYS, null)),
+                split(configuration.get(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_EDGE_LABELS, null)));
+    }
+
+    /**
+     * Stores the projection required by the {@link VertexProgram} which is the union of its required vertex property
+     * keys and its element compute keys along with its required edge labels.
+     */
+    public static void storeState(final VertexProgram<?> vertexProgram, final Configuration configuration) {
+        final Optional<Set<String>> vertexPropertyKeys = vertexProgram.getRequiredVertexPropertyKeys();
+        if (vertexPropertyKeys.isPresent()) {
+            final Set<String> keys = new HashSet<>(vertexPropertyKeys.get());
+            keys.addAll(vertexProgram.getElementComputeKeys());
+            configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_VERTEX_PROPERTY_KEYS, String.join(",", keys));
+        }
+        vertexProgram.getRequiredEdgeLabels().ifPresent(labels ->
+                configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_EDGE_LABELS, String.join(",", labels)));
+    }
+
+    /**
+     * Whether or not the projection keeps any edges.  Readers can skip the decoding of edges altogether when it does not.
+     */
+    public boolean hasEdges() {
+        return null == this.edgeLabels || !this.edgeLabels.isEmpty();
+    }
+
+    /**
+     * Drops the vertex properties and edges of the vertex that are not in the projection.
+     */
+    public StarGraph.StarVertex apply(final StarGraph.StarVertex vertex) {
+        if (null != this.vertexPropertyKeys)
+            vertex.retainVertexProperties(this.vertexPropertyKeys);
+        if (null != this.edgeLabels)
+            vertex.retainEdges(this.edgeLabels);
+        return vertex;
+    }
+
+    private static Set<String> split(final String value) {
+        return null == value ?
+                null :
+                Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toSet());
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.input.LineRecordReader;
 import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.InputProjection;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONReader;
@@ -42,6 +43,7 @@ public final class GraphSONRecordReader extends RecordReader<NullWritable, Verte
     private final VertexWritable vertexWritable = new VertexWritable();
     private final LineRecordReader lineRecordReader;
     private boolean hasEdges;
+    private InputProjection inputProjection;
 
     public GraphSONRecordReader() {
         this.lineRecordReader = new LineRecordReader();
@@ -50,7 +52,9 @@ public final class GraphSONRecordReader extends RecordReader<NullWritable, Verte
     @Override
     public void initialize(final InputSplit genericSplit, final TaskAttemptContext context) throws IOException {
         this.lineRecordReader.initialize(genericSplit, context);
-        this.hasEdges = context.getConfiguration().getBoolean(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_HAS_EDGES, true);
+        this.inputProjection = InputProjection.create(context.getConfiguration());
+        // a projection without edges need not build the edges at all
+        this.hasEdges = context.getConfiguration().getBoolean(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_HAS_EDGES, true) && this.inputProjection.hasEdges();
     }
 
     @Override
@@ -62,6 +66,7 @@ public final class GraphSONRecordReader extends RecordReader<NullWritable, Verte
             this.vertexWritable.set(this.hasEdges ?
                     this.graphsonReader.readVertex(in, Attachable::get, Attachable::get, Direction.BOTH) :
                     this.graphsonReader.readVertex(in, Attachable::get));
+            this.inputProjection.apply(this.vertexWritable.get());
             return true;
         }
     }
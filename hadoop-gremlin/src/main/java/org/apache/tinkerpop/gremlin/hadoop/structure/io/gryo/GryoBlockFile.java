@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The layout of the files of {@link GryoBlockInputFormat} and {@link GryoBlockOutputFormat}.  A file starts with a
+ * header of the {@link #MAGIC} bytes, the format {@link #VERSION}, the class name of the compression codec of its
+ * blocks (empty if they are not compressed) and a random sync marker of {@link #SYNC_SIZE} bytes.  The blocks
+ * follow, each made up of the sync marker, the number of vertices in the block, the uncompressed and stored lengths
+ * of the block and the stored bytes.  Uncompressed, a block is a series of Gryo vertices each prefixed by its
+ * length.  The blocks end with the sync marker followed by a vertex count of {@link #END_OF_BLOCKS}, after which
+ * comes an index of the number of blocks and the offset of each, and finally the offset of the index itself.
+ */
+final class GryoBlockFile {
+
+    static final byte[] MAGIC = {'G', 'I', 'O', 'B'};
+    static final byte VERSION = 1;
+    static final int SYNC_SIZE = 16;
+    static final int END_OF_BLOCKS = -1;
+
+    private GryoBlockFile() {
+    }
+
+    /**
+     * Reads the header of a file and returns its sync marker, leaving the stream at the end of the header.
+     */
+    static Header readHeader(final DataInput input) throws IOException {
+        final byte[] magic = new byte[MAGIC.length];
+        input.readFully(magic);
+        if (!Arrays.equals(MAGIC, magic))
+            throw new IOException("Invalid format - the file does not start with the Gryo block header");
+        final byte version = input.readByte();
+        if (version != VERSION)
+            throw new IOException("Unsupported Gryo block format version: " + version);
+        final String codec = input.readUTF();
+        final byte[] sync = new byte[SYNC_SIZE];
+        input.readFully(sync);
+        return new Header(codec.isEmpty() ? null : codec, sync);
+    }
+
+    /**
+     * Reads the offsets of the blocks of a file from its index, or returns {@code null} if the file has no index,
+     * as is the case for a file whose writer did not close.
+     */
+    static long[] readIndex(final FileSystem fileSystem, final FileStatus file) throws IOException {
+        if (file.getLen() < MAGIC.length + 1 + 2 + SYNC_SIZE + 8)
+            return null;
+
+        try (final FSDataInputStream inputStream = fileSystem.open(file.getPath())) {
+            readHeader(inputStream);
+            final long headerEnd = inputStream.getPos();
+            inputStream.seek(file.getLen() - 8);
+            final long indexStart = inputStream.readLong();
+            if (indexStart < headerEnd || indexStart > file.getLen() - 12)
+                return null;
+            inputStream.seek(indexStart);
+            final int blocks = inputStream.readInt();
+            if (blocks < 0 || indexStart + 4 + 8l * blocks + 8 != file.getLen())
+                return null;
+            final long[] offsets = new long[blocks];
+            for (int i = 0; i < blocks; i++) {
+                offsets[i] = inputStream.readLong();
+            }
+            return offsets;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static final class Header {
+        final String codec;
+        final byte[] sync;
+
+        private Header(final String codec, final byte[] sync) {
+            this.codec = codec;
+            this.sync = sync;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPoolsConfigurable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the block based Gryo files written by {@link GryoBlockOutputFormat}.  Splits are made on block boundaries
+ * from the index at the end of each file, so no split needs to scan for its first vertex, and the blocks may be
+ * compressed with any Hadoop {@code CompressionCodec}.
+ */
+public final class GryoBlockInputFormat extends FileInputFormat<NullWritable, VertexWritable> implements HadoopPoolsConfigurable {
+
+    @Override
+    public RecordReader<NullWritable, VertexWritable> createRecordReader(final InputSplit split, final TaskAttemptContext context) throws IOException, InterruptedException {
+        final RecordReader<NullWritable, VertexWritable> reader = new GryoBlockRecordReader();
+        reader.initialize(split, context);
+        return reader;
+    }
+
+    @Override
+    public List<InputSplit> getSplits(final JobContext job) throws IOException {
+        final long minSize = Math.max(getFormatMinSplitSize(), getMinSplitSize(job));
+        final long maxSize = getMaxSplitSize(job);
+        final List<InputSplit> splits = new ArrayList<>();
+        for (final FileStatus file : listStatus(job)) {
+            final Path path = file.getPath();
+            final FileSystem fileSystem = path.getFileSystem(job.getConfiguration());
+            final BlockLocation[] locations = fileSystem.getFileBlockLocations(file, 0, file.getLen());
+            final long splitSize = computeSplitSize(file.getBlockSize(), minSize, maxSize);
+            final long[] offsets = GryoBlockFile.readIndex(fileSystem, file);
+
+            if (null == offsets) {
+                // without an index the splits are cut by size and each reader scans for its first sync marker
+                for (long start = 0; start < file.getLen(); start = start + splitSize) {
+                    final long length = Math.min(splitSize, file.getLen() - start);
+                    splits.add(makeSplit(path, start, length, locations[getBlockIndex(locations, start)].getHosts()));
+                }
+            } else if (offsets.length > 0) {
+                // gather whole blocks into each split until it reaches the split size
+                long start = offsets[0];
+                for (int i = 1; i < offsets.length; i++) {
+                    if (offsets[i] - start >= splitSize) {
+                        splits.add(makeSplit(path, start, offsets[i] - start, locations[getBlockIndex(locations, start)].getHosts()));
+                        start = offsets[i];
+                    }
+                }
+                splits.add(makeSplit(path, start, file.getLen() - start, locations[getBlockIndex(locations, start)].getHosts()));
+            }
+        }
+        return splits;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.compress.CodecPool;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionInputStream;
+import org.apache.hadoop.io.compress.Decompressor;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.InputProjection;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Reads the vertices of the blocks of a {@link GryoBlockFile} whose sync markers begin within the split.  Splits
+ * made from the index of the file start on a block, while other splits are first advanced to the next sync marker.
+ */
+public final class GryoBlockRecordReader extends RecordReader<NullWritable, VertexWritable> {
+
+    private FSDataInputStream inputStream;
+    private GryoReader gryoReader;
+    private InputProjection inputProjection;
+    private final VertexWritable vertexWritable = new VertexWritable();
+
+    private CompressionCodec codec;
+    private Decompressor decompressor;
+    private byte[] sync;
+
+    private long start;
+    private long end;
+
+    private byte[] block = new byte[0];
+    private byte[] compressedBlock = new byte[0];
+    private int blockPosition = 0;
+    private int blockVertices = 0;
+    private final Input input = new Input();
+
+    public GryoBlockRecordReader() {
+    }
+
+    @Override
+    public void initialize(final InputSplit genericSplit, final TaskAttemptContext context) throws IOException {
+        final FileSplit split = (FileSplit) genericSplit;
+        final Configuration configuration = context.getConfiguration();
+        HadoopPools.initialize(configuration);
+        this.gryoReader = HadoopPools.getGryoPool().takeReader();
+        this.inputProjection = InputProjection.create(configuration);
+
+        final Path file = split.getPath();
+        this.inputStream = file.getFileSystem(configuration).open(file);
+        final GryoBlockFile.Header header = GryoBlockFile.readHeader(this.inputStream);
+        this.sync = header.sync;
+        if (null != header.codec) {
+            try {
+                this.codec = (CompressionCodec) ReflectionUtils.newInstance(configuration.getClassByName(header.codec), configuration);
+            } catch (ClassNotFoundException e) {
+                throw new IOException("The compression codec of the Gryo block file is not available: " + header.codec, e);
+            }
+            this.decompressor = CodecPool.getDecompressor(this.codec);
+        }
+
+        this.start = Math.max(split.getStart(), this.inputStream.getPos());
+        this.end = split.getStart() + split.getLength();
+        if (!this.seekToSync(this.start))
+            this.end = this.start;
+    }
+
+    /**
+     * Positions the stream at the first sync marker at or after the offset, returning {@code false} if there is none.
+     */
+    private boolean seekToSync(final long offset) throws IOException {
+        this.inputStream.seek(offset);
+        final byte[] candidate = new byte[GryoBlockFile.SYNC_SIZE];
+        try {
+            this.inputStream.readFully(candidate);
+        } catch (EOFException e) {
+            return false;
+        }
+
+        // the candidate is a ring whose oldest byte is at the index
+        long position = offset;
+        int index = 0;
+        while (true) {
+            if (matchesSync(candidate, index)) {
+                this.inputStream.seek(position);
+                return true;
+            }
+            final int next = this.inputStream.read();
+            if (-1 == next)
+                return false;
+            candidate[index] = (byte) next;
+            index = (index + 1) % GryoBlockFile.SYNC_SIZE;
+            position++;
+        }
+    }
+
+    private boolean matchesSync(final byte[] candidate, final int index) {
+        for (int i = 0; i < GryoBlockFile.SYNC_SIZE; i++) {
+            if (candidate[(index + i) % GryoBlockFile.SYNC_SIZE] != this.sync[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next block of the split, returning {@code false} if the split has no more blocks.
+     */
+    private boolean readBlock() throws IOException {
+        if (this.inputStream.getPos() >= this.end)
+            return false;
+
+        final byte[] marker = new byte[GryoBlockFile.SYNC_SIZE];
+        this.inputStream.readFully(marker);
+        if (!matchesSync(marker, 0))
+            throw new IOException("Invalid format - a block of the Gryo block file does not start with its sync marker");
+        final int vertices = this.inputStream.readInt();
+        if (GryoBlockFile.END_OF_BLOCKS == vertices)
+            return false;
+        final int length = this.inputStream.readInt();
+        final int storedLength = this.inputStream.readInt();
+
+        if (this.block.length < length)
+            this.block = new byte[length];
+        if (null == this.codec) {
+            this.inputStream.readFully(this.block, 0, length);
+        } else {
+            if (this.compressedBlock.length < storedLength)
+                this.compressedBlock = new byte[storedLength];
+            this.inputStream.readFully(this.compressedBlock, 0, storedLength);
+            this.decompressor.reset();
+            final CompressionInputStream decompressed = this.codec.createInputStream(
+                    new ByteArrayInputStream(this.compressedBlock, 0, storedLength), this.decompressor);
+            IOUtils.readFully(decompressed, this.block, 0, length);
+        }
+
+        this.blockPosition = 0;
+        this.blockVertices = vertices;
+        return true;
+    }
+
+    @Override
+    public boolean nextKeyValue() throws IOException {
+        while (0 == this.blockVertices) {
+            if (!this.readBlock())
+                return false;
+        }
+
+        final int length = ((this.block[this.blockPosition] & 0xFF) << 24) | ((this.block[this.blockPosition + 1] & 0xFF) << 16) |
+                ((this.block[this.blockPosition + 2] & 0xFF) << 8) | (this.block[this.blockPosition + 3] & 0xFF);
+        this.input.setBuffer(this.block, this.blockPosition + 4, length);
+        this.vertexWritable.set(this.gryoReader.readVertex(this.input, Attachable::get));
+        this.inputProjection.apply(this.vertexWritable.get());
+        this.blockPosition = this.blockPosition + 4 + length;
+        this.blockVertices--;
+        return true;
+    }
+
+    @Override
+    public NullWritable getCurrentKey() {
+        return NullWritable.get();
+    }
+
+    @Override
+    public VertexWritable getCurrentValue() {
+        return this.vertexWritable;
+    }
+
+    @Override
+    public float getProgress() throws IOException {
+        return this.end <= this.start ? 1.0f : Math.min(1.0f, (float) (this.inputStream.getPos() - this.start) / (float) (this.end - this.start));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.inputStream.close();
+        if (null != this.decompressor) {
+            CodecPool.returnDecompressor(this.decompressor);
+            this.decompressor = null;
+        }
+        if (null != this.gryoReader) {
+            HadoopPools.getGryoPool().offerReader(this.gryoReader);
+            this.gryoReader = null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.compress.CodecPool;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionOutputStream;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes vertices to the blocks of a {@link GryoBlockFile}, compressing each block with the codec given to it.
+ */
+public final class GryoBlockRecordWriter extends RecordWriter<NullWritable, VertexWritable> {
+
+    private final FSDataOutputStream outputStream;
+    private final boolean hasEdges;
+    private final int blockSize;
+    private final CompressionCodec codec;
+    private Compressor compressor;
+    private GryoWriter gryoWriter;
+
+    private final byte[] sync = new byte[GryoBlockFile.SYNC_SIZE];
+    private final List<Long> blockOffsets = new ArrayList<>();
+
+    private final ByteArrayOutputStream vertexBuffer = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream blockBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream block = new DataOutputStream(this.blockBuffer);
+    private final ByteArrayOutputStream compressedBuffer = new ByteArrayOutputStream();
+    private int blockVertices = 0;
+
+    public GryoBlockRecordWriter(final FSDataOutputStream outputStream, final Configuration configuration, final CompressionCodec codec) throws IOException {
+        this.outputStream = outputStream;
+        this.hasEdges = configuration.getBoolean(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT_HAS_EDGES, true);
+        this.blockSize = configuration.getInt(Constants.GREMLIN_HADOOP_GRYO_BLOCK_SIZE, 1 << 20);
+        this.codec = codec;
+        this.compressor = null == codec ? null : CodecPool.getCompressor(codec);
+        HadoopPools.initialize(configuration);
+        this.gryoWriter = HadoopPools.getGryoPool().takeWriter();
+
+        final UUID uuid = UUID.randomUUID();
+        for (int i = 0; i < 8; i++) {
+            this.sync[i] = (byte) (uuid.getMostSignificantBits() >>> (8 * i));
+            this.sync[i + 8] = (byte) (uuid.getLeastSignificantBits() >>> (8 * i));
+        }
+
+        this.outputStream.write(GryoBlockFile.MAGIC);
+        this.outputStream.writeByte(GryoBlockFile.VERSION);
+        this.outputStream.writeUTF(null == codec ? "" : codec.getClass().getName());
+        this.outputStream.write(this.sync);
+    }
+
+    @Override
+    public void write(final NullWritable key, final VertexWritable vertex) throws IOException {
+        if (null != vertex) {
+            this.vertexBuffer.reset();
+            if (this.hasEdges)
+                this.gryoWriter.writeVertex(this.vertexBuffer, vertex.get(), Direction.BOTH);
+            else
+                this.gryoWriter.writeVertex(this.vertexBuffer, vertex.get());
+            this.block.writeInt(this.vertexBuffer.size());
+            this.vertexBuffer.writeTo(this.block);
+            this.blockVertices++;
+            if (this.blockBuffer.size() >= this.blockSize)
+                this.writeBlock();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        this.blockOffsets.add(this.outputStream.getPos());
+        this.outputStream.write(this.sync);
+        this.outputStream.writeInt(this.blockVertices);
+        this.outputStream.writeInt(this.blockBuffer.size());
+        if (null == this.codec) {
+            this.outputStream.writeInt(this.blockBuffer.size());
+            this.blockBuffer.writeTo(this.outputStream);
+        } else {
+            this.compressedBuffer.reset();
+            this.compressor.reset();
+            final CompressionOutputStream compressed = this.codec.createOutputStream(this.compressedBuffer, this.compressor);
+            this.blockBuffer.writeTo(compressed);
+            compressed.finish();
+            this.outputStream.writeInt(this.compressedBuffer.size());
+            this.compressedBuffer.writeTo(this.outputStream);
+        }
+        this.blockBuffer.reset();
+        this.blockVertices = 0;
+    }
+
+    @Override
+    public synchronized void close(final TaskAttemptContext context) throws IOException {
+        try {
+            if (this.blockVertices > 0)
+                this.writeBlock();
+
+            // mark the end of the blocks so that readers do not take the index for a block
+            this.outputStream.write(this.sync);
+            this.outputStream.writeInt(GryoBlockFile.END_OF_BLOCKS);
+
+            final long indexStart = this.outputStream.getPos();
+            this.outputStream.writeInt(this.blockOffsets.size());
+            for (final long offset : this.blockOffsets) {
+                this.outputStream.writeLong(offset);
+            }
+            this.outputStream.writeLong(indexStart);
+            this.outputStream.close();
+        } finally {
+            if (null != this.compressor) {
+                CodecPool.returnCompressor(this.compressor);
+                this.compressor = null;
+            }
+            if (null != this.gryoWriter) {
+                HadoopPools.getGryoPool().offerWriter(this.gryoWriter);
+                this.gryoWriter = null;
+            }
+        }
+    }
+}
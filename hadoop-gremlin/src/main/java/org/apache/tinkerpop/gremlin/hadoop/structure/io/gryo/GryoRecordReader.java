@@ -28,30 +28,45 @@ import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.input.FileSplit;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.InputProjection;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.VertexTerminator;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.Arrays;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class GryoRecordReader extends RecordReader<NullWritable, VertexWritable> {
 
+    /**
+     * The number of bytes read from the split at a time.  The buffer grows beyond this for larger vertices.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
     private FSDataInputStream inputStream;
 
     private static final byte[] PATTERN = GryoMapper.HEADER;
     private static final byte[] TERMINATOR = VertexTerminator.instance().terminal;
 
     private GryoReader gryoReader;
+    private InputProjection inputProjection;
     private final VertexWritable vertexWritable = new VertexWritable();
 
+    /**
+     * The bytes read from the split that have not yet been consumed lie between {@code position} and {@code limit}
+     * and vertices are deserialized in place through {@code input}.
+     */
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private final Input input = new Input();
+
     private long currentLength = 0;
     private long splitLength;
 
@@ -64,6 +79,7 @@ public final class GryoRecordReader extends RecordReader<NullWritable, VertexWri
         final Configuration configuration = context.getConfiguration();
         HadoopPools.initialize(configuration);
         this.gryoReader = HadoopPools.getGryoPool().takeReader();
+        this.inputProjection = InputProjection.create(configuration);
         long start = split.getStart();
         final Path file = split.getPath();
         if (null != new CompressionCodecFactory(configuration).getCodec(file)) {
@@ -71,61 +87,81 @@ public final class GryoRecordReader extends RecordReader<NullWritable, VertexWri
         }
         // open the file and seek to the start of the split
         this.inputStream = file.getFileSystem(configuration).open(split.getPath());
-        this.splitLength = split.getLength() - (seekToHeader(this.inputStream, start) - start);
+        this.splitLength = split.getLength() - (seekToHeader(start) - start);
     }
 
-    private static long seekToHeader(final FSDataInputStream inputStream, final long start) throws IOException {
-        inputStream.seek(start);
+    /**
+     * Advances the buffer to the first header at or after the start of the split and returns its offset in the
+     * file.  If there is no header then the end of the file is returned and the split has no vertices.
+     */
+    private long seekToHeader(final long start) throws IOException {
+        this.inputStream.seek(start);
         long nextStart = start;
-        final byte[] buffer = new byte[PATTERN.length];
         while (true) {
-            if ((buffer[0] = PATTERN[0]) == inputStream.readByte()) {
-                inputStream.read(nextStart + 1, buffer, 1, PATTERN.length - 1);
-                if (patternMatch(buffer)) {
-                    inputStream.seek(nextStart);
-                    return nextStart;
-                }
-            } else {
-                nextStart = nextStart + 1;
-                inputStream.seek(nextStart);
+            // a read may return fewer bytes than asked for, so fill until the whole pattern can be compared
+            while (this.limit - this.position < PATTERN.length - 1) {
+                if (!this.fill())
+                    return nextStart + (this.limit - this.position);
             }
+            if (patternMatch(this.buffer, this.position))
+                return nextStart;
+            this.position++;
+            nextStart++;
         }
     }
 
-    private static boolean patternMatch(final byte[] bytes) {
+    private static boolean patternMatch(final byte[] bytes, final int offset) {
         for (int i = 0; i < PATTERN.length - 1; i++) {
-            if (bytes[i] != PATTERN[i])
+            if (bytes[offset + i] != PATTERN[i])
                 return false;
         }
         return true;
     }
 
+    /**
+     * Reads the next block of the split in behind the unconsumed bytes, which are first moved to the front of the
+     * buffer, and grows the buffer if they fill it.  Returns {@code false} if the end of the file has been reached.
+     */
+    private boolean fill() throws IOException {
+        if (this.position > 0) {
+            System.arraycopy(this.buffer, this.position, this.buffer, 0, this.limit - this.position);
+            this.limit = this.limit - this.position;
+            this.position = 0;
+        }
+        if (this.limit == this.buffer.length)
+            this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+
+        final int read = this.inputStream.read(this.buffer, this.limit, this.buffer.length - this.limit);
+        if (read <= 0)
+            return false;
+        this.limit = this.limit + read;
+        return true;
+    }
+
     @Override
     public boolean nextKeyValue() throws IOException {
         if (this.currentLength >= this.splitLength)
             return false;
 
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-        long currentVertexLength = 0;
+        int currentVertexLength = 0;
         int terminatorLocation = 0;
         while (true) {
-            final int currentByte = this.inputStream.read();
-            if (-1 == currentByte) {
+            if (this.position + currentVertexLength == this.limit && !this.fill()) {
                 if (currentVertexLength > 0)
                     throw new IllegalStateException("Remainder of stream exhausted without matching a vertex");
                 else
                     return false;
             }
-            this.currentLength++;
-            currentVertexLength++;
-            output.write(currentByte);
+            final byte currentByte = this.buffer[this.position + currentVertexLength++];
 
-            terminatorLocation = ((byte) currentByte) == TERMINATOR[terminatorLocation] ? terminatorLocation + 1 : 0;
+            terminatorLocation = currentByte == TERMINATOR[terminatorLocation] ? terminatorLocation + 1 : 0;
             if (terminatorLocation >= TERMINATOR.length) {
-                try (InputStream in = new ByteArrayInputStream(output.toByteArray())) {
-                    this.vertexWritable.set(this.gryoReader.readVertex(in, Attachable::get)); // I know how GryoReader works, so I'm cheating here
-                    return true;
-                }
+                this.input.setBuffer(this.buffer, this.position, currentVertexLength);
+                this.vertexWritable.set(this.gryoReader.readVertex(this.input, Attachable::get));
+                this.inputProjection.apply(this.vertexWritable.get());
+                this.position = this.position + currentVertexLength;
+                this.currentLength = this.currentLength + currentVertexLength;
+                return true;
             }
         }
     }
@@ -28,6 +28,7 @@ import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.input.LineRecordReader;
 import org.apache.tinkerpop.gremlin.groovy.DefaultImportCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.InputProjection;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -55,6 +56,7 @@ public final class ScriptRecordReader extends RecordReader<NullWritable, VertexW
     private final VertexWritable vertexWritable = new VertexWritable();
     private final LineRecordReader lineRecordReader;
     private ScriptEngine engine;
+    private InputProjection inputProjection;
 
     public ScriptRecordReader() {
         this.lineRecordReader = new LineRecordReader();
@@ -64,6 +66,7 @@ public final class ScriptRecordReader extends RecordReader<NullWritable, VertexW
     public void initialize(final InputSplit genericSplit, final TaskAttemptContext context) throws IOException {
         this.lineRecordReader.initialize(genericSplit, context);
         final Configuration configuration = context.getConfiguration();
+        this.inputProjection = InputProjection.create(configuration);
         this.engine = new GremlinGroovyScriptEngine(new DefaultImportCustomizerProvider());
         //this.engine = ScriptEngineCache.get(configuration.get(SCRIPT_ENGINE, ScriptEngineCache.DEFAULT_SCRIPT_ENGINE));
         final FileSystem fs = FileSystem.get(configuration);
@@ -85,6 +88,7 @@ public final class ScriptRecordReader extends RecordReader<NullWritable, VertexW
                 final Vertex vertex = (Vertex) engine.eval(READ_CALL, bindings);
                 if (vertex != null) {
                     this.vertexWritable.set(vertex);
+                    this.inputProjection.apply(this.vertexWritable.get());
                     return true;
                 }
             } catch (final ScriptException e) {
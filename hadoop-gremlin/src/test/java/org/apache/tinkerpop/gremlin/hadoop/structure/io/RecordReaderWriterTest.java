@@ -33,8 +33,10 @@ import org.apache.hadoop.mapreduce.lib.input.FileSplit;
 import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
 import org.apache.hadoop.util.ReflectionUtils;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.HadoopGraphProvider;
 import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
@@ -42,6 +44,7 @@ import org.junit.Test;
 import java.io.File;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -75,6 +78,33 @@ public abstract class RecordReaderWriterTest {
         }
     }
 
+    @Test
+    public void shouldProjectVerticesAsTheyAreRead() throws Exception {
+        final File testFile = new File(HadoopGraphProvider.PATHS.get(getInputFilename()));
+        final Class<? extends InputFormat<NullWritable, VertexWritable>> inputFormatClass = getInputFormat();
+        final Configuration configuration = configure(TestHelper.makeTestDataPath(inputFormatClass, "hadoop-record-reader-projection-test"));
+        configuration.set(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_VERTEX_PROPERTY_KEYS, "name");
+        configuration.set(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT_EDGE_LABELS, "followedBy");
+        final InputFormat inputFormat = ReflectionUtils.newInstance(inputFormatClass, configuration);
+        final TaskAttemptContext job = new TaskAttemptContextImpl(configuration, new TaskAttemptID(UUID.randomUUID().toString(), 0, TaskType.MAP, 0, 0));
+
+        int vertexCount = 0;
+        int outEdgeCount = 0;
+        for (final FileSplit split : generateFileSplits(testFile, 3)) {
+            final RecordReader reader = inputFormat.createRecordReader(split, job);
+            while (reader.nextKeyValue()) {
+                final Vertex vertex = ((VertexWritable) reader.getCurrentValue()).get();
+                vertexCount++;
+                assertEquals(Collections.singleton("name"), vertex.keys());
+                final List<Edge> edges = IteratorUtils.list(vertex.edges(Direction.BOTH));
+                edges.forEach(edge -> assertEquals("followedBy", edge.label()));
+                outEdgeCount = outEdgeCount + (int) IteratorUtils.count(vertex.edges(Direction.OUT));
+            }
+        }
+        assertEquals(808, vertexCount);
+        assertEquals(7047, outEdgeCount);
+    }
+
     protected Configuration configure(final File outputDirectory) {
         final Configuration configuration = new Configuration(false);
         configuration.set("fs.file.impl", LocalFileSystem.class.getName());
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.HadoopGraphProvider;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GryoBlockRecordReaderWriterTest {
+
+    @Test
+    public void shouldReadAndWriteUncompressedBlocks() throws Exception {
+        shouldReadAndWriteBlocks(null);
+    }
+
+    @Test
+    public void shouldReadAndWriteCompressedBlocks() throws Exception {
+        shouldReadAndWriteBlocks(DefaultCodec.class);
+    }
+
+    private static void shouldReadAndWriteBlocks(final Class<? extends CompressionCodec> codecClass) throws Exception {
+        final Configuration configuration = new Configuration(false);
+        configuration.set("fs.file.impl", LocalFileSystem.class.getName());
+        configuration.set("fs.defaultFS", "file:///");
+        configuration.setInt(Constants.GREMLIN_HADOOP_GRYO_BLOCK_SIZE, 4096);
+        final TaskAttemptContext context = new TaskAttemptContextImpl(configuration, new TaskAttemptID(UUID.randomUUID().toString(), 0, TaskType.MAP, 0, 0));
+
+        final File outputDirectory = TestHelper.makeTestDataPath(GryoBlockRecordReaderWriterTest.class, "gryo-block-" + (null == codecClass ? "none" : codecClass.getSimpleName()));
+        final Path blockFile = new Path(new File(outputDirectory, "grateful-dead.gryob").getAbsoluteFile().toURI().toString());
+        final FileSystem fileSystem = blockFile.getFileSystem(configuration);
+        fileSystem.delete(blockFile, false);
+
+        // convert the grateful dead gryo file to the block format
+        final CompressionCodec codec = null == codecClass ? null : ReflectionUtils.newInstance(codecClass, configuration);
+        final GryoBlockRecordWriter writer = new GryoBlockRecordWriter(fileSystem.create(blockFile, false), configuration, codec);
+        final File gryoFile = new File(HadoopGraphProvider.PATHS.get("grateful-dead.kryo"));
+        try (final GryoRecordReader reader = new GryoRecordReader()) {
+            reader.initialize(new FileSplit(new Path(gryoFile.getAbsoluteFile().toURI().toString()), 0, gryoFile.length(), null), context);
+            while (reader.nextKeyValue()) {
+                writer.write(NullWritable.get(), reader.getCurrentValue());
+            }
+        }
+        writer.close(context);
+
+        // splits from the index start on a block
+        final Job job = Job.getInstance(configuration);
+        FileInputFormat.setInputPaths(job, blockFile);
+        FileInputFormat.setMaxInputSplitSize(job, 16384);
+        final List<InputSplit> indexSplits = new GryoBlockInputFormat().getSplits(job);
+        assertTrue(indexSplits.size() > 1);
+        validateSplits(indexSplits, context);
+
+        // splits cut by size have to find their first block
+        final long length = fileSystem.getFileStatus(blockFile).getLen();
+        for (int numberOfSplits = 1; numberOfSplits < 10; numberOfSplits++) {
+            final long splitLength = length / numberOfSplits + 1;
+            final List<InputSplit> splits = new ArrayList<>();
+            for (long start = 0; start < length; start = start + splitLength) {
+                splits.add(new FileSplit(blockFile, start, Math.min(splitLength, length - start), null));
+            }
+            validateSplits(splits, context);
+        }
+    }
+
+    private static void validateSplits(final List<InputSplit> splits, final TaskAttemptContext context) throws Exception {
+        int vertexCount = 0;
+        int outEdgeCount = 0;
+        int inEdgeCount = 0;
+        for (final InputSplit split : splits) {
+            try (final RecordReader<NullWritable, VertexWritable> reader = new GryoBlockInputFormat().createRecordReader(split, context)) {
+                float lastProgress = -1f;
+                while (reader.nextKeyValue()) {
+                    final float progress = reader.getProgress();
+                    assertTrue(progress >= lastProgress);
+                    vertexCount++;
+                    outEdgeCount = outEdgeCount + (int) IteratorUtils.count(reader.getCurrentValue().get().edges(Direction.OUT));
+                    inEdgeCount = inEdgeCount + (int) IteratorUtils.count(reader.getCurrentValue().get().edges(Direction.IN));
+                    lastProgress = progress;
+                }
+            }
+        }
+
+        assertEquals(808, vertexCount);
+        assertEquals(8049, outEdgeCount);
+        assertEquals(8049, inEdgeCount);
+    }
+}
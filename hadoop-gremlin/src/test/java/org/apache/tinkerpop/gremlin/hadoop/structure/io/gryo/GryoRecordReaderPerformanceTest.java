@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.hadoop.HadoopGraphProvider;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Reads a large Gryo file of repeated copies of the Grateful Dead graph with {@link GryoRecordReader}, both as a
+ * single split and as many.  The size of the file defaults to 2GB and may be set in bytes with the
+ * {@code gryoRecordReaderFileSize} system property.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gryo-record-reader")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gryo-record-reader")
+public class GryoRecordReaderPerformanceTest {
+
+    private static final int VERTICES_PER_COPY = 808;
+    private static final int SPLITS = 16;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private static File file;
+    private static long copies;
+    private static TaskAttemptContext context;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        final long fileSize = Long.getLong("gryoRecordReaderFileSize", 2l * 1024 * 1024 * 1024);
+        final byte[] graph = Files.readAllBytes(new File(HadoopGraphProvider.PATHS.get("grateful-dead.kryo")).toPath());
+        file = new File(TestHelper.makeTestDataPath(GryoRecordReaderPerformanceTest.class, "gryo-record-reader"), "grateful-dead-repeated.kryo");
+        try (final OutputStream out = new FileOutputStream(file)) {
+            for (copies = 0; copies * graph.length < fileSize; copies++) {
+                out.write(graph);
+            }
+        }
+
+        final Configuration configuration = new Configuration(false);
+        configuration.set("fs.file.impl", LocalFileSystem.class.getName());
+        configuration.set("fs.defaultFS", "file:///");
+        context = new TaskAttemptContextImpl(configuration, new TaskAttemptID(UUID.randomUUID().toString(), 0, TaskType.MAP, 0, 0));
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        file.delete();
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 3, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void readSingleSplit() throws Exception {
+        assertEquals(VERTICES_PER_COPY * copies, read(1));
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 3, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    @Test
+    public void readManySplits() throws Exception {
+        assertEquals(VERTICES_PER_COPY * copies, read(SPLITS));
+    }
+
+    private static long read(final int numberOfSplits) throws Exception {
+        final long splitLength = file.length() / numberOfSplits + 1;
+        long count = 0;
+        for (long start = 0; start < file.length(); start = start + splitLength) {
+            final FileSplit split = new FileSplit(new Path(file.getAbsoluteFile().toURI().toString()), start,
+                    Math.min(splitLength, file.length() - start), null);
+            try (final GryoRecordReader reader = new GryoRecordReader()) {
+                reader.initialize(split, context);
+                while (reader.nextKeyValue()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -22,7 +22,9 @@ import com.google.common.base.Optional;
 import org.apache.commons.configuration.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.spark.Partitioner;
 import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.storage.StorageLevel;
 import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
@@ -71,7 +73,95 @@ public final class SparkExecutor {
             final SparkMemory memory,
             final Configuration apacheConfiguration) {
 
-        final JavaPairRDD<Object, ViewOutgoingPayload<M>> viewOutgoingRDD = (((null == viewIncomingRDD) ?
+        final JavaPairRDD<Object, ViewOutgoingPayload<M>> viewOutgoingRDD = executeVertexProgram(graphRDD, viewIncomingRDD, memory, apacheConfiguration, false);
+
+        // "message pass" by reducing on the vertex object id of the view and message payloads
+        final MessageCombiner<M> messageCombiner = VertexProgram.<VertexProgram<M>>createVertexProgram(HadoopGraph.open(apacheConfiguration), apacheConfiguration).getMessageCombiner().orElse(null);
+        final JavaPairRDD<Object, ViewIncomingPayload<M>> newViewIncomingRDD = viewOutgoingRDD
+                .flatMapToPair(tuple -> () -> IteratorUtils.<Tuple2<Object, Payload>>concat(
+                        IteratorUtils.of(new Tuple2<>(tuple._1(), tuple._2().getView())),      // emit the view payload
+                        IteratorUtils.map(tuple._2().getOutgoingMessages().iterator(), message -> new Tuple2<>(message._1(), new MessagePayload<>(message._2())))))  // emit the outgoing message payloads one by one
+                .reduceByKey((a, b) -> mergePayloads(a, b, messageCombiner))      // reduce the view and outgoing messages into a single payload object representing the new view and incoming messages for a vertex
+                .filter(payload -> !(payload._2() instanceof MessagePayload)) // this happens if there is a message to a vertex that does not exist
+                .filter(payload -> !((payload._2() instanceof ViewIncomingPayload) && !((ViewIncomingPayload<M>) payload._2()).hasView())) // this happens if there are many messages to a vertex that does not exist
+                .mapValues(payload -> payload instanceof ViewIncomingPayload ?
+                        (ViewIncomingPayload<M>) payload :                    // this happens if there is a vertex with incoming messages
+                        new ViewIncomingPayload<>((ViewPayload) payload));    // this happens if there is a vertex with no incoming messages
+
+        newViewIncomingRDD.setName("viewIncomingRDD")
+                .foreachPartition(partitionIterator -> {
+                    HadoopPools.initialize(apacheConfiguration);
+                }); // need to complete a task so its BSP and the memory for this iteration is updated
+        return newViewIncomingRDD;
+    }
+
+    /**
+     * Executes an iteration of the vertex program where the views of the vertices never leave the partitions of their
+     * vertices and only the messages are shuffled.  The graph rdd must have a {@link Partitioner} which the incoming
+     * messages are shuffled with, so that the views, the messages and the vertices are co-partitioned and all joined
+     * without a shuffle.  As the views are no longer kept in shuffle files, they are persisted and the views of the
+     * previous iteration are unpersisted once the views of this iteration are computed.  Every
+     * {@code checkpointInterval} iterations the views are checkpointed so that their lineage does not grow with the
+     * number of iterations.  The views are reliably checkpointed if the spark context has a checkpoint directory and
+     * locally checkpointed otherwise.  A {@code checkpointInterval} of zero or less never checkpoints the views.
+     */
+    public static <M> JavaPairRDD<Object, ViewIncomingPayload<M>> executeVertexProgramIterationWithLocalViews(
+            final JavaPairRDD<Object, VertexWritable> graphRDD,
+            final JavaPairRDD<Object, ViewIncomingPayload<M>> viewIncomingRDD,
+            final SparkMemory memory,
+            final Configuration apacheConfiguration,
+            final int checkpointInterval) {
+
+        final Partitioner partitioner = graphRDD.partitioner().get();
+        // the vertex program must only execute once per iteration even though its output is used twice
+        final JavaPairRDD<Object, ViewOutgoingPayload<M>> viewOutgoingRDD = executeVertexProgram(graphRDD, viewIncomingRDD, memory, apacheConfiguration, true)
+                .persist(StorageLevel.MEMORY_AND_DISK());
+
+        // "message pass" by reducing on the vertex object id of the message payloads alone
+        final MessageCombiner<M> messageCombiner = VertexProgram.<VertexProgram<M>>createVertexProgram(HadoopGraph.open(apacheConfiguration), apacheConfiguration).getMessageCombiner().orElse(null);
+        final JavaPairRDD<Object, Payload> incomingMessagesRDD = viewOutgoingRDD
+                .flatMapToPair(tuple -> () -> IteratorUtils.map(tuple._2().getOutgoingMessages().iterator(), message -> new Tuple2<Object, Payload>(message._1(), new MessagePayload<>(message._2()))))
+                .reduceByKey(partitioner, (a, b) -> mergePayloads(a, b, messageCombiner));
+
+        // the left outer join drops the messages to vertices that do not exist
+        final JavaPairRDD<Object, ViewIncomingPayload<M>> newViewIncomingRDD = viewOutgoingRDD
+                .mapValues(ViewOutgoingPayload::getView)
+                .leftOuterJoin(incomingMessagesRDD)
+                .mapValues(viewMessages -> {
+                    if (!viewMessages._2().isPresent())
+                        return new ViewIncomingPayload<M>(viewMessages._1());
+                    final ViewIncomingPayload<M> payload = new ViewIncomingPayload<>(messageCombiner);
+                    payload.mergePayload(viewMessages._2().get(), messageCombiner);
+                    payload.mergePayload(viewMessages._1(), messageCombiner);
+                    return payload;
+                })
+                .persist(StorageLevel.MEMORY_AND_DISK());
+        // truncate the lineage of the views (this must happen before the views are computed by the action below)
+        if (checkpointInterval > 0 && (memory.getIteration() + 1) % checkpointInterval == 0) {
+            if (graphRDD.context().getCheckpointDir().isDefined())
+                newViewIncomingRDD.checkpoint();
+            else
+                newViewIncomingRDD.rdd().localCheckpoint();
+        }
+
+        newViewIncomingRDD.setName("viewIncomingRDD")
+                .foreachPartition(partitionIterator -> {
+                    HadoopPools.initialize(apacheConfiguration);
+                }); // need to complete a task so its BSP and the memory for this iteration is updated
+        viewOutgoingRDD.unpersist();
+        if (null != viewIncomingRDD)
+            viewIncomingRDD.unpersist();
+        return newViewIncomingRDD;
+    }
+
+    private static <M> JavaPairRDD<Object, ViewOutgoingPayload<M>> executeVertexProgram(
+            final JavaPairRDD<Object, VertexWritable> graphRDD,
+            final JavaPairRDD<Object, ViewIncomingPayload<M>> viewIncomingRDD,
+            final SparkMemory memory,
+            final Configuration apacheConfiguration,
+            final boolean preservesPartitioning) {
+
+        return (((null == viewIncomingRDD) ?
                 graphRDD.mapValues(vertexWritable -> new Tuple2<>(vertexWritable, Optional.<ViewIncomingPayload<M>>absent())) : // first iteration will not have any views or messages
                 graphRDD.leftOuterJoin(viewIncomingRDD))                                                   // every other iteration may have views and messages
                 // for each partition of vertices
@@ -80,7 +170,7 @@ public final class SparkExecutor {
                     final VertexProgram<M> workerVertexProgram = VertexProgram.<VertexProgram<M>>createVertexProgram(HadoopGraph.open(apacheConfiguration), apacheConfiguration); // each partition(Spark)/worker(TP3) has a local copy of the vertex program (a worker's task)
                     final Set<String> elementComputeKeys = workerVertexProgram.getElementComputeKeys(); // the compute keys as a set
                     final String[] elementComputeKeysArray = elementComputeKeys.size() == 0 ? EMPTY_ARRAY : elementComputeKeys.toArray(new String[elementComputeKeys.size()]); // the compute keys as an array
-                    final SparkMessenger<M> messenger = new SparkMessenger<>();
+                    final SparkMessenger<M> messenger = new SparkMessenger<>(workerVertexProgram.getMessageCombiner().orElse(null)); // combines the messages of the partition when there is a message combiner
                     workerVertexProgram.workerIterationStart(memory.asImmutable()); // start the worker
                     return () -> IteratorUtils.map(partitionIterator, vertexViewIncoming -> {
                         final StarGraph.StarVertex vertex = vertexViewIncoming._2()._1().get(); // get the vertex from the vertex writable
@@ -99,43 +189,29 @@ public final class SparkExecutor {
                                 Collections.emptyList() :
                                 IteratorUtils.list(IteratorUtils.map(vertex.properties(elementComputeKeysArray), property -> DetachedFactory.detach(property, true)));
                         final List<Tuple2<Object, M>> outgoingMessages = messenger.getOutgoingMessages(); // get the outgoing messages
-                        if (!partitionIterator.hasNext())
+                        if (!partitionIterator.hasNext()) {
                             workerVertexProgram.workerIterationEnd(memory.asImmutable()); // if no more vertices in the partition, end the worker's iteration
+                            outgoingMessages.addAll(messenger.getCombinedOutgoingMessages()); // the messages combined across the partition are emitted with its last vertex
+                            memory.addMessages(messenger.getSentMessages(), messenger.getEmittedMessages());
+                        }
                         return new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages));
                     });
-                })).setName("viewOutgoingRDD");
-
-        // "message pass" by reducing on the vertex object id of the view and message payloads
-        final MessageCombiner<M> messageCombiner = VertexProgram.<VertexProgram<M>>createVertexProgram(HadoopGraph.open(apacheConfiguration), apacheConfiguration).getMessageCombiner().orElse(null);
-        final JavaPairRDD<Object, ViewIncomingPayload<M>> newViewIncomingRDD = viewOutgoingRDD
-                .flatMapToPair(tuple -> () -> IteratorUtils.<Tuple2<Object, Payload>>concat(
-                        IteratorUtils.of(new Tuple2<>(tuple._1(), tuple._2().getView())),      // emit the view payload
-                        IteratorUtils.map(tuple._2().getOutgoingMessages().iterator(), message -> new Tuple2<>(message._1(), new MessagePayload<>(message._2())))))  // emit the outgoing message payloads one by one
-                .reduceByKey((a, b) -> {      // reduce the view and outgoing messages into a single payload object representing the new view and incoming messages for a vertex
-                    if (a instanceof ViewIncomingPayload) {
-                        ((ViewIncomingPayload<M>) a).mergePayload(b, messageCombiner);
-                        return a;
-                    } else if (b instanceof ViewIncomingPayload) {
-                        ((ViewIncomingPayload<M>) b).mergePayload(a, messageCombiner);
-                        return b;
-                    } else {
-                        final ViewIncomingPayload<M> c = new ViewIncomingPayload<>(messageCombiner);
-                        c.mergePayload(a, messageCombiner);
-                        c.mergePayload(b, messageCombiner);
-                        return c;
-                    }
-                })
-                .filter(payload -> !(payload._2() instanceof MessagePayload)) // this happens if there is a message to a vertex that does not exist
-                .filter(payload -> !((payload._2() instanceof ViewIncomingPayload) && !((ViewIncomingPayload<M>) payload._2()).hasView())) // this happens if there are many messages to a vertex that does not exist
-                .mapValues(payload -> payload instanceof ViewIncomingPayload ?
-                        (ViewIncomingPayload<M>) payload :                    // this happens if there is a vertex with incoming messages
-                        new ViewIncomingPayload<>((ViewPayload) payload));    // this happens if there is a vertex with no incoming messages
+                }, preservesPartitioning)).setName("viewOutgoingRDD");
+    }
 
-        newViewIncomingRDD.setName("viewIncomingRDD")
-                .foreachPartition(partitionIterator -> {
-                    HadoopPools.initialize(apacheConfiguration);
-                }); // need to complete a task so its BSP and the memory for this iteration is updated
-        return newViewIncomingRDD;
+    private static <M> Payload mergePayloads(final Payload a, final Payload b, final MessageCombiner<M> messageCombiner) {
+        if (a instanceof ViewIncomingPayload) {
+            ((ViewIncomingPayload<M>) a).mergePayload(b, messageCombiner);
+            return a;
+        } else if (b instanceof ViewIncomingPayload) {
+            ((ViewIncomingPayload<M>) b).mergePayload(a, messageCombiner);
+            return b;
+        } else {
+            final ViewIncomingPayload<M> c = new ViewIncomingPayload<>(messageCombiner);
+            c.mergePayload(a, messageCombiner);
+            c.mergePayload(b, messageCombiner);
+            return c;
+        }
     }
 
     /////////////////
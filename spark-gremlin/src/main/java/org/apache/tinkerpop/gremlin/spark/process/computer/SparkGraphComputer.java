@@ -26,6 +26,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapreduce.InputFormat;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.spark.HashPartitioner;
 import org.apache.spark.SparkConf;
 import org.apache.spark.SparkContext;
 import org.apache.spark.api.java.JavaPairRDD;
@@ -102,6 +103,7 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
         // apache and hadoop configurations that are used throughout the graph computer computation
         final org.apache.commons.configuration.Configuration apacheConfiguration = new HadoopConfiguration(this.sparkConfiguration);
         apacheConfiguration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT_HAS_EDGES, this.persist.equals(GraphComputer.Persist.EDGES));
+        this.storeInputProjection(apacheConfiguration);
         final Configuration hadoopConfiguration = ConfUtil.makeHadoopConfiguration(apacheConfiguration);
         if (hadoopConfiguration.get(Constants.GREMLIN_SPARK_GRAPH_INPUT_RDD, null) == null && // if an InputRDD is specified, then ignore InputFormat
                 hadoopConfiguration.get(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT, null) != null &&
@@ -164,11 +166,17 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                 // add the project jars to the cluster
                 this.loadJars(sparkContext, hadoopConfiguration);
                 // create a message-passing friendly rdd from the input rdd
+                final boolean partitionLocalViews = hadoopConfiguration.getBoolean(Constants.GREMLIN_SPARK_PARTITION_LOCAL_VIEWS, false);
+                final int checkpointInterval = hadoopConfiguration.getInt(Constants.GREMLIN_SPARK_PARTITION_LOCAL_VIEWS_CHECKPOINT_INTERVAL, 10);
                 final JavaPairRDD<Object, VertexWritable> graphRDD;
                 try {
-                    graphRDD = hadoopConfiguration.getClass(Constants.GREMLIN_SPARK_GRAPH_INPUT_RDD, InputFormatRDD.class, InputRDD.class)
+                    final JavaPairRDD<Object, VertexWritable> inputRDD = hadoopConfiguration.getClass(Constants.GREMLIN_SPARK_GRAPH_INPUT_RDD, InputFormatRDD.class, InputRDD.class)
                             .newInstance()
-                            .readGraphRDD(apacheConfiguration, sparkContext)
+                            .readGraphRDD(apacheConfiguration, sparkContext);
+                    // partition-local views require a partitioner that the messages can be shuffled with
+                    graphRDD = (partitionLocalViews && !inputRDD.partitioner().isPresent() ?
+                            inputRDD.partitionBy(new HashPartitioner(inputRDD.partitions().size())) :
+                            inputRDD)
                             .setName(sparkConfiguration.get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, "graphRDD"))
                             .cache();
                 } catch (final InstantiationException | IllegalAccessException e) {
@@ -192,8 +200,12 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                     // execute the vertex program
                     while (true) {
                         memory.setInTask(true);
-                        viewIncomingRDD = SparkExecutor.executeVertexProgramIteration(graphRDD, viewIncomingRDD, memory, vertexProgramConfiguration);
+                        viewIncomingRDD = partitionLocalViews ?
+                                SparkExecutor.executeVertexProgramIterationWithLocalViews(graphRDD, viewIncomingRDD, memory, vertexProgramConfiguration, checkpointInterval) :
+                                SparkExecutor.executeVertexProgramIteration(graphRDD, viewIncomingRDD, memory, vertexProgramConfiguration);
                         memory.setInTask(false);
+                        if (this.logger.isDebugEnabled())
+                            this.logger.debug("Sent " + memory.getSentMessages() + " messages of which " + memory.getEmittedMessages() + " were emitted to the shuffle through iteration " + memory.getIteration());
                         if (this.vertexProgram.terminate(memory))
                             break;
                         else {
@@ -238,6 +250,9 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                     mapReduceGraphRDD.unpersist();
                 }
 
+                // partition-local views are persisted rather than kept in shuffle files
+                if (partitionLocalViews && null != viewIncomingRDD)
+                    viewIncomingRDD.unpersist();
                 // unpersist the graphRDD if it will no longer be used
                 if (hadoopConfiguration.get(Constants.GREMLIN_SPARK_GRAPH_OUTPUT_RDD, null) == null || this.persist.equals(GraphComputer.Persist.NOTHING)) {
                     graphRDD.unpersist();
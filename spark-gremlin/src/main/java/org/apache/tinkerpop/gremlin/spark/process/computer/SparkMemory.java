@@ -47,6 +47,8 @@ public final class SparkMemory implements Memory.Admin, Serializable {
     private final AtomicInteger iteration = new AtomicInteger(0);   // do these need to be atomics?
     private final AtomicLong runtime = new AtomicLong(0l);
     private final Map<String, Accumulator<Rule>> memory = new HashMap<>();
+    private final Accumulator<Rule> sentMessages;
+    private final Accumulator<Rule> emittedMessages;
     private Broadcast<Map<String, Object>> broadcast;
     private boolean inTask = false;
 
@@ -63,9 +65,26 @@ public final class SparkMemory implements Memory.Admin, Serializable {
         for (final String key : this.memoryKeys) {
             this.memory.put(key, sparkContext.accumulator(new Rule(Rule.Operation.NO_OP, null), key, new RuleAccumulator()));
         }
+        this.sentMessages = sparkContext.accumulator(new Rule(Rule.Operation.NO_OP, null), "sentMessages", new RuleAccumulator());
+        this.emittedMessages = sparkContext.accumulator(new Rule(Rule.Operation.NO_OP, null), "emittedMessages", new RuleAccumulator());
         this.broadcast = sparkContext.broadcast(new HashMap<>());
     }
 
+    /**
+     * Gets the total number of messages sent by the vertex program over all iterations.
+     */
+    public long getSentMessages() {
+        return getCount(this.sentMessages);
+    }
+
+    /**
+     * Gets the total number of messages emitted to the shuffle over all iterations.  This is less than the number of
+     * messages sent when the messages to the same vertex are combined within the partitions that send them.
+     */
+    public long getEmittedMessages() {
+        return getCount(this.emittedMessages);
+    }
+
     @Override
     public Set<String> keys() {
         if (this.inTask)
@@ -155,6 +174,11 @@ public final class SparkMemory implements Memory.Admin, Serializable {
         return StringFactory.memoryString(this);
     }
 
+    protected void addMessages(final long sentMessages, final long emittedMessages) {
+        this.sentMessages.add(new Rule(Rule.Operation.INCR, sentMessages));
+        this.emittedMessages.add(new Rule(Rule.Operation.INCR, emittedMessages));
+    }
+
     protected void setInTask(final boolean inTask) {
         this.inTask = inTask;
     }
@@ -175,6 +199,11 @@ public final class SparkMemory implements Memory.Admin, Serializable {
         MemoryHelper.validateValue(value);
     }
 
+    private static long getCount(final Accumulator<Rule> count) {
+        final Object value = count.value().getObject();
+        return null == value ? 0l : (Long) value;
+    }
+
     private <R> R getValue(final String key) {
         return this.inTask ? (R) this.broadcast.value().get(key) : (R) this.memory.get(key).value().getObject();
     }
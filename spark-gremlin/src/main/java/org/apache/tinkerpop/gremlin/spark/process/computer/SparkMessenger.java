@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.spark.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
@@ -30,8 +31,10 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import scala.Tuple2;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -41,6 +44,23 @@ public final class SparkMessenger<M> implements Messenger<M> {
     private Vertex vertex;
     private Iterable<M> incomingMessages;
     private List<Tuple2<Object, M>> outgoingMessages = new ArrayList<>();
+    private final MessageCombiner<M> messageCombiner;
+    private Map<Object, M> combinedMessages = new HashMap<>();
+    private long sentMessages = 0l;
+    private long emittedMessages = 0l;
+
+    public SparkMessenger() {
+        this(null);
+    }
+
+    /**
+     * Creates a messenger that combines the messages sent to the same vertex by all the vertices of the partition
+     * when a {@link MessageCombiner} is provided.  The combined messages are only emitted with
+     * {@link #getCombinedOutgoingMessages()} which is to be called after the last vertex of the partition.
+     */
+    public SparkMessenger(final MessageCombiner<M> messageCombiner) {
+        this.messageCombiner = messageCombiner;
+    }
 
     public void setVertexAndIncomingMessages(final Vertex vertex, final Iterable<M> incomingMessages) {
         this.vertex = vertex;
@@ -49,9 +69,35 @@ public final class SparkMessenger<M> implements Messenger<M> {
     }
 
     public List<Tuple2<Object, M>> getOutgoingMessages() {
+        this.emittedMessages = this.emittedMessages + this.outgoingMessages.size();
         return this.outgoingMessages;
     }
 
+    /**
+     * Gets the messages combined across the partition so far and empties the combining buffer.
+     */
+    public List<Tuple2<Object, M>> getCombinedOutgoingMessages() {
+        final List<Tuple2<Object, M>> messages = new ArrayList<>(this.combinedMessages.size());
+        this.combinedMessages.forEach((vertexId, message) -> messages.add(new Tuple2<>(vertexId, message)));
+        this.combinedMessages = new HashMap<>();
+        this.emittedMessages = this.emittedMessages + messages.size();
+        return messages;
+    }
+
+    /**
+     * Gets the number of messages sent by the vertex program.
+     */
+    public long getSentMessages() {
+        return this.sentMessages;
+    }
+
+    /**
+     * Gets the number of messages emitted to the shuffle which is less than the number sent when they are combined.
+     */
+    public long getEmittedMessages() {
+        return this.emittedMessages;
+    }
+
     @Override
     public Iterator<M> receiveMessages() {
         return this.incomingMessages.iterator();
@@ -63,12 +109,20 @@ public final class SparkMessenger<M> implements Messenger<M> {
             final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
             final Traversal.Admin<Vertex, Edge> incidentTraversal = SparkMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get(), this.vertex);
             final Direction direction = SparkMessenger.getOppositeDirection(incidentTraversal);
-            incidentTraversal.forEachRemaining(edge -> this.outgoingMessages.add(new Tuple2<>(edge.vertices(direction).next().id(), message)));
+            incidentTraversal.forEachRemaining(edge -> this.addOutgoingMessage(edge.vertices(direction).next().id(), message));
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.outgoingMessages.add(new Tuple2<>(v.id(), message)));
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.addOutgoingMessage(v.id(), message));
         }
     }
 
+    private void addOutgoingMessage(final Object vertexId, final M message) {
+        this.sentMessages++;
+        if (null == this.messageCombiner)
+            this.outgoingMessages.add(new Tuple2<>(vertexId, message));
+        else
+            this.combinedMessages.merge(vertexId, message, this.messageCombiner::combine);
+    }
+
     ///////////
 
     private static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal<Vertex, Edge> incidentTraversal, final Vertex vertex) {
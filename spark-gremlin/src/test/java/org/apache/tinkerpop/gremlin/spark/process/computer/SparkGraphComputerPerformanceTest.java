@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.process.computer;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.spark.JavaSparkListener;
+import org.apache.spark.executor.TaskMetrics;
+import org.apache.spark.scheduler.SparkListenerTaskEnd;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoInputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoOutputFormat;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.spark.structure.io.gryo.GryoSerializer;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the bytes shuffled by {@link PageRankVertexProgram} on a local {@link SparkGraphComputer}
+ * with the views shuffled alongside the messages and with {@link Constants#GREMLIN_SPARK_PARTITION_LOCAL_VIEWS}.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "spark-graph-computer")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-spark-graph-computer")
+public class SparkGraphComputerPerformanceTest {
+
+    private static final int ITERATIONS = 10;
+    private static final AtomicLong SHUFFLE_BYTES = new AtomicLong(0l);
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWithShuffledViews() throws Exception {
+        pageRank(false);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWithPartitionLocalViews() throws Exception {
+        pageRank(true);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 1, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void shouldShuffleFewerBytesWithPartitionLocalViews() throws Exception {
+        final long shuffledViewsBytes = pageRank(false);
+        final long partitionLocalViewsBytes = pageRank(true);
+        assertTrue(shuffledViewsBytes > 0l);
+        assertTrue("partition-local views shuffled " + partitionLocalViewsBytes + " bytes and shuffled views " + shuffledViewsBytes + " bytes",
+                partitionLocalViewsBytes < shuffledViewsBytes);
+    }
+
+    /**
+     * Returns the number of bytes shuffled by the job.  As the spark context is not persisted, it is stopped before
+     * the job returns, which drains the listener bus and so all the task metrics are summed by then.
+     */
+    private static long pageRank(final boolean partitionLocalViews) throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty("spark.master", "local[4]");
+        configuration.setProperty("spark.serializer", GryoSerializer.class.getCanonicalName());
+        configuration.setProperty("spark.extraListeners", ShuffleListener.class.getName());
+        configuration.setProperty(Graph.GRAPH, HadoopGraph.class.getName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_INPUT_LOCATION, SparkHadoopGraphProvider.PATHS.get("grateful-dead.kryo"));
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_INPUT_FORMAT, GryoInputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_OUTPUT_FORMAT, GryoOutputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, TestHelper.makeTestDataPath(SparkGraphComputerPerformanceTest.class, "page-rank").getAbsolutePath());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE, false);
+        configuration.setProperty(Constants.GREMLIN_SPARK_PARTITION_LOCAL_VIEWS, partitionLocalViews);
+        final Graph graph = GraphFactory.open(configuration);
+
+        SHUFFLE_BYTES.set(0l);
+        final ComputerResult result = graph.compute(SparkGraphComputer.class)
+                .persist(GraphComputer.Persist.NOTHING)
+                .program(PageRankVertexProgram.build().iterations(ITERATIONS).create(graph))
+                .submit().get();
+        // page rank executes one more time than its number of iterations
+        assertEquals(ITERATIONS, result.memory().getIteration());
+        return SHUFFLE_BYTES.get();
+    }
+
+    /**
+     * Sums the bytes written by the shuffles of all the tasks of the {@code SparkContext}.
+     */
+    public static final class ShuffleListener extends JavaSparkListener {
+
+        @Override
+        public void onTaskEnd(final SparkListenerTaskEnd taskEnd) {
+            final TaskMetrics metrics = taskEnd.taskMetrics();
+            if (null != metrics && metrics.shuffleWriteMetrics().isDefined())
+                SHUFFLE_BYTES.addAndGet(metrics.shuffleWriteMetrics().get().shuffleBytesWritten());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+import scala.Tuple2;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SparkMessengerTest {
+
+    @Test
+    public void shouldCombineMessagesAcrossThePartition() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex a = graph.addVertex(T.id, 1);
+        final Vertex b = graph.addVertex(T.id, 2);
+        final Vertex c = graph.addVertex(T.id, 3);
+        final SparkMessenger<Long> messenger = new SparkMessenger<Long>((x, y) -> x + y);
+
+        messenger.setVertexAndIncomingMessages(a, Collections.emptyList());
+        messenger.sendMessage(MessageScope.Global.of(b, c), 1l);
+        assertTrue(messenger.getOutgoingMessages().isEmpty());
+        messenger.setVertexAndIncomingMessages(b, Collections.emptyList());
+        messenger.sendMessage(MessageScope.Global.of(c), 2l);
+        assertTrue(messenger.getOutgoingMessages().isEmpty());
+
+        final Map<Object, Long> combined = toMap(messenger.getCombinedOutgoingMessages());
+        assertEquals(2, combined.size());
+        assertEquals(1l, combined.get(2).longValue());
+        assertEquals(3l, combined.get(3).longValue());
+        assertEquals(3l, messenger.getSentMessages());
+        assertEquals(2l, messenger.getEmittedMessages());
+        assertTrue(messenger.getCombinedOutgoingMessages().isEmpty());
+    }
+
+    @Test
+    public void shouldEmitMessagesOfEachVertexWithoutMessageCombiner() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex a = graph.addVertex(T.id, 1);
+        final Vertex b = graph.addVertex(T.id, 2);
+        final SparkMessenger<Long> messenger = new SparkMessenger<>();
+
+        messenger.setVertexAndIncomingMessages(a, Collections.emptyList());
+        messenger.sendMessage(MessageScope.Global.of(b), 1l);
+        messenger.sendMessage(MessageScope.Global.of(b), 2l);
+        assertEquals(2, messenger.getOutgoingMessages().size());
+        assertTrue(messenger.getCombinedOutgoingMessages().isEmpty());
+        assertEquals(2l, messenger.getSentMessages());
+        assertEquals(2l, messenger.getEmittedMessages());
+    }
+
+    private static Map<Object, Long> toMap(final List<Tuple2<Object, Long>> messages) {
+        final Map<Object, Long> map = new HashMap<>();
+        messages.forEach(message -> map.put(message._1(), message._2()));
+        return map;
+    }
+}
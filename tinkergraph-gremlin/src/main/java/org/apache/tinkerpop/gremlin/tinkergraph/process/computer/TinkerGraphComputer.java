@@ -30,9 +30,9 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
@@ -52,7 +52,7 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard<?> messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
@@ -116,11 +116,14 @@ public final class TinkerGraphComputer implements GraphComputer {
             throw GraphComputer.Exceptions.computerRequiresMoreWorkersThanSupported(this.workers, this.features().getMaxWorkers());
 
 
-        // initialize the memory
+        // initialize the memory and the message board
         this.memory = new TinkerMemory(this.vertexProgram, this.mapReducers);
+        this.messageBoard = createMessageBoard(this.vertexProgram);
         return CompletableFuture.<ComputerResult>supplyAsync(() -> {
             final long time = System.currentTimeMillis();
             try (final TinkerWorkerPool workers = new TinkerWorkerPool(this.workers)) {
+                // vertices can not be added or removed while computing so the same array serves every iteration
+                final Vertex[] vertexArray = IteratorUtils.stream(this.graph.vertices()).toArray(Vertex[]::new);
                 if (null != this.vertexProgram) {
                     TinkerHelper.createGraphComputerView(this.graph, this.vertexProgram.getElementComputeKeys());
                     // execute the vertex program
@@ -128,15 +131,18 @@ public final class TinkerGraphComputer implements GraphComputer {
                     this.memory.completeSubRound();
                     while (true) {
                         workers.setVertexProgram(this.vertexProgram);
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                        final TinkerWorkQueue<Vertex> vertices = new TinkerWorkQueue<>(vertexArray, this.workers);
                         workers.executeVertexProgram(vertexProgram -> {
+                            final TinkerWorkQueue<Vertex>.Worker worker = vertices.worker();
+                            final TinkerMessenger<?> messenger = new TinkerMessenger<>(this.messageBoard);
                             vertexProgram.workerIterationStart(this.memory.asImmutable());
                             while (true) {
-                                final Vertex vertex = vertices.next();
+                                final Vertex vertex = worker.next();
                                 if (null == vertex) break;
+                                messenger.setVertex(vertex);
                                 vertexProgram.execute(
                                         ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
+                                        messenger,
                                         this.memory
                                 );
                             }
@@ -159,12 +165,13 @@ public final class TinkerGraphComputer implements GraphComputer {
                 for (final MapReduce mapReduce : mapReducers) {
                     if (mapReduce.doStage(MapReduce.Stage.MAP)) {
                         final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                        final TinkerWorkQueue<Vertex> vertices = new TinkerWorkQueue<>(vertexArray, this.workers);
                         workers.setMapReduce(mapReduce);
                         workers.executeMapReduce(workerMapReduce -> {
+                            final TinkerWorkQueue<Vertex>.Worker worker = vertices.worker();
                             workerMapReduce.workerStart(MapReduce.Stage.MAP);
                             while (true) {
-                                final Vertex vertex = vertices.next();
+                                final Vertex vertex = worker.next();
                                 if (null == vertex) break;
                                 workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
                             }
@@ -176,11 +183,12 @@ public final class TinkerGraphComputer implements GraphComputer {
                         // no need to run combiners as this is single machine
                         if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
                             final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                            final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
+                            final TinkerWorkQueue<Map.Entry<?, Queue<?>>> keyValues = new TinkerWorkQueue<>((Map.Entry<?, Queue<?>>[]) mapEmitter.reduceMap.entrySet().toArray(new Map.Entry[mapEmitter.reduceMap.size()]), this.workers);
                             workers.executeMapReduce(workerMapReduce -> {
+                                final TinkerWorkQueue<Map.Entry<?, Queue<?>>>.Worker worker = keyValues.worker();
                                 workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
                                 while (true) {
-                                    final Map.Entry<?, Queue<?>> entry = keyValues.next();
+                                    final Map.Entry<?, Queue<?>> entry = worker.next();
                                     if (null == entry) break;
                                     workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
                                 }
@@ -208,24 +216,15 @@ public final class TinkerGraphComputer implements GraphComputer {
         });
     }
 
+    private static <M> TinkerMessageBoard<M> createMessageBoard(final VertexProgram<M> vertexProgram) {
+        return new TinkerMessageBoard<M>(null == vertexProgram ? Optional.empty() : vertexProgram.getMessageCombiner());
+    }
+
     @Override
     public String toString() {
         return StringFactory.graphComputerString(this);
     }
 
-    private static class SynchronizedIterator<V> {
-
-        private final Iterator<V> iterator;
-
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
-        }
-
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
-        }
-    }
-
     @Override
     public Features features() {
         return new Features() {
@@ -18,29 +18,122 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
+ * Holds the messages sent in the current iteration and those received from the previous one.  Each vertex gets a
+ * single slot that is reused from iteration to iteration: a queue of messages or, when the vertex program has a
+ * {@link MessageCombiner}, the message that all messages sent to the vertex are combined into as they are sent.
+ * Combiners may mutate the message they are given, so messages are combined under the lock of their slot.  The send
+ * and receive stores swap roles at the end of each iteration rather than being reallocated.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<Vertex, Queue<M>> sendMessages = new ConcurrentHashMap<>();
-    public Map<Vertex, Queue<M>> receiveMessages = new ConcurrentHashMap<>();
-    public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    private final MessageCombiner<M> combiner;
+    private Map<Vertex, Slot<M>> sendMessages = new ConcurrentHashMap<>();
+    private Map<Vertex, Slot<M>> receiveMessages = new ConcurrentHashMap<>();
+    public Set<MessageScope> previousMessageScopes = ConcurrentHashMap.newKeySet();
+    public Set<MessageScope> currentMessageScopes = ConcurrentHashMap.newKeySet();
+
+    public TinkerMessageBoard(final Optional<MessageCombiner<M>> combiner) {
+        this.combiner = combiner.orElse(null);
+    }
+
+    public void sendMessage(final Vertex vertex, final M message) {
+        Slot<M> slot = this.sendMessages.get(vertex);
+        if (null == slot)
+            slot = this.sendMessages.computeIfAbsent(vertex, v -> this.newSlot());
+        slot.send(message);
+    }
+
+    private Slot<M> newSlot() {
+        return null == this.combiner ? new QueueSlot<>() : new CombinerSlot<>(this.combiner);
+    }
+
+    public Iterator<M> receiveMessages(final Vertex vertex) {
+        final Slot<M> slot = this.receiveMessages.get(vertex);
+        return null == slot ? Collections.emptyIterator() : slot.receive();
+    }
 
     public void completeIteration() {
+        // empty the slots of the store that was read from and make it the store to send to
+        final Map<Vertex, Slot<M>> messages = this.receiveMessages;
+        messages.values().forEach(Slot::clear);
         this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
+        this.sendMessages = messages;
+
+        final Set<MessageScope> messageScopes = this.previousMessageScopes;
+        messageScopes.clear();
         this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        this.currentMessageScopes = messageScopes;
+    }
+
+    /**
+     * The messages of a single vertex.  Messages are sent to the slot concurrently and are only received and cleared
+     * between iterations, once all the workers are done sending.
+     */
+    private interface Slot<M> {
+        public void send(final M message);
+
+        public Iterator<M> receive();
+
+        public void clear();
+    }
+
+    private static final class QueueSlot<M> implements Slot<M> {
+        private final Queue<M> messages = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void send(final M message) {
+            this.messages.add(message);
+        }
+
+        @Override
+        public Iterator<M> receive() {
+            return this.messages.iterator();
+        }
+
+        @Override
+        public void clear() {
+            this.messages.clear();
+        }
+    }
+
+    private static final class CombinerSlot<M> implements Slot<M> {
+        private final MessageCombiner<M> combiner;
+        private M message;
+
+        private CombinerSlot(final MessageCombiner<M> combiner) {
+            this.combiner = combiner;
+        }
+
+        @Override
+        public synchronized void send(final M message) {
+            this.message = null == this.message ? message : this.combiner.combine(this.message, message);
+        }
+
+        @Override
+        public synchronized Iterator<M> receive() {
+            return null == this.message ? Collections.emptyIterator() : IteratorUtils.of(this.message);
+        }
+
+        @Override
+        public synchronized void clear() {
+            this.message = null;
+        }
     }
 }
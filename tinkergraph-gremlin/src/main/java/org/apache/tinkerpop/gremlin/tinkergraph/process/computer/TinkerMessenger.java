@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
-import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
@@ -29,15 +28,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 
 import java.util.Iterator;
-import java.util.Optional;
-import java.util.Queue;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -45,14 +41,19 @@ import java.util.stream.StreamSupport;
  */
 public final class TinkerMessenger<M> implements Messenger<M> {
 
-    private final Vertex vertex;
+    private Vertex vertex;
     private final TinkerMessageBoard<M> messageBoard;
-    private final MessageCombiner<M> combiner;
 
-    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
-        this.vertex = vertex;
+    /**
+     * Create a messenger that is pointed at each vertex in turn with {@link #setVertex(Vertex)} so that a worker
+     * needs only one for all the vertices it executes.
+     */
+    public TinkerMessenger(final TinkerMessageBoard<M> messageBoard) {
         this.messageBoard = messageBoard;
-        this.combiner = combiner.isPresent() ? combiner.get() : null;
+    }
+
+    public void setVertex(final Vertex vertex) {
+        this.vertex = vertex;
     }
 
     @Override
@@ -65,18 +66,12 @@ public final class TinkerMessenger<M> implements Messenger<M> {
                 final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
                 final Edge[] edge = new Edge[1]; // simulates storage side-effects available in Gremlin, but not Java8 streams
                 multiIterator.addIterator(StreamSupport.stream(Spliterators.spliteratorUnknownSize(VertexProgramHelper.reverse(incidentTraversal.asAdmin()), Spliterator.IMMUTABLE | Spliterator.SIZED), false)
-                        .map(e -> this.messageBoard.receiveMessages.get((edge[0] = e).vertices(direction).next()))
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
+                        .flatMap(e -> IteratorUtils.stream(this.messageBoard.receiveMessages((edge[0] = e).vertices(direction).next())))
                         .map(message -> localMessageScope.getEdgeFunction().apply(message, edge[0]))
                         .iterator());
 
             } else {
-                multiIterator.addIterator(Stream.of(this.vertex)
-                        .map(this.messageBoard.receiveMessages::get)
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
-                        .iterator());
+                multiIterator.addIterator(this.messageBoard.receiveMessages(this.vertex));
             }
         }
         return multiIterator;
@@ -86,20 +81,12 @@ public final class TinkerMessenger<M> implements Messenger<M> {
     public void sendMessage(final MessageScope messageScope, final M message) {
         this.messageBoard.currentMessageScopes.add(messageScope);
         if (messageScope instanceof MessageScope.Local) {
-            addMessage(this.vertex, message);
+            this.messageBoard.sendMessage(this.vertex, message);
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message));
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.messageBoard.sendMessage(v, message));
         }
     }
 
-    private void addMessage(final Vertex vertex, final M message) {
-        this.messageBoard.sendMessages.compute(vertex, (v,queue) -> {
-            if(null == queue) queue = new ConcurrentLinkedQueue<>();
-            queue.add(null != this.combiner && !queue.isEmpty() ? this.combiner.combine(queue.remove(), message) : message);
-            return queue;
-        });
-    }
-
     ///////////
 
     private static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out the items of an array to the workers of a {@link TinkerWorkerPool}.  The array is split into one
+ * contiguous partition per worker and each worker takes chunks from the front of its own partition.  A worker that
+ * runs out of work steals chunks from the back of the partitions of the other workers.  Items are claimed a chunk at
+ * a time with a single compare-and-set, so workers contend only when they meet at the end of a partition.
+ */
+final class TinkerWorkQueue<V> {
+
+    private static final int MAX_CHUNK_SIZE = 1024;
+
+    /**
+     * The number of chunks each partition is cut into when it is not limited by {@link #MAX_CHUNK_SIZE}, which keeps
+     * enough chunks around for stealing to even out the work.
+     */
+    private static final int CHUNKS_PER_PARTITION = 16;
+
+    private final V[] items;
+    /**
+     * The remaining range of each partition with its start in the high and its end in the low 32 bits.
+     */
+    private final AtomicLong[] partitions;
+    private final int chunkSize;
+    private final AtomicInteger nextWorker = new AtomicInteger(0);
+
+    public TinkerWorkQueue(final V[] items, final int numberOfWorkers) {
+        this.items = items;
+        this.partitions = new AtomicLong[numberOfWorkers];
+        final int partitionSize = (items.length + numberOfWorkers - 1) / numberOfWorkers;
+        for (int i = 0; i < numberOfWorkers; i++) {
+            final int start = Math.min(items.length, i * partitionSize);
+            final int end = Math.min(items.length, start + partitionSize);
+            this.partitions[i] = new AtomicLong(range(start, end));
+        }
+        this.chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, partitionSize / CHUNKS_PER_PARTITION));
+    }
+
+    /**
+     * Get the view of the queue for the calling worker.  Each worker of an execution must call this once.
+     */
+    public Worker worker() {
+        return new Worker(this.nextWorker.getAndIncrement() % this.partitions.length);
+    }
+
+    private static long range(final int start, final int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+
+    private static int start(final long range) {
+        return (int) (range >>> 32);
+    }
+
+    private static int end(final long range) {
+        return (int) range;
+    }
+
+    /**
+     * Claim a chunk from the front of the partition, returning the claimed range or {@code -1} if it is empty.
+     */
+    private long take(final AtomicLong partition) {
+        while (true) {
+            final long range = partition.get();
+            final int start = start(range);
+            final int end = end(range);
+            if (start >= end)
+                return -1;
+            final int split = Math.min(end, start + this.chunkSize);
+            if (partition.compareAndSet(range, range(split, end)))
+                return range(start, split);
+        }
+    }
+
+    /**
+     * Claim a chunk from the back of the partition, returning the claimed range or {@code -1} if it is empty.
+     */
+    private long steal(final AtomicLong partition) {
+        while (true) {
+            final long range = partition.get();
+            final int start = start(range);
+            final int end = end(range);
+            if (start >= end)
+                return -1;
+            final int split = Math.max(start, end - this.chunkSize);
+            if (partition.compareAndSet(range, range(start, split)))
+                return range(split, end);
+        }
+    }
+
+    public final class Worker {
+
+        private final int partition;
+        private int current = 0;
+        private int end = 0;
+
+        private Worker(final int partition) {
+            this.partition = partition;
+        }
+
+        /**
+         * Get the next item for this worker or {@code null} if all items have been handed out.
+         */
+        public V next() {
+            if (this.current == this.end && !this.claim())
+                return null;
+            return items[this.current++];
+        }
+
+        private boolean claim() {
+            long range = take(partitions[this.partition]);
+            for (int i = 1; -1 == range && i < partitions.length; i++) {
+                range = steal(partitions[(this.partition + i) % partitions.length]);
+            }
+            if (-1 == range)
+                return false;
+            this.current = start(range);
+            this.end = end(range);
+            return true;
+        }
+    }
+}
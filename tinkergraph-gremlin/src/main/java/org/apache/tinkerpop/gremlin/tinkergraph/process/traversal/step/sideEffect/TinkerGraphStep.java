@@ -19,8 +19,10 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementValueComparator;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -32,9 +34,13 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +50,7 @@ import java.util.stream.Collectors;
 public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder {
 
     private final List<HasContainer> hasContainers = new ArrayList<>();
+    private String orderKey = null;
 
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -58,38 +65,132 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
-            return this.iteratorList(graph.edges(this.ids));
+            return this.orderedIterator(this.filteredList(graph.edges(this.ids)), false);
         else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                            .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                            .collect(Collectors.<Edge>toList()).iterator();
+            return this.lookup(graph, Edge.class);
     }
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
-            return this.iteratorList(graph.vertices(this.ids));
+            return this.orderedIterator(this.filteredList(graph.vertices(this.ids)), false);
         else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                            .filter(vertex -> HasContainer.testAll(vertex, this.hasContainers))
-                            .collect(Collectors.<Vertex>toList()).iterator();
+            return this.lookup(graph, Vertex.class);
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
-        return this.hasContainers.stream()
-                .filter(c -> indexedKeys.contains(c.getKey()) && c.getPredicate().getBiPredicate() == Compare.eq)
-                .findAny()
-                .orElseGet(() -> null);
+    /**
+     * Answers the step from the most selective equality index, intersected with the postings of any other
+     * applicable equality index, and then from a sorted index for a range. Without a usable index all elements of
+     * the graph are scanned.
+     */
+    private <T extends Element> Iterator<T> lookup(final TinkerGraph graph, final Class<T> elementClass) {
+        final List<IndexLookup> lookups = this.getEqualityLookups(graph, elementClass);
+        if (!lookups.isEmpty()) {
+            final IndexLookup best = lookups.get(0);
+            final List<IndexLookup> others = lookups.subList(1, lookups.size());
+            final List<T> elements = new ArrayList<>();
+            if (best.count > 0) {
+                final Iterator<? extends Element> postings = TinkerHelper.queryIndex(graph, elementClass, best.keys, best.values);
+                while (postings.hasNext()) {
+                    final Element element = postings.next();
+                    if (others.stream().allMatch(other -> TinkerHelper.isIndexed(graph, element, other.keys, other.values)) &&
+                            HasContainer.testAll(element, this.hasContainers))
+                        elements.add((T) element);
+                }
+            }
+            return this.orderedIterator(elements, best.keys.contains(this.orderKey));
+        }
+
+        final String rangeKey = this.getRangeIndexKey(graph, elementClass);
+        if (null != rangeKey) {
+            final Object[] bounds = this.getRangeBounds(rangeKey);
+            final Iterator<? extends Element> elements = Vertex.class.isAssignableFrom(elementClass) ?
+                    TinkerHelper.iterateVertexIndex(graph, rangeKey, bounds[0], (boolean) bounds[1], bounds[2], (boolean) bounds[3]) :
+                    TinkerHelper.iterateEdgeIndex(graph, rangeKey, bounds[0], (boolean) bounds[1], bounds[2], (boolean) bounds[3]);
+            return this.orderedIterator(this.filteredList((Iterator<T>) elements), rangeKey.equals(this.orderKey));
+        }
+
+        return this.orderedIterator(this.filteredList((Iterator<T>) (Vertex.class.isAssignableFrom(elementClass) ? graph.vertices() : graph.edges())), false);
+    }
+
+    /**
+     * Gathers the single key and composite indices that the equality {@link HasContainer} objects fully cover,
+     * sorted from the smallest to the largest posting list.
+     */
+    private List<IndexLookup> getEqualityLookups(final TinkerGraph graph, final Class<? extends Element> indexedClass) {
+        final Map<String, Object> equalities = new LinkedHashMap<>();
+        this.hasContainers.stream()
+                .filter(c -> c.getPredicate().getBiPredicate() == Compare.eq)
+                .forEach(c -> equalities.putIfAbsent(c.getKey(), c.getValue()));
+
+        final List<IndexLookup> lookups = new ArrayList<>();
+        final Set<String> indexedKeys = graph.getIndexedKeys(indexedClass);
+        equalities.forEach((key, value) -> {
+            if (indexedKeys.contains(key))
+                lookups.add(new IndexLookup(Collections.singletonList(key), Collections.singletonList(value)));
+        });
+        for (final List<String> keys : graph.getCompositeIndexes(indexedClass)) {
+            if (equalities.keySet().containsAll(keys))
+                lookups.add(new IndexLookup(keys, keys.stream().map(equalities::get).collect(Collectors.toList())));
+        }
+
+        lookups.forEach(lookup -> lookup.count = TinkerHelper.countIndex(graph, indexedClass, lookup.keys, lookup.values));
+        lookups.sort(Comparator.comparingLong(lookup -> lookup.count));
+        return lookups;
+    }
+
+    /**
+     * Find a key with a range {@link HasContainer} that is backed by a {@link TinkerGraph.IndexType#SORTED} index,
+     * preferring the order key so that the index can also provide the ordering.
+     */
+    private String getRangeIndexKey(final TinkerGraph graph, final Class<? extends Element> indexedClass) {
+        final List<String> rangeKeys = this.hasContainers.stream()
+                .filter(c -> isRange(c.getBiPredicate()) &&
+                        graph.getIndexType(c.getKey(), indexedClass).orElse(null) == TinkerGraph.IndexType.SORTED)
+                .map(HasContainer::getKey)
+                .collect(Collectors.toList());
+        return rangeKeys.isEmpty() ? null : rangeKeys.contains(this.orderKey) ? this.orderKey : rangeKeys.get(0);
+    }
+
+    /**
+     * Gathers the range for the key as {@code [lower, lowerInclusive, upper, upperInclusive]} where a {@code null}
+     * bound is open. The remaining {@link HasContainer} objects are still tested against the results.
+     */
+    private Object[] getRangeBounds(final String key) {
+        final Object[] bounds = new Object[]{null, false, null, false};
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (!hasContainer.getKey().equals(key))
+                continue;
+            final BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+            if (null == bounds[0] && (biPredicate == Compare.gt || biPredicate == Compare.gte)) {
+                bounds[0] = hasContainer.getValue();
+                bounds[1] = biPredicate == Compare.gte;
+            } else if (null == bounds[2] && (biPredicate == Compare.lt || biPredicate == Compare.lte)) {
+                bounds[2] = hasContainer.getValue();
+                bounds[3] = biPredicate == Compare.lte;
+            }
+        }
+        return bounds;
+    }
+
+    private static boolean isRange(final BiPredicate<?, ?> biPredicate) {
+        return biPredicate == Compare.gt || biPredicate == Compare.gte || biPredicate == Compare.lt || biPredicate == Compare.lte;
+    }
+
+    /**
+     * Sets the property key whose ascending value order the elements of this step must be emitted in. The
+     * {@code TinkerGraphStepStrategy} sets this when it removes an {@code order().by(key, incr)} that a sorted index
+     * can satisfy.
+     */
+    public void setOrderKey(final String orderKey) {
+        this.orderKey = orderKey;
+    }
+
+    public String getOrderKey() {
+        return this.orderKey;
     }
 
     @Override
@@ -102,13 +203,19 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
                     StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids), this.hasContainers);
     }
 
-    private <E extends Element> Iterator<E> iteratorList(final Iterator<E> iterator) {
+    private <E extends Element> List<E> filteredList(final Iterator<? extends E> iterator) {
         final List<E> list = new ArrayList<>();
         while (iterator.hasNext()) {
             final E e = iterator.next();
             if (HasContainer.testAll(e, this.hasContainers))
                 list.add(e);
         }
+        return list;
+    }
+
+    private <E extends Element> Iterator<E> orderedIterator(final List<E> list, final boolean orderedByIndex) {
+        if (null != this.orderKey && !orderedByIndex)
+            list.sort(new ElementValueComparator<>(this.orderKey, Order.incr));
         return list.iterator();
     }
 
@@ -121,4 +228,15 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
     public void addHasContainer(final HasContainer hasContainer) {
         this.hasContainers.add(hasContainer);
     }
+
+    private static final class IndexLookup {
+        private final List<String> keys;
+        private final List<Object> values;
+        private long count;
+
+        private IndexLookup(final List<String> keys, final List<Object> values) {
+            this.keys = keys;
+            this.values = values;
+        }
+    }
 }
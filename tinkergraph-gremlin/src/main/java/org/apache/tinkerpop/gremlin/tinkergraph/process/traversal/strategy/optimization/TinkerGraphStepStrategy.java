@@ -18,14 +18,23 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementValueComparator;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import java.util.Comparator;
+import java.util.Optional;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -52,9 +61,33 @@ public final class TinkerGraphStepStrategy extends AbstractTraversalStrategy<Tra
                 traversal.removeStep(currentStep);
                 currentStep = currentStep.getNextStep();
             }
+            if (currentStep instanceof OrderGlobalStep && isOrderedBySortedIndex(tinkerGraphStep, (OrderGlobalStep<?>) currentStep)) {
+                tinkerGraphStep.setOrderKey(((ElementValueComparator) ((OrderGlobalStep<?>) currentStep).getComparators().get(0)).getPropertyKey());
+                traversal.removeStep(currentStep);
+            }
         });
     }
 
+    /**
+     * Determines if an {@code order().by(key, incr)} directly after a start {@link TinkerGraphStep} is made redundant
+     * by a {@link TinkerGraph.IndexType#SORTED} index on a key that the step filters on.
+     */
+    private static boolean isOrderedBySortedIndex(final TinkerGraphStep<?, ?> tinkerGraphStep, final OrderGlobalStep<?> orderGlobalStep) {
+        if (!tinkerGraphStep.isStartStep() || !orderGlobalStep.getLabels().isEmpty() || orderGlobalStep.getComparators().size() != 1)
+            return false;
+        final Comparator<?> comparator = orderGlobalStep.getComparators().get(0);
+        if (!(comparator instanceof ElementValueComparator) || ((ElementValueComparator) comparator).getValueComparator() != Order.incr)
+            return false;
+
+        final String orderKey = ((ElementValueComparator) comparator).getPropertyKey();
+        final Optional<Graph> graph = tinkerGraphStep.getTraversal().getGraph();
+        return graph.isPresent() && graph.get() instanceof TinkerGraph &&
+                ((TinkerGraph) graph.get()).getIndexType(orderKey, tinkerGraphStep.getReturnClass()).orElse(null) == TinkerGraph.IndexType.SORTED &&
+                tinkerGraphStep.getHasContainers().stream().anyMatch(c -> c.getKey().equals(orderKey) &&
+                        (c.getBiPredicate() == Compare.eq || c.getBiPredicate() == Compare.gt || c.getBiPredicate() == Compare.gte ||
+                                c.getBiPredicate() == Compare.lt || c.getBiPredicate() == Compare.lte));
+    }
+
     public static TinkerGraphStepStrategy instance() {
         return INSTANCE;
     }
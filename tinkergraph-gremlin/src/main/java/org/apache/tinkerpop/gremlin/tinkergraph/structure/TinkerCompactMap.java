@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@code Map} for the handful of edge labels and property keys of a {@link TinkerVertex} in
+ * {@link TinkerGraph.VertexStorage#COMPACT} storage.  Keys and values are held inline in a single array and found
+ * by a linear scan, which avoids the table and per-entry node of a {@code HashMap} and is as fast for the small
+ * number of keys a vertex typically has.  The array grows by half again when it is full and shrinks by half when it
+ * is no more than a quarter full, so building or emptying a map copies entries a linear number of times.
+ */
+final class TinkerCompactMap<K, V> extends AbstractMap<K, V> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * The length of table below which it is not worth copying to shrink it.
+     */
+    private static final int MIN_SHRINK_LENGTH = 8;
+
+    /**
+     * Keys at even positions, each followed by its value.
+     */
+    private Object[] table = EMPTY;
+    private int size = 0;
+    private int modCount = 0;
+
+    private int indexOf(final Object key) {
+        for (int i = 0; i < this.size << 1; i = i + 2) {
+            if (this.table[i].equals(key))
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.indexOf(key) != -1;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int i = this.indexOf(key);
+        return -1 == i ? null : (V) this.table[i + 1];
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final int i = this.indexOf(key);
+        return -1 == i ? defaultValue : (V) this.table[i + 1];
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        if (null == key)
+            throw new NullPointerException("key");
+        final int i = this.indexOf(key);
+        if (-1 != i) {
+            final V old = (V) this.table[i + 1];
+            this.table[i + 1] = value;
+            return old;
+        }
+        if (this.size << 1 == this.table.length)
+            this.table = Arrays.copyOf(this.table, (this.size + Math.max(1, this.size >> 1)) << 1);
+        this.table[this.size << 1] = key;
+        this.table[(this.size << 1) + 1] = value;
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final int i = this.indexOf(key);
+        if (-1 == i)
+            return null;
+        final V old = (V) this.table[i + 1];
+        this.removeAt(i);
+        return old;
+    }
+
+    private void removeAt(final int i) {
+        final int last = (this.size - 1) << 1;
+        this.table[i] = this.table[last];
+        this.table[i + 1] = this.table[last + 1];
+        this.table[last] = null;
+        this.table[last + 1] = null;
+        this.size--;
+        this.modCount++;
+        if (0 == this.size)
+            this.table = EMPTY;
+        else if (this.table.length > MIN_SHRINK_LENGTH && this.size << 3 <= this.table.length)
+            this.table = Arrays.copyOf(this.table, (this.table.length >> 2) << 1);
+    }
+
+    @Override
+    public void clear() {
+        this.table = EMPTY;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return TinkerCompactMap.this.size;
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private int next = 0;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return this.next < size << 1;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            this.last = this.next;
+            this.next = this.next + 2;
+            final int i = this.last;
+            return new SimpleEntry<K, V>((K) table[i], (V) table[i + 1]) {
+                @Override
+                public V setValue(final V value) {
+                    table[i + 1] = value;
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (-1 == this.last)
+                throw new IllegalStateException();
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            // the last entry is swapped into the removed slot so it has to be visited again
+            removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+            this.expectedModCount = modCount;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@code Set} for the edges of a single label incident to a {@link TinkerVertex} in
+ * {@link TinkerGraph.VertexStorage#COMPACT} storage.  Elements are held directly in an open-addressed array with
+ * linear probing, so that each edge costs a slot or two of the array rather than the node a {@code HashSet}
+ * allocates for it, while lookups and removals stay constant time for high-degree vertices.
+ */
+final class TinkerCompactSet<E> extends AbstractSet<E> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * Marks a slot whose element was removed so that probes for elements placed after it keep going.
+     */
+    private static final Object REMOVED = new Object();
+
+    private Object[] table = EMPTY;
+    private int size = 0;
+    private int removed = 0;
+    private int modCount = 0;
+
+    private static int spread(final Object o) {
+        final int h = o.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int threshold(final int capacity) {
+        return (capacity >> 1) + (capacity >> 2);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return null != o && this.slotOf(o) != -1;
+    }
+
+    private int slotOf(final Object o) {
+        if (0 == this.table.length)
+            return -1;
+        final int mask = this.table.length - 1;
+        for (int i = spread(o) & mask; ; i = (i + 1) & mask) {
+            final Object current = this.table[i];
+            if (null == current)
+                return -1;
+            if (REMOVED != current && current.equals(o))
+                return i;
+        }
+    }
+
+    @Override
+    public boolean add(final E e) {
+        if (null == e)
+            throw new NullPointerException("element");
+        if (this.contains(e))
+            return false;
+        if (this.size + this.removed + 1 > threshold(this.table.length))
+            this.resize();
+        final int mask = this.table.length - 1;
+        int i = spread(e) & mask;
+        while (null != this.table[i] && REMOVED != this.table[i]) {
+            i = (i + 1) & mask;
+        }
+        if (REMOVED == this.table[i])
+            this.removed--;
+        this.table[i] = e;
+        this.size++;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (null == o)
+            return false;
+        final int i = this.slotOf(o);
+        if (-1 == i)
+            return false;
+        this.removeAt(i);
+        return true;
+    }
+
+    private void removeAt(final int i) {
+        this.table[i] = REMOVED;
+        this.size--;
+        this.removed++;
+        this.modCount++;
+        if (0 == this.size) {
+            this.table = EMPTY;
+            this.removed = 0;
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.table = EMPTY;
+        this.size = 0;
+        this.removed = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Rehash into the smallest table that leaves room for one more element, which also drops removal markers.
+     */
+    private void resize() {
+        int capacity = 2;
+        while (this.size + 1 > threshold(capacity)) {
+            capacity = capacity << 1;
+        }
+        final Object[] old = this.table;
+        this.table = new Object[capacity];
+        this.removed = 0;
+        final int mask = capacity - 1;
+        for (final Object o : old) {
+            if (null != o && REMOVED != o) {
+                int i = spread(o) & mask;
+                while (null != this.table[i]) {
+                    i = (i + 1) & mask;
+                }
+                this.table[i] = o;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final Object[] table = TinkerCompactSet.this.table;
+            private int next = this.advance(0);
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            private int advance(int i) {
+                while (i < this.table.length && (null == this.table[i] || REMOVED == this.table[i])) {
+                    i++;
+                }
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next < this.table.length;
+            }
+
+            @Override
+            public E next() {
+                if (this.expectedModCount != modCount)
+                    throw new ConcurrentModificationException();
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                this.last = this.next;
+                this.next = this.advance(this.next + 1);
+                return (E) this.table[this.last];
+            }
+
+            @Override
+            public void remove() {
+                if (-1 == this.last)
+                    throw new IllegalStateException();
+                if (this.expectedModCount != modCount)
+                    throw new ConcurrentModificationException();
+                // removal only ever marks the slot (or drops the table once empty) so iteration can carry on
+                removeAt(this.last);
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+        };
+    }
+}
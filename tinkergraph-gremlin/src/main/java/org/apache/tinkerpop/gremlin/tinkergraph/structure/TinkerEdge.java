@@ -60,6 +60,9 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         if (null == this.properties) this.properties = new HashMap<>();
         this.properties.put(key, newProperty);
         TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+        // properties given when the edge is added are logged along with the edge itself
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.journal && graph.edges.containsKey(this.id)) graph.journal.setEdgeProperty(this, key, value);
         return newProperty;
 
     }
@@ -91,7 +94,9 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         }
 
         TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        graph.edges.remove(this.id());
+        if (null != graph.journal) graph.journal.removeEdge(this);
         this.properties = null;
         this.removed = true;
     }
@@ -39,10 +39,13 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optim
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -115,6 +118,10 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_VERTEX_STORAGE = "gremlin.tinkergraph.vertexStorage";
+    public static final String GREMLIN_TINKERGRAPH_JOURNAL_SEGMENT_SIZE = "gremlin.tinkergraph.journalSegmentSize";
+    public static final String GREMLIN_TINKERGRAPH_JOURNAL_SYNC = "gremlin.tinkergraph.journalSync";
+    public static final String GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SEGMENTS = "gremlin.tinkergraph.journalCheckpointSegments";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
@@ -126,11 +133,13 @@ public final class TinkerGraph implements Graph {
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerJournal journal = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final VertexStorage vertexStorage;
 
     private final Configuration configuration;
     private final String graphLocation;
@@ -146,6 +155,8 @@ public final class TinkerGraph implements Graph {
         vertexPropertyIdManager = selectIdManager(configuration, GREMLIN_TINKERGRAPH_VERTEX_PROPERTY_ID_MANAGER, VertexProperty.class);
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
+        vertexStorage = VertexStorage.valueOf(
+                configuration.getString(GREMLIN_TINKERGRAPH_VERTEX_STORAGE, VertexStorage.STANDARD.name()));
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -154,7 +165,16 @@ public final class TinkerGraph implements Graph {
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
-        if (graphLocation != null) loadGraph();
+        if (graphLocation != null) {
+            if (graphFormat.equals("journal")) {
+                journal = new TinkerJournal(this, graphLocation,
+                        configuration.getInt(GREMLIN_TINKERGRAPH_JOURNAL_SEGMENT_SIZE, 64 * 1024 * 1024),
+                        configuration.getBoolean(GREMLIN_TINKERGRAPH_JOURNAL_SYNC, false),
+                        configuration.getInt(GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SEGMENTS, 4));
+                journal.open();
+            } else
+                loadGraph();
+        }
     }
 
     /**
@@ -203,6 +223,7 @@ public final class TinkerGraph implements Graph {
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
         this.vertices.put(vertex.id(), vertex);
+        if (null != this.journal) this.journal.addVertex(vertex);
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -245,11 +266,15 @@ public final class TinkerGraph implements Graph {
         this.vertexIndex = null;
         this.edgeIndex = null;
         this.graphComputerView = null;
+        if (null != this.journal) this.journal.clear();
     }
 
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (null != journal)
+            journal.close();
+        else if (graphLocation != null)
+            saveGraph();
     }
 
     @Override
@@ -477,12 +502,49 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        this.createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. If the key is already indexed with a different type, the existing index is rebuilt.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to build
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the combination of the
+     * said keys, which may include {@link org.apache.tinkerpop.gremlin.structure.T#label} by way of its accessor.
+     * The index is used when a traversal filters on equality for every one of the keys.  Creating a composite index
+     * with a single key is the same as calling {@link #createIndex(String, Class)}.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the property keys to index in combination
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final Class<E> elementClass, final String... keys) {
+        if (keys.length == 1) {
+            this.createIndex(keys[0], elementClass);
+        } else if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(Arrays.asList(keys));
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -505,6 +567,25 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the property keys of the composite index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropIndex(final Class<E> elementClass, final String... keys) {
+        if (keys.length == 1) {
+            this.dropIndex(keys[0], elementClass);
+        } else if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
     /**
      * Return all the keys currently being index for said element class  ({@link Vertex} or {@link Edge}).
      *
@@ -522,6 +603,74 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Return the key combinations of the composite indices for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indices for
+     * @param <E>          The type of the element class
+     * @return the set of key combinations currently being indexed
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexes(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the type of index on said key for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param key          the indexed property key
+     * @param elementClass the element class to get the index type for
+     * @param <E>          The type of the element class
+     * @return the type of the index or empty if the key is not indexed
+     */
+    public <E extends Element> Optional<IndexType> getIndexType(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Optional.empty() : Optional.ofNullable(this.vertexIndex.getIndexType(key));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Optional.empty() : Optional.ofNullable(this.edgeIndex.getIndexType(key));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * The types of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * A hash index that answers equality lookups.
+         */
+        HASH,
+
+        /**
+         * A sorted index that answers both equality and range ({@code gt}, {@code gte}, {@code lt}, {@code lte})
+         * lookups and that returns elements in ascending order of the indexed value.
+         */
+        SORTED
+    }
+
+    /**
+     * The ways in which a {@link TinkerVertex} can hold its adjacency and properties, as selected by the
+     * {@link #GREMLIN_TINKERGRAPH_VERTEX_STORAGE} setting.
+     */
+    public enum VertexStorage {
+        /**
+         * Hash maps and sets for adjacency and properties, which favors mutation of very large vertices.
+         */
+        STANDARD,
+
+        /**
+         * Label-partitioned edge arrays and inline property arrays, which use a fraction of the heap of
+         * {@link #STANDARD} storage for the typical vertex with a few labels and keys.
+         */
+        COMPACT
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
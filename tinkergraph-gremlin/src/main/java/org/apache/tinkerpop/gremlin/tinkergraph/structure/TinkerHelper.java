@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -64,36 +65,108 @@ public final class TinkerHelper {
         graph.edges.put(edge.id(), edge);
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
+        if (null != graph.journal) graph.journal.addEdge(edge);
         return edge;
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
+        final boolean compact = isCompact(vertex);
+        if (null == vertex.outEdges) vertex.outEdges = compact ? new TinkerCompactMap<>() : new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compact ? new TinkerCompactSet<>() : new HashSet<>();
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
+        final boolean compact = isCompact(vertex);
+        if (null == vertex.inEdges) vertex.inEdges = compact ? new TinkerCompactMap<>() : new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compact ? new TinkerCompactSet<>() : new HashSet<>();
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
+    protected static boolean isCompact(final TinkerVertex vertex) {
+        return TinkerGraph.VertexStorage.COMPACT == ((TinkerGraph) vertex.graph()).vertexStorage;
+    }
+
+    /**
+     * Get a copy of the vertices that have the value for the key.  Prefer {@link #iterateVertexIndex} which does not
+     * copy the posting list of the value.
+     */
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
-        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
+        return null == graph.vertexIndex ? Collections.emptyList() : new ArrayList<>(graph.vertexIndex.get(key, value));
     }
 
+    /**
+     * Get a copy of the edges that have the value for the key.  Prefer {@link #iterateEdgeIndex} which does not copy
+     * the posting list of the value.
+     */
     public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final Object value) {
-        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
+        return null == graph.edgeIndex ? Collections.emptyList() : new ArrayList<>(graph.edgeIndex.get(key, value));
+    }
+
+    public static Iterator<TinkerVertex> iterateVertexIndex(final TinkerGraph graph, final String key, final Object value) {
+        return null == graph.vertexIndex ? Collections.emptyIterator() : graph.vertexIndex.get(key, value).iterator();
+    }
+
+    public static Iterator<TinkerEdge> iterateEdgeIndex(final TinkerGraph graph, final String key, final Object value) {
+        return null == graph.edgeIndex ? Collections.emptyIterator() : graph.edgeIndex.get(key, value).iterator();
+    }
+
+    public static Iterator<TinkerVertex> iterateVertexIndex(final TinkerGraph graph, final String key,
+                                                            final Object lower, final boolean lowerInclusive,
+                                                            final Object upper, final boolean upperInclusive) {
+        return null == graph.vertexIndex ? Collections.emptyIterator() : graph.vertexIndex.getRange(key, lower, lowerInclusive, upper, upperInclusive).iterator();
+    }
+
+    public static Iterator<TinkerEdge> iterateEdgeIndex(final TinkerGraph graph, final String key,
+                                                        final Object lower, final boolean lowerInclusive,
+                                                        final Object upper, final boolean upperInclusive) {
+        return null == graph.edgeIndex ? Collections.emptyIterator() : graph.edgeIndex.getRange(key, lower, lowerInclusive, upper, upperInclusive).iterator();
+    }
+
+    /**
+     * Get the elements that have the values for the keys from the composite index over the keys or, if there is only
+     * a single key, from the index for that key.
+     */
+    public static Iterator<? extends Element> queryIndex(final TinkerGraph graph, final Class<? extends Element> elementClass,
+                                                         final List<String> keys, final List<Object> values) {
+        final TinkerIndex<?> index = getIndex(graph, elementClass);
+        return null == index ? Collections.emptyIterator() : index.get(keys, values).iterator();
+    }
+
+    /**
+     * Count the elements that have the values for the keys as given by {@link #queryIndex}.
+     */
+    public static long countIndex(final TinkerGraph graph, final Class<? extends Element> elementClass,
+                                  final List<String> keys, final List<Object> values) {
+        final TinkerIndex<?> index = getIndex(graph, elementClass);
+        return null == index ? 0 : index.count(keys, values);
+    }
+
+    /**
+     * Determine if the element is in the postings of the index for the keys and values.
+     */
+    public static boolean isIndexed(final TinkerGraph graph, final Element element,
+                                    final List<String> keys, final List<Object> values) {
+        final TinkerIndex index = getIndex(graph, element.getClass());
+        return null != index && index.contains(keys, values, element);
+    }
+
+    private static TinkerIndex<?> getIndex(final TinkerGraph graph, final Class<? extends Element> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass))
+            return graph.vertexIndex;
+        else if (Edge.class.isAssignableFrom(elementClass))
+            return graph.edgeIndex;
+        else
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
     }
 
     public static boolean inComputerMode(final TinkerGraph graph) {
@@ -143,13 +216,13 @@ public final class TinkerHelper {
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
-            graph.vertexIndex.remove(key, value, vertex);
+            graph.vertexIndex.autoRemove(key, value, vertex);
     }
 
     public static void removeIndex(final TinkerEdge edge, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
-            graph.edgeIndex.remove(key, value, edge);
+            graph.edgeIndex.autoRemove(key, value, edge);
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
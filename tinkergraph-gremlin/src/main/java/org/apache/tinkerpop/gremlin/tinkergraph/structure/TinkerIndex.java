@@ -22,56 +22,155 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * The number of locks that writers to posting lists are striped over. Readers never lock.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * The largest magnitude up to which every long is exactly representable as a double.
+     */
+    private static final long MAX_EXACT_DOUBLE = 1l << 53;
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> indexedKeys = ConcurrentHashMap.newKeySet();
+    private final Map<String, TinkerGraph.IndexType> indexTypes = new ConcurrentHashMap<>();
+    protected Map<List<String>, Map<List<Object>, Set<T>>> compositeIndex = new ConcurrentHashMap<>();
+    private final Set<List<String>> compositeKeys = new CopyOnWriteArraySet<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
         this.graph = graph;
         this.indexClass = indexClass;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new Object();
+        }
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
-            this.index.put(key, keyMap);
-        }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            objects = new HashSet<>();
-            keyMap.put(value, objects);
+        final Map<Object, Set<T>> keyMap = this.index.computeIfAbsent(key, k ->
+                TinkerGraph.IndexType.SORTED == this.indexTypes.get(k) ?
+                        new ConcurrentSkipListMap<Object, Set<T>>(new ValueComparator()) :
+                        new ConcurrentHashMap<Object, Set<T>>());
+        synchronized (this.lock(key, value)) {
+            Set<T> objects = keyMap.get(value);
+            if (null == objects) {
+                if (keyMap instanceof ConcurrentSkipListMap)
+                    comparator(keyMap).retain(value);
+                objects = ConcurrentHashMap.newKeySet();
+                keyMap.put(value, objects);
+            }
+            objects.add(element);
         }
-        objects.add(element);
-
     }
 
-    public List<T> get(final String key, final Object value) {
+    /**
+     * Get a read-only view of the elements that have the value for the key.  The view is backed by the index so
+     * iterating it does not copy the posting list, and it reflects concurrent updates.
+     */
+    public Set<T> get(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
-            return Collections.emptyList();
+            return Collections.emptySet();
         } else {
-            Set<T> set = keyMap.get(value);
+            final Set<T> set = keyMap.get(value);
             if (null == set)
-                return Collections.emptyList();
+                return Collections.emptySet();
             else
-                return new ArrayList<>(set);
+                return Collections.unmodifiableSet(set);
+        }
+    }
+
+    /**
+     * Get a read-only view of the elements whose value for the key falls within the provided bounds.  A {@code null}
+     * bound leaves that end of the range open.  Elements are returned in ascending value order and only values that
+     * are comparable to the bounds (i.e. numbers against numbers, strings against strings) are considered.  The view
+     * is backed by the index so iterating it does not copy the postings of the range.  As a vertex with several values
+     * in the range is only returned once, iterating the view reads the properties of the vertices, which must not be
+     * modified concurrently.  This method requires the key to be indexed with {@link TinkerGraph.IndexType#SORTED}.
+     */
+    public Iterable<T> getRange(final String key, final Object lower, final boolean lowerInclusive,
+                                final Object upper, final boolean upperInclusive) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null == keyMap)
+            return Collections.emptyList();
+        if (!(keyMap instanceof NavigableMap))
+            throw new IllegalStateException("The key is not indexed with " + TinkerGraph.IndexType.SORTED + ": " + key);
+
+        if (null != lower && null != upper && (!family(lower).equals(family(upper)) || comparator(keyMap).compare(lower, upper) > 0))
+            return Collections.emptyList();
+
+        final Object family = null == lower ? upper : lower;
+        final NavigableMap<Object, Set<T>> range = ((NavigableMap<Object, Set<T>>) keyMap).subMap(
+                null == lower ? new Bound(family, true) : lower, null == lower || lowerInclusive,
+                null == upper ? new Bound(family, false) : upper, null == upper || upperInclusive);
+
+        // a multi-property may place the same element in several postings of the range so an element is only
+        // returned from the posting of its lowest value within the range
+        return () -> IteratorUtils.flatMap(range.entrySet().iterator(), entry -> IteratorUtils.filter(
+                entry.getValue().iterator(), element -> isLowestInRange(element, key, entry.getKey(), range)));
+    }
+
+    private static boolean isLowestInRange(final Element element, final String key, final Object value,
+                                           final NavigableMap<Object, ?> range) {
+        if (!(element instanceof Vertex))
+            return true;
+        final Iterator<? extends Property<Object>> properties = element.properties(key);
+        while (properties.hasNext()) {
+            final Object other = properties.next().value();
+            if (range.comparator().compare(other, value) < 0 && range.containsKey(other))
+                return false;
         }
+        return true;
+    }
+
+    /**
+     * Get the elements that have the values for the keys, using the composite index over the keys or, if there is
+     * only a single key, the index for that key.
+     */
+    public Set<T> get(final List<String> keys, final List<Object> values) {
+        if (keys.size() == 1)
+            return this.get(keys.get(0), values.get(0));
+        final Set<T> set = this.compositeIndex.getOrDefault(keys, Collections.emptyMap()).get(values);
+        return null == set ? Collections.emptySet() : Collections.unmodifiableSet(set);
+    }
+
+    public long count(final List<String> keys, final List<Object> values) {
+        if (keys.size() == 1)
+            return this.count(keys.get(0), values.get(0));
+        final Set<T> set = this.compositeIndex.getOrDefault(keys, Collections.emptyMap()).get(values);
+        return null == set ? 0 : set.size();
+    }
+
+    public boolean contains(final List<String> keys, final List<Object> values, final T element) {
+        final Set<T> set = keys.size() == 1 ?
+                this.index.getOrDefault(keys.get(0), Collections.emptyMap()).get(values.get(0)) :
+                this.compositeIndex.getOrDefault(keys, Collections.emptyMap()).get(values);
+        return null != set && set.contains(element);
     }
 
     public long count(final String key, final Object value) {
@@ -90,11 +189,15 @@ final class TinkerIndex<T extends Element> {
     public void remove(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
+            synchronized (this.lock(key, value)) {
+                final Set<T> objects = keyMap.get(value);
+                if (null != objects) {
+                    objects.remove(element);
+                    if (objects.isEmpty()) {
+                        keyMap.remove(value);
+                        if (keyMap instanceof ConcurrentSkipListMap)
+                            comparator(keyMap).release(value);
+                    }
                 }
             }
         }
@@ -107,6 +210,11 @@ final class TinkerIndex<T extends Element> {
                     set.remove(element);
                 }
             }
+            for (Map<List<Object>, Set<T>> map : compositeIndex.values()) {
+                for (Set<T> set : map.values()) {
+                    set.remove(element);
+                }
+            }
         }
     }
 
@@ -116,21 +224,142 @@ final class TinkerIndex<T extends Element> {
                 this.remove(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        if (!this.compositeKeys.isEmpty()) {
+            // the element already holds the new value so its previous state is rebuilt from the current one
+            final Set<Object> newValues = values(element, key);
+            final Set<Object> oldValues = new LinkedHashSet<>(newValues);
+            oldValues.remove(newValue);
+            if (oldValue != null)
+                oldValues.add(oldValue);
+            this.updateComposites(key, oldValues, newValues, element);
+        }
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key))
             this.remove(key, oldValue, element);
+        if (!this.compositeKeys.isEmpty()) {
+            // the element no longer holds the old value so its previous state is rebuilt from the current one
+            final Set<Object> newValues = values(element, key);
+            final Set<Object> oldValues = new LinkedHashSet<>(newValues);
+            oldValues.add(oldValue);
+            this.updateComposites(key, oldValues, newValues, element);
+        }
+    }
+
+    private void updateComposites(final String key, final Set<Object> oldValues, final Set<Object> newValues, final T element) {
+        for (final List<String> keys : this.compositeKeys) {
+            if (!keys.contains(key))
+                continue;
+            final Map<List<Object>, Set<T>> valuesMap = this.compositeIndex.get(keys);
+            if (null == valuesMap)
+                continue;
+            for (final List<Object> values : tuples(element, keys, key, oldValues)) {
+                synchronized (this.lock(keys, values)) {
+                    final Set<T> objects = valuesMap.get(values);
+                    if (null != objects) {
+                        objects.remove(element);
+                        if (objects.isEmpty())
+                            valuesMap.remove(values);
+                    }
+                }
+            }
+            for (final List<Object> values : tuples(element, keys, key, newValues)) {
+                this.compositePut(keys, valuesMap, values, element);
+            }
+        }
+    }
+
+    /**
+     * Computes every combination of values the element has for the keys, using the provided values for the
+     * override key. A multi-property contributes one combination per value.
+     */
+    private static List<List<Object>> tuples(final Element element, final List<String> keys,
+                                             final String overrideKey, final Set<Object> overrideValues) {
+        List<List<Object>> tuples = Collections.singletonList(Collections.emptyList());
+        for (final String key : keys) {
+            final Set<Object> values = key.equals(overrideKey) ? overrideValues : values(element, key);
+            if (values.isEmpty())
+                return Collections.emptyList();
+            final List<List<Object>> expanded = new ArrayList<>(tuples.size() * values.size());
+            for (final List<Object> tuple : tuples) {
+                for (final Object value : values) {
+                    final List<Object> next = new ArrayList<>(keys.size());
+                    next.addAll(tuple);
+                    next.add(value);
+                    expanded.add(next);
+                }
+            }
+            tuples = expanded;
+        }
+        return tuples;
+    }
+
+    private static Set<Object> values(final Element element, final String key) {
+        if (org.apache.tinkerpop.gremlin.structure.T.label.getAccessor().equals(key))
+            return Collections.singleton(element.label());
+        final Set<Object> values = new LinkedHashSet<>();
+        element.properties(key).forEachRemaining(property -> values.add(property.value()));
+        return values;
+    }
+
+    public void createCompositeIndex(final List<String> keys) {
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys: " + keys);
+        for (final String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+
+        final List<String> compositeKey = Collections.unmodifiableList(new ArrayList<>(keys));
+        if (this.compositeKeys.contains(compositeKey))
+            return;
+        this.compositeKeys.add(compositeKey);
+
+        final Map<List<Object>, Set<T>> valuesMap = new ConcurrentHashMap<>();
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>parallelStream() :
+                this.graph.edges.values().<T>parallelStream())
+                .forEach(e -> tuples(e, compositeKey, null, null)
+                        .forEach(values -> this.compositePut(compositeKey, valuesMap, values, (T) e)));
+        this.compositeIndex.put(compositeKey, valuesMap);
+    }
+
+    private void compositePut(final List<String> keys, final Map<List<Object>, Set<T>> valuesMap,
+                              final List<Object> values, final T element) {
+        synchronized (this.lock(keys, values)) {
+            valuesMap.computeIfAbsent(values, v -> ConcurrentHashMap.newKeySet()).add(element);
+        }
+    }
+
+    public void dropCompositeIndex(final List<String> keys) {
+        if (this.compositeIndex.containsKey(keys))
+            this.compositeIndex.remove(keys).clear();
+
+        this.compositeKeys.remove(keys);
+    }
+
+    public Set<List<String>> getCompositeKeys() {
+        return this.compositeKeys;
     }
 
-    public void createKeyIndex(final String key) {
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
-            return;
+        if (this.indexedKeys.contains(key)) {
+            if (this.indexTypes.get(key) == indexType)
+                return;
+            this.dropKeyIndex(key);
+        }
+        // the type has to be known before writers see the key as indexed
+        this.indexTypes.put(key, indexType);
         this.indexedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
@@ -146,9 +375,190 @@ final class TinkerIndex<T extends Element> {
             this.index.remove(key).clear();
 
         this.indexedKeys.remove(key);
+        this.indexTypes.remove(key);
     }
 
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        return this.indexTypes.get(key);
+    }
+
+    /**
+     * Selects the lock stripe that guards the posting list of the value for the key. Values that a
+     * {@link TinkerGraph.IndexType#SORTED} index treats as equal (like {@code 1} and {@code 1l}) share a posting list
+     * and so must hash to the same stripe.
+     */
+    private Object lock(final Object key, final Object value) {
+        final int valueHash = value instanceof Number ? numberHash((Number) value) : value.hashCode();
+        return this.locks[(31 * key.hashCode() + valueHash) & (LOCK_STRIPES - 1)];
+    }
+
+    private static ValueComparator comparator(final Map<Object, ?> keyMap) {
+        return (ValueComparator) ((ConcurrentSkipListMap<Object, ?>) keyMap).comparator();
+    }
+
+    /**
+     * Hashes a number by the value that {@link #compareNumbers(Number, Number)} compares it by, so that numbers of
+     * different types that compare as equal also hash as equal.
+     */
+    private static int numberHash(final Number number) {
+        if (isIntegral(number))
+            return Long.hashCode(number.longValue());
+        final BigDecimal decimal;
+        try {
+            decimal = new BigDecimal(number.toString()).stripTrailingZeros();
+        } catch (NumberFormatException nfe) {
+            // NaN and infinity have no BigDecimal representation
+            return Double.hashCode(number.doubleValue());
+        }
+        try {
+            return Long.hashCode(decimal.longValueExact());
+        } catch (ArithmeticException ae) {
+            return decimal.hashCode();
+        }
+    }
+
+    /**
+     * Orders values for a {@link TinkerGraph.IndexType#SORTED} index.  Values are first grouped by their family (all
+     * {@link Number} types form one family so that {@code 1} and {@code 1l} sort together, as they do for
+     * {@link org.apache.tinkerpop.gremlin.process.traversal.Compare}) and then ordered naturally within the family.
+     * Numbers are always ordered by {@link #compareNumbers(Number, Number)}, whatever their types, so that the order
+     * stays transitive.  Values that are not {@link Comparable} are ordered by hash code, then by their string form
+     * and then by the order in which they were first found to tie, so that unequal values never share a posting list.
+     * Every sorted index has its own comparator, which only holds the tie breaks of the values that are in the index
+     * and, weakly, of the values that were looked up.
+     */
+    static final class ValueComparator implements Comparator<Object> {
+        private final Map<Object, Long> tieBreaks = new WeakHashMap<>();
+        private long tieBreakSequence = 0l;
+
+        @Override
+        public int compare(final Object first, final Object second) {
+            final int familyComparison = family(first).compareTo(family(second));
+            if (familyComparison != 0)
+                return familyComparison;
+            else if (first instanceof Bound)
+                return first == second ? 0 : ((Bound) first).lowest ? -1 : 1;
+            else if (second instanceof Bound)
+                return ((Bound) second).lowest ? 1 : -1;
+            else if (first instanceof Number)
+                return compareNumbers((Number) first, (Number) second);
+            else if (first instanceof Comparable)
+                return ((Comparable) first).compareTo(second);
+            else if (first.equals(second))
+                return 0;
+
+            final int hashComparison = Integer.compare(first.hashCode(), second.hashCode());
+            if (hashComparison != 0)
+                return hashComparison;
+            final int stringComparison = first.toString().compareTo(second.toString());
+            if (stringComparison != 0)
+                return stringComparison;
+            synchronized (this.tieBreaks) {
+                return Long.compare(this.tieBreak(first), this.tieBreak(second));
+            }
+        }
+
+        private long tieBreak(final Object value) {
+            return this.tieBreaks.computeIfAbsent(value, v -> ++this.tieBreakSequence);
+        }
+
+        /**
+         * Keys the tie break of a value that is about to be added to the index by the added instance, so that the
+         * tie break lives as long as the posting list of the value does.  This must be called before the value is
+         * added.
+         */
+        void retain(final Object value) {
+            if (value instanceof Comparable || value instanceof Number)
+                return;
+            synchronized (this.tieBreaks) {
+                final Long tieBreak = this.tieBreaks.remove(value);
+                this.tieBreaks.put(value, null == tieBreak ? ++this.tieBreakSequence : tieBreak);
+            }
+        }
+
+        /**
+         * Forgets the tie break of a value once its posting list is removed from the index.
+         */
+        void release(final Object value) {
+            if (value instanceof Comparable || value instanceof Number)
+                return;
+            synchronized (this.tieBreaks) {
+                this.tieBreaks.remove(value);
+            }
+        }
+    }
+
+    /**
+     * Compares numbers by value, whatever their types.  Negative infinity sorts before and positive infinity after
+     * every finite number, with NaN last and equal to itself.  Integral numbers are compared as longs and doubles
+     * against doubles or integral numbers that a double holds exactly are compared as doubles, with {@code -0.0}
+     * equal to {@code 0.0}.  Other combinations (e.g. a float and a double or a {@link BigDecimal}) are compared by
+     * the {@link BigDecimal} of their string form, as {@link org.apache.tinkerpop.gremlin.process.traversal.Compare}
+     * does.
+     */
+    private static int compareNumbers(final Number first, final Number second) {
+        final int firstRank = rank(first);
+        final int secondRank = rank(second);
+        if (firstRank != 0 || secondRank != 0)
+            return Integer.compare(firstRank, secondRank);
+        if (isIntegral(first) && isIntegral(second))
+            return Long.compare(first.longValue(), second.longValue());
+        if (isExactDouble(first) && isExactDouble(second))
+            return Double.compare(first.doubleValue() + 0.0d, second.doubleValue() + 0.0d);  // + 0.0d folds -0.0 into 0.0
+        try {
+            return new BigDecimal(first.toString()).compareTo(new BigDecimal(second.toString()));
+        } catch (NumberFormatException nfe) {
+            // a number type whose string form is not a decimal
+            return Double.compare(first.doubleValue() + 0.0d, second.doubleValue() + 0.0d);
+        }
+    }
+
+    /**
+     * Ranks the numbers that have no {@link BigDecimal} representation against the finite numbers, which rank
+     * {@code 0}.
+     */
+    private static int rank(final Number number) {
+        if (!(number instanceof Double || number instanceof Float))
+            return 0;
+        final double value = number.doubleValue();
+        if (Double.isNaN(value))
+            return 2;
+        else if (Double.isInfinite(value))
+            return value > 0 ? 1 : -1;
+        else
+            return 0;
+    }
+
+    private static boolean isIntegral(final Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    private static boolean isExactDouble(final Number number) {
+        if (number instanceof Double)
+            return Double.isFinite(number.doubleValue());
+        return isIntegral(number) && number.longValue() >= -MAX_EXACT_DOUBLE && number.longValue() <= MAX_EXACT_DOUBLE;
+    }
+
+    private static String family(final Object value) {
+        if (value instanceof Bound)
+            return ((Bound) value).family;
+        return value instanceof Number ? Number.class.getName() : value.getClass().getName();
+    }
+
+    /**
+     * A sentinel that sorts before or after every value of a family and is used to close open-ended ranges.
+     */
+    private static final class Bound {
+        private final String family;
+        private final boolean lowest;
+
+        private Bound(final Object value, final boolean lowest) {
+            this.family = TinkerIndex.family(value);
+            this.lowest = lowest;
+        }
+    }
 }
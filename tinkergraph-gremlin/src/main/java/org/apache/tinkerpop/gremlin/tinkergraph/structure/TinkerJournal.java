@@ -0,0 +1,637 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Gives a {@link TinkerGraph} incremental durability by persisting it as a Gryo snapshot plus an append-only log of
+ * the changes made since that snapshot, so that each mutation is logged as soon as it is made rather than when the
+ * graph is closed.  It is not an off-heap store: the graph is still held on the heap and opening the journal reads
+ * the whole snapshot before replaying the log.
+ * <p/>
+ * The log is written to segment files of {@link TinkerGraph#GREMLIN_TINKERGRAPH_JOURNAL_SEGMENT_SIZE} bytes, through
+ * a mapping of each segment.  Each record is framed by its length and a CRC32 so that a record torn by a crash is
+ * detected and the log is replayed up to the last complete record.  A snapshot named for a segment number holds all
+ * changes logged to lower numbered segments, so a crash between writing a snapshot and deleting the segments it
+ * covers does not replay those changes twice.  Closing the graph writes a new snapshot and discards the log.  So that
+ * the log does not grow without bound on a graph that stays open, a checkpoint writes a snapshot in the same way once
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SEGMENTS} segments have been filled since the last one.
+ * As the graph may change while a checkpoint writes it, replay skips additions that the snapshot already holds.
+ * <p/>
+ * By default, records are written to a mapping of the segment, which the operating system writes to disk in its own
+ * time, and the mapping is only forced when the segment is filled or the graph is closed.  Every logged change then
+ * survives a failure of the process, but an operating system failure or a loss of power may lose the changes of the
+ * segment being written.  With {@link TinkerGraph#GREMLIN_TINKERGRAPH_JOURNAL_SYNC} enabled, records are written
+ * through the channel of the segment rather than its mapping and forced as they are written, so that every logged
+ * change survives those failures too and each force only has to write the record.  Snapshots are forced to disk
+ * before the segments they cover are deleted in either case.
+ * <p/>
+ * Only one graph may have the journal open at a time.  Opening it takes an exclusive lock on a file in its directory
+ * that is held until the graph is closed, as each graph would otherwise discard the changes of the others when it
+ * writes a snapshot of its own.
+ */
+final class TinkerJournal {
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".kryo";
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String LOCK_FILE = "journal.lock";
+
+    /**
+     * The length and checksum that precede each record.
+     */
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte ADD_EDGE = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte ADD_VERTEX_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX_PROPERTY = 6;
+    private static final byte SET_META_PROPERTY = 7;
+    private static final byte REMOVE_META_PROPERTY = 8;
+    private static final byte SET_EDGE_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+
+    private final TinkerGraph graph;
+    private final File directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final int checkpointSegments;
+    private final Kryo kryo;
+    private final Output output = new Output(4096, -1);
+    private final CRC32 crc = new CRC32();
+
+    private int segment = -1;
+    private int snapshot = 0;
+    private FileChannel channel = null;
+    private MappedByteBuffer buffer = null;
+    private ByteBuffer frame = null;
+    private int position = 0;
+    private int capacity = 0;
+    private boolean replaying = false;
+    private FileChannel lockChannel = null;
+    private FileLock lock = null;
+
+    TinkerJournal(final TinkerGraph graph, final String location, final int segmentSize, final boolean sync,
+                  final int checkpointSegments) {
+        this.graph = graph;
+        this.directory = new File(location);
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.checkpointSegments = checkpointSegments;
+        this.kryo = graph.io(IoCore.gryo()).mapper().create().createMapper();
+    }
+
+    /**
+     * Lock the journal, load the latest snapshot, replay the log written since it and continue the log after the last
+     * complete record of the latest segment.
+     */
+    void open() {
+        if (!this.directory.exists())
+            this.directory.mkdirs();
+        else if (!this.directory.isDirectory())
+            throw new IllegalStateException(String.format("The journal location %s is not a directory", this.directory));
+
+        this.lock();
+        try {
+            this.load();
+        } catch (RuntimeException re) {
+            this.release();
+            this.unlock();
+            throw re;
+        }
+    }
+
+    private void load() {
+        final int snapshot = this.latest(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        int end = 0;
+        this.replaying = true;
+        try {
+            if (snapshot >= 0)
+                this.graph.io(IoCore.gryo()).readGraph(this.file(SNAPSHOT_PREFIX, snapshot, SNAPSHOT_SUFFIX).getPath());
+            for (final int number : this.numbers(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+                if (number >= snapshot)
+                    end = this.replay(this.file(SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+            }
+        } catch (IOException ioe) {
+            throw new IllegalStateException(String.format("Could not load graph from journal at %s", this.directory), ioe);
+        } finally {
+            this.replaying = false;
+        }
+
+        this.snapshot = Math.max(snapshot, 0);
+        final int latest = this.latest(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        if (latest >= Math.max(snapshot, 0))
+            this.map(latest, end, 0);
+        else
+            this.map(Math.max(snapshot, 0), 0, 0);
+    }
+
+    /**
+     * Write a snapshot of the graph and discard the segments and older snapshots it makes redundant.
+     */
+    synchronized void close() {
+        this.release();
+        try {
+            this.snapshot(this.segment + 1);
+        } finally {
+            this.unlock();
+        }
+    }
+
+    /**
+     * Write a snapshot of the graph that holds all changes logged to segments numbered below the specified one and
+     * delete those segments along with older snapshots.
+     */
+    private void snapshot(final int snapshot) {
+        final File target = this.file(SNAPSHOT_PREFIX, snapshot, SNAPSHOT_SUFFIX);
+        final File temp = new File(this.directory, target.getName() + ".tmp");
+        try {
+            this.graph.io(IoCore.gryo()).writeGraph(temp.getPath());
+            // the snapshot has to be on disk before the segments it replaces are deleted
+            try (final FileChannel written = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) {
+                written.force(true);
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            throw new IllegalStateException(String.format("Could not save graph to journal at %s", this.directory), ioe);
+        }
+        for (final int number : this.numbers(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (number < snapshot) this.file(SEGMENT_PREFIX, number, SEGMENT_SUFFIX).delete();
+        }
+        for (final int number : this.numbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (number < snapshot) this.file(SNAPSHOT_PREFIX, number, SNAPSHOT_SUFFIX).delete();
+        }
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Discard all persisted state as the graph has been cleared.
+     */
+    synchronized void clear() {
+        this.release();
+        for (final int number : this.numbers(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            this.file(SEGMENT_PREFIX, number, SEGMENT_SUFFIX).delete();
+        }
+        for (final int number : this.numbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            this.file(SNAPSHOT_PREFIX, number, SNAPSHOT_SUFFIX).delete();
+        }
+        this.snapshot = 0;
+        this.map(0, 0, 0);
+    }
+
+    ////////////// CHANGES //////////////////
+
+    void addVertex(final Vertex vertex) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(ADD_VERTEX);
+            this.kryo.writeClassAndObject(this.output, vertex.id());
+            this.output.writeString(vertex.label());
+            this.commit();
+        }
+    }
+
+    void removeVertex(final Vertex vertex) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(REMOVE_VERTEX);
+            this.kryo.writeClassAndObject(this.output, vertex.id());
+            this.commit();
+        }
+    }
+
+    /**
+     * Log a new edge along with the properties it was created with.
+     */
+    void addEdge(final Edge edge) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(ADD_EDGE);
+            this.kryo.writeClassAndObject(this.output, edge.id());
+            this.output.writeString(edge.label());
+            this.kryo.writeClassAndObject(this.output, edge.outVertex().id());
+            this.kryo.writeClassAndObject(this.output, edge.inVertex().id());
+            final List<Property> properties = new ArrayList<>();
+            edge.properties().forEachRemaining(properties::add);
+            this.output.writeInt(properties.size(), true);
+            for (final Property property : properties) {
+                this.output.writeString(property.key());
+                this.kryo.writeClassAndObject(this.output, property.value());
+            }
+            this.commit();
+        }
+    }
+
+    void removeEdge(final Edge edge) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(REMOVE_EDGE);
+            this.kryo.writeClassAndObject(this.output, edge.id());
+            this.commit();
+        }
+    }
+
+    void addVertexProperty(final VertexProperty<?> vertexProperty) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(ADD_VERTEX_PROPERTY);
+            this.kryo.writeClassAndObject(this.output, vertexProperty.element().id());
+            this.kryo.writeClassAndObject(this.output, vertexProperty.id());
+            this.output.writeString(vertexProperty.key());
+            this.kryo.writeClassAndObject(this.output, vertexProperty.value());
+            this.commit();
+        }
+    }
+
+    void removeVertexProperty(final VertexProperty<?> vertexProperty) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(REMOVE_VERTEX_PROPERTY);
+            this.writeVertexProperty(vertexProperty);
+            this.commit();
+        }
+    }
+
+    void setMetaProperty(final VertexProperty<?> vertexProperty, final String key, final Object value) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(SET_META_PROPERTY);
+            this.writeVertexProperty(vertexProperty);
+            this.output.writeString(key);
+            this.kryo.writeClassAndObject(this.output, value);
+            this.commit();
+        }
+    }
+
+    void removeMetaProperty(final VertexProperty<?> vertexProperty, final String key) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(REMOVE_META_PROPERTY);
+            this.writeVertexProperty(vertexProperty);
+            this.output.writeString(key);
+            this.commit();
+        }
+    }
+
+    void setEdgeProperty(final Edge edge, final String key, final Object value) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(SET_EDGE_PROPERTY);
+            this.kryo.writeClassAndObject(this.output, edge.id());
+            this.output.writeString(key);
+            this.kryo.writeClassAndObject(this.output, value);
+            this.commit();
+        }
+    }
+
+    void removeEdgeProperty(final Edge edge, final String key) {
+        if (this.replaying) return;
+        synchronized (this) {
+            this.begin(REMOVE_EDGE_PROPERTY);
+            this.kryo.writeClassAndObject(this.output, edge.id());
+            this.output.writeString(key);
+            this.commit();
+        }
+    }
+
+    private void writeVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.kryo.writeClassAndObject(this.output, vertexProperty.element().id());
+        this.kryo.writeClassAndObject(this.output, vertexProperty.id());
+        this.output.writeString(vertexProperty.key());
+    }
+
+    ////////////// LOG //////////////////
+
+    private void begin(final byte operation) {
+        if (null == this.channel)
+            throw new IllegalStateException(String.format("The journal at %s is closed", this.directory));
+        this.output.clear();
+        this.output.writeByte(operation);
+    }
+
+    private void commit() {
+        final int length = this.output.position();
+        // leave room for the zero length that marks the end of the log
+        if (this.capacity - this.position < HEADER_SIZE + length + 4)
+            this.roll(HEADER_SIZE + length + 4);
+        this.crc.reset();
+        this.crc.update(this.output.getBuffer(), 0, length);
+        final int start = this.position;
+        if (this.sync)
+            this.writeAndForce(start, length);
+        else {
+            this.buffer.position(start + 4);
+            this.buffer.putInt((int) this.crc.getValue());
+            this.buffer.put(this.output.getBuffer(), 0, length);
+            this.buffer.putInt(0);
+            // the length goes in last so that a reader never sees a record before all of it is written
+            this.buffer.putInt(start, length);
+        }
+        this.position = start + HEADER_SIZE + length;
+    }
+
+    /**
+     * Write the record through the channel and force it to disk.  As every record is forced as soon as it is
+     * written, the record is the only data the force has to write, whereas forcing the mapping syncs all of it.
+     */
+    private void writeAndForce(final int start, final int length) {
+        final int size = HEADER_SIZE + length + 4;
+        if (null == this.frame || this.frame.capacity() < size)
+            this.frame = ByteBuffer.allocate(Math.max(size, 4096));
+        this.frame.clear();
+        this.frame.putInt(length).putInt((int) this.crc.getValue()).put(this.output.getBuffer(), 0, length).putInt(0);
+        this.frame.flip();
+        try {
+            long offset = start;
+            while (this.frame.hasRemaining()) {
+                offset = offset + this.channel.write(this.frame, offset);
+            }
+            this.channel.force(false);
+        } catch (IOException ioe) {
+            throw new IllegalStateException(String.format("Could not write to journal segment %s",
+                    this.file(SEGMENT_PREFIX, this.segment, SEGMENT_SUFFIX)), ioe);
+        }
+    }
+
+    /**
+     * Start the next segment, which is made large enough to hold at least the specified number of bytes, and
+     * checkpoint the log if enough segments have been filled since the last snapshot.
+     */
+    private void roll(final int minimumSize) {
+        this.map(this.segment + 1, 0, minimumSize);
+        if (this.checkpointSegments > 0 && this.segment - this.snapshot >= this.checkpointSegments)
+            this.snapshot(this.segment);
+    }
+
+    /**
+     * Open a segment, which is made large enough to hold at least the specified number of bytes, for records to be
+     * written to from the specified position on.
+     */
+    private void map(final int segment, final int position, final int minimumSize) {
+        this.release();
+        this.segment = segment;
+        final File file = this.file(SEGMENT_PREFIX, segment, SEGMENT_SUFFIX);
+        try {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.capacity = (int) Math.max(Math.max(this.segmentSize, minimumSize), this.channel.size());
+            if (!this.sync)
+                this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+            this.position = position;
+            // a record torn by a crash may follow the last complete record so the end of the log is marked again
+            if (this.sync)
+                this.channel.write(ByteBuffer.allocate(4), position);
+            else
+                this.buffer.putInt(position, 0);
+        } catch (IOException ioe) {
+            this.release();
+            throw new IllegalStateException(String.format("Could not open journal segment %s", file), ioe);
+        }
+    }
+
+    /**
+     * Take the exclusive lock on the journal, failing if another graph, in this process or any other, holds it.
+     */
+    private void lock() {
+        final File file = new File(this.directory, LOCK_FILE);
+        try {
+            this.lockChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                this.lock = this.lockChannel.tryLock();
+            } catch (OverlappingFileLockException ofle) {
+                // held by another graph of this process
+                this.lock = null;
+            }
+        } catch (IOException ioe) {
+            this.unlock();
+            throw new IllegalStateException(String.format("Could not lock journal at %s", this.directory), ioe);
+        }
+
+        if (null == this.lock) {
+            this.unlock();
+            throw new IllegalStateException(String.format("The journal at %s is already open by another graph", this.directory));
+        }
+    }
+
+    private void unlock() {
+        if (null != this.lockChannel) {
+            try {
+                // closing the channel releases the lock
+                this.lockChannel.close();
+            } catch (IOException ignored) {
+                // the lock is released with the process in any case
+            }
+            this.lockChannel = null;
+            this.lock = null;
+        }
+    }
+
+    private void release() {
+        if (null != this.buffer) {
+            this.buffer.force();
+            this.buffer = null;
+        }
+        if (null != this.channel) {
+            try {
+                this.channel.close();
+            } catch (IOException ignored) {
+                // nothing left to write to it
+            }
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Replay the complete records of a segment, which are read one at a time, and return the position that follows
+     * the last of them.
+     */
+    private int replay(final File file) throws IOException {
+        final long size = file.length();
+        int position = 0;
+        byte[] record = new byte[4096];
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                final int length;
+                final int checksum;
+                try {
+                    length = input.readInt();
+                    checksum = input.readInt();
+                } catch (EOFException eof) {
+                    return position;
+                }
+                if (length <= 0 || position + HEADER_SIZE + length > size)
+                    return position;
+                if (record.length < length)
+                    record = new byte[Math.max(length, record.length * 2)];
+                try {
+                    input.readFully(record, 0, length);
+                } catch (EOFException eof) {
+                    return position;
+                }
+                this.crc.reset();
+                this.crc.update(record, 0, length);
+                if ((int) this.crc.getValue() != checksum)
+                    return position;
+                this.apply(new Input(record, 0, length));
+                position = position + HEADER_SIZE + length;
+            }
+        }
+    }
+
+    private void apply(final Input input) {
+        final byte operation = input.readByte();
+        switch (operation) {
+            case ADD_VERTEX: {
+                final Object id = this.kryo.readClassAndObject(input);
+                final String label = input.readString();
+                if (!this.graph.vertices.containsKey(id))
+                    this.graph.addVertex(T.id, id, T.label, label);
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                if (null != vertex) vertex.remove();
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = this.kryo.readClassAndObject(input);
+                final String label = input.readString();
+                final Vertex outVertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final Vertex inVertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final int size = input.readInt(true);
+                final Object[] keyValues = new Object[(size + 1) * 2];
+                keyValues[0] = T.id;
+                keyValues[1] = id;
+                for (int i = 1; i <= size; i++) {
+                    keyValues[i * 2] = input.readString();
+                    keyValues[i * 2 + 1] = this.kryo.readClassAndObject(input);
+                }
+                if (!this.graph.edges.containsKey(id))
+                    outVertex.addEdge(label, inVertex, keyValues);
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                if (null != edge) edge.remove();
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final Object id = this.kryo.readClassAndObject(input);
+                final String key = input.readString();
+                final Object value = this.kryo.readClassAndObject(input);
+                if (!IteratorUtils.anyMatch(vertex.properties(key), p -> p.id().equals(id)))
+                    vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.readVertexProperty(input);
+                if (null != vertexProperty) vertexProperty.remove();
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.readVertexProperty(input);
+                final String key = input.readString();
+                vertexProperty.property(key, this.kryo.readClassAndObject(input));
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.readVertexProperty(input);
+                vertexProperty.property(input.readString()).remove();
+                break;
+            }
+            case SET_EDGE_PROPERTY: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                final String key = input.readString();
+                edge.property(key, this.kryo.readClassAndObject(input));
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                edge.property(input.readString()).remove();
+                break;
+            }
+            default:
+                throw new IllegalStateException(String.format("Unknown journal operation %s", operation));
+        }
+    }
+
+    private VertexProperty<?> readVertexProperty(final Input input) {
+        final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+        final Object id = this.kryo.readClassAndObject(input);
+        final String key = input.readString();
+        if (null == vertex) return null;
+        final List<VertexProperty<?>> vertexProperties = new ArrayList<>();
+        vertex.properties(key).forEachRemaining(vertexProperties::add);
+        return vertexProperties.stream().filter(vp -> vp.id().equals(id)).findAny().orElse(null);
+    }
+
+    ////////////// FILES //////////////////
+
+    private File file(final String prefix, final int number, final String suffix) {
+        return new File(this.directory, String.format("%s%08d%s", prefix, number, suffix));
+    }
+
+    private int[] numbers(final String prefix, final String suffix) {
+        final String[] names = this.directory.list((dir, name) -> name.startsWith(prefix) && name.endsWith(suffix));
+        if (null == names) return new int[0];
+        final int[] numbers = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            numbers[i] = Integer.parseInt(names[i].substring(prefix.length(), names[i].length() - suffix.length()));
+        }
+        Arrays.sort(numbers);
+        return numbers;
+    }
+
+    private int latest(final String prefix, final String suffix) {
+        final int[] numbers = this.numbers(prefix, suffix);
+        return 0 == numbers.length ? -1 : numbers[numbers.length - 1];
+    }
+}
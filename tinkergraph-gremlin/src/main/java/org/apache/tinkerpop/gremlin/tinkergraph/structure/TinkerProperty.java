@@ -79,8 +79,13 @@ public final class TinkerProperty<V> implements Property<V> {
         if (this.element instanceof Edge) {
             ((TinkerEdge) this.element).properties.remove(this.key);
             TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+            final TinkerJournal journal = ((TinkerGraph) this.element.graph()).journal;
+            if (null != journal) journal.removeEdgeProperty((TinkerEdge) this.element, this.key);
         } else {
-            ((TinkerVertexProperty) this.element).properties.remove(this.key);
+            final TinkerVertexProperty vertexProperty = (TinkerVertexProperty) this.element;
+            vertexProperty.properties.remove(this.key);
+            if (null != vertexProperty.journal() && vertexProperty.isAttached())
+                vertexProperty.journal().removeMetaProperty(vertexProperty, this.key);
         }
     }
 }
@@ -100,11 +100,16 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
             final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
 
-            if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
+            final boolean compact = TinkerHelper.isCompact(this);
+            if (null == this.properties) this.properties = compact ? new TinkerCompactMap<>() : new HashMap<>();
+            List<VertexProperty> list = this.properties.get(key);
+            if (null == list) {
+                list = compact ? new ArrayList<>(1) : new ArrayList<>();
+                this.properties.put(key, list);
+            }
             list.add(vertexProperty);
-            this.properties.put(key, list);
             TinkerHelper.autoUpdateIndex(this, key, value, null);
+            if (null != this.graph.journal) this.graph.journal.addVertexProperty(vertexProperty);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         }
@@ -133,6 +138,7 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         this.properties = null;
         TinkerHelper.removeElementIndex(this);
         this.graph.vertices.remove(this.id);
+        if (null != this.graph.journal) this.graph.journal.removeVertex(this);
         this.removed = true;
     }
 
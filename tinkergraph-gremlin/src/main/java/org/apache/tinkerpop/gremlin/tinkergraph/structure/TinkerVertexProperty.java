@@ -120,6 +120,7 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
         final Property<U> property = new TinkerProperty<>(this, key, value);
         if (this.properties == null) this.properties = new HashMap<>();
         this.properties.put(key, property);
+        if (null != this.journal() && this.isAttached()) this.journal().setMetaProperty(this, key, value);
         return property;
     }
 
@@ -142,11 +143,24 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
                     delete.set(false);
             });
             if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+            if (null != this.journal()) this.journal().removeVertexProperty(this);
             this.properties = null;
             this.removed = true;
         }
     }
 
+    protected TinkerJournal journal() {
+        return ((TinkerGraph) this.vertex.graph()).journal;
+    }
+
+    /**
+     * Determines if this property is held by its vertex, as opposed to one that is in the making or that belongs to
+     * a {@link TinkerGraphComputerView}.
+     */
+    protected boolean isAttached() {
+        return null != this.vertex.properties && this.vertex.properties.getOrDefault(this.key, Collections.emptyList()).contains(this);
+    }
+
     @Override
     public <U> Iterator<Property<U>> properties(final String... propertyKeys) {
         if (null == this.properties) return Collections.emptyIterator();
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.peerpressure.PeerPressureVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs {@link PageRankVertexProgram} on {@link TinkerGraphComputer} with a growing number of workers to show how
+ * vertex scheduling scales with cores, along with {@link PeerPressureVertexProgram} for a message-heavy program
+ * without a message combiner.  The garbage collection figures reported with each benchmark reflect the cost of
+ * message passing.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-computer")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-computer")
+public class TinkerGraphComputerPerformanceTest {
+
+    private static final int VERTICES = 100000;
+    private static final int EDGES_PER_VERTEX = 10;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private static TinkerGraph graph;
+
+    @BeforeClass
+    public static void setup() {
+        graph = TinkerGraph.open();
+        final Random random = new Random(42);
+        final Vertex[] vertices = new Vertex[VERTICES];
+        for (int ix = 0; ix < VERTICES; ix++) {
+            vertices[ix] = graph.addVertex();
+        }
+        for (int ix = 0; ix < VERTICES; ix++) {
+            for (int jx = 0; jx < EDGES_PER_VERTEX; jx++) {
+                vertices[ix].addEdge("link", vertices[random.nextInt(VERTICES)]);
+            }
+        }
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWithOneWorker() throws Exception {
+        pageRank(1);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWithTwoWorkers() throws Exception {
+        pageRank(2);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWithFourWorkers() throws Exception {
+        pageRank(4);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWithEightWorkers() throws Exception {
+        pageRank(8);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void pageRankWithAllWorkers() throws Exception {
+        pageRank(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void peerPressureWithAllWorkers() throws Exception {
+        final ComputerResult result = graph.compute()
+                .program(PeerPressureVertexProgram.build().maxIterations(10).create(graph))
+                .submit().get();
+        assertEquals(VERTICES, IteratorUtils.count(result.graph().vertices()));
+    }
+
+    private static void pageRank(final int workers) throws Exception {
+        final ComputerResult result = graph.compute()
+                .workers(Math.min(workers, Runtime.getRuntime().availableProcessors()))
+                .program(PageRankVertexProgram.build().iterations(10).create(graph))
+                .submit().get();
+        assertEquals(VERTICES, IteratorUtils.count(result.graph().vertices()));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankMessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.TraversalVertexProgramMessageCombiner;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TinkerMessageBoardTest {
+
+    private static final int WORKERS = 8;
+    private static final int MESSAGES_PER_WORKER = 10000;
+
+    @Test
+    public void shouldCombineTraverserSetsFromConcurrentWorkers() throws Exception {
+        // the combiner of the TraversalVertexProgram adds the traversers of one set to the other
+        final Optional<MessageCombiner<TraverserSet<?>>> combiner = (Optional) TraversalVertexProgramMessageCombiner.instance();
+        final TinkerMessageBoard<TraverserSet<?>> board = new TinkerMessageBoard<>(combiner);
+        final Vertex vertex = TinkerGraph.open().addVertex();
+
+        // every worker sends distinct traversers so none of them are merged into the bulk of another
+        sendConcurrently(board, vertex, i -> new TraverserSet<>(new B_O_Traverser<>(i, 1l)));
+        board.completeIteration();
+
+        final TraverserSet<?> combined = IteratorUtils.list(board.receiveMessages(vertex)).get(0);
+        assertEquals(WORKERS * MESSAGES_PER_WORKER, combined.size());
+        assertEquals(WORKERS * MESSAGES_PER_WORKER, combined.bulkSize());
+    }
+
+    @Test
+    public void shouldSumPageRankMessagesFromConcurrentWorkers() throws Exception {
+        final TinkerMessageBoard<Double> board = new TinkerMessageBoard<>((Optional) PageRankMessageCombiner.instance());
+        final Vertex vertex = TinkerGraph.open().addVertex();
+
+        sendConcurrently(board, vertex, i -> 1.0d);
+        board.completeIteration();
+
+        final List<Double> received = IteratorUtils.list(board.receiveMessages(vertex));
+        assertEquals(1, received.size());
+        assertEquals(WORKERS * MESSAGES_PER_WORKER, received.get(0), 0.0d);
+
+        // the slot is emptied and reused for the next iteration to send to
+        board.completeIteration();
+        assertFalse(board.receiveMessages(vertex).hasNext());
+        board.sendMessage(vertex, 2.0d);
+        board.completeIteration();
+        final Iterator<Double> next = board.receiveMessages(vertex);
+        assertEquals(2.0d, next.next(), 0.0d);
+        assertFalse(next.hasNext());
+    }
+
+    private static <M> void sendConcurrently(final TinkerMessageBoard<M> board, final Vertex vertex,
+                                             final IntFunction<M> messages) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < WORKERS; t++) {
+            final int offset = t * MESSAGES_PER_WORKER;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ie) {
+                    throw new RuntimeException(ie);
+                }
+                for (int i = 0; i < MESSAGES_PER_WORKER; i++) {
+                    board.sendMessage(vertex, messages.apply(offset + i));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TinkerWorkQueueTest {
+
+    @Test
+    public void shouldHandOutEachItemOnceToConcurrentWorkers() throws Exception {
+        final int size = 100003;
+        final Integer[] items = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+        }
+        final AtomicIntegerArray seen = new AtomicIntegerArray(size);
+        final TinkerWorkQueue<Integer> queue = new TinkerWorkQueue<>(items, 4);
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final boolean slow = 0 == t;
+            threads.add(new Thread(() -> {
+                final TinkerWorkQueue<Integer>.Worker worker = queue.worker();
+                Integer item;
+                while (null != (item = worker.next())) {
+                    seen.incrementAndGet(item);
+                    // an uneven worker forces the others to steal from its partition
+                    if (slow) Thread.yield();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(1, seen.get(i));
+        }
+    }
+
+    @Test
+    public void shouldHandleMoreWorkersThanItems() {
+        final TinkerWorkQueue<String> queue = new TinkerWorkQueue<>(new String[]{"a"}, 4);
+        final TinkerWorkQueue<String>.Worker first = queue.worker();
+        final TinkerWorkQueue<String>.Worker second = queue.worker();
+        // the second worker has an empty partition and so steals the only item from the first
+        assertEquals("a", second.next());
+        assertNull(second.next());
+        assertNull(first.next());
+    }
+}
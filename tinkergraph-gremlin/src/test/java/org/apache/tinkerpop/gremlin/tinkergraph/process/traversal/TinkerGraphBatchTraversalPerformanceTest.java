@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares traversers flowing one at a time between steps with the batch mode of {@link DefaultTraversal} on
+ * multi-hop traversals.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-batch-traversal")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-batch-traversal")
+public class TinkerGraphBatchTraversalPerformanceTest {
+
+    private static final int VERTICES = 10000;
+    private static final int EDGES_PER_VERTEX = 10;
+    private static final int BATCH_SIZE = 256;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private static GraphTraversalSource g;
+    private static long outOutOutCount;
+    private static long outOutHasCount;
+
+    @BeforeClass
+    public static void setup() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(42);
+        final Vertex[] vertices = new Vertex[VERTICES];
+        for (int ix = 0; ix < VERTICES; ix++) {
+            vertices[ix] = graph.addVertex("age", ix % 100);
+        }
+        for (int ix = 0; ix < VERTICES; ix++) {
+            for (int jx = 0; jx < EDGES_PER_VERTEX; jx++) {
+                vertices[ix].addEdge("link", vertices[random.nextInt(VERTICES)]);
+            }
+        }
+        g = graph.traversal();
+        outOutOutCount = g.V().out().out().out().count().next();
+        outOutHasCount = g.V().out().out().has("age", P.lt(50)).values("age").count().next();
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutOutPerTraverser() {
+        assertEquals(outOutOutCount, iterate(g.V().out().out().out(), 0));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutOutBatched() {
+        assertEquals(outOutOutCount, iterate(g.V().out().out().out(), BATCH_SIZE));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutHasValuesPerTraverser() {
+        assertEquals(outOutHasCount, iterate(g.V().out().out().has("age", P.lt(50)).values("age"), 0));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutHasValuesBatched() {
+        assertEquals(outOutHasCount, iterate(g.V().out().out().has("age", P.lt(50)).values("age"), BATCH_SIZE));
+    }
+
+    private static long iterate(final GraphTraversal<?, ?> traversal, final int batchSize) {
+        traversal.asAdmin().setBatchSize(batchSize);
+        long count = 0;
+        while (traversal.hasNext()) {
+            traversal.next();
+            count++;
+        }
+        return count;
+    }
+}
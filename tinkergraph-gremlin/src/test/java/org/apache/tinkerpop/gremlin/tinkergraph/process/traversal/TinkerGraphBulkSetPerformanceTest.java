@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Exercises {@link BulkSet} directly and through the {@code aggregate()} and {@code store()} steps that fill it.  The
+ * garbage collection figures reported with each benchmark reflect the allocations made per added object.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-bulkset")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-bulkset")
+public class TinkerGraphBulkSetPerformanceTest {
+
+    private static final int VERTICES = 10000;
+    private static final int EDGES_PER_VERTEX = 10;
+    private static final int ADDS = 5000000;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private static GraphTraversalSource g;
+
+    @BeforeClass
+    public static void setup() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(42);
+        final Vertex[] vertices = new Vertex[VERTICES];
+        for (int ix = 0; ix < VERTICES; ix++) {
+            vertices[ix] = graph.addVertex();
+        }
+        for (int ix = 0; ix < VERTICES; ix++) {
+            for (int jx = 0; jx < EDGES_PER_VERTEX; jx++) {
+                vertices[ix].addEdge("link", vertices[random.nextInt(VERTICES)]);
+            }
+        }
+        g = graph.traversal();
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void addWithBulkAndSize() {
+        final BulkSet<Integer> bulkSet = new BulkSet<>();
+        long size = 0;
+        for (int ix = 0; ix < ADDS; ix++) {
+            bulkSet.add(ix % VERTICES, 2l);
+            size = bulkSet.longSize();
+        }
+        assertEquals(2l * ADDS, size);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void aggregateTwoHops() {
+        assertEquals((long) VERTICES * EDGES_PER_VERTEX * EDGES_PER_VERTEX,
+                g.V().out().out().aggregate("x").<BulkSet<Vertex>>cap("x").next().size());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void storeTwoHops() {
+        assertEquals((long) VERTICES * EDGES_PER_VERTEX * EDGES_PER_VERTEX,
+                g.V().out().out().store("x").<BulkSet<Vertex>>cap("x").next().size());
+    }
+}
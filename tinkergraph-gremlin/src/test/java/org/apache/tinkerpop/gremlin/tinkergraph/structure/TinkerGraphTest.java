@@ -21,21 +21,43 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.io.IoCore;
 import org.apache.tinkerpop.gremlin.structure.io.IoTest;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Ignore;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -271,6 +293,279 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldReplaceIndexWhenTypeChanges() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class);
+        assertEquals(TinkerGraph.IndexType.HASH, g.getIndexType("age", Vertex.class).get());
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        assertEquals(TinkerGraph.IndexType.SORTED, g.getIndexType("age", Vertex.class).get());
+        assertEquals(1, g.getIndexedKeys(Vertex.class).size());
+        g.dropIndex("age", Vertex.class);
+        assertFalse(g.getIndexType("age", Vertex.class).isPresent());
+    }
+
+    @Test
+    public void shouldQueryRangesOfSortedVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        for (int age : new int[]{35, 10, 50, 25, 40, 20, 45, 15, 30})
+            g.addVertex("age", age);
+        g.addVertex("age", "unknown");
+        g.addVertex("age", 27l);
+
+        // a tricky way to evaluate if indices are actually being used is to pass a fake BiPredicate to has()
+        // to get into the Pipeline and evaluate what's going through it.  in this case, only ages from the
+        // range should reach the pipeline.
+        assertEquals(Arrays.asList(20, 25, 27l, 30, 35), g.traversal().V().has("age", P.between(20, 40)).has("age", P.test((t, u) -> {
+            assertTrue(((Number) t).intValue() >= 20 && ((Number) t).intValue() < 40);
+            return true;
+        }, 0)).values("age").toList());
+        assertEquals(Arrays.asList(45, 50), g.traversal().V().has("age", P.gt(40l)).values("age").toList());
+        assertEquals(Arrays.asList(10, 15), g.traversal().V().has("age", P.lte(15)).values("age").toList());
+        assertEquals(Arrays.asList(25, 27l), g.traversal().V().has("age", P.inside(20, 30)).values("age").toList());
+        assertEquals(Collections.emptyList(), g.traversal().V().has("age", P.gt(40)).has("age", P.lt(20)).toList());
+        assertEquals(1, g.traversal().V().has("age", "unknown").count().next().intValue());
+    }
+
+    @Test
+    public void shouldQueryRangesOfSortedEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+        final Vertex v = g.addVertex();
+        v.addEdge("self", v, "weight", 0.5d);
+        v.addEdge("self", v, "weight", 0.1d);
+        v.addEdge("self", v, "weight", 0.9d);
+
+        assertEquals(Arrays.asList(0.1d, 0.5d), g.traversal().E().has("weight", P.lt(0.9d)).values("weight").toList());
+        assertEquals(Arrays.asList(0.5d, 0.9d), g.traversal().E().has("weight", P.gte(0.5d)).values("weight").toList());
+    }
+
+    @Test
+    public void shouldUpdateSortedIndexWhenPropertiesChange() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        final Vertex v = g.addVertex("age", 10);
+        g.addVertex("age", 20);
+        v.property("age", 30);
+
+        assertEquals(Arrays.asList(20, 30), g.traversal().V().has("age", P.gt(5)).values("age").toList());
+        v.remove();
+        assertEquals(Collections.singletonList(20), g.traversal().V().has("age", P.gt(5)).values("age").toList());
+    }
+
+    @Test
+    public void shouldReturnMultiPropertyVertexOnceFromSortedIndexRange() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        final Vertex v = g.addVertex("name", "a");
+        v.property(VertexProperty.Cardinality.list, "age", 10);
+        v.property(VertexProperty.Cardinality.list, "age", 20);
+        v.property(VertexProperty.Cardinality.list, "age", 30);
+        g.addVertex("name", "b", "age", 25);
+
+        assertEquals(Arrays.asList("a", "b"), g.traversal().V().has("age", P.gt(15)).values("name").toList());
+        assertEquals(Collections.singletonList("a"), g.traversal().V().has("age", P.lt(25)).values("name").toList());
+    }
+
+    @Test
+    public void shouldNotMergeUnequalValuesWithEqualHashCodesInSortedIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("value", Vertex.class, TinkerGraph.IndexType.SORTED);
+        final CollidingValue first = new CollidingValue(1);
+        final CollidingValue second = new CollidingValue(2);
+        g.addVertex("name", "a", "value", first);
+        g.addVertex("name", "b", "value", second);
+
+        assertEquals(Collections.singletonList("a"), g.traversal().V().has("value", first).values("name").toList());
+        assertEquals(Collections.singletonList("b"), g.traversal().V().has("value", second).values("name").toList());
+        assertEquals(Collections.singletonList("b"), g.traversal().V().has("value", new CollidingValue(2)).values("name").toList());
+    }
+
+    @Test
+    public void shouldKeepIndicesConsistentUnderConcurrentWritesAndReads() throws Exception {
+        final int threads = 8;
+        final int verticesPerThread = 100;
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("group", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        final Vertex[] vertices = new Vertex[threads * verticesPerThread];
+        for (int ix = 0; ix < vertices.length; ix++) {
+            vertices[ix] = g.addVertex("group", ix % 10, "age", ix % 100);
+        }
+
+        // each writer owns its own vertices as the property maps of an element are not thread-safe, while the
+        // lookups iterate the postings that all the writers are changing. range lookups are left until the writes
+        // are done as they read the properties of the vertices they return.
+        final List<Throwable> failures = new CopyOnWriteArrayList<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(new Thread(() -> {
+                final Random random = new Random(thread);
+                try {
+                    start.await();
+                    for (int ix = 0; ix < 2000; ix++) {
+                        final Vertex vertex = vertices[thread * verticesPerThread + random.nextInt(verticesPerThread)];
+                        if (ix % 10 == 0)
+                            vertex.property("group").remove();
+                        vertex.property("group", random.nextInt(10));
+                        vertex.property("age", random.nextInt(100));
+
+                        TinkerHelper.iterateVertexIndex(g, "group", random.nextInt(10)).forEachRemaining(Objects::requireNonNull);
+                        TinkerHelper.iterateVertexIndex(g, "age", random.nextInt(100)).forEachRemaining(Objects::requireNonNull);
+                    }
+                } catch (Throwable throwable) {
+                    failures.add(throwable);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        start.countDown();
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(Collections.emptyList(), failures);
+        for (int group = 0; group < 10; group++) {
+            final int value = group;
+            assertEquals(Arrays.stream(vertices).filter(v -> v.value("group").equals(value)).collect(Collectors.toSet()),
+                    IteratorUtils.set(TinkerHelper.iterateVertexIndex(g, "group", group)));
+        }
+        for (int age = 0; age < 100; age++) {
+            final int value = age;
+            assertEquals(Arrays.stream(vertices).filter(v -> v.value("age").equals(value)).collect(Collectors.toSet()),
+                    IteratorUtils.set(TinkerHelper.iterateVertexIndex(g, "age", age)));
+        }
+        assertEquals(Arrays.stream(vertices).filter(v -> v.<Integer>value("age") >= 20 && v.<Integer>value("age") < 40).count(),
+                IteratorUtils.count(TinkerHelper.iterateVertexIndex(g, "age", 20, true, 40, false)));
+    }
+
+    @Test
+    public void shouldOrderNumbersOfAllTypesTransitivelyInSortedIndex() {
+        final TinkerIndex.ValueComparator comparator = new TinkerIndex.ValueComparator();
+        assertEquals(0, comparator.compare(0, -0.0d));
+        assertEquals(0, comparator.compare(0, 0.0d));
+        assertEquals(0, comparator.compare(-0.0d, 0.0d));
+        assertEquals(0, comparator.compare(-0.0f, 0.0f));
+        assertEquals(0, comparator.compare(Float.NaN, Double.NaN));
+        assertTrue(comparator.compare(Double.NaN, Double.POSITIVE_INFINITY) > 0);
+        assertTrue(comparator.compare(Double.POSITIVE_INFINITY, Long.MAX_VALUE) > 0);
+        assertTrue(comparator.compare(Float.NEGATIVE_INFINITY, Long.MIN_VALUE) < 0);
+
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("x", Vertex.class, TinkerGraph.IndexType.SORTED);
+        g.addVertex("name", "a", "x", 0.0d);
+        g.addVertex("name", "b", "x", -0.0d);
+        g.addVertex("name", "c", "x", 0);
+        g.addVertex("name", "d", "x", Double.NaN);
+        g.addVertex("name", "e", "x", 1.5f);
+
+        assertEquals(3, g.vertexIndex.get("x", -0.0d).size());
+        assertEquals(3, g.traversal().V().has("x", 0l).count().next().intValue());
+        assertEquals(Collections.singletonList("e"), g.traversal().V().has("x", P.gt(0)).has("x", P.lt(2)).values("name").toList());
+    }
+
+    @Test
+    public void shouldElideOrderWhenSortedIndexProvidesIt() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        for (int age : new int[]{35, 10, 50, 25})
+            g.addVertex("name", "v" + age, "age", age);
+
+        final Traversal.Admin<Vertex, Object> traversal = g.traversal().V().has("age", P.gt(15)).order().by("age", Order.incr).values("age").asAdmin();
+        traversal.applyStrategies();
+        assertEquals(0, TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal).size());
+        assertEquals("age", ((TinkerGraphStep) traversal.getStartStep()).getOrderKey());
+        assertEquals(Arrays.asList(25, 35, 50), traversal.toList());
+
+        // ordering by another key is left to the order() step
+        final Traversal.Admin<Vertex, Object> byName = g.traversal().V().has("age", P.gt(15)).order().by("name", Order.decr).values("age").asAdmin();
+        byName.applyStrategies();
+        assertEquals(1, TraversalHelper.getStepsOfClass(OrderGlobalStep.class, byName).size());
+        assertEquals(Arrays.asList(50, 35, 25), byName.toList());
+
+        // once the index is gone the step has to do the ordering itself
+        final Traversal.Admin<Vertex, Object> unindexed = g.traversal().V().has("age", P.gt(15)).order().by("age", Order.incr).values("age").asAdmin();
+        unindexed.applyStrategies();
+        g.dropIndex("age", Vertex.class);
+        assertEquals(Arrays.asList(25, 35, 50), unindexed.toList());
+    }
+
+    @Test
+    public void shouldCreateAndDropCompositeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex(Vertex.class, T.label.getAccessor(), "country");
+        g.createIndex(Edge.class, "since", "weight");
+        assertEquals(Collections.singleton(Arrays.asList(T.label.getAccessor(), "country")), g.getCompositeIndexes(Vertex.class));
+        assertEquals(Collections.singleton(Arrays.asList("since", "weight")), g.getCompositeIndexes(Edge.class));
+        assertEquals(0, g.getIndexedKeys(Vertex.class).size());
+
+        g.dropIndex(Vertex.class, T.label.getAccessor(), "country");
+        assertEquals(0, g.getCompositeIndexes(Vertex.class).size());
+        g.dropIndex(Edge.class, "better-not-error", "index-key-does-not-exist");
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex(Vertex.class, T.label.getAccessor(), "country", "age");
+        g.addVertex(T.label, "person", "name", "marko", "country", "US", "age", 30);
+        g.addVertex(T.label, "person", "name", "stephen", "country", "US", "age", 35);
+        g.addVertex(T.label, "person", "name", "daniel", "country", "DE", "age", 30);
+        g.addVertex(T.label, "software", "name", "gremlin", "country", "US", "age", 30);
+        final Vertex v = g.addVertex(T.label, "person", "name", "matthias", "country", "DE", "age", 31);
+
+        // a tricky way to evaluate if indices are actually being used is to pass a fake BiPredicate to has()
+        // to get into the Pipeline and evaluate what's going through it.  in this case, only "marko" should
+        // make it through the composite index.
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("marko", t);
+            return true;
+        }, "marko")).hasLabel("person").has("country", "US").has("age", 30).count().next());
+
+        // the composite index follows property updates
+        v.property("country", "US");
+        v.property("age", 30);
+        assertEquals(Arrays.asList("marko", "matthias"), g.traversal().V().hasLabel("person").has("country", "US").has("age", 30).<String>values("name").order().toList());
+        v.remove();
+        assertEquals(Collections.singletonList("marko"), g.traversal().V().hasLabel("person").has("country", "US").has("age", 30).values("name").toList());
+    }
+
+    @Test
+    public void shouldChooseMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("country", Vertex.class);
+        g.createIndex("name", Vertex.class);
+        for (int i = 0; i < 100; i++)
+            g.addVertex("name", "v" + i, "country", "US");
+        g.addVertex("name", "marko", "country", "US");
+        g.addVertex("name", "marko", "country", "DE");
+
+        // "country" is the first indexed key in the traversal but "name" has the far smaller posting list which
+        // is then intersected with the "country" postings
+        assertEquals(new Long(1), g.traversal().V().has("country", "US").has("name", "marko").count().next());
+        assertEquals(new Long(1), g.traversal().V().has("country", "DE").has("name", "marko").count().next());
+        assertEquals(new Long(0), g.traversal().V().has("country", "DE").has("name", "v1").count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex();
+        v.addEdge("knows", v, "since", 2010, "weight", 0.5d);
+        final Edge e = v.addEdge("knows", v, "since", 2010, "weight", 0.7d);
+        v.addEdge("created", v, "since", 2010, "weight", 0.5d);
+        g.createIndex(Edge.class, T.label.getAccessor(), "since", "weight");
+
+        assertEquals(new Long(1), g.traversal().E().hasLabel("knows").has("since", 2010).has("weight", 0.5d).count().next());
+        e.property("weight", 0.5d);
+        assertEquals(new Long(2), g.traversal().E().hasLabel("knows").has("since", 2010).has("weight", 0.5d).count().next());
+        e.property("weight").remove();
+        assertEquals(new Long(1), g.traversal().E().hasLabel("knows").has("since", 2010).has("weight", 0.5d).count().next());
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -282,6 +577,75 @@ public class TinkerGraphTest {
             }
         }
     }
+
+    @Test
+    public void shouldLoadModernGraphWithCompactVertexStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_STORAGE, TinkerGraph.VertexStorage.COMPACT.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        IoTest.assertModernGraph(graph, true, false);
+    }
+
+    @Test
+    public void shouldAddAndRemoveEdgesWithCompactVertexStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_STORAGE, TinkerGraph.VertexStorage.COMPACT.name());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex hub = graph.addVertex("name", "hub");
+        hub.property("alias", "a");
+        hub.property("alias", "b");
+        final List<Edge> edges = new ArrayList<>();
+        for (int ix = 0; ix < 1000; ix++) {
+            edges.add(hub.addEdge(ix % 2 == 0 ? "even" : "odd", graph.addVertex()));
+        }
+        assertEquals(500, IteratorUtils.count(hub.edges(Direction.OUT, "even")));
+        assertEquals(1000, IteratorUtils.count(hub.vertices(Direction.OUT)));
+
+        edges.stream().filter(e -> e.label().equals("even")).forEach(Edge::remove);
+        assertEquals(0, IteratorUtils.count(hub.edges(Direction.OUT, "even")));
+        assertEquals(500, IteratorUtils.count(hub.edges(Direction.OUT, "odd")));
+        edges.stream().filter(e -> e.label().equals("odd")).forEach(e -> assertTrue(IteratorUtils.asList(hub.edges(Direction.OUT)).contains(e)));
+
+        assertEquals(2, IteratorUtils.count(hub.properties("alias")));
+        hub.properties("alias").forEachRemaining(VertexProperty::remove);
+        assertEquals(Collections.singleton("name"), hub.keys());
+
+        hub.remove();
+        assertEquals(1000, IteratorUtils.count(graph.vertices()));
+        assertEquals(0, IteratorUtils.count(graph.edges()));
+    }
+
+    @Test
+    public void shouldGrowAndShrinkWithManyKeysInCompactVertexStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_STORAGE, TinkerGraph.VertexStorage.COMPACT.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex v = graph.addVertex();
+        for (int ix = 0; ix < 1000; ix++) {
+            v.property("key" + ix, ix);
+            v.addEdge("label" + ix, v);
+        }
+        assertEquals(1000, v.keys().size());
+        assertEquals(1000, IteratorUtils.count(v.edges(Direction.OUT)));
+        for (int ix = 0; ix < 1000; ix++) {
+            assertEquals(ix, (int) v.value("key" + ix));
+        }
+
+        // removing most of the keys shrinks the storage while the rest stay in place
+        for (int ix = 0; ix < 990; ix++) {
+            v.property("key" + ix).remove();
+            v.edges(Direction.OUT, "label" + ix).next().remove();
+        }
+        assertEquals(10, v.keys().size());
+        assertEquals(10, IteratorUtils.count(v.edges(Direction.OUT)));
+        for (int ix = 990; ix < 1000; ix++) {
+            assertEquals(ix, (int) v.value("key" + ix));
+            assertEquals(1, IteratorUtils.count(v.edges(Direction.IN, "label" + ix)));
+        }
+    }
+
     @Test(expected = IllegalStateException.class)
     public void shouldRequireGraphLocationIfFormatIsSet() {
         final Configuration conf = new BaseConfiguration();
@@ -382,4 +746,185 @@ public class TinkerGraphTest {
         IoTest.assertModernGraph(reloadedGraph, true, false);
         reloadedGraph.close();
     }
+
+    @Test
+    public void shouldPersistToJournal() {
+        final Configuration conf = journalConfiguration("shouldPersistToJournal");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldRecoverChangesFromJournalWithoutClose() throws Exception {
+        final Configuration conf = journalConfiguration("shouldRecoverChangesFromJournalWithoutClose");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_SEGMENT_SIZE, 1024);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        // changes after the snapshot that are never followed by a close
+        final TinkerGraph changedGraph = TinkerGraph.open(conf);
+        final Vertex marko = changedGraph.vertices(1).next();
+        marko.property("age", 30);
+        marko.property(VertexProperty.Cardinality.list, "location", "santa fe", "startTime", 2005).property("endTime", 2010);
+        marko.edges(Direction.OUT, "knows").forEachRemaining(e -> e.property("weight", 0.9d));
+        changedGraph.vertices(3).next().remove();
+        changedGraph.edges(10).next().property("weight").remove();
+        final Vertex stephen = changedGraph.addVertex(T.id, 100, "name", "stephen");
+        stephen.addEdge("knows", marko, T.id, 101, "weight", 0.1d);
+        for (int ix = 0; ix < 100; ix++) {
+            stephen.property("counter", ix);
+        }
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(crash(conf, "shouldRecoverChangesFromJournalWithoutCloseCrashed"));
+        assertEquals(6, IteratorUtils.count(recoveredGraph.vertices()));
+        assertEquals(4, IteratorUtils.count(recoveredGraph.edges()));
+        final Vertex recoveredMarko = recoveredGraph.vertices(1).next();
+        assertEquals(30, (int) recoveredMarko.value("age"));
+        final VertexProperty<String> location = recoveredMarko.property("location");
+        assertEquals("santa fe", location.value());
+        assertEquals(2005, (int) location.value("startTime"));
+        assertEquals(2010, (int) location.value("endTime"));
+        recoveredMarko.edges(Direction.OUT, "knows").forEachRemaining(e -> assertEquals(0.9d, e.value("weight"), 0.0d));
+        assertFalse(recoveredGraph.vertices(3).hasNext());
+        assertFalse(recoveredGraph.edges(10).next().property("weight").isPresent());
+        assertEquals(99, (int) recoveredGraph.vertices(100).next().value("counter"));
+        assertEquals(0.1d, recoveredGraph.edges(101).next().value("weight"), 0.0d);
+        recoveredGraph.close();
+        changedGraph.close();
+    }
+
+    @Test
+    public void shouldAppendToLatestJournalSegmentWhenReopened() throws Exception {
+        final Configuration conf = journalConfiguration("shouldAppendToLatestJournalSegmentWhenReopened");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_SYNC, true);
+        final File directory = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+
+        final TinkerGraph first = TinkerGraph.open(conf);
+        first.addVertex(T.id, 1, "name", "marko");
+        first.close();
+
+        final TinkerGraph second = TinkerGraph.open(conf);
+        assertEquals("marko", second.vertices(1).next().value("name"));
+        second.addVertex(T.id, 2, "name", "vadas");
+        second.vertices(1).next().addEdge("knows", second.vertices(2).next(), T.id, 3);
+        assertEquals(1, directory.list((dir, name) -> name.endsWith(".log")).length);
+
+        // a graph recovered from the log without a close continues that log rather than starting another segment
+        final Configuration crashed = crash(conf, "shouldAppendToLatestJournalSegmentWhenReopenedCrashed");
+        final File crashedDirectory = new File(crashed.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+        second.close();
+        final TinkerGraph third = TinkerGraph.open(crashed);
+        third.addVertex(T.id, 4, "name", "peter");
+        assertEquals(1, crashedDirectory.list((dir, name) -> name.endsWith(".log")).length);
+        final TinkerGraph fourth = TinkerGraph.open(crash(crashed, "shouldAppendToLatestJournalSegmentWhenReopenedCrashedAgain"));
+        assertEquals(3, IteratorUtils.count(fourth.vertices()));
+        assertEquals(1, IteratorUtils.count(fourth.edges()));
+        fourth.close();
+        third.close();
+
+        final TinkerGraph reopened = TinkerGraph.open(conf);
+        assertEquals(2, IteratorUtils.count(reopened.vertices()));
+        assertEquals(1, IteratorUtils.count(reopened.edges()));
+        reopened.close();
+    }
+
+    @Test
+    public void shouldCheckpointJournalAfterFillingSegments() throws Exception {
+        final Configuration conf = journalConfiguration("shouldCheckpointJournalAfterFillingSegments");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_SEGMENT_SIZE, 1024);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SEGMENTS, 2);
+        final File directory = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        for (int ix = 0; ix < 1000; ix++) {
+            graph.addVertex(T.id, ix, "name", "vertex" + ix);
+            // the log never holds more than the segments of one checkpoint and the one being written
+            assertTrue(directory.list((dir, name) -> name.endsWith(".log")).length <= 3);
+        }
+        assertEquals(1, directory.list((dir, name) -> name.endsWith(".kryo")).length);
+
+        // a crash recovers from the latest checkpoint and the log written after it
+        final TinkerGraph recovered = TinkerGraph.open(crash(conf, "shouldCheckpointJournalAfterFillingSegmentsCrashed"));
+        assertEquals(1000, IteratorUtils.count(recovered.vertices()));
+        assertEquals("vertex999", recovered.vertices(999).next().value("name"));
+        recovered.close();
+        graph.close();
+    }
+
+    @Test
+    public void shouldNotOpenJournalThatIsAlreadyOpen() {
+        final Configuration conf = journalConfiguration("shouldNotOpenJournalThatIsAlreadyOpen");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.addVertex(T.id, 1, "name", "marko");
+
+        try {
+            TinkerGraph.open(conf);
+            fail("Should not open a journal that another graph has open");
+        } catch (IllegalStateException ise) {
+            assertTrue(ise.getMessage().contains("already open"));
+        }
+
+        // the journal can be opened again once the graph that has it open is closed
+        graph.close();
+        final TinkerGraph reopened = TinkerGraph.open(conf);
+        assertEquals("marko", reopened.vertices(1).next().value("name"));
+        reopened.close();
+    }
+
+    /**
+     * Copies the files of a journal that is open, as a crash would leave them, to a directory of the specified name
+     * that another graph can open.
+     */
+    private static Configuration crash(final Configuration conf, final String name) throws IOException {
+        final File directory = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+        final Configuration crashed = journalConfiguration(name);
+        final File crashedDirectory = new File(crashed.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+        crashedDirectory.mkdirs();
+        for (final File file : directory.listFiles((dir, n) -> n.endsWith(".log") || n.endsWith(".kryo"))) {
+            Files.copy(file.toPath(), new File(crashedDirectory, file.getName()).toPath());
+        }
+        crashed.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_SYNC, conf.getBoolean(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_SYNC, false));
+        crashed.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_SEGMENT_SIZE, conf.getInt(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_SEGMENT_SIZE, 64 * 1024 * 1024));
+        return crashed;
+    }
+
+    private static Configuration journalConfiguration(final String name) {
+        final File directory = new File(TestHelper.makeTestDataPath(TinkerGraphTest.class, "temp").getAbsolutePath() + name);
+        final File[] files = directory.listFiles();
+        if (null != files) Arrays.stream(files).forEach(File::delete);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "journal");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, directory.getAbsolutePath());
+        return conf;
+    }
+
+    private static final class CollidingValue {
+        private final int value;
+
+        private CollidingValue(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof CollidingValue && ((CollidingValue) other).value == this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "colliding";
+        }
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures indexed lookups against a {@link TinkerGraph} while other threads move elements between postings of
+ * the same index. Writers synchronize on the vertex they mutate since element property maps are not themselves
+ * thread-safe - only the index is under test here.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-index")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-index")
+public class TinkerIndexPerformanceTest {
+
+    private static final int VERTICES = 100000;
+    private static final int GROUPS = 100;
+    private static final int OPERATIONS = 100000;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private static TinkerGraph graph;
+    private static Vertex[] vertices;
+
+    @BeforeClass
+    public static void setup() {
+        graph = TinkerGraph.open();
+        graph.createIndex("group", Vertex.class);
+        graph.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        vertices = new Vertex[VERTICES];
+        for (int ix = 0; ix < VERTICES; ix++) {
+            vertices[ix] = graph.addVertex("group", ix % GROUPS, "age", ix % 1000);
+        }
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_AVAILABLE_CORES)
+    public void lookupHashIndexUnderWrites() throws Exception {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long found = 0;
+        for (int ix = 0; ix < OPERATIONS; ix++) {
+            if (ix % 10 == 0)
+                write("group", random.nextInt(GROUPS));
+            else {
+                final Iterator<TinkerVertex> itty = TinkerHelper.iterateVertexIndex(graph, "group", random.nextInt(GROUPS));
+                if (itty.hasNext()) found++;
+            }
+        }
+
+        assertTrue(found > 0);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_AVAILABLE_CORES)
+    public void lookupSortedIndexUnderWrites() throws Exception {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long found = 0;
+        for (int ix = 0; ix < OPERATIONS; ix++) {
+            if (ix % 10 == 0)
+                write("age", random.nextInt(1000));
+            else {
+                final Iterator<TinkerVertex> itty = TinkerHelper.iterateVertexIndex(graph, "age", random.nextInt(1000));
+                if (itty.hasNext()) found++;
+            }
+        }
+
+        assertTrue(found > 0);
+    }
+
+    private static void write(final String key, final int value) {
+        final Vertex vertex = vertices[ThreadLocalRandom.current().nextInt(VERTICES)];
+        synchronized (vertex) {
+            vertex.property(key, value);
+        }
+    }
+}
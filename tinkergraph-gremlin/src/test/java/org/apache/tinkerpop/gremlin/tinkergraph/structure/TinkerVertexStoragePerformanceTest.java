@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Loads the same graph with each {@link TinkerGraph.VertexStorage} and compares the heap it retains alongside the
+ * time taken to load and traverse it.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-vertex-storage")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-vertex-storage")
+public class TinkerVertexStoragePerformanceTest {
+
+    private static final int VERTICES = 200000;
+    private static final int EDGES_PER_VERTEX = 5;
+    private static final String[] LABELS = {"knows", "created", "likes"};
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void loadAndTraverseStandardStorage() throws Exception {
+        loadAndTraverse(TinkerGraph.VertexStorage.STANDARD);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void loadAndTraverseCompactStorage() throws Exception {
+        loadAndTraverse(TinkerGraph.VertexStorage.COMPACT);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 1, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void shouldRetainLessHeapWithCompactStorage() throws Exception {
+        final long standardBytes = loadAndTraverse(TinkerGraph.VertexStorage.STANDARD);
+        final long compactBytes = loadAndTraverse(TinkerGraph.VertexStorage.COMPACT);
+        assertTrue(standardBytes > 0l);
+        assertTrue("compact vertex storage retained " + compactBytes + " bytes and standard vertex storage " + standardBytes + " bytes",
+                compactBytes < standardBytes);
+    }
+
+    /**
+     * Returns the number of bytes of heap that the loaded graph retains.
+     */
+    private static long loadAndTraverse(final TinkerGraph.VertexStorage storage) {
+        final long before = usedMemory();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_STORAGE, storage.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Random random = new Random(42);
+        final Vertex[] vertices = new Vertex[VERTICES];
+        for (int ix = 0; ix < VERTICES; ix++) {
+            vertices[ix] = graph.addVertex("name", "v" + ix, "age", ix % 100);
+        }
+        for (int ix = 0; ix < VERTICES; ix++) {
+            for (int jx = 0; jx < EDGES_PER_VERTEX; jx++) {
+                vertices[ix].addEdge(LABELS[jx % LABELS.length], vertices[random.nextInt(VERTICES)]);
+            }
+        }
+
+        long traversed = 0;
+        for (final Vertex vertex : vertices) {
+            traversed = traversed + IteratorUtils.count(vertex.vertices(Direction.OUT));
+        }
+        assertEquals((long) VERTICES * EDGES_PER_VERTEX, traversed);
+
+        final long retained = usedMemory() - before;
+        graph.close();
+        return retained;
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int ix = 0; ix < 3; ix++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}